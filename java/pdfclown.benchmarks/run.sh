@@ -0,0 +1,5 @@
+#!/bin/bash
+#
+# Shell script to run PDF Clown for Java benchmarks (options: see BenchmarkRunner).
+
+java -Xbootclasspath/a:./build/package/pdfclown-benchmarks.jar:../pdfclown.lib/build/package/pdfclown.jar -jar ./build/package/pdfclown-benchmarks.jar "$@"
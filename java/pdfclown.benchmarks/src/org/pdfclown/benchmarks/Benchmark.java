@@ -0,0 +1,83 @@
+package org.pdfclown.benchmarks;
+
+/**
+  Abstract benchmark.
+  <p>A benchmark measures a single operation ({@link #run()}) against the synthetic corpus
+  prepared by {@link #setUp(byte[])}.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public abstract class Benchmark
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Sink of the benchmark results (it prevents the JIT compiler from eliminating dead code).
+  */
+  private static volatile Object sink;
+  // </fields>
+
+  // <interface>
+  // <protected>
+  /**
+    Consumes the specified result.
+  */
+  protected static void consume(
+    Object value
+    )
+  {sink = value;}
+  // </protected>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final String name;
+  // </fields>
+
+  // <constructors>
+  protected Benchmark(
+    String name
+    )
+  {this.name = name;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the benchmark name.
+  */
+  public String getName(
+    )
+  {return name;}
+
+  /**
+    Executes the measured operation once.
+  */
+  public abstract void run(
+    ) throws Exception;
+
+  /**
+    Prepares the benchmark state.
+
+    @param corpus Serialized corpus document.
+  */
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {}
+
+  /**
+    Releases the benchmark state.
+  */
+  public void tearDown(
+    ) throws Exception
+  {}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
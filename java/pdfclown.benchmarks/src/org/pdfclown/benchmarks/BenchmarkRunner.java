@@ -0,0 +1,280 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.pdfclown.documents.contents.fonts.StandardType1Font;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.files.XRefModeEnum;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  Command-line benchmark runner.
+  <p>Each benchmark is run for a number of warmup iterations (whose results are discarded), then
+  for a number of measurement iterations; every iteration repeats the benchmark operation for a
+  fixed time, reporting the average time per operation.</p>
+  <p>Options (<code>name=value</code> arguments):</p>
+  <ul>
+    <li><code>filter</code>: regular expression matching the names of the benchmarks to run (default:
+    all);</li>
+    <li><code>pages</code>, <code>objects</code>, <code>streamSize</code>, <code>fonts</code>
+    (comma-separated font families), <code>styled</code>, <code>seed</code>: corpus settings (see
+    {@link CorpusGenerator});</li>
+    <li><code>warmups</code>: number of warmup iterations (default: 3);</li>
+    <li><code>iterations</code>: number of measurement iterations (default: 5);</li>
+    <li><code>time</code>: duration of each iteration, in milliseconds (default: 1000).</li>
+  </ul>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class BenchmarkRunner
+{
+  // <class>
+  // <static>
+  // <interface>
+  // <public>
+  /**
+    Gets the standard benchmark suite.
+  */
+  public static List<Benchmark> getBenchmarks(
+    )
+  {
+    List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+    benchmarks.add(new FileOpenBenchmark());
+    benchmarks.add(new ObjectResolutionBenchmark());
+    benchmarks.add(new ContentParsingBenchmark());
+    benchmarks.add(new ContentScanningBenchmark());
+    benchmarks.add(new TextExtractionBenchmark());
+    for(FontBenchmark.OperationEnum operation : FontBenchmark.OperationEnum.values())
+    {benchmarks.add(new FontBenchmark(operation));}
+    benchmarks.add(new FlateFilterBenchmark(true));
+    benchmarks.add(new FlateFilterBenchmark(false));
+    for(SerializationModeEnum serializationMode : SerializationModeEnum.values())
+    {
+      for(XRefModeEnum xrefMode : XRefModeEnum.values())
+      {benchmarks.add(new FileSaveBenchmark(serializationMode, xrefMode));}
+    }
+    return benchmarks;
+  }
+
+  public static void main(
+    String[] args
+    ) throws Exception
+  {
+    BenchmarkRunner runner = new BenchmarkRunner();
+    CorpusGenerator generator = runner.getGenerator();
+    Pattern filter = null;
+    for(String arg : args)
+    {
+      int separatorIndex = arg.indexOf('=');
+      if(separatorIndex < 0)
+        throw new IllegalArgumentException("Invalid option '" + arg + "' (name=value expected).");
+
+      String name = arg.substring(0, separatorIndex), value = arg.substring(separatorIndex + 1);
+      if(name.equals("filter"))
+      {filter = Pattern.compile(value);}
+      else if(name.equals("pages"))
+      {generator.setPageCount(Integer.parseInt(value));}
+      else if(name.equals("objects"))
+      {generator.setObjectCount(Integer.parseInt(value));}
+      else if(name.equals("streamSize"))
+      {generator.setStreamSize(Integer.parseInt(value));}
+      else if(name.equals("fonts"))
+      {
+        List<StandardType1Font.FamilyEnum> fontFamilies = new ArrayList<StandardType1Font.FamilyEnum>();
+        for(String fontFamily : value.split(","))
+        {fontFamilies.add(StandardType1Font.FamilyEnum.valueOf(fontFamily.trim()));}
+        generator.setFontFamilies(fontFamilies);
+      }
+      else if(name.equals("styled"))
+      {generator.setFontStyled(Boolean.parseBoolean(value));}
+      else if(name.equals("seed"))
+      {generator.setSeed(Long.parseLong(value));}
+      else if(name.equals("warmups"))
+      {runner.setWarmupCount(Integer.parseInt(value));}
+      else if(name.equals("iterations"))
+      {runner.setIterationCount(Integer.parseInt(value));}
+      else if(name.equals("time"))
+      {runner.setIterationTime(Long.parseLong(value));}
+      else
+        throw new IllegalArgumentException("Unknown option '" + name + "'.");
+    }
+
+    List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+    for(Benchmark benchmark : getBenchmarks())
+    {
+      if(filter == null || filter.matcher(benchmark.getName()).find())
+      {benchmarks.add(benchmark);}
+    }
+    runner.run(benchmarks);
+  }
+  // </public>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final CorpusGenerator generator = new CorpusGenerator();
+  private int iterationCount = 5;
+  private long iterationTime = 1000;
+  private int warmupCount = 3;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the generator of the benchmark corpus.
+  */
+  public CorpusGenerator getGenerator(
+    )
+  {return generator;}
+
+  /**
+    Gets the number of measurement iterations.
+  */
+  public int getIterationCount(
+    )
+  {return iterationCount;}
+
+  /**
+    Gets the duration of each iteration (in milliseconds).
+  */
+  public long getIterationTime(
+    )
+  {return iterationTime;}
+
+  /**
+    Gets the number of warmup iterations.
+  */
+  public int getWarmupCount(
+    )
+  {return warmupCount;}
+
+  /**
+    Runs the specified benchmarks, printing their results to the standard output.
+  */
+  public void run(
+    List<Benchmark> benchmarks
+    ) throws Exception
+  {
+    byte[] corpus = generator.generate();
+    System.out.println(
+      String.format(
+        Locale.ROOT,
+        "Corpus: %d pages, %d objects, %d-byte streams, fonts %s%s, seed %d (%d bytes)",
+        generator.getPageCount(),
+        generator.getObjectCount(),
+        generator.getStreamSize(),
+        generator.getFontFamilies(),
+        generator.isFontStyled() ? " (styled)" : "",
+        generator.getSeed(),
+        corpus.length
+        )
+      );
+    System.out.println(String.format(Locale.ROOT, "%-40s %15s %12s %10s", "Benchmark", "us/op", "error", "ops"));
+    for(Benchmark benchmark : benchmarks)
+    {
+      try
+      {
+        benchmark.setUp(corpus);
+        try
+        {
+          for(int index = 0; index < warmupCount; index++)
+          {measure(benchmark);}
+
+          double[] results = new double[iterationCount];
+          long operationCount = 0;
+          for(int index = 0; index < iterationCount; index++)
+          {
+            long[] measure = measure(benchmark);
+            results[index] = measure[0] / 1000d / measure[1];
+            operationCount += measure[1];
+          }
+          double mean = 0;
+          for(double result : results)
+          {mean += result;}
+          mean /= results.length;
+          double variance = 0;
+          for(double result : results)
+          {variance += (result - mean) * (result - mean);}
+          double error = (results.length > 1 ? Math.sqrt(variance / (results.length - 1)) : 0);
+          System.out.println(String.format(Locale.ROOT, "%-40s %15.3f %12.3f %10d", benchmark.getName(), mean, error, operationCount));
+        }
+        finally
+        {benchmark.tearDown();}
+      }
+      catch(NotImplementedException e)
+      {System.out.println(String.format(Locale.ROOT, "%-40s %15s", benchmark.getName(), "unsupported"));}
+      catch(Exception e)
+      {System.out.println(String.format(Locale.ROOT, "%-40s %15s (%s)", benchmark.getName(), "failed", e));}
+    }
+  }
+
+  /**
+    @see #getIterationCount()
+  */
+  public void setIterationCount(
+    int value
+    )
+  {
+    if(value < 1)
+      throw new IllegalArgumentException("Iteration count MUST be positive.");
+
+    iterationCount = value;
+  }
+
+  /**
+    @see #getIterationTime()
+  */
+  public void setIterationTime(
+    long value
+    )
+  {
+    if(value < 1)
+      throw new IllegalArgumentException("Iteration time MUST be positive.");
+
+    iterationTime = value;
+  }
+
+  /**
+    @see #getWarmupCount()
+  */
+  public void setWarmupCount(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Warmup count MUST be non-negative.");
+
+    warmupCount = value;
+  }
+  // </public>
+
+  // <private>
+  /**
+    Runs an iteration of the specified benchmark.
+
+    @return Elapsed time (in nanoseconds) and operation count.
+  */
+  private long[] measure(
+    Benchmark benchmark
+    ) throws Exception
+  {
+    long operationCount = 0;
+    long startTime = System.nanoTime(), endTime = startTime + iterationTime * 1000000L, time;
+    do
+    {
+      benchmark.run();
+      operationCount++;
+    } while((time = System.nanoTime()) < endTime);
+    return new long[]{time - startTime, operationCount};
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
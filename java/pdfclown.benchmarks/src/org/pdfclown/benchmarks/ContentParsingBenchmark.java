@@ -0,0 +1,76 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.tokens.ContentParser;
+import org.pdfclown.files.File;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfStream;
+
+/**
+  Content stream parsing benchmark.
+  <p>It measures {@link ContentParser} throughput on the (decoded) content streams of the corpus
+  pages.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ContentParsingBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private List<byte[]> contentStreams;
+  // </fields>
+
+  // <constructors>
+  public ContentParsingBenchmark(
+    )
+  {super("ContentParser.parseContentObjects");}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    for(byte[] contentStream : contentStreams)
+    {consume(new ContentParser(contentStream).parseContentObjects());}
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {
+    contentStreams = new ArrayList<byte[]>();
+    File file = new File(corpus);
+    try
+    {
+      for(Page page : file.getDocument().getPages())
+      {
+        PdfDataObject contentsObject = page.getBaseDataObject().resolve(PdfName.Contents);
+        if(contentsObject instanceof PdfStream)
+        {contentStreams.add(((PdfStream)contentsObject).getBody().toByteArray());}
+        else if(contentsObject instanceof PdfArray)
+        {
+          for(int index = 0, length = ((PdfArray)contentsObject).size(); index < length; index++)
+          {contentStreams.add(((PdfStream)((PdfArray)contentsObject).resolve(index)).getBody().toByteArray());}
+        }
+      }
+    }
+    finally
+    {file.close();}
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,84 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.ContentScanner;
+import org.pdfclown.documents.contents.objects.CompositeObject;
+import org.pdfclown.files.File;
+
+/**
+  Content scanning benchmark.
+  <p>It measures {@link ContentScanner} traversal (graphics state tracking included) of the
+  already-parsed corpus pages.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ContentScanningBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private File file;
+  private List<Page> pages;
+  // </fields>
+
+  // <constructors>
+  public ContentScanningBenchmark(
+    )
+  {super("ContentScanner.moveNext");}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    for(Page page : pages)
+    {consume(scan(new ContentScanner(page)));}
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {
+    file = new File(corpus);
+    pages = new ArrayList<Page>();
+    for(Page page : file.getDocument().getPages())
+    {
+      page.getContents(); // Parses the contents in advance.
+      pages.add(page);
+    }
+  }
+
+  @Override
+  public void tearDown(
+    ) throws Exception
+  {file.close();}
+  // </public>
+
+  // <private>
+  private int scan(
+    ContentScanner level
+    )
+  {
+    int count = 0;
+    while(level.moveNext())
+    {
+      count++;
+      if(level.getCurrent() instanceof CompositeObject)
+      {count += scan(level.getChildLevel());}
+    }
+    return count;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
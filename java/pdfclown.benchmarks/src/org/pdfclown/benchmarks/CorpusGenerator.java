@@ -0,0 +1,308 @@
+package org.pdfclown.benchmarks;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.composition.PrimitiveComposer;
+import org.pdfclown.documents.contents.fonts.Font;
+import org.pdfclown.documents.contents.fonts.StandardType1Font;
+import org.pdfclown.files.File;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfTextString;
+
+/**
+  Synthetic corpus generator.
+  <p>It builds test documents through {@link PrimitiveComposer}, so that benchmarks need no external
+  files. Generation is deterministic: the same settings (including the {@link #getSeed() seed})
+  always produce the same contents.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class CorpusGenerator
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final PdfName BenchmarkDataName = new PdfName("BenchmarkData");
+  private static final PdfName ValuesName = new PdfName("Values");
+
+  private static final String[] Words = new String[]
+    {
+      "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do",
+      "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim",
+      "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi",
+      "aliquip", "ex", "ea", "commodo", "consequat", "PDF", "Clown", "2026", "3.14", "(quoted)",
+      "[bracketed]"
+    };
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private List<StandardType1Font.FamilyEnum> fontFamilies = Arrays.asList(
+    StandardType1Font.FamilyEnum.Helvetica,
+    StandardType1Font.FamilyEnum.Times,
+    StandardType1Font.FamilyEnum.Courier
+    );
+  private boolean fontStyled = true;
+  private int objectCount = 100;
+  private int pageCount = 10;
+  private long seed = 0;
+  private int streamSize = 4096;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Generates a new corpus document, serialized in standard mode.
+  */
+  public byte[] generate(
+    )
+  {
+    File file = new File();
+    populate(file.getDocument());
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    file.save(stream, SerializationModeEnum.Standard);
+    return stream.toByteArray();
+  }
+
+  /**
+    Gets the font families used by the text of the corpus.
+  */
+  public List<StandardType1Font.FamilyEnum> getFontFamilies(
+    )
+  {return fontFamilies;}
+
+  /**
+    Gets the number of additional indirect objects (dictionaries, arrays, strings) of the corpus.
+  */
+  public int getObjectCount(
+    )
+  {return objectCount;}
+
+  /**
+    Gets the number of pages of the corpus.
+  */
+  public int getPageCount(
+    )
+  {return pageCount;}
+
+  /**
+    Gets the seed of the pseudo-random contents.
+  */
+  public long getSeed(
+    )
+  {return seed;}
+
+  /**
+    Gets the approximate size (in bytes) of the content stream of each page.
+  */
+  public int getStreamSize(
+    )
+  {return streamSize;}
+
+  /**
+    Gets whether the font families are used in their bold and italic variants too.
+  */
+  public boolean isFontStyled(
+    )
+  {return fontStyled;}
+
+  /**
+    Populates the specified document with the corpus contents.
+  */
+  public void populate(
+    Document document
+    )
+  {
+    Random random = new Random(seed);
+
+    List<Font> fonts = new ArrayList<Font>();
+    for(StandardType1Font.FamilyEnum fontFamily : fontFamilies)
+    {
+      fonts.add(new StandardType1Font(document, fontFamily, false, false));
+      if(fontStyled && !fontFamily.isSymbolic())
+      {
+        fonts.add(new StandardType1Font(document, fontFamily, true, false));
+        fonts.add(new StandardType1Font(document, fontFamily, false, true));
+      }
+    }
+
+    for(int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+    {
+      Page page = new Page(document);
+      document.getPages().add(page);
+      populate(page, fonts, random);
+    }
+
+    PdfArray dataObject = new PdfArray(objectCount);
+    for(int objectIndex = 0; objectIndex < objectCount; objectIndex++)
+    {dataObject.add(document.getFile().register(createObject(objectIndex, random)));}
+    document.getBaseDataObject().put(BenchmarkDataName, dataObject);
+  }
+
+  /**
+    @see #getFontFamilies()
+  */
+  public CorpusGenerator setFontFamilies(
+    List<StandardType1Font.FamilyEnum> value
+    )
+  {
+    if(value.isEmpty())
+      throw new IllegalArgumentException("At least one font family MUST be specified.");
+
+    fontFamilies = value;
+    return this;
+  }
+
+  /**
+    @see #isFontStyled()
+  */
+  public CorpusGenerator setFontStyled(
+    boolean value
+    )
+  {
+    fontStyled = value;
+    return this;
+  }
+
+  /**
+    @see #getObjectCount()
+  */
+  public CorpusGenerator setObjectCount(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Object count MUST be non-negative.");
+
+    objectCount = value;
+    return this;
+  }
+
+  /**
+    @see #getPageCount()
+  */
+  public CorpusGenerator setPageCount(
+    int value
+    )
+  {
+    if(value < 1)
+      throw new IllegalArgumentException("Page count MUST be positive.");
+
+    pageCount = value;
+    return this;
+  }
+
+  /**
+    @see #getSeed()
+  */
+  public CorpusGenerator setSeed(
+    long value
+    )
+  {
+    seed = value;
+    return this;
+  }
+
+  /**
+    @see #getStreamSize()
+  */
+  public CorpusGenerator setStreamSize(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Stream size MUST be non-negative.");
+
+    streamSize = value;
+    return this;
+  }
+  // </public>
+
+  // <private>
+  private PdfDictionary createObject(
+    int index,
+    Random random
+    )
+  {
+    PdfDictionary object = new PdfDictionary();
+    object.put(PdfName.Type, BenchmarkDataName);
+    object.put(PdfName.Count, PdfInteger.get(index));
+    PdfArray values = new PdfArray();
+    for(int valueIndex = 0, valueCount = 4 + random.nextInt(12); valueIndex < valueCount; valueIndex++)
+    {values.add(PdfReal.get(random.nextInt(100000) / 100d));}
+    object.put(ValuesName, values);
+    object.put(PdfName.Contents, new PdfTextString(createText(random, 3 + random.nextInt(8))));
+    return object;
+  }
+
+  private String createText(
+    Random random,
+    int wordCount
+    )
+  {
+    StringBuilder textBuilder = new StringBuilder();
+    for(int wordIndex = 0; wordIndex < wordCount; wordIndex++)
+    {
+      if(wordIndex > 0)
+      {textBuilder.append(' ');}
+      textBuilder.append(Words[random.nextInt(Words.length)]);
+    }
+    return textBuilder.toString();
+  }
+
+  private void populate(
+    Page page,
+    List<Font> fonts,
+    Random random
+    )
+  {
+    PrimitiveComposer composer = new PrimitiveComposer(page);
+    double pageWidth = page.getSize().getWidth(), pageHeight = page.getSize().getHeight();
+    double margin = 36, y = margin;
+    /*
+      NOTE: Content stream size is estimated on the basis of the average operation footprint of a
+      text line (font selection, positioning and text showing).
+    */
+    for(int size = 0, lineIndex = 0; size < streamSize; lineIndex++)
+    {
+      Font font = fonts.get(random.nextInt(fonts.size()));
+      double fontSize = 8 + random.nextInt(8);
+      String text = createText(random, 4 + random.nextInt(8));
+      if(y + fontSize > pageHeight - margin)
+      {y = margin;}
+
+      composer.setFont(font, fontSize);
+      composer.showText(text, new Point2D.Double(margin, y));
+      size += text.length() + 40;
+      if(lineIndex % 8 == 7)
+      {
+        composer.drawRectangle(new Rectangle2D.Double(margin / 2, y - fontSize, pageWidth - margin, fontSize * 2));
+        composer.stroke();
+        size += 40;
+      }
+      y += fontSize * 1.4;
+    }
+    composer.flush();
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,50 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.files.File;
+
+/**
+  File opening benchmark.
+  <p>It measures file header, trailer and cross-reference loading.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FileOpenBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private byte[] corpus;
+  // </fields>
+
+  // <constructors>
+  public FileOpenBenchmark(
+    )
+  {super("File.open");}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    File file = new File(corpus);
+    try
+    {consume(file.getIndirectObjects().size());}
+    finally
+    {file.close();}
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    )
+  {this.corpus = corpus;}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,74 @@
+package org.pdfclown.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+
+import org.pdfclown.files.File;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.files.XRefModeEnum;
+
+/**
+  File serialization benchmark.
+  <p>It measures {@link File#save(java.io.OutputStream, SerializationModeEnum)} of the
+  already-loaded corpus in the specified serialization and cross-reference modes.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FileSaveBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private File file;
+  private final SerializationModeEnum serializationMode;
+  private ByteArrayOutputStream stream;
+  private final XRefModeEnum xrefMode;
+  // </fields>
+
+  // <constructors>
+  public FileSaveBenchmark(
+    SerializationModeEnum serializationMode,
+    XRefModeEnum xrefMode
+    )
+  {
+    super("File.save[" + serializationMode + "," + xrefMode + "]");
+    this.serializationMode = serializationMode;
+    this.xrefMode = xrefMode;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    stream.reset();
+    file.save(stream, serializationMode);
+    consume(stream.size());
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {
+    file = new File(corpus);
+    file.getConfiguration().setXRefMode(xrefMode);
+    // Load all the objects!
+    for(int index = 0, length = file.getIndirectObjects().size(); index < length; index++)
+    {file.getIndirectObjects().get(index);}
+    stream = new ByteArrayOutputStream(corpus.length * 2);
+  }
+
+  @Override
+  public void tearDown(
+    ) throws Exception
+  {file.close();}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,60 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.bytes.filters.Filter;
+import org.pdfclown.objects.PdfName;
+
+/**
+  Flate filter benchmark.
+  <p>It measures the encoding and decoding of the serialized corpus.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FlateFilterBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private byte[] data;
+  private final boolean encoding;
+  private final Filter filter = Filter.get(PdfName.FlateDecode);
+  // </fields>
+
+  // <constructors>
+  /**
+    @param encoding Whether to measure encoding (decoding, otherwise).
+  */
+  public FlateFilterBenchmark(
+    boolean encoding
+    )
+  {
+    super("FlateFilter." + (encoding ? "encode" : "decode"));
+    this.encoding = encoding;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    consume(encoding
+      ? filter.encode(data, 0, data.length, null)
+      : filter.decode(data, 0, data.length, null));
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {
+    data = (encoding ? corpus : filter.encode(corpus, 0, corpus.length, null));
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
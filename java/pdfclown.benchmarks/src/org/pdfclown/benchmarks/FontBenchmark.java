@@ -0,0 +1,111 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.contents.fonts.Font;
+import org.pdfclown.documents.contents.fonts.StandardType1Font;
+import org.pdfclown.files.File;
+
+/**
+  Font metrics and encoding benchmark.
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FontBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <classes>
+  /**
+    Measured font operation.
+  */
+  public enum OperationEnum
+  {
+    /**
+      {@link Font#getWidth(String, double)}.
+    */
+    Width,
+    /**
+      {@link Font#encode(String)}.
+    */
+    Encode,
+    /**
+      {@link Font#decode(byte[])}.
+    */
+    Decode
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final String Text = "The quick brown fox jumps over the lazy dog: 0123456789 (PDF Clown)";
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private List<byte[]> codes;
+  private List<Font> fonts;
+  private final OperationEnum operation;
+  // </fields>
+
+  // <constructors>
+  public FontBenchmark(
+    OperationEnum operation
+    )
+  {
+    super("Font." + operation.name().toLowerCase());
+    this.operation = operation;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    switch(operation)
+    {
+      case Width:
+        for(Font font : fonts)
+        {consume(font.getWidth(Text, 12));}
+        break;
+      case Encode:
+        for(Font font : fonts)
+        {consume(font.encode(Text));}
+        break;
+      case Decode:
+        for(int index = 0, length = fonts.size(); index < length; index++)
+        {consume(fonts.get(index).decode(codes.get(index)));}
+        break;
+    }
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {
+    Document document = new File().getDocument();
+    fonts = new ArrayList<Font>();
+    codes = new ArrayList<byte[]>();
+    for(StandardType1Font.FamilyEnum fontFamily : StandardType1Font.FamilyEnum.values())
+    {
+      if(fontFamily.isSymbolic())
+        continue;
+
+      Font font = new StandardType1Font(document, fontFamily, false, false);
+      fonts.add(font);
+      codes.add(font.encode(Text));
+    }
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
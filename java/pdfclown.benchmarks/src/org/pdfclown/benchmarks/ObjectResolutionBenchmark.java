@@ -0,0 +1,61 @@
+package org.pdfclown.benchmarks;
+
+import org.pdfclown.files.File;
+import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.objects.PdfIndirectObject;
+
+/**
+  Indirect object resolution benchmark.
+  <p>It measures the parsing of all the indirect objects of a freshly-opened file through
+  {@link IndirectObjects#get(int)}.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ObjectResolutionBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private byte[] corpus;
+  // </fields>
+
+  // <constructors>
+  public ObjectResolutionBenchmark(
+    )
+  {super("IndirectObjects.get");}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    File file = new File(corpus);
+    try
+    {
+      IndirectObjects indirectObjects = file.getIndirectObjects();
+      for(int index = 0, length = indirectObjects.size(); index < length; index++)
+      {
+        PdfIndirectObject indirectObject = indirectObjects.get(index);
+        if(indirectObject != null)
+        {consume(indirectObject.getDataObject());}
+      }
+    }
+    finally
+    {file.close();}
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    )
+  {this.corpus = corpus;}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
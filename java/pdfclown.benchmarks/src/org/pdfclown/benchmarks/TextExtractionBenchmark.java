@@ -0,0 +1,68 @@
+package org.pdfclown.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pdfclown.documents.Page;
+import org.pdfclown.files.File;
+import org.pdfclown.tools.TextExtractor;
+
+/**
+  Text extraction benchmark.
+  <p>It measures {@link TextExtractor#extract(org.pdfclown.documents.contents.IContentContext)} on
+  the already-parsed corpus pages.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class TextExtractionBenchmark
+  extends Benchmark
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private File file;
+  private List<Page> pages;
+  private final TextExtractor textExtractor = new TextExtractor();
+  // </fields>
+
+  // <constructors>
+  public TextExtractionBenchmark(
+    )
+  {super("TextExtractor.extract");}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void run(
+    ) throws Exception
+  {
+    for(Page page : pages)
+    {consume(textExtractor.extract(page));}
+  }
+
+  @Override
+  public void setUp(
+    byte[] corpus
+    ) throws Exception
+  {
+    file = new File(corpus);
+    pages = new ArrayList<Page>();
+    for(Page page : file.getDocument().getPages())
+    {
+      page.getContents(); // Parses the contents in advance.
+      pages.add(page);
+    }
+  }
+
+  @Override
+  public void tearDown(
+    ) throws Exception
+  {file.close();}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
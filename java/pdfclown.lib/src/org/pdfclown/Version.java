@@ -61,7 +61,7 @@ public final class Version
     )
   {return get(version.getRawValue());}
 
-  public static Version get(
+  public static synchronized Version get(
     String version
     )
   {
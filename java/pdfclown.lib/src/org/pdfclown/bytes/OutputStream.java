@@ -35,7 +35,7 @@ import org.pdfclown.tokens.Encoding;
   Output stream default implementation.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 05/22/15
+  @version 0.2.0, 10/19/26
 */
 public final class OutputStream
   implements IOutputStream
@@ -45,7 +45,7 @@ public final class OutputStream
   // <fields>
   private java.io.OutputStream stream;
 
-  private int length;
+  private long length;
   // </fields>
 
   // <constructors>
@@ -0,0 +1,460 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  CCITT facsimile filter [PDF:1.6:3.3.5].
+  <p>It supports Group 3 one-dimensional (<code>K = 0</code>), Group 3 two-dimensional (<code>K &gt;
+  0</code>) and Group 4 (<code>K &lt; 0</code>) encodings [ITU-T:T.4,T.6]. Decoded data consists of
+  1-bit samples whose value 0 represents black (unless <code>BlackIs1</code> is set).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF11)
+public final class CCITTFaxFilter
+  extends Filter
+{
+  // <class>
+  // <classes>
+  /**
+    Bit reader over the encoded data.
+  */
+  private static final class BitReader
+  {
+    private final byte[] data;
+    private final long endPosition;
+    private long position;
+
+    BitReader(
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      this.data = data;
+      position = offset * 8L;
+      endPosition = (offset + (long)length) * 8;
+    }
+
+    void alignByte(
+      )
+    {position = (position + 7) & ~7L;}
+
+    boolean isEnded(
+      )
+    {return position >= endPosition;}
+
+    /**
+      Gets the next bits without consuming them (trailing bits beyond the end are 0).
+    */
+    int peek(
+      int count
+      )
+    {
+      int value = 0;
+      for(long bitPosition = position, limit = position + count; bitPosition < limit; bitPosition++)
+      {
+        value <<= 1;
+        if(bitPosition < endPosition)
+        {value |= (data[(int)(bitPosition >> 3)] >> (7 - (int)(bitPosition & 7))) & 1;}
+      }
+      return value;
+    }
+
+    int read(
+      int count
+      )
+    {
+      int value = peek(count);
+      position += count;
+      return value;
+    }
+
+    void skip(
+      int count
+      )
+    {position += count;}
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final int Color_White = 0;
+  private static final int Color_Black = 1;
+
+  private static final int EOL = 0x001; // 000000000001 (12 bits).
+
+  private static final int MaxRunCodeLength = 13;
+
+  /**
+    Run lengths (plus 1) by code, for each code length (white runs).
+  */
+  private static final int[][] WhiteRunLengths;
+  /**
+    Run lengths (plus 1) by code, for each code length (black runs).
+  */
+  private static final int[][] BlackRunLengths;
+
+  static
+  {
+    // Terminating codes (run lengths 0-63).
+    String[] whiteTerminatingCodes = {
+      "00110101", "000111", "0111", "1000", "1011", "1100", "1110", "1111",
+      "10011", "10100", "00111", "01000", "001000", "000011", "110100", "110101",
+      "101010", "101011", "0100111", "0001100", "0001000", "0010111", "0000011", "0000100",
+      "0101000", "0101011", "0010011", "0100100", "0011000", "00000010", "00000011", "00011010",
+      "00011011", "00010010", "00010011", "00010100", "00010101", "00010110", "00010111", "00101000",
+      "00101001", "00101010", "00101011", "00101100", "00101101", "00000100", "00000101", "00001010",
+      "00001011", "01010010", "01010011", "01010100", "01010101", "00100100", "00100101", "01011000",
+      "01011001", "01011010", "01011011", "01001010", "01001011", "00110010", "00110011", "00110100"
+      };
+    String[] blackTerminatingCodes = {
+      "0000110111", "010", "11", "10", "011", "0011", "0010", "00011",
+      "000101", "000100", "0000100", "0000101", "0000111", "00000100", "00000111", "000011000",
+      "0000010111", "0000011000", "0000001000", "00001100111", "00001101000", "00001101100", "00000110111", "00000101000",
+      "00000010111", "00000011000", "000011001010", "000011001011", "000011001100", "000011001101", "000001101000", "000001101001",
+      "000001101010", "000001101011", "000011010010", "000011010011", "000011010100", "000011010101", "000011010110", "000011010111",
+      "000001101100", "000001101101", "000011011010", "000011011011", "000001010100", "000001010101", "000001010110", "000001010111",
+      "000001100100", "000001100101", "000001010010", "000001010011", "000000100100", "000000110111", "000000111000", "000000100111",
+      "000000101000", "000001011000", "000001011001", "000000101011", "000000101100", "000001011010", "000001100110", "000001100111"
+      };
+    // Make-up codes (run lengths 64-1728, step 64).
+    String[] whiteMakeUpCodes = {
+      "11011", "10010", "010111", "0110111", "00110110", "00110111", "01100100", "01100101",
+      "01101000", "01100111", "011001100", "011001101", "011010010", "011010011", "011010100", "011010101",
+      "011010110", "011010111", "011011000", "011011001", "011011010", "011011011", "010011000", "010011001",
+      "010011010", "011000", "010011011"
+      };
+    String[] blackMakeUpCodes = {
+      "0000001111", "000011001000", "000011001001", "000001011011", "000000110011", "000000110100", "000000110101", "0000001101100",
+      "0000001101101", "0000001001010", "0000001001011", "0000001001100", "0000001001101", "0000001110010", "0000001110011", "0000001110100",
+      "0000001110101", "0000001110110", "0000001110111", "0000001010010", "0000001010011", "0000001010100", "0000001010101", "0000001011010",
+      "0000001011011", "0000001100100", "0000001100101"
+      };
+    // Extended make-up codes (run lengths 1792-2560, step 64; common to both colors).
+    String[] extendedMakeUpCodes = {
+      "00000001000", "00000001100", "00000001101", "000000010010", "000000010011", "000000010100", "000000010101", "000000010110",
+      "000000010111", "000000011100", "000000011101", "000000011110", "000000011111"
+      };
+
+    WhiteRunLengths = new int[MaxRunCodeLength + 1][];
+    BlackRunLengths = new int[MaxRunCodeLength + 1][];
+    for(int codeLength = 1; codeLength <= MaxRunCodeLength; codeLength++)
+    {
+      WhiteRunLengths[codeLength] = new int[1 << codeLength];
+      BlackRunLengths[codeLength] = new int[1 << codeLength];
+    }
+    putRunCodes(WhiteRunLengths, whiteTerminatingCodes, 0, 1);
+    putRunCodes(WhiteRunLengths, whiteMakeUpCodes, 64, 64);
+    putRunCodes(WhiteRunLengths, extendedMakeUpCodes, 1792, 64);
+    putRunCodes(BlackRunLengths, blackTerminatingCodes, 0, 1);
+    putRunCodes(BlackRunLengths, blackMakeUpCodes, 64, 64);
+    putRunCodes(BlackRunLengths, extendedMakeUpCodes, 1792, 64);
+  }
+  // </fields>
+
+  // <interface>
+  // <private>
+  private static void putRunCodes(
+    int[][] runLengths,
+    String[] codes,
+    int firstRunLength,
+    int runLengthStep
+    )
+  {
+    for(int index = 0; index < codes.length; index++)
+    {
+      String code = codes[index];
+      runLengths[code.length()][Integer.parseInt(code, 2)] = firstRunLength + index * runLengthStep + 1;
+    }
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  CCITTFaxFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    int k = getParameter(parameters, PdfName.K, 0);
+    boolean encodedByteAlign = getParameter(parameters, PdfName.EncodedByteAlign, false);
+    int columns = getParameter(parameters, PdfName.Columns, 1728);
+    int rows = getParameter(parameters, PdfName.Rows, 0);
+    boolean endOfBlock = getParameter(parameters, PdfName.EndOfBlock, true);
+    boolean blackIs1 = getParameter(parameters, PdfName.BlackIs1, false);
+
+    BitReader reader = new BitReader(data, offset, length);
+    int rowLength = (columns + 7) / 8;
+    ByteArrayOutputStream output = new ByteArrayOutputStream(rowLength * Math.max(rows, 1));
+    byte[] row = new byte[rowLength];
+    /*
+      NOTE: Rows are represented through their changing elements (positions where color changes,
+      beginning with a white-to-black change), terminated by sentinels.
+    */
+    int[] referenceChanges = new int[columns + 8];
+    int referenceChangeCount = 0;
+    int[] codingChanges = new int[columns + 8];
+    Arrays.fill(referenceChanges, 0, 3, columns); // All-white imaginary reference row.
+
+    for(int rowIndex = 0; rows <= 0 || rowIndex < rows; rowIndex++)
+    {
+      // Skip the fill bits and EOL codes!
+      if(encodedByteAlign)
+      {reader.alignByte();}
+      int eolCount = 0;
+      while(!reader.isEnded())
+      {
+        int code = reader.peek(12);
+        if(code == 0) // Fill bit.
+        {reader.skip(1);}
+        else if(code == EOL)
+        {
+          reader.skip(12);
+          eolCount++;
+          if(k > 0 && reader.peek(13) == (1 << 12 | EOL)) // Row tag followed by another EOL.
+          {reader.skip(1);}
+        }
+        else
+          break;
+      }
+      if(endOfBlock && eolCount >= 2) // RTC (return to control) or EOFB (end of facsimile block).
+        break;
+      if(reader.isEnded())
+        break;
+
+      // Decode the row!
+      boolean twoDimensional = (k < 0 || (k > 0 && reader.read(1) == 0));
+      int codingChangeCount = (twoDimensional
+        ? decodeTwoDimensionalRow(reader, columns, referenceChanges, codingChanges)
+        : decodeOneDimensionalRow(reader, columns, codingChanges));
+      if(codingChangeCount < 0) // Invalid code.
+        break;
+
+      // Render the row!
+      Arrays.fill(row, blackIs1 ? (byte)0 : (byte)0xFF);
+      for(int changeIndex = 0; changeIndex < codingChangeCount; changeIndex += 2)
+      {
+        int start = codingChanges[changeIndex];
+        int end = (changeIndex + 1 < codingChangeCount ? codingChanges[changeIndex + 1] : columns);
+        for(int column = start; column < end && column < columns; column++)
+        {
+          if(blackIs1)
+          {row[column >> 3] |= 0x80 >> (column & 7);}
+          else
+          {row[column >> 3] &= ~(0x80 >> (column & 7));}
+        }
+      }
+      output.write(row, 0, rowLength);
+
+      // The current row becomes the reference of the next one.
+      int[] changes = referenceChanges; referenceChanges = codingChanges; codingChanges = changes;
+      referenceChangeCount = codingChangeCount;
+      Arrays.fill(referenceChanges, referenceChangeCount, referenceChangeCount + 3, columns);
+    }
+    return output.toByteArray();
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {throw new NotImplementedException("CCITTFaxDecode encoding");}
+  // </public>
+
+  // <private>
+  /**
+    Decodes a one-dimensional (modified Huffman) row.
+
+    @return Number of changing elements (<code>-1</code> in case of invalid code).
+  */
+  private int decodeOneDimensionalRow(
+    BitReader reader,
+    int columns,
+    int[] changes
+    )
+  {
+    int changeCount = 0;
+    int position = 0;
+    int color = Color_White;
+    while(position < columns)
+    {
+      int runLength = readRunLength(reader, color);
+      if(runLength < 0)
+        return -1;
+
+      position = Math.min(position + runLength, columns);
+      changes[changeCount++] = position;
+      color ^= 1;
+    }
+    return changeCount;
+  }
+
+  /**
+    Decodes a two-dimensional (modified READ) row.
+
+    @return Number of changing elements (<code>-1</code> in case of invalid code).
+  */
+  private int decodeTwoDimensionalRow(
+    BitReader reader,
+    int columns,
+    int[] referenceChanges,
+    int[] changes
+    )
+  {
+    int changeCount = 0;
+    int a0 = -1; // Imaginary changing element before the first one.
+    int color = Color_White;
+    int referenceIndex = 0;
+    while(a0 < columns)
+    {
+      // Locate b1 (first changing element on the reference row to the right of a0 and of opposite color)!
+      while(referenceIndex > 0 && referenceChanges[referenceIndex - 1] > a0)
+      {referenceIndex--;}
+      while(referenceChanges[referenceIndex] <= a0 || (referenceIndex & 1) != color)
+      {referenceIndex++;}
+      int b1 = referenceChanges[referenceIndex];
+      int b2 = referenceChanges[referenceIndex + 1];
+
+      int mode = reader.peek(7);
+      if((mode & 0x40) != 0) // V0 (1).
+      {
+        reader.skip(1);
+        a0 = changes[changeCount++] = b1;
+        color ^= 1;
+      }
+      else if((mode & 0x70) == 0x30 || (mode & 0x70) == 0x20) // VR1 (011), VL1 (010).
+      {
+        reader.skip(3);
+        a0 = changes[changeCount++] = Math.min(Math.max(b1 + ((mode & 0x10) != 0 ? 1 : -1), 0), columns);
+        color ^= 1;
+      }
+      else if((mode & 0x70) == 0x10) // Horizontal (001).
+      {
+        reader.skip(3);
+        if(a0 < 0)
+        {a0 = 0;}
+        int runLength1 = readRunLength(reader, color);
+        int runLength2 = (runLength1 >= 0 ? readRunLength(reader, color ^ 1) : -1);
+        if(runLength2 < 0)
+          return -1;
+
+        int a1 = Math.min(a0 + runLength1, columns);
+        int a2 = Math.min(a1 + runLength2, columns);
+        changes[changeCount++] = a1;
+        changes[changeCount++] = a2;
+        a0 = a2;
+      }
+      else if((mode & 0x78) == 0x08) // Pass (0001).
+      {
+        reader.skip(4);
+        a0 = b2;
+      }
+      else if((mode & 0x7E) == 0x06 || (mode & 0x7E) == 0x04) // VR2 (000011), VL2 (000010).
+      {
+        reader.skip(6);
+        a0 = changes[changeCount++] = Math.min(Math.max(b1 + ((mode & 0x02) != 0 ? 2 : -2), 0), columns);
+        color ^= 1;
+      }
+      else if(mode == 0x03 || mode == 0x02) // VR3 (0000011), VL3 (0000010).
+      {
+        reader.skip(7);
+        a0 = changes[changeCount++] = Math.min(Math.max(b1 + (mode == 0x03 ? 3 : -3), 0), columns);
+        color ^= 1;
+      }
+      else // Extension or invalid code (NOT supported).
+        return -1;
+
+      if(changeCount > columns + 1) // Corrupted row.
+        return -1;
+    }
+    return changeCount;
+  }
+
+  /**
+    Reads a run length (make-up codes are accumulated up to the terminating code).
+
+    @return <code>-1</code>, in case of invalid code.
+  */
+  private int readRunLength(
+    BitReader reader,
+    int color
+    )
+  {
+    int[][] runLengths = (color == Color_White ? WhiteRunLengths : BlackRunLengths);
+    int totalRunLength = 0;
+    while(true)
+    {
+      int runLength = 0;
+      for(int codeLength = (color == Color_White ? 4 : 2); codeLength <= MaxRunCodeLength; codeLength++)
+      {
+        int code = reader.peek(codeLength);
+        if((runLength = runLengths[codeLength][code]) != 0)
+        {
+          reader.skip(codeLength);
+          break;
+        }
+      }
+      if(runLength == 0)
+        return -1;
+
+      runLength--;
+      totalRunLength += runLength;
+      if(runLength < 64) // Terminating code.
+        return totalRunLength;
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
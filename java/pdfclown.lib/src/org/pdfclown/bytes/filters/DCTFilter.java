@@ -0,0 +1,233 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  DCT (JPEG baseline) filter [PDF:1.6:3.3.7].
+  <p>Decoded data consists of interleaved 8-bit samples, in the color space of the image (YCbCr
+  and YCCK encodings are converted to RGB and CMYK respectively).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class DCTFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int Marker_APP14 = 0xEE;
+  private static final int Marker_SOS = 0xDA;
+  // </fields>
+
+  // <interface>
+  // <private>
+  private static int clamp(
+    double value
+    )
+  {return value < 0 ? 0 : value > 255 ? 255 : (int)(value + .5);}
+
+  /**
+    Gets the color transform declared by the Adobe marker segment.
+
+    @return <code>-1</code>, if undeclared.
+  */
+  private static int getAdobeTransform(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    int limit = offset + length;
+    int index = offset + 2; // Skips SOI.
+    while(index + 4 <= limit)
+    {
+      if((data[index] & 0xFF) != 0xFF)
+        break;
+
+      int marker = data[index + 1] & 0xFF;
+      if(marker == 0xFF) // Fill byte.
+      {index++; continue;}
+      else if(marker == Marker_SOS)
+        break;
+
+      int segmentLength = (data[index + 2] & 0xFF) << 8 | (data[index + 3] & 0xFF);
+      if(marker == Marker_APP14
+        && segmentLength >= 12
+        && index + 4 + 12 <= limit
+        && new String(data, index + 4, 5).equals("Adobe"))
+        return data[index + 4 + 11] & 0xFF;
+
+      index += 2 + segmentLength;
+    }
+    return -1;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  DCTFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {return decode(data, offset, length, parameters, 1);}
+
+  /**
+    Decodes the specified data at reduced resolution.
+    <p>Decoded image size is <code>ceil(width / subsampling)</code> by <code>ceil(height /
+    subsampling)</code> samples.</p>
+
+    @param subsampling Subsampling factor (1 for full resolution).
+  */
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters,
+    int subsampling
+    )
+  {
+    try
+    {
+      Raster raster;
+      {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("jpeg");
+        if(!readers.hasNext())
+          throw new NotImplementedException("DCTDecode (no JPEG reader available)");
+
+        ImageReader reader = readers.next();
+        ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data, offset, length));
+        try
+        {
+          reader.setInput(input, true, true);
+          ImageReadParam readParam = reader.getDefaultReadParam();
+          if(subsampling > 1)
+          {readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);}
+          /*
+            NOTE: Rasters are read without any color conversion, which is applied here according to
+            the PDF semantics.
+          */
+          raster = reader.readRaster(0, readParam);
+        }
+        finally
+        {
+          reader.dispose();
+          input.close();
+        }
+      }
+
+      int width = raster.getWidth(), height = raster.getHeight();
+      int componentCount = raster.getNumBands();
+      int transform = getAdobeTransform(data, offset, length);
+      if(transform < 0)
+      {transform = getParameter(parameters, PdfName.ColorTransform, componentCount == 3 ? 1 : 0);}
+      boolean converted = (transform != 0 && (componentCount == 3 || componentCount == 4));
+
+      byte[] samples = new byte[width * height * componentCount];
+      int[] rowSamples = new int[width * componentCount];
+      for(int y = 0, sampleIndex = 0; y < height; y++)
+      {
+        raster.getPixels(0, y, width, 1, rowSamples);
+        if(converted) // YCbCr(K) to RGB(K) / CMY(K).
+        {
+          for(int index = 0; index < rowSamples.length; index += componentCount)
+          {
+            double luma = rowSamples[index];
+            double cb = rowSamples[index + 1] - 128;
+            double cr = rowSamples[index + 2] - 128;
+            int r = clamp(luma + 1.402 * cr);
+            int g = clamp(luma - .344136 * cb - .714136 * cr);
+            int b = clamp(luma + 1.772 * cb);
+            if(componentCount == 4) // YCCK to CMYK.
+            {
+              samples[sampleIndex++] = (byte)(255 - r);
+              samples[sampleIndex++] = (byte)(255 - g);
+              samples[sampleIndex++] = (byte)(255 - b);
+              samples[sampleIndex++] = (byte)rowSamples[index + 3];
+            }
+            else
+            {
+              samples[sampleIndex++] = (byte)r;
+              samples[sampleIndex++] = (byte)g;
+              samples[sampleIndex++] = (byte)b;
+            }
+          }
+        }
+        else
+        {
+          for(int rowSample : rowSamples)
+          {samples[sampleIndex++] = (byte)rowSample;}
+        }
+      }
+      return samples;
+    }
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {throw new NotImplementedException("DCTDecode encoding");}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -25,10 +25,18 @@
 
 package org.pdfclown.bytes.filters;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfBoolean;
+import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.util.NotImplementedException;
 
 /**
@@ -36,7 +44,7 @@ import org.pdfclown.util.NotImplementedException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.2
-  @version 0.1.0
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class Filter
@@ -45,7 +53,12 @@ public abstract class Filter
   // <static>
   // <fields>
   private static final Filter ASCII85Filter = new ASCII85Filter();
+  private static final Filter ASCIIHexFilter = new ASCIIHexFilter();
+  private static final Filter CCITTFaxFilter = new CCITTFaxFilter();
+  private static final Filter DCTFilter = new DCTFilter();
   private static final Filter FlateDecode = new FlateFilter();
+  private static final Filter LZWFilter = new LZWFilter();
+  private static final Filter RunLengthFilter = new RunLengthFilter();
   // </fields>
 
   // <interface>
@@ -71,24 +84,24 @@ public abstract class Filter
       return FlateDecode;
     else if(name.equals(PdfName.LZWDecode)
       || name.equals(PdfName.LZW))
-      throw new NotImplementedException("LZWDecode");
+      return LZWFilter;
     else if(name.equals(PdfName.ASCIIHexDecode)
       || name.equals(PdfName.AHx))
-      throw new NotImplementedException("ASCIIHexDecode");
+      return ASCIIHexFilter;
     else if(name.equals(PdfName.ASCII85Decode)
       || name.equals(PdfName.A85))
       return ASCII85Filter;
     else if(name.equals(PdfName.RunLengthDecode)
       || name.equals(PdfName.RL))
-      throw new NotImplementedException("RunLengthDecode");
+      return RunLengthFilter;
     else if(name.equals(PdfName.CCITTFaxDecode)
       || name.equals(PdfName.CCF))
-      throw new NotImplementedException("CCITTFaxDecode");
+      return CCITTFaxFilter;
     else if(name.equals(PdfName.JBIG2Decode))
       throw new NotImplementedException("JBIG2Decode");
     else if(name.equals(PdfName.DCTDecode)
       || name.equals(PdfName.DCT))
-      throw new NotImplementedException("DCTDecode");
+      return DCTFilter;
     else if(name.equals(PdfName.JPXDecode))
       throw new NotImplementedException("JPXDecode");
     else if(name.equals(PdfName.Crypt))
@@ -97,6 +110,49 @@ public abstract class Filter
     return null;
   }
   // </public>
+
+  // <protected>
+  /**
+    Gets the specified boolean parameter.
+  */
+  protected static boolean getParameter(
+    PdfDictionary parameters,
+    PdfName key,
+    boolean defaultValue
+    )
+  {
+    PdfDataObject value = (parameters != null ? parameters.resolve(key) : null);
+    return value instanceof PdfBoolean ? ((PdfBoolean)value).getValue() : defaultValue;
+  }
+
+  /**
+    Gets the specified integer parameter.
+  */
+  protected static int getParameter(
+    PdfDictionary parameters,
+    PdfName key,
+    int defaultValue
+    )
+  {
+    PdfDataObject value = (parameters != null ? parameters.resolve(key) : null);
+    return value instanceof PdfNumber<?> ? ((PdfNumber<?>)value).getIntValue() : defaultValue;
+  }
+
+  /**
+    Reads the specified stream to its end.
+  */
+  protected static byte[] readAll(
+    InputStream stream
+    ) throws IOException
+  {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192]; int bufferLength;
+    while((bufferLength = stream.read(buffer, 0, buffer.length)) != -1)
+    {output.write(buffer, 0, bufferLength);}
+    stream.close();
+    return output.toByteArray();
+  }
+  // </protected>
   // </interface>
   // </static>
 
@@ -116,6 +172,25 @@ public abstract class Filter
     PdfDictionary parameters
     );
 
+  /**
+    Gets a stream decoding the specified encoded stream.
+    <p>This allows to decode large data incrementally (for example, image rows); by default, the
+    whole encoded data is read and decoded at once.</p>
+
+    @param stream Encoded stream.
+    @param parameters Decoding parameters.
+    @return Decoded stream.
+    @since 0.2.0
+  */
+  public InputStream decode(
+    InputStream stream,
+    PdfDictionary parameters
+    ) throws IOException
+  {
+    byte[] data = readAll(stream);
+    return new ByteArrayInputStream(decode(data, 0, data.length, parameters));
+  }
+
   public abstract byte[] encode(
     byte[] data,
     int offset,
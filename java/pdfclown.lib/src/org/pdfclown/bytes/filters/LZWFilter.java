@@ -0,0 +1,196 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  Lempel-Ziv-Welch filter [PDF:1.6:3.3.3].
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class LZWFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int ClearTableCode = 256;
+  private static final int EODCode = 257;
+  private static final int MaxCodeLength = 12;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  LZWFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    int earlyChange = getParameter(parameters, PdfName.EarlyChange, 1);
+
+    /*
+      NOTE: Table entries are represented as (prefix code, suffix byte) pairs, whose strings are
+      emitted backwards.
+    */
+    int tableSize = 1 << MaxCodeLength;
+    int[] prefixes = new int[tableSize];
+    byte[] suffixes = new byte[tableSize];
+    int[] lengths = new int[tableSize];
+    for(int code = 0; code < 256; code++)
+    {
+      prefixes[code] = -1;
+      suffixes[code] = (byte)code;
+      lengths[code] = 1;
+    }
+    byte[] string = new byte[tableSize];
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream(length * 3);
+    int nextCode = EODCode + 1, codeLength = 9;
+    int previousCode = -1;
+    int bitBuffer = 0, bitCount = 0;
+    for(int index = offset, limit = offset + length;;)
+    {
+      // Read the next code!
+      while(bitCount < codeLength && index < limit)
+      {
+        bitBuffer = (bitBuffer << 8) | (data[index++] & 0xFF);
+        bitCount += 8;
+      }
+      if(bitCount < codeLength)
+        break;
+
+      int code = (bitBuffer >> (bitCount - codeLength)) & ((1 << codeLength) - 1);
+      bitCount -= codeLength;
+
+      if(code == ClearTableCode)
+      {
+        nextCode = EODCode + 1;
+        codeLength = 9;
+        previousCode = -1;
+        continue;
+      }
+      else if(code == EODCode)
+        break;
+
+      int firstByte;
+      if(code < nextCode) // Known code.
+      {
+        if(code > EODCode || code < ClearTableCode)
+        {firstByte = writeString(code, prefixes, suffixes, lengths, string, output);}
+        else // Invalid code.
+          break;
+      }
+      else if(code == nextCode && previousCode >= 0) // KwKwK case.
+      {
+        firstByte = writeString(previousCode, prefixes, suffixes, lengths, string, output);
+        output.write(firstByte);
+      }
+      else // Invalid code.
+        break;
+
+      // Add the new table entry!
+      if(previousCode >= 0 && nextCode < tableSize)
+      {
+        prefixes[nextCode] = previousCode;
+        suffixes[nextCode] = (byte)firstByte;
+        lengths[nextCode] = lengths[previousCode] + 1;
+        nextCode++;
+      }
+      previousCode = code;
+
+      if(nextCode + earlyChange >= 1 << codeLength
+        && codeLength < MaxCodeLength)
+      {codeLength++;}
+    }
+
+    try
+    {return readAll(PredictorInputStream.get(new ByteArrayInputStream(output.toByteArray()), parameters));}
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {throw new NotImplementedException("LZWDecode encoding");}
+  // </public>
+
+  // <private>
+  /**
+    Writes the string corresponding to the specified code.
+
+    @return First byte of the string.
+  */
+  private int writeString(
+    int code,
+    int[] prefixes,
+    byte[] suffixes,
+    int[] lengths,
+    byte[] string,
+    ByteArrayOutputStream output
+    )
+  {
+    int length = lengths[code];
+    for(int index = length - 1; index >= 0; index--)
+    {
+      string[index] = suffixes[code];
+      code = prefixes[code];
+    }
+    output.write(string, 0, length);
+    return string[0] & 0xFF;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
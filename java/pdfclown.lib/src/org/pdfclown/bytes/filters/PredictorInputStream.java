@@ -0,0 +1,279 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfName;
+
+/**
+  Stream reverting the prediction [PDF:1.6:3.3.3] applied to the rows of the underlying data.
+  <p>Rows are decoded one at a time, so that large data (for example, images) can be processed
+  incrementally.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class PredictorInputStream
+  extends FilterInputStream
+{
+  // <class>
+  // <static>
+  // <interface>
+  // <public>
+  /**
+    Gets a stream reverting the prediction specified by the decoding parameters.
+
+    @return The specified stream itself, in case no prediction was applied.
+  */
+  public static InputStream get(
+    InputStream stream,
+    PdfDictionary parameters
+    )
+  {
+    int predictor = Filter.getParameter(parameters, PdfName.Predictor, 1);
+    return predictor > 1 ? new PredictorInputStream(stream, predictor, parameters) : stream;
+  }
+  // </public>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final int componentBitsCount;
+  private final int componentsCount;
+  private byte[] currentRow;
+  private int currentRowLength;
+  private int position;
+  private final int predictor;
+  private byte[] previousRow;
+  /**
+    Number of bytes per row.
+  */
+  private final int rowLength;
+  /**
+    Number of bytes per sample (rounded up to 1).
+  */
+  private final int sampleLength;
+  // </fields>
+
+  // <constructors>
+  private PredictorInputStream(
+    InputStream stream,
+    int predictor,
+    PdfDictionary parameters
+    )
+  {
+    super(stream);
+
+    this.predictor = predictor;
+    componentBitsCount = Filter.getParameter(parameters, PdfName.BitsPerComponent, 8);
+    componentsCount = Filter.getParameter(parameters, PdfName.Colors, 1);
+    int rowSamplesCount = Filter.getParameter(parameters, PdfName.Columns, 1);
+
+    sampleLength = Math.max(1, (componentBitsCount * componentsCount + 7) / 8);
+    rowLength = (componentBitsCount * componentsCount * rowSamplesCount + 7) / 8;
+    currentRow = new byte[rowLength];
+    previousRow = new byte[rowLength];
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public int available(
+    ) throws IOException
+  {return currentRowLength - position;}
+
+  @Override
+  public boolean markSupported(
+    )
+  {return false;}
+
+  @Override
+  public int read(
+    ) throws IOException
+  {
+    if(position >= currentRowLength && !readRow())
+      return -1;
+
+    return currentRow[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(
+    byte[] buffer,
+    int offset,
+    int length
+    ) throws IOException
+  {
+    int readLength = 0;
+    while(readLength < length)
+    {
+      if(position >= currentRowLength && !readRow())
+        break;
+
+      int chunkLength = Math.min(length - readLength, currentRowLength - position);
+      System.arraycopy(currentRow, position, buffer, offset + readLength, chunkLength);
+      position += chunkLength;
+      readLength += chunkLength;
+    }
+    return readLength > 0 || length == 0 ? readLength : -1;
+  }
+
+  @Override
+  public long skip(
+    long length
+    ) throws IOException
+  {
+    long skippedLength = 0;
+    while(skippedLength < length)
+    {
+      if(position >= currentRowLength && !readRow())
+        break;
+
+      int chunkLength = (int)Math.min(length - skippedLength, currentRowLength - position);
+      position += chunkLength;
+      skippedLength += chunkLength;
+    }
+    return skippedLength;
+  }
+  // </public>
+
+  // <private>
+  /**
+    Decodes the next row.
+
+    @return Whether a row was available.
+  */
+  private boolean readRow(
+    ) throws IOException
+  {
+    int predictionMethod;
+    if(predictor >= 10) // PNG predictors [RFC 2083] (byte-based).
+    {
+      if((predictionMethod = in.read()) == -1)
+        return false;
+    }
+    else // TIFF predictor 2 (component-based).
+    {predictionMethod = -1;}
+
+    // Swap the rows (the current one becomes the reference of the next one)!
+    byte[] row = previousRow; previousRow = currentRow; currentRow = row;
+    if(currentRowLength < rowLength) // Previous row truncated (or first row).
+    {Arrays.fill(previousRow, currentRowLength, rowLength, (byte)0);}
+
+    // Read the raw row!
+    int length = 0;
+    for(int chunkLength; length < rowLength && (chunkLength = in.read(row, length, rowLength - length)) != -1;)
+    {length += chunkLength;}
+    if(length == 0)
+      return false;
+
+    switch(predictionMethod)
+    {
+      case -1: // TIFF predictor 2.
+        if(componentBitsCount == 8)
+        {
+          for(int index = componentsCount; index < length; index++)
+          {row[index] += row[index - componentsCount];}
+        }
+        else if(componentBitsCount == 16)
+        {
+          for(int index = componentsCount * 2; index + 1 < length; index += 2)
+          {
+            int value = ((row[index] & 0xFF) << 8 | (row[index + 1] & 0xFF))
+              + ((row[index - componentsCount * 2] & 0xFF) << 8 | (row[index - componentsCount * 2 + 1] & 0xFF));
+            row[index] = (byte)(value >> 8); row[index + 1] = (byte)value;
+          }
+        }
+        else // Sub-byte components.
+        {
+          int sampleMask = (1 << componentBitsCount) - 1;
+          for(int index = componentsCount, count = length * 8 / componentBitsCount; index < count; index++)
+          {
+            int bitOffset = index * componentBitsCount, byteOffset = bitOffset >> 3;
+            int shift = 8 - componentBitsCount - (bitOffset & 7);
+            int leftBitOffset = bitOffset - componentsCount * componentBitsCount;
+            int leftValue = (row[leftBitOffset >> 3] >> (8 - componentBitsCount - (leftBitOffset & 7))) & sampleMask;
+            int value = (((row[byteOffset] >> shift) & sampleMask) + leftValue) & sampleMask;
+            row[byteOffset] = (byte)((row[byteOffset] & ~(sampleMask << shift)) | value << shift);
+          }
+        }
+        break;
+      case 0: // None (no prediction).
+        break;
+      case 1: // Sub (predicts the same as the sample to the left).
+        for(int index = sampleLength; index < length; index++)
+        {row[index] += row[index - sampleLength];}
+        break;
+      case 2: // Up (predicts the same as the sample above).
+        for(int index = 0; index < length; index++)
+        {row[index] += previousRow[index];}
+        break;
+      case 3: // Average (predicts the average of the sample to the left and the sample above).
+        for(int index = 0; index < length; index++)
+        {
+          int left = (index >= sampleLength ? row[index - sampleLength] & 0xFF : 0);
+          row[index] += (left + (previousRow[index] & 0xFF)) / 2;
+        }
+        break;
+      case 4: // Paeth (a nonlinear function of the sample above, the sample to the left, and the sample to the upper left).
+        for(int index = 0; index < length; index++)
+        {
+          int left = (index >= sampleLength ? row[index - sampleLength] & 0xFF : 0);
+          int top = previousRow[index] & 0xFF;
+          int topLeft = (index >= sampleLength ? previousRow[index - sampleLength] & 0xFF : 0);
+          int initialPrediction = left + top - topLeft;
+          int leftPrediction = Math.abs(initialPrediction - left);
+          int topPrediction = Math.abs(initialPrediction - top);
+          int topLeftPrediction = Math.abs(initialPrediction - topLeft);
+          if(leftPrediction <= topPrediction
+            && leftPrediction <= topLeftPrediction)
+          {row[index] += left;}
+          else if(topPrediction <= topLeftPrediction)
+          {row[index] += top;}
+          else
+          {row[index] += topLeft;}
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException("Prediction method " + predictionMethod + " unknown.");
+    }
+    currentRowLength = length;
+    position = 0;
+    return true;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,135 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes.filters;
+
+import java.io.ByteArrayOutputStream;
+
+import org.pdfclown.PDF;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.objects.PdfDictionary;
+
+/**
+  Run-length filter [PDF:1.6:3.3.4].
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+@PDF(VersionEnum.PDF10)
+public final class RunLengthFilter
+  extends Filter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int EOD = 128;
+  /**
+    Maximum run length.
+  */
+  private static final int MaxRunLength = 128;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <constructors>
+  RunLengthFilter(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public byte[] decode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(length * 2);
+    for(int index = offset, limit = offset + length; index < limit;)
+    {
+      int runLength = data[index++] & 0xFF;
+      if(runLength == EOD)
+        break;
+
+      if(runLength < EOD) // Literal run.
+      {
+        int literalLength = Math.min(runLength + 1, limit - index);
+        output.write(data, index, literalLength);
+        index += literalLength;
+      }
+      else if(index < limit) // Repeated run.
+      {
+        int value = data[index++];
+        for(int count = 257 - runLength; count > 0; count--)
+        {output.write(value);}
+      }
+    }
+    return output.toByteArray();
+  }
+
+  @Override
+  public byte[] encode(
+    byte[] data,
+    int offset,
+    int length,
+    PdfDictionary parameters
+    )
+  {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(length + length / MaxRunLength + 2);
+    for(int index = offset, limit = offset + length; index < limit;)
+    {
+      // Repeated run?
+      int runEnd = index + 1;
+      while(runEnd < limit && runEnd - index < MaxRunLength && data[runEnd] == data[index])
+      {runEnd++;}
+      if(runEnd - index >= 2)
+      {
+        output.write(257 - (runEnd - index));
+        output.write(data[index]);
+        index = runEnd;
+        continue;
+      }
+
+      // Literal run (up to the next repeated run).
+      runEnd = index + 1;
+      while(runEnd < limit && runEnd - index < MaxRunLength
+        && !(runEnd + 1 < limit && data[runEnd] == data[runEnd + 1]))
+      {runEnd++;}
+      output.write(runEnd - index - 1);
+      output.write(data, index, runEnd - index);
+      index = runEnd;
+    }
+    output.write(EOD);
+    return output.toByteArray();
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
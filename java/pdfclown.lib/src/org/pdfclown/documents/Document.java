@@ -39,7 +39,10 @@ import org.pdfclown.PDF;
 import org.pdfclown.Version;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.contents.Resources;
+import org.pdfclown.documents.contents.colorSpaces.ColorConverterCache;
+import org.pdfclown.documents.contents.fonts.GlyphOutlineCache;
 import org.pdfclown.documents.contents.layers.LayerDefinition;
+import org.pdfclown.documents.contents.xObjects.ImageCache;
 import org.pdfclown.documents.interaction.forms.Form;
 import org.pdfclown.documents.interaction.navigation.document.Bookmarks;
 import org.pdfclown.documents.interaction.navigation.document.Destination;
@@ -66,7 +69,7 @@ import org.pdfclown.util.NotImplementedException;
   PDF document [PDF:1.6:3.6.1].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/02/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public final class Document
@@ -100,6 +103,9 @@ public final class Document
   public java.util.Hashtable<PdfReference,Object> cache = new java.util.Hashtable<PdfReference,Object>();
 
   private DocumentConfiguration configuration = new DocumentConfiguration(this);
+  private ColorConverterCache colorConverterCache;
+  private GlyphOutlineCache glyphOutlineCache;
+  private ImageCache imageCache;
   // </fields>
 
   // <constructors>
@@ -195,6 +201,19 @@ public final class Document
     )
   {return Bookmarks.wrap(getBaseDataObject().get(PdfName.Outlines, PdfDictionary.class, false));}
 
+  /**
+    Gets the color converters cache used to convert the colors of this document.
+
+    @since 0.2.0
+  */
+  public synchronized ColorConverterCache getColorConverterCache(
+    )
+  {
+    if(colorConverterCache == null)
+    {colorConverterCache = new ColorConverterCache();}
+    return colorConverterCache;
+  }
+
   /**
     Gets the configuration of this document.
   */
@@ -202,6 +221,19 @@ public final class Document
     )
   {return configuration;}
 
+  /**
+    Gets the glyph outlines cache used to render the text of this document.
+
+    @since 0.2.0
+  */
+  public synchronized GlyphOutlineCache getGlyphOutlineCache(
+    )
+  {
+    if(glyphOutlineCache == null)
+    {glyphOutlineCache = new GlyphOutlineCache();}
+    return glyphOutlineCache;
+  }
+
   /**
     Gets the interactive form (AcroForm).
 
@@ -212,6 +244,19 @@ public final class Document
     )
   {return Form.wrap(getBaseDataObject().get(PdfName.AcroForm, PdfDictionary.class));}
 
+  /**
+    Gets the decoded images cache used to render the image XObjects of this document.
+
+    @since 0.2.0
+  */
+  public synchronized ImageCache getImageCache(
+    )
+  {
+    if(imageCache == null)
+    {imageCache = new ImageCache();}
+    return imageCache;
+  }
+
   /**
     Gets common document metadata.
   */
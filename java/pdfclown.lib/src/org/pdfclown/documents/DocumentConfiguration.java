@@ -43,7 +43,7 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.2.1
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/19/26
 */
 public final class DocumentConfiguration
 {
@@ -51,6 +51,7 @@ public final class DocumentConfiguration
   // <fields>
   private CompatibilityModeEnum compatibilityMode = CompatibilityModeEnum.Loose;
   private EncodingFallbackEnum encodingFallback = EncodingFallbackEnum.Substitution;
+  private boolean fontSubsetting = true;
   private java.io.File stampPath;
 
   private final Document document;
@@ -88,6 +89,16 @@ public final class DocumentConfiguration
     )
   {return encodingFallback;}
 
+  /**
+    Gets whether embedded font programs are subset to the glyphs actually used when the file is
+    serialized.
+
+    @since 0.2.0
+  */
+  public boolean isFontSubsetting(
+    )
+  {return fontSubsetting;}
+
   /**
     Gets the stamp appearance corresponding to the specified stamp type.
     <p>The stamp appearance is retrieved from the {@link #getStampPath() standard stamps 
@@ -209,6 +220,14 @@ public final class DocumentConfiguration
     )
   {encodingFallback = value;}
 
+  /**
+    @see #isFontSubsetting()
+  */
+  public void setFontSubsetting(
+    boolean value
+    )
+  {fontSubsetting = value;}
+
   /**
     @see #getStampPath()
   */
@@ -233,6 +252,17 @@ public final class DocumentConfiguration
     return this;
   }
 
+  /**
+    @see #setFontSubsetting(boolean)
+  */
+  public DocumentConfiguration withFontSubsetting(
+    boolean value
+    )
+  {
+    setFontSubsetting(value);
+    return this;
+  }
+
   /**
     @see #setStampPath(java.io.File)
   */
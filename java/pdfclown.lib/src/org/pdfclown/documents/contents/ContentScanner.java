@@ -66,7 +66,7 @@ import org.pdfclown.util.math.geom.Dimension;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.4
-  @version 0.2.0, 04/30/15
+  @version 0.2.0, 10/19/26
 */
 public final class ContentScanner
 {
@@ -96,6 +96,60 @@ public final class ContentScanner
     implements Cloneable
   {
     // <class>
+    // <static>
+    // <interface>
+    // <public>
+    /**
+      Gets the initial current transformation matrix mapping the specified content area to the
+      specified device canvas.
+
+      @param rotation Rendering rotation.
+      @param contentArea Content area (in user-space units) to map.
+      @param canvasSize Device canvas size.
+      @since 0.2.0
+    */
+    public static AffineTransform getInitialCtm(
+      RotationEnum rotation,
+      Rectangle2D contentArea,
+      Dimension2D canvasSize
+      )
+    {
+      AffineTransform initialCtm;
+
+      // Axes orientation.
+      switch(rotation)
+      {
+        case Downward:
+          initialCtm = new AffineTransform(1, 0, 0, -1, 0, canvasSize.getHeight());
+          break;
+        case Leftward:
+          initialCtm = new AffineTransform(0, 1, 1, 0, 0, 0);
+          break;
+        case Upward:
+          initialCtm = new AffineTransform(-1, 0, 0, 1, canvasSize.getWidth(), 0);
+          break;
+        case Rightward:
+          initialCtm = new AffineTransform(0, -1, -1, 0, canvasSize.getWidth(), canvasSize.getHeight());
+          break;
+        default:
+          throw new NotImplementedException();
+      }
+
+      // Scaling.
+      Dimension2D rotatedCanvasSize = rotation.transform(canvasSize);
+      initialCtm.scale(
+        rotatedCanvasSize.getWidth() / contentArea.getWidth(),
+        rotatedCanvasSize.getHeight() / contentArea.getHeight()
+        );
+
+      // Origin alignment.
+      initialCtm.translate(-contentArea.getMinX(), -contentArea.getMinY());
+      return initialCtm;
+    }
+    // </public>
+    // </interface>
+    // </static>
+
     // <dynamic>
     // <fields>
     private List<BlendModeEnum> blendMode;
@@ -266,38 +320,16 @@ public final class ContentScanner
       else // Device-dependent.
       {
         IContentContext contentContext = getScanner().getContentContext();
-        Dimension2D canvasSize = getScanner().getCanvasSize();
-
-        // Axes orientation.
-        RotationEnum rotation = contentContext.getRotation();
-        switch(rotation)
-        {
-          case Downward:
-            initialCtm = new AffineTransform(1, 0, 0, -1, 0, canvasSize.getHeight());
-            break;
-          case Leftward:
-            initialCtm = new AffineTransform(0, 1, 1, 0, 0, 0);
-            break;
-          case Upward:
-            initialCtm = new AffineTransform(-1, 0, 0, 1, canvasSize.getWidth(), 0);
-            break;
-          case Rightward:
-            initialCtm = new AffineTransform(0, -1, -1, 0, canvasSize.getWidth(), canvasSize.getHeight());
-            break;
-          default:
-            throw new NotImplementedException();
-        }
-
-        // Scaling.
-        Rectangle2D contentBox = contentContext.getBox();
-        Dimension2D rotatedCanvasSize = rotation.transform(canvasSize);
-        initialCtm.scale(
-          rotatedCanvasSize.getWidth() / contentBox.getWidth(),
-          rotatedCanvasSize.getHeight() / contentBox.getHeight()
+        ContentScanner rootLevel = getScanner().getRootLevel();
+        Rectangle2D renderArea = rootLevel.getRenderArea();
+        initialCtm = rootLevel.getRenderTransform();
+        initialCtm.concatenate(
+          getInitialCtm(
+            contentContext.getRotation(),
+            renderArea != null ? renderArea : contentContext.getBox(),
+            getScanner().getCanvasSize()
+            )
           );
-
-        // Origin alignment.
-        initialCtm.translate(-contentBox.getMinX(), -contentBox.getMinY());
       }
       return initialCtm;
     }
@@ -1009,6 +1041,14 @@ public final class ContentScanner
     Rendering object.
   */
   private Shape renderObject;
+  /**
+    Rendering area.
+  */
+  private Rectangle2D renderArea;
+  /**
+    Device transformation of the rendering context at the beginning of the rendering.
+  */
+  private AffineTransform renderTransform;
 
   /**
     Size of the graphics canvas.
@@ -1220,6 +1260,27 @@ public final class ContentScanner
     )
   {return renderContext;}
 
+  /**
+    Gets the content area (in user-space units) mapped to the rendering canvas.
+
+    @return <code>null</code> in case of the entire {@link IContentContext#getBox() content box}.
+    @since 0.2.0
+  */
+  public Rectangle2D getRenderArea(
+    )
+  {return renderArea;}
+
+  /**
+    Gets the device transformation the rendering canvas is mapped through.
+    <p>It corresponds to the transformation of the rendering context at the beginning of the
+    rendering (typically identity): the current transformation matrix is concatenated to it.</p>
+
+    @since 0.2.0
+  */
+  public AffineTransform getRenderTransform(
+    )
+  {return renderTransform != null ? (AffineTransform)renderTransform.clone() : new AffineTransform();}
+
   /**
     Gets the rendering object.
 
@@ -1444,9 +1505,31 @@ public final class ContentScanner
     Dimension2D renderSize,
     Shape renderObject
     )
+  {render(renderContext, renderSize, null, renderObject);}
+
+  /**
+    Renders the specified area of the contents into the specified object.
+
+    @param renderContext Rendering context.
+    @param renderSize Rendering canvas size.
+    @param renderArea Content area (in user-space units) to map to the rendering canvas;
+      <code>null</code> corresponds to the entire {@link IContentContext#getBox() content box}. It
+      applies to the root level only.
+    @param renderObject Rendering object.
+    @see #getRenderTransform()
+    @since 0.2.0
+  */
+  public void render(
+    Graphics2D renderContext,
+    Dimension2D renderSize,
+    Rectangle2D renderArea,
+    Shape renderObject
+    )
   {
     if(isRootLevel())
     {
+      this.renderTransform = renderContext.getTransform();
+
       // Initialize the context!
       renderContext.setRenderingHint(
         RenderingHints.KEY_ANTIALIASING,
@@ -1466,6 +1549,7 @@ public final class ContentScanner
     {
       this.renderContext = renderContext;
       this.canvasSize = renderSize;
+      this.renderArea = renderArea;
       this.renderObject = renderObject;
 
       // Scan this level for rendering!
@@ -1476,7 +1560,10 @@ public final class ContentScanner
     {
       this.renderContext = null;
       this.canvasSize = contextSize;
+      this.renderArea = null;
       this.renderObject = null;
+      if(isRootLevel())
+      {this.renderTransform = null;}
     }
   }
 
@@ -43,7 +43,7 @@ import org.pdfclown.util.NotImplementedException;
   green and blue color values [PDF:1.6:4.5.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.1, 11/09/11
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF11)
 public final class CalRGBColorSpace
@@ -110,10 +110,7 @@ public final class CalRGBColorSpace
   public Paint getPaint(
     Color<?> color
     )
-  {
-    // FIXME: temporary hack
-    return new java.awt.Color(0,0,0);
-  }
+  {return new java.awt.Color(ColorConverter.get(this).toRgb(color));}
   // </public>
   // </interface>
   // </dynamic>
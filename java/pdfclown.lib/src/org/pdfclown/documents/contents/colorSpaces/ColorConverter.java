@@ -0,0 +1,825 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.colorSpaces;
+
+import java.awt.color.ICC_ColorSpace;
+import java.awt.color.ICC_Profile;
+import java.util.List;
+
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.functions.Function;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.util.IDataWrapper;
+
+/**
+  Color converter from a color space to device RGB.
+  <p>Converters work on packed arrays of color components and return packed RGB values
+  (<code>0xRRGGBB</code>), so that large amounts of colors (such as image samples) can be
+  converted without allocating color objects. Expensive conversions (ICC profiles, CIE-based
+  spaces, tint transformations) are precomputed into lookup tables (evenly-spaced sample grids
+  across the component ranges, interpolated multilinearly), whilst indexed spaces are resolved
+  into their full palette.</p>
+  <p>Converters are immutable, hence thread-safe; those of document color spaces are shared through
+  the {@link Document#getColorConverterCache() document cache}.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public abstract class ColorConverter
+{
+  // <class>
+  // <classes>
+  /**
+    Calibrated gray converter [PDF:1.6:4.5.4].
+  */
+  private static final class CalGrayConverter
+    extends CIEBasedConverter
+  {
+    private final double gamma;
+
+    CalGrayConverter(
+      CalGrayColorSpace colorSpace
+      )
+    {
+      super(new double[]{0, 1}, colorSpace.getWhitePoint());
+
+      gamma = colorSpace.getGamma()[0];
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      double y = Math.pow(components[componentOffset], gamma) * whitePoint[1];
+      return toRgb(whitePoint[0] * y / whitePoint[1], y, whitePoint[2] * y / whitePoint[1]);
+    }
+  }
+
+  /**
+    Calibrated RGB converter [PDF:1.6:4.5.4].
+  */
+  private static final class CalRGBConverter
+    extends CIEBasedConverter
+  {
+    private final double[] gamma;
+    private final double[] matrix;
+
+    CalRGBConverter(
+      CalRGBColorSpace colorSpace
+      )
+    {
+      super(new double[]{0, 1, 0, 1, 0, 1}, colorSpace.getWhitePoint());
+
+      gamma = colorSpace.getGamma();
+      double[] matrix = getValues(colorSpace.getDictionary().resolve(PdfName.Matrix));
+      this.matrix = (matrix != null ? matrix : new double[]{1, 0, 0, 0, 1, 0, 0, 0, 1});
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      double a = Math.pow(components[componentOffset], gamma[0]);
+      double b = Math.pow(components[componentOffset + 1], gamma[1]);
+      double c = Math.pow(components[componentOffset + 2], gamma[2]);
+      return toRgb(
+        matrix[0] * a + matrix[3] * b + matrix[6] * c,
+        matrix[1] * a + matrix[4] * b + matrix[7] * c,
+        matrix[2] * a + matrix[5] * b + matrix[8] * c
+        );
+    }
+  }
+
+  /**
+    CIE-based converter.
+    <p>XYZ tristimulus values are adapted from the color space white point to the sRGB one (D65)
+    through XYZ scaling.</p>
+  */
+  private abstract static class CIEBasedConverter
+    extends ColorConverter
+  {
+    final double[] whitePoint;
+
+    CIEBasedConverter(
+      double[] ranges,
+      double[] whitePoint
+      )
+    {
+      super(ranges);
+
+      this.whitePoint = whitePoint;
+    }
+
+    /**
+      Gets the sRGB value corresponding to the specified XYZ tristimulus values.
+    */
+    final int toRgb(
+      double x,
+      double y,
+      double z
+      )
+    {
+      x *= .9505 / whitePoint[0]; y /= whitePoint[1]; z *= 1.089 / whitePoint[2];
+      return toByte(encodeGamma(3.2406 * x - 1.5372 * y - .4986 * z)) << 16
+        | toByte(encodeGamma(-.9689 * x + 1.8758 * y + .0415 * z)) << 8
+        | toByte(encodeGamma(.0557 * x - .2040 * y + 1.0570 * z));
+    }
+
+    private static double encodeGamma(
+      double value
+      )
+    {return value <= .0031308 ? value * 12.92 : 1.055 * Math.pow(value, 1 / 2.4) - .055;}
+  }
+
+  private static final class DeviceCMYKConverter
+    extends ColorConverter
+  {
+    DeviceCMYKConverter(
+      )
+    {super(new double[]{0, 1, 0, 1, 0, 1, 0, 1});}
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      /*
+        NOTE: Conversion is consistent with DeviceCMYKColorSpace.getPaint(...).
+      */
+      double keyCorrection = components[componentOffset + 3] / 2.5;
+      return toByte(1 - components[componentOffset] + keyCorrection) << 16
+        | toByte(1 - components[componentOffset + 1] + keyCorrection) << 8
+        | toByte(1 - components[componentOffset + 2] + keyCorrection);
+    }
+  }
+
+  private static final class DeviceGrayConverter
+    extends ColorConverter
+  {
+    DeviceGrayConverter(
+      )
+    {super(new double[]{0, 1});}
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {return toByte(components[componentOffset]) * 0x010101;}
+  }
+
+  private static final class DeviceRGBConverter
+    extends ColorConverter
+  {
+    DeviceRGBConverter(
+      )
+    {super(new double[]{0, 1, 0, 1, 0, 1});}
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      return toByte(components[componentOffset]) << 16
+        | toByte(components[componentOffset + 1]) << 8
+        | toByte(components[componentOffset + 2]);
+    }
+  }
+
+  /**
+    ICC profile converter [PDF:1.6:4.5.4].
+    <p>It's meant to be used as a lookup table source only, as its direct conversion is slow.</p>
+  */
+  private static final class ICCBasedConverter
+    extends ColorConverter
+  {
+    private final ICC_ColorSpace colorSpace;
+
+    ICCBasedConverter(
+      double[] ranges,
+      ICC_ColorSpace colorSpace
+      )
+    {
+      super(ranges);
+
+      this.colorSpace = colorSpace;
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      float[] values = new float[componentCount];
+      for(int index = 0; index < values.length; index++)
+      {
+        float min = colorSpace.getMinValue(index), max = colorSpace.getMaxValue(index);
+        float value = (float)components[componentOffset + index];
+        values[index] = (value < min ? min : value > max ? max : value);
+      }
+      float[] rgb = colorSpace.toRGB(values);
+      return toByte(rgb[0]) << 16 | toByte(rgb[1]) << 8 | toByte(rgb[2]);
+    }
+  }
+
+  /**
+    Indexed converter [PDF:1.6:4.5.5].
+  */
+  private static final class IndexedConverter
+    extends ColorConverter
+  {
+    private final int[] palette;
+
+    IndexedConverter(
+      int[] palette
+      )
+    {
+      super(new double[]{0, palette.length - 1});
+
+      this.palette = palette;
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      int index = (int)(components[componentOffset] + .5);
+      return palette[index < 0 ? 0 : index >= palette.length ? palette.length - 1 : index];
+    }
+  }
+
+  /**
+    CIE L*a*b* converter [PDF:1.6:4.5.4].
+  */
+  private static final class LabConverter
+    extends CIEBasedConverter
+  {
+    private static double decode(
+      double value
+      )
+    {return value >= 6d / 29 ? value * value * value : (value - 4d / 29) * 108d / 841;}
+
+    LabConverter(
+      LabColorSpace colorSpace
+      )
+    {
+      super(getRanges(colorSpace), colorSpace.getWhitePoint());
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      double l = (components[componentOffset] + 16) / 116;
+      return toRgb(
+        whitePoint[0] * decode(l + components[componentOffset + 1] / 500),
+        whitePoint[1] * decode(l),
+        whitePoint[2] * decode(l - components[componentOffset + 2] / 200)
+        );
+    }
+
+    private static double[] getRanges(
+      LabColorSpace colorSpace
+      )
+    {
+      double[] ranges = getValues(colorSpace.getDictionary().resolve(PdfName.Range));
+      return new double[]
+        {
+          0, 100,
+          ranges != null ? ranges[0] : -100, ranges != null ? ranges[1] : 100,
+          ranges != null ? ranges[2] : -100, ranges != null ? ranges[3] : 100
+        };
+    }
+  }
+
+  /**
+    Lookup table converter.
+    <p>It samples its source converter on a regular grid across the component ranges, then
+    interpolates multilinearly between the samples surrounding each color.</p>
+  */
+  private static final class TableConverter
+    extends ColorConverter
+  {
+    private final int gridSize;
+    private final int[] table;
+
+    TableConverter(
+      ColorConverter source
+      )
+    {
+      super(source.ranges);
+
+      gridSize = getGridSize(componentCount);
+      int pointCount = 1;
+      for(int index = 0; index < componentCount; index++)
+      {pointCount *= gridSize;}
+
+      // Sample the source converter!
+      double[] components = new double[pointCount * componentCount];
+      for(int pointIndex = 0, componentIndex = 0; pointIndex < pointCount; pointIndex++)
+      {
+        for(int index = 0, position = pointIndex; index < componentCount; index++, position /= gridSize)
+        {
+          double min = ranges[index * 2], max = ranges[index * 2 + 1];
+          components[componentIndex++] = min + (position % gridSize) * (max - min) / (gridSize - 1);
+        }
+      }
+      table = new int[pointCount];
+      source.toRgb(components, 0, table, 0, pointCount);
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {return toRgb(components, componentOffset, new int[componentCount], new double[componentCount]);}
+
+    @Override
+    public void toRgb(
+      double[] components,
+      int componentOffset,
+      int[] rgbs,
+      int rgbOffset,
+      int count
+      )
+    {
+      int[] lowPositions = new int[componentCount];
+      double[] fractions = new double[componentCount];
+      for(int index = 0; index < count; index++, componentOffset += componentCount)
+      {rgbs[rgbOffset + index] = toRgb(components, componentOffset, lowPositions, fractions);}
+    }
+
+    private static double getPosition(
+      double value,
+      double min,
+      double max,
+      double maxPosition
+      )
+    {
+      double position = (max == min ? 0 : (value - min) * maxPosition / (max - min));
+      return position < 0 ? 0 : position > maxPosition ? maxPosition : position;
+    }
+
+    private static int interpolate(
+      int lowRgb,
+      int highRgb,
+      double fraction
+      )
+    {
+      if(fraction == 0 || lowRgb == highRgb)
+        return lowRgb;
+
+      int red = lowRgb >> 16 & 0xff, green = lowRgb >> 8 & 0xff, blue = lowRgb & 0xff;
+      return (int)(red + fraction * ((highRgb >> 16 & 0xff) - red) + .5) << 16
+        | (int)(green + fraction * ((highRgb >> 8 & 0xff) - green) + .5) << 8
+        | (int)(blue + fraction * ((highRgb & 0xff) - blue) + .5);
+    }
+
+    /**
+      @param lowPositions Working array for the grid positions preceding the color.
+      @param fractions Working array for the distances of the color from its preceding grid
+        positions.
+    */
+    private int toRgb(
+      double[] components,
+      int componentOffset,
+      int[] lowPositions,
+      double[] fractions
+      )
+    {
+      double maxPosition = gridSize - 1;
+      for(int index = 0; index < componentCount; index++)
+      {
+        double position = getPosition(components[componentOffset + index], ranges[index * 2], ranges[index * 2 + 1], maxPosition);
+        int lowPosition = lowPositions[index] = Math.min((int)position, gridSize - 2);
+        fractions[index] = position - lowPosition;
+      }
+      if(componentCount == 1) // Fast path.
+        return interpolate(table[lowPositions[0]], table[lowPositions[0] + 1], fractions[0]);
+      else if(componentCount == 3) // Fast path.
+      {
+        int tableIndex = (lowPositions[2] * gridSize + lowPositions[1]) * gridSize + lowPositions[0];
+        int planeStride = gridSize * gridSize;
+        double fraction0 = fractions[0], fraction1 = fractions[1];
+        return interpolate(
+          interpolate(
+            interpolate(table[tableIndex], table[tableIndex + 1], fraction0),
+            interpolate(table[tableIndex + gridSize], table[tableIndex + gridSize + 1], fraction0),
+            fraction1
+            ),
+          interpolate(
+            interpolate(table[tableIndex + planeStride], table[tableIndex + planeStride + 1], fraction0),
+            interpolate(table[tableIndex + planeStride + gridSize], table[tableIndex + planeStride + gridSize + 1], fraction0),
+            fraction1
+            ),
+          fractions[2]
+          );
+      }
+
+      double red = 0, green = 0, blue = 0;
+      for(int corner = 0, cornerCount = 1 << componentCount; corner < cornerCount; corner++)
+      {
+        double weight = 1;
+        int tableIndex = 0;
+        for(int index = componentCount - 1; index >= 0; index--)
+        {
+          int position = lowPositions[index];
+          if((corner & (1 << index)) != 0)
+          {
+            weight *= fractions[index];
+            position++;
+          }
+          else
+          {weight *= 1 - fractions[index];}
+          tableIndex = tableIndex * gridSize + position;
+        }
+        if(weight == 0)
+          continue;
+
+        int rgb = table[tableIndex];
+        red += weight * (rgb >> 16 & 0xff);
+        green += weight * (rgb >> 8 & 0xff);
+        blue += weight * (rgb & 0xff);
+      }
+      return (int)(red + .5) << 16 | (int)(green + .5) << 8 | (int)(blue + .5);
+    }
+  }
+
+  /**
+    Tint transformation converter (separation and DeviceN spaces) [PDF:1.6:4.5.5].
+  */
+  private static final class TintConverter
+    extends ColorConverter
+  {
+    private final ColorConverter alternateConverter;
+    private final Function<?> tintFunction;
+
+    TintConverter(
+      SpecialDeviceColorSpace colorSpace,
+      ColorConverter alternateConverter
+      )
+    {
+      super(getUnitRanges(colorSpace.getComponentCount()));
+
+      this.tintFunction = colorSpace.getTintFunction();
+      this.alternateConverter = alternateConverter;
+    }
+
+    @Override
+    public int toRgb(
+      double[] components,
+      int componentOffset
+      )
+    {
+      int[] rgbs = new int[1];
+      toRgb(components, componentOffset, rgbs, 0, 1);
+      return rgbs[0];
+    }
+
+    @Override
+    public void toRgb(
+      double[] components,
+      int componentOffset,
+      int[] rgbs,
+      int rgbOffset,
+      int count
+      )
+    {
+      double[] alternateComponents = new double[count * alternateConverter.componentCount];
+      tintFunction.calculate(components, componentOffset, alternateComponents, 0, count);
+      alternateConverter.toRgb(alternateComponents, 0, rgbs, rgbOffset, count);
+    }
+
+    private static double[] getUnitRanges(
+      int componentCount
+      )
+    {
+      double[] ranges = new double[componentCount * 2];
+      for(int index = 1; index < ranges.length; index += 2)
+      {ranges[index] = 1;}
+      return ranges;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final ColorConverter DeviceCMYK = new DeviceCMYKConverter();
+  private static final ColorConverter DeviceGray = new DeviceGrayConverter();
+  private static final ColorConverter DeviceRGB = new DeviceRGBConverter();
+
+  /**
+    Maximum number of components converted through a lookup table.
+  */
+  private static final int MaxTableComponentCount = 4;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the converter of the specified color space.
+
+    @throws IllegalArgumentException If the color space is a pattern space (whose colors have no
+      fixed conversion).
+  */
+  public static ColorConverter get(
+    ColorSpace<?> colorSpace
+    )
+  {
+    ColorConverter converter = getDeviceConverter(colorSpace);
+    if(converter != null)
+      return converter;
+
+    Document document = colorSpace.getDocument();
+    return document != null
+      ? document.getColorConverterCache().getConverter(colorSpace)
+      : create(colorSpace);
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Creates the converter of the specified color space.
+  */
+  static ColorConverter create(
+    ColorSpace<?> colorSpace
+    )
+  {
+    ColorConverter converter = getDeviceConverter(colorSpace);
+    if(converter != null)
+      return converter;
+    else if(colorSpace instanceof CalGrayColorSpace)
+      return new TableConverter(new CalGrayConverter((CalGrayColorSpace)colorSpace));
+    else if(colorSpace instanceof CalRGBColorSpace)
+      return new TableConverter(new CalRGBConverter((CalRGBColorSpace)colorSpace));
+    else if(colorSpace instanceof LabColorSpace)
+      return new TableConverter(new LabConverter((LabColorSpace)colorSpace));
+    else if(colorSpace instanceof ICCBasedColorSpace)
+      return createICCBased((ICCBasedColorSpace)colorSpace);
+    else if(colorSpace instanceof IndexedColorSpace)
+      return createIndexed((IndexedColorSpace)colorSpace);
+    else if(colorSpace instanceof SpecialDeviceColorSpace)
+    {
+      SpecialDeviceColorSpace specialColorSpace = (SpecialDeviceColorSpace)colorSpace;
+      converter = new TintConverter(specialColorSpace, get(specialColorSpace.getAlternateSpace()));
+      return converter.componentCount <= MaxTableComponentCount ? new TableConverter(converter) : converter;
+    }
+    else
+      throw new IllegalArgumentException(colorSpace.getClass().getSimpleName() + " cannot be converted.");
+  }
+  // </internal>
+
+  // <private>
+  private static ColorConverter createICCBased(
+    ICCBasedColorSpace colorSpace
+    )
+  {
+    PdfStream profile = colorSpace.getProfile();
+    PdfDictionary profileHeader = profile.getHeader();
+    int componentCount = colorSpace.getComponentCount();
+    try
+    {
+      ICC_ColorSpace iccColorSpace = new ICC_ColorSpace(ICC_Profile.getInstance(profile.getBody().toByteArray()));
+      if(iccColorSpace.getNumComponents() == componentCount
+        && componentCount <= MaxTableComponentCount)
+      {
+        double[] ranges = getValues(profileHeader.resolve(PdfName.Range));
+        if(ranges == null)
+        {
+          ranges = new double[componentCount * 2];
+          for(int index = 0; index < componentCount; index++)
+          {
+            ranges[index * 2] = iccColorSpace.getMinValue(index);
+            ranges[index * 2 + 1] = iccColorSpace.getMaxValue(index);
+          }
+        }
+        return new TableConverter(new ICCBasedConverter(ranges, iccColorSpace));
+      }
+    }
+    catch(IllegalArgumentException e)
+    {/* NOOP: Invalid profile. */}
+
+    // Fallback to the alternate color space!
+    PdfDirectObject alternateObject = profileHeader.get(PdfName.Alternate);
+    if(alternateObject != null)
+      return get(ColorSpace.wrap(alternateObject));
+
+    switch(componentCount)
+    {
+      case 1:
+        return DeviceGray;
+      case 4:
+        return DeviceCMYK;
+      default:
+        return DeviceRGB;
+    }
+  }
+
+  private static ColorConverter createIndexed(
+    IndexedColorSpace colorSpace
+    )
+  {
+    PdfArray baseDataObject = colorSpace.getBaseDataObject();
+    ColorConverter baseConverter = get(colorSpace.getBaseSpace());
+    int highValue = ((PdfNumber<?>)baseDataObject.resolve(2)).getIntValue();
+    byte[] lookup;
+    {
+      PdfDataObject lookupObject = baseDataObject.resolve(3);
+      lookup = (lookupObject instanceof PdfStream
+        ? ((PdfStream)lookupObject).getBody().toByteArray()
+        : ((IDataWrapper)lookupObject).toByteArray());
+    }
+
+    // Convert the color table into the full palette!
+    int baseComponentCount = baseConverter.componentCount;
+    double[] baseComponents = new double[(highValue + 1) * baseComponentCount];
+    for(int index = 0; index < baseComponents.length; index++)
+    {
+      int componentIndex = index % baseComponentCount;
+      double min = baseConverter.ranges[componentIndex * 2], max = baseConverter.ranges[componentIndex * 2 + 1];
+      baseComponents[index] = min + (index < lookup.length ? lookup[index] & 0xff : 0) * (max - min) / 255;
+    }
+    int[] palette = new int[highValue + 1];
+    baseConverter.toRgb(baseComponents, 0, palette, 0, palette.length);
+    return new IndexedConverter(palette);
+  }
+
+  private static ColorConverter getDeviceConverter(
+    ColorSpace<?> colorSpace
+    )
+  {
+    if(colorSpace instanceof DeviceRGBColorSpace)
+      return DeviceRGB;
+    else if(colorSpace instanceof DeviceCMYKColorSpace)
+      return DeviceCMYK;
+    else if(colorSpace instanceof DeviceGrayColorSpace)
+      return DeviceGray;
+    else
+      return null;
+  }
+
+  /**
+    Gets the number of samples per component of a lookup table.
+  */
+  private static int getGridSize(
+    int componentCount
+    )
+  {
+    switch(componentCount)
+    {
+      case 1:
+        return 256;
+      case 2:
+        return 65;
+      case 3:
+        return 33;
+      default:
+        return 13;
+    }
+  }
+
+  private static double[] getValues(
+    PdfDataObject arrayObject
+    )
+  {
+    if(arrayObject == null)
+      return null;
+
+    PdfArray array = (PdfArray)arrayObject;
+    double[] values = new double[array.size()];
+    for(int index = 0; index < values.length; index++)
+    {values[index] = ((PdfNumber<?>)array.resolve(index)).getDoubleValue();}
+    return values;
+  }
+
+  private static int toByte(
+    double value
+    )
+  {return value <= 0 ? 0 : value >= 1 ? 255 : (int)(value * 255 + .5);}
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  final int componentCount;
+  /**
+    Component ranges (min/max pairs).
+  */
+  final double[] ranges;
+  // </fields>
+
+  // <constructors>
+  ColorConverter(
+    double[] ranges
+    )
+  {
+    this.ranges = ranges;
+    this.componentCount = ranges.length / 2;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the number of components of the colors to convert.
+  */
+  public final int getComponentCount(
+    )
+  {return componentCount;}
+
+  /**
+    Gets the RGB value (<code>0xRRGGBB</code>) of the specified color.
+
+    @param color Color belonging to the converted color space.
+  */
+  public final int toRgb(
+    Color<?> color
+    )
+  {
+    List<PdfDirectObject> componentObjects = color.getComponents();
+    double[] components = new double[componentCount];
+    for(int index = 0, length = Math.min(componentCount, componentObjects.size()); index < length; index++)
+    {components[index] = ((PdfNumber<?>)componentObjects.get(index)).getDoubleValue();}
+    return toRgb(components, 0);
+  }
+
+  /**
+    Gets the RGB value (<code>0xRRGGBB</code>) of the specified color.
+
+    @param components Color components.
+    @param componentOffset Position of the first color component.
+  */
+  public abstract int toRgb(
+    double[] components,
+    int componentOffset
+    );
+
+  /**
+    Converts the specified batch of colors into RGB values (<code>0xRRGGBB</code>).
+
+    @param components Color components (consecutive groups of {@link #getComponentCount()}
+      values).
+    @param componentOffset Position of the first color component.
+    @param rgbs RGB values.
+    @param rgbOffset Position of the first RGB value.
+    @param count Number of colors.
+  */
+  public void toRgb(
+    double[] components,
+    int componentOffset,
+    int[] rgbs,
+    int rgbOffset,
+    int count
+    )
+  {
+    for(int index = 0; index < count; index++, componentOffset += componentCount)
+    {rgbs[rgbOffset + index] = toRgb(components, componentOffset);}
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,187 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.colorSpaces;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.objects.PdfDirectObject;
+
+/**
+  Document-wide cache of color converters.
+  <p>Color converters (along with their lookup tables) are built the first time their color space
+  is converted, then reused by all the pages of the same document; least recently used entries are
+  evicted when the {@link #getMaxEntryCount() entry count limit} is exceeded.</p>
+  <p>This class is thread-safe.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ColorConverterCache
+{
+  // <class>
+  // <classes>
+  private static final class Key
+  {
+    final PdfDirectObject colorSpaceObject;
+
+    Key(
+      PdfDirectObject colorSpaceObject
+      )
+    {this.colorSpaceObject = colorSpaceObject;}
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {return object instanceof Key && ((Key)object).colorSpaceObject == colorSpaceObject;}
+
+    @Override
+    public int hashCode(
+      )
+    {return System.identityHashCode(colorSpaceObject);}
+  }
+  // </classes>
+
+  // <dynamic>
+  // <fields>
+  private final LinkedHashMap<Key,ColorConverter> entries = new LinkedHashMap<Key,ColorConverter>(16, .75f, true);
+  private long hitCount;
+  private int maxEntryCount = 64;
+  private long missCount;
+  // </fields>
+
+  // <constructors>
+  public ColorConverterCache(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the cached converters.
+  */
+  public synchronized void clear(
+    )
+  {entries.clear();}
+
+  /**
+    Gets the converter of the specified color space.
+  */
+  public ColorConverter getConverter(
+    ColorSpace<?> colorSpace
+    )
+  {
+    Key key = new Key(colorSpace.getBaseDataObject());
+    synchronized(this)
+    {
+      ColorConverter converter = entries.get(key);
+      if(converter != null)
+      {
+        hitCount++;
+        return converter;
+      }
+      missCount++;
+    }
+
+    /*
+      NOTE: Converters are built outside the lock, as their lookup tables may be expensive and
+      may in turn require the converters of base color spaces.
+    */
+    ColorConverter converter = ColorConverter.create(colorSpace);
+    synchronized(this)
+    {
+      entries.put(key, converter);
+      evict();
+    }
+    return converter;
+  }
+
+  /**
+    Gets the number of cached converters.
+  */
+  public synchronized int getEntryCount(
+    )
+  {return entries.size();}
+
+  /**
+    Gets the number of converter requests served from this cache.
+  */
+  public synchronized long getHitCount(
+    )
+  {return hitCount;}
+
+  /**
+    Gets the maximum number of cached converters.
+  */
+  public synchronized int getMaxEntryCount(
+    )
+  {return maxEntryCount;}
+
+  /**
+    Gets the number of converter requests which required building.
+  */
+  public synchronized long getMissCount(
+    )
+  {return missCount;}
+
+  /**
+    @see #getMaxEntryCount()
+  */
+  public synchronized void setMaxEntryCount(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Maximum entry count MUST be non-negative.");
+
+    maxEntryCount = value;
+    evict();
+  }
+  // </public>
+
+  // <private>
+  /**
+    Removes the least recently used entries exceeding the limit.
+  */
+  private void evict(
+    )
+  {
+    for(Iterator<Map.Entry<Key,ColorConverter>> entryIterator = entries.entrySet().iterator();
+      entries.size() > maxEntryCount;)
+    {
+      entryIterator.next();
+      entryIterator.remove();
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -34,6 +34,8 @@ import org.pdfclown.documents.Document;
 import org.pdfclown.documents.contents.IContentContext;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.NotImplementedException;
 
@@ -41,7 +43,7 @@ import org.pdfclown.util.NotImplementedException;
   ICC-based color space [PDF:1.6:4.5.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.1, 04/10/11
+  @version 0.2.0, 10/19/26
 */
 // TODO:IMPL improve profile support (see ICC.1:2003-09 spec)!!!
 @PDF(VersionEnum.PDF13)
@@ -77,11 +79,9 @@ public final class ICCBasedColorSpace
   }
 
   @Override
-  public int getComponentCount()
-  {
-    // FIXME: Auto-generated method stub
-    return 0;
-  }
+  public int getComponentCount(
+    )
+  {return ((PdfNumber<?>)getProfile().getHeader().resolve(PdfName.N)).getIntValue();}
 
   @Override
   public Color<?> getDefaultColor(
@@ -92,10 +92,7 @@ public final class ICCBasedColorSpace
   public Paint getPaint(
     Color<?> color
     )
-  {
-    // FIXME: temporary hack
-    return new java.awt.Color(0,0,0);
-  }
+  {return new java.awt.Color(ColorConverter.get(this).toRgb(color));}
 
   public PdfStream getProfile(
     )
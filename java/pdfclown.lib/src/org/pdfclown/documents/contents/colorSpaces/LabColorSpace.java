@@ -46,7 +46,7 @@ import org.pdfclown.util.math.Interval;
   components of a CIE 1976 L*a*b* space [PDF:1.6:4.5.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.1, 11/09/11
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF11)
 public final class LabColorSpace
@@ -146,10 +146,7 @@ public final class LabColorSpace
   public Paint getPaint(
     Color<?> color
     )
-  {
-    // FIXME: temporary hack
-    return new java.awt.Color(0,0,0);
-  }
+  {return new java.awt.Color(ColorConverter.get(this).toRgb(color));}
   // </public>
   // </interface>
   // </dynamic>
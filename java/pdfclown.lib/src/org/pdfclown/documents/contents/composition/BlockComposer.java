@@ -58,7 +58,7 @@ import org.pdfclown.util.math.OperationUtils;
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @author Manuel Guilbault (manuel.guilbault@gmail.com)
   @since 0.0.3
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/19/26
 */
 /*
   NOTE: BlockComposer is going to become deprecated as soon as DocumentComposer fully supports its 
@@ -178,6 +178,7 @@ public final class BlockComposer
   private boolean hyphenation;
   private char hyphenationCharacter = '-';
   private LineAlignmentEnum lineAlignment = LineAlignmentEnum.BaseLine;
+  private LineBreakingEnum lineBreaking = LineBreakingEnum.Greedy;
   private Length lineSpace = new Length(.2, UnitModeEnum.Relative);
   private XAlignmentEnum xAlignment;
   private YAlignmentEnum yAlignment;
@@ -193,6 +194,11 @@ public final class BlockComposer
   private LocalGraphicsState container;
 
   private double lastFontSize;
+
+  /**
+    Last text fitter (kept to reuse its measurements and line plans on repeated layouts).
+  */
+  private TextFitter textFitter;
   // </fields>
 
   // <constructors>
@@ -302,6 +308,14 @@ public final class BlockComposer
     )
   {return lineAlignment;}
 
+  /**
+    Gets the line breaking strategy.
+    Initial value: {@link LineBreakingEnum#Greedy}.
+  */
+  public LineBreakingEnum getLineBreaking(
+    )
+  {return lineBreaking;}
+
   /**
     Gets the text interline spacing.
     Initial value: 0.
@@ -352,6 +366,14 @@ public final class BlockComposer
     )
   {hyphenationCharacter = value;}
 
+  /**
+    @see #getLineBreaking()
+  */
+  public void setLineBreaking(
+    LineBreakingEnum value
+    )
+  {lineBreaking = value;}
+
   /**
     @see #getLineAlignment()
   */
@@ -464,16 +486,10 @@ public final class BlockComposer
     double baseLine = font.getAscent(fontSize);
     lineAlignment = resolveLineAlignment(lineAlignment);
 
-    TextFitter textFitter = new TextFitter(
-      text,
-      0,
-      font,
-      fontSize,
-      hyphenation,
-      hyphenationCharacter
-      );
+    TextFitter textFitter = getTextFitter(text, font, fontSize);
     int textLength = text.length();
     int index = 0;
+    boolean fitted = false;
 
 textShowing:
     while(true)
@@ -500,6 +516,7 @@ textShowing:
       }
 
       // Does the text fit?
+      fitted = true;
       if(textFitter.fit(
         index,
         frame.getWidth() - currentRow.width, // Remaining row width.
@@ -566,7 +583,7 @@ trailParsing:
       && lineAlignment == LineAlignmentEnum.BaseLine)
     {lastFontSize = fontSize;}
 
-    return textFitter.getEndIndex() > -1 ? index : 0;
+    return fitted ? index : 0;
   }
 
   /**
@@ -910,6 +927,37 @@ trailParsing:
     return true;
   }
 
+  /**
+    Gets the text fitter for the specified text, reusing the last one if compatible.
+  */
+  private TextFitter getTextFitter(
+    String text,
+    Font font,
+    double fontSize
+    )
+  {
+    if(textFitter == null
+      || !textFitter.getText().equals(text)
+      || textFitter.getFont() != font
+      || textFitter.getFontSize() != fontSize
+      || textFitter.isHyphenation() != hyphenation
+      || textFitter.getHyphenationCharacter() != hyphenationCharacter
+      || textFitter.getLineBreaking() != lineBreaking
+      || textFitter.getLineWidth() != frame.getWidth())
+    {
+      textFitter = new TextFitter(
+        text,
+        frame.getWidth(),
+        font,
+        fontSize,
+        hyphenation,
+        hyphenationCharacter,
+        lineBreaking
+        );
+    }
+    return textFitter;
+  }
+
   private Object resolveLineAlignment(
     Object lineAlignment
     )
@@ -25,33 +25,99 @@
 
 package org.pdfclown.documents.contents.composition;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.pdfclown.documents.contents.fonts.Font;
 
 /**
   Text fitter.
+  <p>The text is tokenized once into space-prefixed words, whose widths are measured on demand and
+  cached, so that fitting successive lines doesn't rescan nor remeasure it.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.3
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/19/26
 */
 final class TextFitter
 {
   // <class>
+  // <classes>
+  /**
+    Paragraph line breaks, as planned by the optimal line breaking algorithm.
+  */
+  private static final class LinePlan
+  {
+    /**
+      Width available to the first line.
+    */
+    final double firstWidth;
+    /**
+      Line end indexes (exclusive).
+    */
+    final int[] lineEnds;
+    /**
+      Line begin indexes (inclusive).
+    */
+    final int[] lineStarts;
+
+    LinePlan(
+      double firstWidth,
+      int[] lineStarts,
+      int[] lineEnds
+      )
+    {
+      this.firstWidth = firstWidth;
+      this.lineStarts = lineStarts;
+      this.lineEnds = lineEnds;
+    }
+  }
+  // </classes>
+
   // <static>
   // <fields>
-  private static final Pattern FitPattern = Pattern.compile("(\\s*)(\\S*)");
+  /**
+    Cost of a line whose single word exceeds the available width.
+  */
+  private static final double OverflowCost = 1e20;
   // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Gets whether the specified character is a whitespace (as in regular expressions' <code>\s</code>
+    class).
+  */
+  private static boolean isSpace(
+    char textChar
+    )
+  {
+    switch(textChar)
+    {
+      case ' ':
+      case '\t':
+      case '\n':
+      case '\u000B':
+      case '\f':
+      case '\r':
+        return true;
+      default:
+        return false;
+    }
+  }
+  // </private>
+  // </interface>
   // </static>
-  
+
   // <dynamic>
   // <fields>
   private final Font font;
   private final double fontSize;
   private final boolean hyphenation;
   private final char hyphenationCharacter;
+  private final LineBreakingEnum lineBreaking;
+  private final double lineWidth;
   private final String text;
   private double width;
 
@@ -59,24 +125,80 @@ final class TextFitter
   private int endIndex = -1;
   private String fittedText;
   private double fittedWidth;
+
+  /*
+    NOTE: Tokens match the (\s*)(\S*) pattern, i.e. each of them is a (possibly empty) whitespace
+    run followed by a (possibly empty) word.
+  */
+  private final int tokenCount;
+  /** Token end indexes (exclusive). */
+  private final int[] tokenEnds;
+  /** Token begin indexes (inclusive). */
+  private final int[] tokenStarts;
+  /** Token widths (unscaled; -1 if not measured yet). */
+  private final int[] tokenWidths;
+  /** Token word begin indexes (inclusive). */
+  private final int[] wordStarts;
+
+  private LinePlan linePlan;
+  /** Line plans by paragraph begin index. */
+  private Map<Integer,LinePlan> linePlans;
   // </fields>
 
   // <constructors>
+  /**
+    @param text Text to fit.
+    @param width Line width.
+    @param font Font.
+    @param fontSize Font size.
+    @param hyphenation Whether the hyphenation algorithm has to be applied.
+    @param hyphenationCharacter Character shown at the end of the line before a hyphenation break.
+    @param lineBreaking Line breaking strategy.
+  */
   TextFitter(
     String text,
     double width,
     Font font,
     double fontSize,
     boolean hyphenation,
-    char hyphenationCharacter
+    char hyphenationCharacter,
+    LineBreakingEnum lineBreaking
     )
   {
     this.text = text;
-    this.width = width;
+    this.width = this.lineWidth = width;
     this.font = font;
     this.fontSize = fontSize;
     this.hyphenation = hyphenation;
     this.hyphenationCharacter = hyphenationCharacter;
+    this.lineBreaking = lineBreaking;
+
+    // Tokenize the text!
+    int textLength = text.length();
+    int[] tokenStarts = new int[8], wordStarts = new int[8], tokenEnds = new int[8];
+    int tokenCount = 0;
+    for(int index = 0; index < textLength;)
+    {
+      if(tokenCount == tokenStarts.length)
+      {
+        tokenStarts = Arrays.copyOf(tokenStarts, tokenCount << 1);
+        wordStarts = Arrays.copyOf(wordStarts, tokenCount << 1);
+        tokenEnds = Arrays.copyOf(tokenEnds, tokenCount << 1);
+      }
+      tokenStarts[tokenCount] = index;
+      while(index < textLength && isSpace(text.charAt(index)))
+      {index++;}
+      wordStarts[tokenCount] = index;
+      while(index < textLength && !isSpace(text.charAt(index)))
+      {index++;}
+      tokenEnds[tokenCount++] = index;
+    }
+    this.tokenCount = tokenCount;
+    this.tokenStarts = tokenStarts;
+    this.wordStarts = wordStarts;
+    this.tokenEnds = tokenEnds;
+    tokenWidths = new int[tokenCount];
+    Arrays.fill(tokenWidths, -1);
   }
   // </constructors>
 
@@ -106,7 +228,7 @@ final class TextFitter
     @param width Available width.
     @param unspacedFitting Whether fitting of unspaced text is allowed.
     @return Whether the operation was successful.
-    @version 0.0.4
+    @version 0.2.0
   */
   public boolean fit(
     int index,
@@ -125,18 +247,25 @@ final class TextFitter
 fitting:
     // Fitting the text within the available width...
     {
-      Matcher matcher = FitPattern.matcher(text);
-      matcher.region(beginIndex,text.length());
-      while(matcher.find())
+      int lineEnd = (lineBreaking == LineBreakingEnum.Optimal ? getLineEnd(beginIndex, width) : text.length());
+      for(
+        int tokenIndex = getTokenIndex(beginIndex),
+          tokenStart = beginIndex;
+        tokenIndex < tokenCount;
+        tokenStart = tokenEnds[tokenIndex++]
+        )
       {
+        if(tokenEnds[tokenIndex] > lineEnd) // Planned line break.
+          break fitting;
+
         // Scanning for the presence of a line break...
         /*
           NOTE: This text fitting algorithm returns everytime it finds a line break character,
           as it's intended to evaluate the width of just a single line of text at a time.
         */
         for(
-          int spaceIndex = matcher.start(1),
-            spaceEnd = matcher.end(1);
+          int spaceIndex = tokenStart,
+            spaceEnd = wordStarts[tokenIndex];
           spaceIndex < spaceEnd;
           spaceIndex++
           )
@@ -151,8 +280,8 @@ fitting:
         }
 
         // Add the current word!
-        int wordEndIndex = matcher.end(0); // Current word's limit.
-        double wordWidth = font.getWidth(matcher.group(0), fontSize); // Current word's width.
+        int wordEndIndex = tokenEnds[tokenIndex]; // Current word's limit.
+        double wordWidth = getWidth(tokenStart, tokenIndex); // Current word's width.
         fittedWidth += wordWidth;
         // Does the fitted text's width exceed the available width?
         if(fittedWidth > width)
@@ -282,6 +411,20 @@ hyphenating:
     )
   {return hyphenationCharacter;}
 
+  /**
+    Gets the line breaking strategy.
+  */
+  public LineBreakingEnum getLineBreaking(
+    )
+  {return lineBreaking;}
+
+  /**
+    Gets the width available to a whole line.
+  */
+  public double getLineWidth(
+    )
+  {return lineWidth;}
+
   /**
     Gets the available text.
   */
@@ -303,6 +446,203 @@ hyphenating:
     )
   {return hyphenation;}
   // </public>
+
+  // <private>
+  /**
+    Creates the line plan of the paragraph beginning at the specified position.
+    <p>Line breaks are chosen minimizing the sum of the squared slacks of the paragraph lines (but
+    the last one), that is the Knuth-Plass total-fit algorithm applied to unstretchable spaces.</p>
+
+    @param index Paragraph begin index, inclusive.
+    @param width Width available to the first line.
+  */
+  private LinePlan createLinePlan(
+    int index,
+    double width
+    )
+  {
+    // Collect the paragraph tokens!
+    int firstTokenIndex = getTokenIndex(index);
+    int lastTokenIndex = firstTokenIndex;
+    for(
+      int tokenStart = index;
+      lastTokenIndex < tokenCount;
+      tokenStart = tokenEnds[lastTokenIndex++]
+      )
+    {
+      boolean lineBreak = false;
+      for(int spaceIndex = tokenStart, spaceEnd = wordStarts[lastTokenIndex]; spaceIndex < spaceEnd; spaceIndex++)
+      {
+        char textChar = text.charAt(spaceIndex);
+        if(textChar == '\n' || textChar == '\r')
+        {
+          lineBreak = true;
+          break;
+        }
+      }
+      if(lineBreak)
+        break;
+    }
+    int count = lastTokenIndex - firstTokenIndex;
+
+    /*
+      NOTE: Line begin indexes mirror the way BlockComposer resumes after a row break, i.e. skipping
+      the break character and the following spaces.
+    */
+    int[] starts = new int[count];
+    for(int tokenIndex = 0; tokenIndex < count; tokenIndex++)
+    {
+      if(tokenIndex == 0)
+      {starts[tokenIndex] = index;}
+      else
+      {
+        int start = tokenEnds[firstTokenIndex + tokenIndex - 1] + 1;
+        while(start < wordStarts[firstTokenIndex + tokenIndex] && text.charAt(start) == ' ')
+        {start++;}
+        starts[tokenIndex] = start;
+      }
+    }
+
+    // Find the optimal breaks!
+    double[] costs = new double[count + 1];
+    Arrays.fill(costs, Double.POSITIVE_INFINITY);
+    costs[0] = 0;
+    int[] lineBeginTokenIndexes = new int[count + 1];
+    for(int beginTokenIndex = 0; beginTokenIndex < count; beginTokenIndex++)
+    {
+      if(costs[beginTokenIndex] == Double.POSITIVE_INFINITY)
+        continue;
+
+      double availableWidth = (beginTokenIndex == 0 ? width : lineWidth);
+      double currentWidth = 0;
+      for(int endTokenIndex = beginTokenIndex; endTokenIndex < count; endTokenIndex++)
+      {
+        int tokenIndex = firstTokenIndex + endTokenIndex;
+        currentWidth += getWidth(
+          endTokenIndex == beginTokenIndex ? starts[beginTokenIndex] : tokenStarts[tokenIndex],
+          tokenIndex
+          );
+        boolean overflow = currentWidth > availableWidth;
+        if(overflow && endTokenIndex > beginTokenIndex)
+          break;
+
+        double cost;
+        if(overflow)
+        {cost = OverflowCost;}
+        else if(endTokenIndex == count - 1) // Last line.
+        {cost = 0;}
+        else
+        {
+          double slack = availableWidth - currentWidth;
+          cost = slack * slack;
+        }
+        cost += costs[beginTokenIndex];
+        if(cost < costs[endTokenIndex + 1])
+        {
+          costs[endTokenIndex + 1] = cost;
+          lineBeginTokenIndexes[endTokenIndex + 1] = beginTokenIndex;
+        }
+        if(overflow)
+          break;
+      }
+    }
+
+    // Collect the lines!
+    int lineCount = 0;
+    for(int tokenIndex = count; tokenIndex > 0; tokenIndex = lineBeginTokenIndexes[tokenIndex])
+    {lineCount++;}
+    int[] lineStarts = new int[lineCount], lineEnds = new int[lineCount];
+    for(int tokenIndex = count, lineIndex = lineCount - 1; tokenIndex > 0; lineIndex--)
+    {
+      lineEnds[lineIndex] = tokenEnds[firstTokenIndex + tokenIndex - 1];
+      tokenIndex = lineBeginTokenIndexes[tokenIndex];
+      lineStarts[lineIndex] = starts[tokenIndex];
+    }
+    return new LinePlan(width, lineStarts, lineEnds);
+  }
+
+  /**
+    Gets the planned end of the line beginning at the specified position.
+
+    @param index Line begin index, inclusive.
+    @param width Available width.
+  */
+  private int getLineEnd(
+    int index,
+    double width
+    )
+  {
+    if(linePlan != null)
+    {
+      int lineIndex = Arrays.binarySearch(linePlan.lineStarts, index);
+      if(lineIndex >= 0
+        && (lineIndex == 0 ? linePlan.firstWidth : lineWidth) == width)
+        return linePlan.lineEnds[lineIndex];
+    }
+
+    if(linePlans == null)
+    {linePlans = new HashMap<Integer,LinePlan>();}
+    linePlan = linePlans.get(index);
+    if(linePlan == null
+      || linePlan.firstWidth != width)
+    {linePlans.put(index, linePlan = createLinePlan(index, width));}
+    return linePlan.lineEnds.length > 0 ? linePlan.lineEnds[0] : text.length();
+  }
+
+  /**
+    Gets the index of the token containing the specified position.
+  */
+  private int getTokenIndex(
+    int index
+    )
+  {
+    if(index >= text.length())
+      return tokenCount;
+
+    int tokenIndex = Arrays.binarySearch(tokenStarts, 0, tokenCount, index);
+    return tokenIndex >= 0 ? tokenIndex : -tokenIndex - 2;
+  }
+
+  /**
+    Gets the width of the specified token, beginning at the specified position.
+
+    @param index Begin index, inclusive.
+    @param tokenIndex Token index.
+  */
+  private double getWidth(
+    int index,
+    int tokenIndex
+    )
+  {
+    int width;
+    if(index == tokenStarts[tokenIndex])
+    {
+      width = tokenWidths[tokenIndex];
+      if(width == -1)
+      {width = tokenWidths[tokenIndex] = measure(index, tokenEnds[tokenIndex]);}
+    }
+    else
+    {width = measure(index, tokenEnds[tokenIndex]);}
+    return width * Font.getScalingFactor(fontSize);
+  }
+
+  /**
+    Gets the unscaled width of the specified text range.
+
+    @param beginIndex Begin index, inclusive.
+    @param endIndex End index, exclusive.
+  */
+  private int measure(
+    int beginIndex,
+    int endIndex
+    )
+  {
+    int width = 0;
+    for(int index = beginIndex; index < endIndex; index++)
+    {width += font.getWidth(text.charAt(index));}
+    return width;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -27,6 +27,8 @@ package org.pdfclown.documents.contents.fonts;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -37,7 +39,7 @@ import java.util.regex.Pattern;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.2.1, 05/05/15
+  @version 0.2.0, 10/19/26
 */
 final class AfmParser
 {
@@ -75,8 +77,17 @@ final class AfmParser
   // <fields>
   public FontMetrics metrics;
 
+  /**
+    Glyph indexes by unicode (read-only).
+  */
   public Map<Integer,Integer> glyphIndexes;
+  /**
+    Glyph kernings by (left-right) glyph index pairs (read-only).
+  */
   public Map<Integer,Integer> glyphKernings;
+  /**
+    Glyph widths by glyph index (read-only).
+  */
   public Map<Integer,Integer> glyphWidths;
 
   public BufferedReader fontData;//TODO: convert to IInputStream
@@ -110,6 +121,15 @@ final class AfmParser
     }
     catch(IOException e)
     {throw new RuntimeException(e);}
+
+    // Freeze the parsed data!
+    /*
+      NOTE: Parsed metrics are shared across font instances (see StandardType1Font).
+    */
+    glyphIndexes = Collections.unmodifiableMap(new HashMap<Integer,Integer>(glyphIndexes));
+    glyphKernings = Collections.unmodifiableMap(new HashMap<Integer,Integer>(glyphKernings));
+    glyphWidths = Collections.unmodifiableMap(new HashMap<Integer,Integer>(glyphWidths));
+    fontData = null;
   }
 
   /**
@@ -28,7 +28,14 @@ package org.pdfclown.documents.contents.fonts;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IInputStream;
@@ -43,11 +50,200 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/19/26
 */
 final class CMap
 {
+  // <class>
+  // <classes>
+  /**
+    Read-only character map compacted into ranges of consecutive codes mapped to consecutive
+    values.
+  */
+  private static final class RangeMap
+    extends AbstractMap<ByteArray,Integer>
+  {
+    /*
+      NOTE: Ranges are sorted by code length, then by start code.
+    */
+    private final int[] codeLengths;
+    private final int[] endCodes;
+    private final int[] startCodes;
+    private final int[] startValues;
+
+    private final int size;
+
+    private Set<Map.Entry<ByteArray,Integer>> entrySet;
+
+    RangeMap(
+      Map<ByteArray,Integer> map
+      )
+    {
+      // Sort the entries!
+      long[] entries = new long[map.size()];
+      {
+        int index = 0;
+        for(Map.Entry<ByteArray,Integer> entry : map.entrySet())
+        {
+          byte[] code = entry.getKey().data;
+          entries[index++] = (long)code.length << 56 | (toInt(code) & 0xFFFFFFFFL) << 24 | (entry.getValue() & 0xFFFFFFL);
+        }
+        Arrays.sort(entries);
+      }
+
+      // Group the entries into ranges!
+      int[] codeLengths = new int[entries.length];
+      int[] endCodes = new int[entries.length];
+      int[] startCodes = new int[entries.length];
+      int[] startValues = new int[entries.length];
+      int rangeCount = 0;
+      for(long entry : entries)
+      {
+        int codeLength = (int)(entry >>> 56);
+        int code = (int)(entry >>> 24);
+        int value = (int)(entry & 0xFFFFFF);
+        int lastIndex = rangeCount - 1;
+        if(rangeCount > 0
+          && codeLengths[lastIndex] == codeLength
+          && endCodes[lastIndex] + 1 == code
+          && startValues[lastIndex] + (code - startCodes[lastIndex]) == value)
+        {endCodes[lastIndex] = code;}
+        else
+        {
+          codeLengths[rangeCount] = codeLength;
+          startCodes[rangeCount] = endCodes[rangeCount] = code;
+          startValues[rangeCount] = value;
+          rangeCount++;
+        }
+      }
+      this.codeLengths = Arrays.copyOf(codeLengths, rangeCount);
+      this.endCodes = Arrays.copyOf(endCodes, rangeCount);
+      this.startCodes = Arrays.copyOf(startCodes, rangeCount);
+      this.startValues = Arrays.copyOf(startValues, rangeCount);
+      this.size = entries.length;
+    }
+
+    @Override
+    public boolean containsKey(
+      Object key
+      )
+    {return get(key) != null;}
+
+    @Override
+    public Set<Map.Entry<ByteArray,Integer>> entrySet(
+      )
+    {
+      if(entrySet == null)
+      {
+        entrySet = new AbstractSet<Map.Entry<ByteArray,Integer>>()
+        {
+          @Override
+          public Iterator<Map.Entry<ByteArray,Integer>> iterator(
+            )
+          {
+            return new Iterator<Map.Entry<ByteArray,Integer>>()
+            {
+              int rangeIndex = 0;
+              int code = (startCodes.length > 0 ? startCodes[0] : 0);
+
+              @Override
+              public boolean hasNext(
+                )
+              {return rangeIndex < startCodes.length;}
+
+              @Override
+              public Map.Entry<ByteArray,Integer> next(
+                )
+              {
+                if(!hasNext())
+                  throw new NoSuchElementException();
+
+                byte[] codeData = new byte[codeLengths[rangeIndex]];
+                for(int index = codeData.length - 1, value = code; index >= 0; index--, value >>= 8)
+                {codeData[index] = (byte)value;}
+                Map.Entry<ByteArray,Integer> entry = new SimpleImmutableEntry<ByteArray,Integer>(
+                  new ByteArray(codeData),
+                  startValues[rangeIndex] + (code - startCodes[rangeIndex])
+                  );
+                if(code++ == endCodes[rangeIndex] && ++rangeIndex < startCodes.length)
+                {code = startCodes[rangeIndex];}
+                return entry;
+              }
+
+              @Override
+              public void remove(
+                )
+              {throw new UnsupportedOperationException();}
+            };
+          }
+
+          @Override
+          public int size(
+            )
+          {return size;}
+        };
+      }
+      return entrySet;
+    }
+
+    @Override
+    public Integer get(
+      Object key
+      )
+    {
+      if(!(key instanceof ByteArray))
+        return null;
+
+      byte[] codeData = ((ByteArray)key).data;
+      if(codeData.length > 4)
+        return null;
+
+      int codeLength = codeData.length;
+      int code = toInt(codeData);
+      // Binary search of the range containing the code.
+      int low = 0, high = startCodes.length - 1;
+      while(low <= high)
+      {
+        int mid = (low + high) >>> 1;
+        int comparison = (codeLengths[mid] != codeLength
+          ? codeLengths[mid] - codeLength
+          : (endCodes[mid] < code ? -1 : (startCodes[mid] > code ? 1 : 0)));
+        if(comparison < 0)
+        {low = mid + 1;}
+        else if(comparison > 0)
+        {high = mid - 1;}
+        else
+          return startValues[mid] + (code - startCodes[mid]);
+      }
+      return null;
+    }
+
+    @Override
+    public int size(
+      )
+    {return size;}
+
+    private static int toInt(
+      byte[] data
+      )
+    {
+      int value = 0;
+      for(byte b : data)
+      {value = value << 8 | (b & 0xFF);}
+      return value;
+    }
+  }
+  // </classes>
+
   // <static>
+  // <fields>
+  /**
+    Predefined character maps by name.
+    <p>Predefined character maps are parsed once per process, as they can be shared (read-only).</p>
+  */
+  private static final Map<String,Map<ByteArray,Integer>> predefinedCMaps = new HashMap<String,Map<ByteArray,Integer>>();
+  // </fields>
+
   // <interface>
   /**
     Gets the character map extracted from the given data.
@@ -108,11 +304,34 @@ final class CMap
     Gets the character map corresponding to the given name.
 
     @param name Predefined character map name.
-    @return <code>null</code>, in case no name matching occurs.
+    @return <code>null</code>, in case no name matching occurs; otherwise, a read-only map.
   */
   public static Map<ByteArray,Integer> get(
     String name
     )
+  {
+    synchronized(predefinedCMaps)
+    {
+      if(predefinedCMaps.containsKey(name))
+        return predefinedCMaps.get(name);
+    }
+
+    Map<ByteArray,Integer> cmap = load(name);
+    if(cmap != null)
+    {cmap = new RangeMap(cmap);}
+    synchronized(predefinedCMaps)
+    {predefinedCMaps.put(name, cmap);}
+    return cmap;
+  }
+  // </interface>
+
+  // <private>
+  /**
+    Parses the predefined character map corresponding to the given name.
+  */
+  private static Map<ByteArray,Integer> load(
+    String name
+    )
   {
     Map<ByteArray,Integer> cmap;
     InputStream cmapResourceStream = null;
@@ -134,12 +353,15 @@ final class CMap
     }
     return cmap;
   }
-  // </interface>
+  // </private>
   // </static>
 
+  // <dynamic>
   // <constructors>
   private CMap(
     )
   {}
   // </constructors>
+  // </dynamic>
+  // </class>
 }
\ No newline at end of file
@@ -192,7 +192,11 @@ final class CMapParser
               }
             }
             else if(operator.equals(UseCMapOperator))
-            {codes = CMap.get((String)operands.get(0));}
+            {
+              Map<ByteArray,Integer> baseCodes = CMap.get((String)operands.get(0));
+              if(baseCodes != null)
+              {codes = new Hashtable<ByteArray,Integer>(baseCodes);}
+            }
             else if(operator.equals(DefOperator) && !operands.isEmpty())
             {
               if(CMapName.equals(operands.get(0)))
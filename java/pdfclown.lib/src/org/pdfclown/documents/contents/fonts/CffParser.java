@@ -50,7 +50,7 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.1.2.1, 05/22/15
+  @version 0.2.0, 10/19/26
 */
 final class CffParser
 {
@@ -565,7 +565,7 @@ final class CffParser
   /**
     Standard Strings [CFF:1.0:10] represent commonly occurring strings allocated to predefined SIDs.
   */
-  private static final List<String> StandardStrings;
+  static final List<String> StandardStrings;
   // </fields>
 
   // <constructors>
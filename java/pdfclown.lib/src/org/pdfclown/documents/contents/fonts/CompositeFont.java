@@ -26,6 +26,8 @@
 package org.pdfclown.documents.contents.fonts;
 
 import java.awt.geom.Point2D;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Map;
@@ -64,7 +66,7 @@ import org.pdfclown.util.IFunction;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 05/25/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF12)
 public abstract class CompositeFont
@@ -78,8 +80,15 @@ public abstract class CompositeFont
     Document context,
     IInputStream fontData
     )
+  {return get(context, new OpenFontParser(fontData));}
+  // </public>
+
+  // <internal>
+  static CompositeFont get(
+    Document context,
+    OpenFontParser parser
+    )
   {
-    OpenFontParser parser = new OpenFontParser(fontData);
     switch(parser.outlineFormat)
     {
       case PostScript:
@@ -89,12 +98,30 @@ public abstract class CompositeFont
     }
     throw new UnsupportedOperationException("Unknown composite font format.");
   }
-  // </public>
+  // </internal>
   // </interface>
   // </static>
 
   // <dynamic>
   // <fields>
+  /**
+    Original font program (available for new fonts only).
+    <p>It's shared with the other documents using the same font, so it MUST NOT be modified.</p>
+  */
+  private byte[] fontData;
+  /**
+    Original font program name.
+  */
+  private String fontName;
+  /**
+    Used character count at the time of the last flush.
+  */
+  private int flushedCodeCount = -1;
+  /**
+    CID-to-glyph-index mapping of the embedded font program (2 bytes per CID).
+  */
+  private byte[] glyphIndexMap;
+  private boolean glyphIndexMapLoaded;
   // </fields>
 
   // <constructors>
@@ -116,6 +143,84 @@ public abstract class CompositeFont
 
   // <interface>
   // <public>
+  /**
+    {@inheritDoc}
+    <p>The embedded font program is subset to the glyphs used so far; glyph widths and Unicode
+    mapping are trimmed accordingly.</p>
+  */
+  @Override
+  public void flush(
+    )
+  {
+    if(fontData == null // Existing font.
+      || usedCodes.cardinality() == flushedCodeCount) // NOTE: Used codes can only grow.
+      return;
+
+    PdfDictionary baseDataObject = getBaseDataObject();
+    PdfDictionary cidFontDictionary = getCIDFontDictionary();
+    PdfDictionary fontDescriptor = (PdfDictionary)cidFontDictionary.resolve(PdfName.FontDescriptor);
+
+    byte[] fontFileData = null;
+    PdfName name = new PdfName(fontName);
+    if(getDocument().getConfiguration().isFontSubsetting())
+    {
+      // Collect the used glyphs!
+      Map<Integer,Integer> usedGlyphIndexes = new HashMap<Integer,Integer>();
+      SortedMap<ByteArray,Integer> usedSortedCodes = new TreeMap<ByteArray,Integer>();
+      for(int code = usedCodes.nextSetBit(0); code >= 0; code = usedCodes.nextSetBit(code + 1))
+      {
+        int usedCode = code;
+        ByteArray charCode = codes.getKey(code);
+        if(charCode == null) // Substituted character.
+        {charCode = codes.getKey(usedCode = getDefaultCode());}
+        Integer glyphIndex = glyphIndexes.get(usedCode);
+        if(charCode == null || glyphIndex == null)
+          continue;
+
+        usedSortedCodes.put(charCode, usedCode);
+        usedGlyphIndexes.put(usedCode, glyphIndex);
+      }
+
+      // 1. Font program.
+      fontFileData = FontSubsetter.subset(fontData, usedGlyphIndexes);
+      if(fontFileData != null)
+      {
+        // Subset tag [PDF:1.7:5.5.3].
+        name = new PdfName(
+          FontSubsetter.getTag(new TreeSet<Integer>(usedGlyphIndexes.values())) + "+" + fontName
+          );
+      }
+
+      // 2. Glyph widths.
+      cidFontDictionary.put(PdfName.W, createWidths(usedGlyphIndexes.values()));
+
+      // 3. Unicode mapping.
+      IBuffer toUnicodeBody = ((PdfStream)baseDataObject.resolve(PdfName.ToUnicode)).getBody();
+      toUnicodeBody.clear();
+      toUnicodeBody.write(createToUnicode(usedSortedCodes).toByteArray());
+    }
+    if(fontFileData == null)
+    {fontFileData = fontData;}
+
+    /*
+      NOTE: The font file stream body is replaced (instead of being overwritten), as it may wrap the
+      shared font program.
+    */
+    ((PdfStream)fontDescriptor.resolve(PdfName.FontFile2)).swap(
+      new PdfStream(
+        new PdfDictionary(
+          new PdfName[]{PdfName.Length1},
+          new PdfDirectObject[]{PdfInteger.get(fontFileData.length)}
+          ),
+        new Buffer(fontFileData)
+        )
+      );
+    baseDataObject.put(PdfName.BaseFont, name);
+    cidFontDictionary.put(PdfName.BaseFont, name);
+    fontDescriptor.put(PdfName.FontName, name);
+
+    flushedCodeCount = usedCodes.cardinality();
+  }
   // </public>
 
   // <protected>
@@ -220,8 +325,8 @@ public abstract class CompositeFont
           if(glyphWidthObject2 instanceof PdfArray) // Format 1: startCID [glyphWidth1 glyphWidth2 ... glyphWidthn].
           {
             int cID = startCID;
-            for(PdfDirectObject glyphWidthObject : (PdfArray)glyphWidthObject2)
-            {glyphWidths.put(cID++,((PdfNumber<?>)glyphWidthObject).getIntValue());}
+            for(int glyphWidth : ((PdfArray)glyphWidthObject2).toIntArray())
+            {glyphWidths.put(cID++,glyphWidth);}
           }
           else // Format 2: startCID endCID glyphWidth.
           {
@@ -242,7 +347,99 @@ public abstract class CompositeFont
   }
   // </protected>
 
+  // <internal>
+  @Override
+  byte[] getProgramData(
+    )
+  {return fontData != null ? fontData : super.getProgramData();}
+
+  /**
+    {@inheritDoc}
+    <p>Glyph indexes of existing fonts are CIDs, which are mapped to the embedded font program
+    through either its charset (CFF programs) or the CIDToGIDMap entry [PDF:1.6:5.6.3].</p>
+  */
+  @Override
+  int getProgramGlyphIndex(
+    OutlineParser outlineParser,
+    char textChar,
+    int glyphIndex
+    )
+  {
+    if(fontData != null) // New font (glyph indexes are already GIDs).
+      return glyphIndex;
+    else if(outlineParser.isCff())
+      return outlineParser.getCIDGlyphIndex(glyphIndex);
+
+    byte[] glyphIndexMap = getGlyphIndexMap();
+    if(glyphIndexMap == null) // Identity mapping.
+      return glyphIndex;
+
+    int offset = glyphIndex * 2;
+    return offset >= 0 && offset + 1 < glyphIndexMap.length
+      ? (glyphIndexMap[offset] & 0xFF) << 8 | (glyphIndexMap[offset + 1] & 0xFF)
+      : 0;
+  }
+  // </internal>
+
   // <private>
+  /**
+    Creates the Unicode mapping [PDF:1.6:5.9.2] of the specified character codes.
+  */
+  private IBuffer createToUnicode(
+    SortedMap<ByteArray,Integer> codes
+    )
+  {
+    return CMapBuilder.build(
+      EntryTypeEnum.BaseFont,
+      null,
+      codes,
+      new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
+      {
+        public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
+        {return codeEntry.getValue();}
+      }
+      );
+  }
+
+  /**
+    Creates the widths array [PDF:1.6:5.6.3] of the specified glyphs.
+  */
+  private PdfArray createWidths(
+    Collection<Integer> glyphIndexes
+    )
+  {
+    PdfArray widthsObject = new PdfArray();
+    int lastGlyphIndex = -10;
+    PdfArray lastGlyphWidthRangeObject = null;
+    for(Integer glyphIndex : new TreeSet<Integer>(glyphIndexes))
+    {
+      Integer width = glyphWidths.get(glyphIndex);
+      if(width == null)
+      {width = 0;}
+      if(glyphIndex - lastGlyphIndex != 1)
+      {
+        widthsObject.add(PdfInteger.get(glyphIndex));
+        widthsObject.add(lastGlyphWidthRangeObject = new PdfArray());
+      }
+      lastGlyphWidthRangeObject.add(PdfInteger.get(width));
+      lastGlyphIndex = glyphIndex;
+    }
+    return widthsObject;
+  }
+
+  private synchronized byte[] getGlyphIndexMap(
+    )
+  {
+    if(!glyphIndexMapLoaded)
+    {
+      PdfDataObject glyphIndexMapObject = getCIDFontDictionary().resolve(PdfName.CIDToGIDMap);
+      if(glyphIndexMapObject instanceof PdfStream)
+      {glyphIndexMap = ((PdfStream)glyphIndexMapObject).getBody().toByteArray();}
+      glyphIndexMapLoaded = true;
+    }
+    return glyphIndexMap;
+  }
+
   /**
     Loads the font data.
   */
@@ -250,6 +447,7 @@ public abstract class CompositeFont
     OpenFontParser parser
     )
   {
+    fontName = parser.fontName;
     glyphIndexes = parser.glyphIndexes;
     glyphKernings = parser.glyphKernings;
     glyphWidths = parser.glyphWidths;
@@ -364,14 +562,13 @@ public abstract class CompositeFont
           NOTE: In case the same glyph index maps to multiple Unicode codepoints, we are forced to 
           alter the identity encoding creating distinct cmap entries for the exceeding codepoints.
         */
+        /*
+          NOTE: Multiple codepoints mapped to the .notdef glyph are already excluded by the font
+          program (see OpenFontParser).
+        */
         if(codes.containsKey(charCode))
         {
-          if(glyphIndex == 0) // .notdef glyph already mapped.
-          {
-            glyphIndexIterator.remove();
-            continue;
-          }
-          
+
           // Assigning the new character code...
           /*
             NOTE: As our base encoding is identity, we have to look for a value that doesn't
@@ -438,42 +635,10 @@ public abstract class CompositeFont
     cidFont.put(PdfName.CIDToGIDMap, PdfName.Identity); // CID-to-glyph-index mapping.
 
     // ToUnicode [PDF:1.6:5.9.2].
-    PdfDirectObject toUnicodeObject = null;
-    {
-      IBuffer toUnicodeBuffer = CMapBuilder.build(
-        EntryTypeEnum.BaseFont,
-        null,
-        sortedCodes,
-        new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
-        {
-          public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
-          {return codeEntry.getValue();}
-        }
-        );
-      toUnicodeObject = getFile().register(new PdfStream(toUnicodeBuffer));
-    }
-    font.put(PdfName.ToUnicode, toUnicodeObject); // Character-code-to-Unicode mapping.
+    font.put(PdfName.ToUnicode, getFile().register(new PdfStream(createToUnicode(sortedCodes)))); // Character-code-to-Unicode mapping.
   
     // Glyph widths.
-    PdfArray widthsObject = new PdfArray();
-    {
-      int lastGlyphIndex = -10;
-      PdfArray lastGlyphWidthRangeObject = null;
-      for(Integer glyphIndex : new TreeSet<Integer>(glyphIndexes.values()))
-      {
-        Integer width = glyphWidths.get(glyphIndex);
-        if(width == null)
-        {width = 0;}
-        if(glyphIndex - lastGlyphIndex != 1)
-        {
-          widthsObject.add(PdfInteger.get(glyphIndex));
-          widthsObject.add(lastGlyphWidthRangeObject = new PdfArray());
-        }
-        lastGlyphWidthRangeObject.add(PdfInteger.get(width));
-        lastGlyphIndex = glyphIndex;
-      }
-    }
-    cidFont.put(PdfName.W, widthsObject); // Glyph widths.
+    cidFont.put(PdfName.W, createWidths(glyphIndexes.values())); // Glyph widths.
   }
 
   /**
@@ -550,10 +715,14 @@ public abstract class CompositeFont
       fontDescriptor.put(PdfName.StemV, PdfInteger.get(100));
 
       // FontFile.
+      /*
+        NOTE: The whole font program is kept aside for subsetting on serialization (see flush()).
+      */
+      fontData = parser.data;
       fontDescriptor.put(
         PdfName.FontFile2,
         getFile().register(
-          new PdfStream(new Buffer(parser.fontData.toByteArray()))
+          new PdfStream(new Buffer(fontData))
           )
         );
     }
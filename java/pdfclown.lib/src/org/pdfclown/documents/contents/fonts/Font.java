@@ -26,18 +26,17 @@
 
 package org.pdfclown.documents.contents.fonts;
 
+import java.awt.Shape;
 import java.io.ByteArrayOutputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
-import org.pdfclown.bytes.FileInputStream;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.documents.Document;
 import org.pdfclown.objects.PdfArray;
@@ -54,13 +53,15 @@ import org.pdfclown.tokens.DecodeException;
 import org.pdfclown.tokens.EncodeException;
 import org.pdfclown.util.BiMap;
 import org.pdfclown.util.ByteArray;
+import org.pdfclown.util.ConvertUtils;
+import org.pdfclown.util.IntMap;
 import org.pdfclown.util.NotImplementedException;
 
 /**
   Abstract font [PDF:1.6:5.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/25/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class Font
@@ -156,6 +157,7 @@ public abstract class Font
 
   // <static>
   // <fields>
+  private static final int UndefinedCode = -1;
   private static final int UndefinedDefaultCode = Integer.MIN_VALUE;
   private static final int UndefinedWidth = Integer.MIN_VALUE;
   // </fields>
@@ -164,6 +166,7 @@ public abstract class Font
   // <public>
   /**
    * Creates the representation of a font.
+   * <p>The font program is parsed once per process (see {@link FontProgramCache}).</p>
    */
   public static Font get(
     Document context,
@@ -171,15 +174,8 @@ public abstract class Font
     )
   {
     try
-    {
-      return get(
-        context,
-        new FileInputStream(
-          new java.io.RandomAccessFile(path,"r")
-          )
-        );
-    }
-    catch(FileNotFoundException e)
+    {return CompositeFont.get(context, FontProgramCache.get().getProgram(new java.io.File(path)));}
+    catch(IOException e)
     {throw new RuntimeException(e);}
   }
 
@@ -317,7 +313,7 @@ public abstract class Font
   /**
     Used unicodes.
   */
-  protected Set<Integer> usedCodes;
+  protected BitSet usedCodes;
 
   /**
     Average glyph width.
@@ -335,6 +331,32 @@ public abstract class Font
     Default glyph width.
   */
   private int defaultWidth = UndefinedWidth;
+
+  /*
+    NOTE: The following primitive lookup structures are lazily derived from the corresponding maps
+    (see above), in order to avoid boxing on hot paths (encoding, decoding and measurement).
+  */
+  /**
+    Unicodes by character code value, for each character code length.
+  */
+  private IntMap[] decodeMaps;
+  /**
+    Character codes referenced by {@link #encodeMap}.
+  */
+  private byte[][] encodeCodes;
+  /**
+    Character code indexes (see {@link #encodeCodes}) by unicode.
+  */
+  private IntMap encodeMap;
+  private IntMap glyphIndexMap;
+  private IntMap glyphKerningMap;
+  private IntMap glyphWidthMap;
+
+  /**
+    Glyph outline parser of the embedded font program.
+  */
+  private OutlineParser outlineParser;
+  private boolean outlineParserLoaded;
   // </fields>
 
   // <constructors>
@@ -381,24 +403,22 @@ public abstract class Font
     byte[] code
     ) throws DecodeException
   {
-    StringBuilder textBuilder = new StringBuilder();
+    IntMap[] decodeMaps = getDecodeMaps();
+    StringBuilder textBuilder = new StringBuilder(code.length);
     {
-      byte[][] codeBuffers = new byte[charCodeMaxLength+1][];
-      for(
-        int codeBufferIndex = 0;
-        codeBufferIndex <= charCodeMaxLength;
-        codeBufferIndex++
-        )
-      {codeBuffers[codeBufferIndex] = new byte[codeBufferIndex];}
       int index = 0;
       int codeLength = code.length;
       int codeBufferSize = 1;
+      int charCode = 0;
       while(index < codeLength)
       {
-        byte[] codeBuffer = codeBuffers[codeBufferSize];
-        System.arraycopy(code, index, codeBuffer, 0, codeBufferSize);
-        Integer textChar = codes.get(new ByteArray(codeBuffer));
-        if(textChar == null)
+        /*
+          NOTE: The character code is accumulated byte by byte, in order to look it up without any
+          allocation.
+        */
+        charCode = charCode << 8 | (code[index + codeBufferSize - 1] & 0xFF);
+        int textChar = decodeMaps[codeBufferSize].get(charCode, UndefinedCode);
+        if(textChar == UndefinedCode)
         {
           if(codeBufferSize < charCodeMaxLength
             && codeBufferSize < codeLength - index)
@@ -422,10 +442,11 @@ public abstract class Font
             }
           }
         }
-        if(textChar != null)
-        {textBuilder.append((char)(int)textChar);}
+        if(textChar != UndefinedCode)
+        {textBuilder.append((char)textChar);}
         index += codeBufferSize;
         codeBufferSize = 1;
+        charCode = 0;
       }
     }
     return textBuilder.toString();
@@ -441,41 +462,37 @@ public abstract class Font
     String text
     ) throws EncodeException
   {
-    ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
-    try
+    IntMap encodeMap = getEncodeMap();
+    ByteArrayOutputStream encodedStream = new ByteArrayOutputStream(text.length() * charCodeMaxLength);
+    for(int index = 0, length = text.length(); index < length; index++)
     {
-      for(int index = 0, length = text.length(); index < length; index++)
+      int textCode = text.charAt(index);
+      if(textCode < 32) // NOTE: Control characters are ignored [FIX:7].
+        continue;
+
+      int codeIndex = encodeMap.get(textCode, UndefinedCode);
+      if(codeIndex == UndefinedCode) // Missing glyph.
       {
-        int textCode = text.charAt(index);
-        if(textCode < 32) // NOTE: Control characters are ignored [FIX:7].
-          continue;
-        
-        ByteArray code = codes.getKey(textCode);
-        if(code == null) // Missing glyph.
+        switch(getDocument().getConfiguration().getEncodingFallback())
         {
-          switch(getDocument().getConfiguration().getEncodingFallback())
-          {
-            case Exclusion:
+          case Exclusion:
+            continue;
+          case Substitution:
+            codeIndex = encodeMap.get(defaultCode, UndefinedCode);
+            if(codeIndex == UndefinedCode)
               continue;
-            case Substitution:
-              code = codes.getKey(defaultCode);
-              break;
-            case Exception:
-              throw new EncodeException(text, index);
-            default:
-              throw new NotImplementedException();
-          }
+            break;
+          case Exception:
+            throw new EncodeException(text, index);
+          default:
+            throw new NotImplementedException();
         }
-        
-        byte[] charCode = code.data;
-        encodedStream.write(charCode);
-        usedCodes.add(textCode);
       }
-      encodedStream.close();
-    }
-    catch(IOException e)
-    {throw new RuntimeException(e);}
 
+      byte[] charCode = encodeCodes[codeIndex];
+      encodedStream.write(charCode, 0, charCode.length);
+      usedCodes.set(textCode);
+    }
     return encodedStream.toByteArray();
   }
 
@@ -489,6 +506,17 @@ public abstract class Font
       && ((Font)object).getName().equals(getName());
   }
 
+  /**
+    Completes this font structure according to its current usage (for example, subsetting its
+    embedded font program to the used glyphs).
+    <p>It's automatically called on file serialization.</p>
+
+    @since 0.2.0
+  */
+  public void flush(
+    )
+  {/* NOOP */}
+
   /**
     Gets the unscaled vertical offset from the baseline to the ascender line (ascent).
     The value is a positive number.
@@ -653,19 +681,20 @@ public abstract class Font
     if(glyphKernings == null)
       return 0;
 
-    Integer textChar1Index = glyphIndexes.get((int)textChar1);
-    if(textChar1Index == null)
+    IntMap glyphIndexMap = getGlyphIndexMap();
+    int textChar1Index = glyphIndexMap.get(textChar1, UndefinedCode);
+    if(textChar1Index == UndefinedCode)
       return 0;
 
-    Integer textChar2Index = glyphIndexes.get((int)textChar2);
-    if(textChar2Index == null)
+    int textChar2Index = glyphIndexMap.get(textChar2, UndefinedCode);
+    if(textChar2Index == UndefinedCode)
       return 0;
 
-    Integer kerning = glyphKernings.get(
+    return getGlyphKerningMap().get(
       textChar1Index << 16 // Left-hand glyph index.
-        + textChar2Index // Right-hand glyph index.
+        + textChar2Index, // Right-hand glyph index.
+      0
       );
-    return kerning != null ? kerning : 0;
   }
 
   /**
@@ -717,6 +746,35 @@ public abstract class Font
     )
   {return getLineHeight() * getScalingFactor(size);}
 
+  /**
+    Gets the outline of the given character, expressed in glyph space (1000 units per em).
+    <p>Outlines are parsed from the embedded font program and shared through the {@link
+    Document#getGlyphOutlineCache() document cache}; they MUST NOT be modified.</p>
+
+    @param textChar Character whose outline has to be retrieved.
+    @return <code>null</code>, if the character isn't mapped or the font program isn't available
+      (non-embedded fonts) or supported (Type 1 and Type 3 fonts).
+    @since 0.2.0
+  */
+  public Shape getGlyphOutline(
+    char textChar
+    )
+  {
+    int glyphIndex = getGlyphIndexMap().get(textChar, UndefinedCode);
+    if(glyphIndex == UndefinedCode)
+      return null;
+
+    OutlineParser outlineParser = getOutlineParser();
+    if(outlineParser == null)
+      return null;
+
+    return getDocument().getGlyphOutlineCache().getOutline(
+      this,
+      getProgramGlyphIndex(outlineParser, textChar, glyphIndex),
+      outlineParser
+      );
+  }
+
   /**
     Gets the PostScript name of the font.
   */
@@ -733,8 +791,8 @@ public abstract class Font
     char textChar
     ) throws EncodeException
   {
-    Integer glyphIndex = glyphIndexes.get((int)textChar);
-    if(glyphIndex == null)
+    int glyphIndex = getGlyphIndexMap().get(textChar, UndefinedCode);
+    if(glyphIndex == UndefinedCode)
     {
       switch(getDocument().getConfiguration().getEncodingFallback())
       {
@@ -749,8 +807,8 @@ public abstract class Font
       }
     }
 
-    Integer glyphWidth = glyphWidths.get(glyphIndex);
-    return glyphWidth != null ? glyphWidth : getDefaultWidth();
+    int glyphWidth = getGlyphWidthMap().get(glyphIndex, UndefinedWidth);
+    return glyphWidth != UndefinedWidth ? glyphWidth : getDefaultWidth();
   }
 
   /**
@@ -804,6 +862,28 @@ public abstract class Font
     )
   {return symbolic;}
   
+  /**
+    Initializes the lazily-built structures of this font (code and glyph lookup maps, outline
+    parser).
+    <p>Font objects aren't thread-safe: once preloaded, they can be read (decoding, measuring,
+    outlining text) by concurrent threads, as long as none of them modifies or encodes text through
+    them.</p>
+
+    @since 0.2.0
+  */
+  public void preload(
+    )
+  {
+    getAverageWidth();
+    getDecodeMaps();
+    getEncodeMap();
+    getGlyphIndexMap();
+    getGlyphWidthMap();
+    if(glyphKernings != null)
+    {getGlyphKerningMap();}
+    getOutlineParser();
+  }
+
   /**
     @see #getDefaultCode()
     @throws EncodeException
@@ -919,11 +999,120 @@ public abstract class Font
   {defaultWidth = value;}
   // </protected>
 
+  // <internal>
+  /**
+    Gets the embedded font program.
+
+    @return <code>null</code>, if no supported font program is embedded.
+  */
+  byte[] getProgramData(
+    )
+  {
+    PdfDataObject programObject = getDescriptorValue(PdfName.FontFile2);
+    if(programObject == null)
+    {programObject = getDescriptorValue(PdfName.FontFile3);}
+    return programObject instanceof PdfStream ? ((PdfStream)programObject).getBody().toByteArray() : null;
+  }
+
+  /**
+    Gets the glyph index, within the embedded font program, of the given character.
+
+    @param outlineParser Embedded font program.
+    @param textChar Character.
+    @param glyphIndex Glyph index of the character in this font (see {@link #glyphIndexes}).
+  */
+  int getProgramGlyphIndex(
+    OutlineParser outlineParser,
+    char textChar,
+    int glyphIndex
+    )
+  {return glyphIndex;}
+  // </internal>
+
   // <private>
+  private IntMap[] getDecodeMaps(
+    )
+  {
+    if(decodeMaps == null)
+    {
+      IntMap[] decodeMaps = new IntMap[charCodeMaxLength + 1];
+      for(int index = 1; index <= charCodeMaxLength; index++)
+      {decodeMaps[index] = new IntMap();}
+      for(Map.Entry<ByteArray,Integer> codeEntry : codes.entrySet())
+      {
+        byte[] charCode = codeEntry.getKey().data;
+        if(charCode.length == 0 || charCode.length > 4)
+          continue;
+
+        decodeMaps[charCode.length].put(ConvertUtils.byteArrayToInt(charCode), codeEntry.getValue());
+      }
+      this.decodeMaps = decodeMaps;
+    }
+    return decodeMaps;
+  }
+
+  private IntMap getEncodeMap(
+    )
+  {
+    if(encodeMap == null)
+    {
+      IntMap encodeMap = new IntMap(codes.size());
+      encodeCodes = new byte[codes.size()][];
+      int codeIndex = 0;
+      for(Integer code : codes.values())
+      {
+        if(encodeMap.containsKey(code))
+          continue;
+
+        encodeCodes[codeIndex] = codes.getKey(code).data;
+        encodeMap.put(code, codeIndex++);
+      }
+      this.encodeMap = encodeMap;
+    }
+    return encodeMap;
+  }
+
+  private IntMap getGlyphIndexMap(
+    )
+  {
+    if(glyphIndexMap == null)
+    {glyphIndexMap = IntMap.get(glyphIndexes);}
+    return glyphIndexMap;
+  }
+
+  private IntMap getGlyphKerningMap(
+    )
+  {
+    if(glyphKerningMap == null)
+    {glyphKerningMap = IntMap.get(glyphKernings);}
+    return glyphKerningMap;
+  }
+
+  private IntMap getGlyphWidthMap(
+    )
+  {
+    if(glyphWidthMap == null)
+    {glyphWidthMap = IntMap.get(glyphWidths);}
+    return glyphWidthMap;
+  }
+
+  private synchronized OutlineParser getOutlineParser(
+    )
+  {
+    if(!outlineParserLoaded)
+    {
+      byte[] programData = getProgramData();
+      if(programData != null)
+      {outlineParser = OutlineParser.get(programData);}
+      outlineParserLoaded = true;
+    }
+    return outlineParser;
+  }
+
   private void initialize(
     )
   {
-    usedCodes = new HashSet<Integer>();
+    usedCodes = new BitSet();
 
     // Put the newly instantiated font into the common cache!
     /*
@@ -0,0 +1,270 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.util.NotImplementedException;
+import org.pdfclown.util.io.IOUtils;
+
+/**
+  Process-wide cache of parsed font programs.
+  <p>Parsed font programs are immutable, so they are shared by all the documents (and threads)
+  using the same font file: each document creates just its own PDF objects and tracks its own glyph
+  usage. Entries are keyed by file path and validated against the file modification time and
+  length; least recently used entries are evicted when either the {@link #getMaxEntryCount()
+  entry count limit} or the {@link #getMaxSize() size limit} is exceeded.</p>
+  <p>This class is thread-safe.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FontProgramCache
+{
+  // <class>
+  // <classes>
+  private static final class Entry
+  {
+    final long lastModified;
+    final long length;
+    final OpenFontParser program;
+
+    Entry(
+      OpenFontParser program,
+      long lastModified,
+      long length
+      )
+    {
+      this.program = program;
+      this.lastModified = lastModified;
+      this.length = length;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final FontProgramCache instance = new FontProgramCache();
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the process-wide font program cache.
+  */
+  public static FontProgramCache get(
+    )
+  {return instance;}
+  // </public>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final LinkedHashMap<String,Entry> entries = new LinkedHashMap<String,Entry>(16, .75f, true);
+  private long hitCount;
+  private int maxEntryCount = 32;
+  private long maxSize = 64L << 20;
+  private long missCount;
+  private long size;
+  // </fields>
+
+  // <constructors>
+  private FontProgramCache(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the cached font programs.
+  */
+  public synchronized void clear(
+    )
+  {
+    entries.clear();
+    size = 0;
+  }
+
+  /**
+    Gets the number of cached font programs.
+  */
+  public synchronized int getEntryCount(
+    )
+  {return entries.size();}
+
+  /**
+    Gets the number of font program requests served from this cache.
+  */
+  public synchronized long getHitCount(
+    )
+  {return hitCount;}
+
+  /**
+    Gets the maximum number of cached font programs.
+  */
+  public synchronized int getMaxEntryCount(
+    )
+  {return maxEntryCount;}
+
+  /**
+    Gets the maximum total size (in bytes) of cached font programs.
+  */
+  public synchronized long getMaxSize(
+    )
+  {return maxSize;}
+
+  /**
+    Gets the number of font program requests which required parsing.
+  */
+  public synchronized long getMissCount(
+    )
+  {return missCount;}
+
+  /**
+    Gets the total size (in bytes) of cached font programs.
+  */
+  public synchronized long getSize(
+    )
+  {return size;}
+
+  /**
+    @see #getMaxEntryCount()
+  */
+  public synchronized void setMaxEntryCount(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Maximum entry count MUST be non-negative.");
+
+    maxEntryCount = value;
+    evict();
+  }
+
+  /**
+    @see #getMaxSize()
+  */
+  public synchronized void setMaxSize(
+    long value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Maximum size MUST be non-negative.");
+
+    maxSize = value;
+    evict();
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Gets the parsed font program corresponding to the specified file.
+
+    @throws NotImplementedException If the font format isn't supported.
+  */
+  OpenFontParser getProgram(
+    java.io.File file
+    ) throws IOException
+  {
+    String key = file.getAbsolutePath();
+    long lastModified = file.lastModified();
+    long length = file.length();
+    synchronized(this)
+    {
+      Entry entry = entries.get(key);
+      if(entry != null
+        && entry.lastModified == lastModified
+        && entry.length == length)
+      {
+        hitCount++;
+        return entry.program;
+      }
+      missCount++;
+    }
+
+    /*
+      NOTE: Parsing is done outside the lock, so that distinct fonts can be parsed concurrently.
+    */
+    OpenFontParser program;
+    {
+      byte[] data;
+      RandomAccessFile fileStream = new RandomAccessFile(file, "r");
+      try
+      {
+        data = new byte[(int)fileStream.length()];
+        fileStream.readFully(data);
+      }
+      finally
+      {IOUtils.closeQuietly(fileStream);}
+
+      Buffer fontData = new Buffer(data);
+      if(!OpenFontParser.isOpenFont(fontData))
+        throw new NotImplementedException();
+
+      program = new OpenFontParser(fontData);
+    }
+
+    synchronized(this)
+    {
+      Entry oldEntry = entries.put(key, new Entry(program, lastModified, length));
+      if(oldEntry != null)
+      {size -= oldEntry.program.data.length;}
+      size += program.data.length;
+      evict();
+    }
+    return program;
+  }
+  // </internal>
+
+  // <private>
+  /**
+    Removes the least recently used entries exceeding the limits.
+  */
+  private void evict(
+    )
+  {
+    for(Iterator<Map.Entry<String,Entry>> entryIterator = entries.entrySet().iterator(); entryIterator.hasNext();)
+    {
+      if(entries.size() <= maxEntryCount && size <= maxSize)
+        break;
+
+      size -= entryIterator.next().getValue().program.data.length;
+      entryIterator.remove();
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
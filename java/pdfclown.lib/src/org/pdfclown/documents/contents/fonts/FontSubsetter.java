@@ -0,0 +1,852 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+  Open Font subsetter [OFF:2009].
+  <p>It reduces a font program to the glyphs actually used. Glyph indexes are preserved, as
+  composite fonts map CIDs to glyph indexes through identity: unused glyph descriptions are just
+  emptied (or, in case of trailing ones, dropped).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class FontSubsetter
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int CffOperator_Charset = 15;
+  private static final int CffOperator_CharStrings = 17;
+  private static final int CffOperator_Encoding = 16;
+  private static final int CffOperator_FDArray = 12 << 8 | 36;
+  private static final int CffOperator_FDSelect = 12 << 8 | 37;
+  private static final int CffOperator_Private = 18;
+  private static final int CffOperator_Subrs = 19;
+
+  /**
+    Type 2 charstring replacing unused glyph descriptions ('endchar' operator).
+  */
+  private static final byte[] CffEmptyCharString = new byte[]{14};
+
+  private static final int CompositeGlyphFlag_Arg1And2AreWords = 0x0001;
+  private static final int CompositeGlyphFlag_HaveScale = 0x0008;
+  private static final int CompositeGlyphFlag_MoreComponents = 0x0020;
+  private static final int CompositeGlyphFlag_HaveXAndYScale = 0x0040;
+  private static final int CompositeGlyphFlag_HaveTwoByTwo = 0x0080;
+
+  private static final int PlatformID_Macintosh = 1;
+  private static final int PlatformID_Microsoft = 3;
+
+  /**
+    Tables copied as-is into the subset.
+  */
+  private static final String[] RetainedTableNames = new String[]{"cvt ", "fpgm", "gasp", "name", "OS/2", "prep"};
+
+  private static final int SubsetTagLength = 6;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the subset tag [PDF:1.7:5.5.3] corresponding to the specified glyphs.
+
+    @param glyphIndexes Glyph indexes contained in the subset.
+  */
+  public static String getTag(
+    SortedSet<Integer> glyphIndexes
+    )
+  {
+    long hash = 0;
+    for(Integer glyphIndex : glyphIndexes)
+    {hash = hash * 0x5DEECE66DL + glyphIndex;}
+    hash &= Long.MAX_VALUE;
+    char[] tag = new char[SubsetTagLength];
+    for(int index = 0; index < SubsetTagLength; index++)
+    {
+      tag[index] = (char)('A' + hash % 26);
+      hash /= 26;
+    }
+    return new String(tag);
+  }
+
+  /**
+    Subsets the specified font program.
+
+    @param fontData Font program (either TrueType- or CFF-based).
+    @param glyphIndexes Used glyph indexes by unicode.
+    @return Font subset; <code>null</code>, if the font program structure isn't supported (in this
+      case, the whole program has to be used).
+  */
+  public static byte[] subset(
+    byte[] fontData,
+    Map<Integer,Integer> glyphIndexes
+    )
+  {
+    try
+    {
+      Map<String,int[]> tables = getTables(fontData);
+      if(tables == null
+        || !tables.containsKey("head")
+        || !tables.containsKey("hhea")
+        || !tables.containsKey("hmtx")
+        || !tables.containsKey("maxp"))
+        return null;
+
+      int glyphCount = getUShort(fontData, tables.get("maxp")[0] + 4);
+      SortedSet<Integer> glyphSet = new TreeSet<Integer>();
+      glyphSet.add(0); // .notdef glyph.
+      for(Integer glyphIndex : glyphIndexes.values())
+      {
+        if(glyphIndex < glyphCount)
+        {glyphSet.add(glyphIndex);}
+      }
+
+      SortedMap<String,byte[]> subsetTables = new TreeMap<String,byte[]>();
+      for(String tableName : RetainedTableNames)
+      {
+        int[] table = tables.get(tableName);
+        if(table != null)
+        {subsetTables.put(tableName, getTable(fontData, table));}
+      }
+      if(tables.containsKey("glyf") && tables.containsKey("loca"))
+      {subsetGlyphs(fontData, tables, glyphSet, glyphCount, subsetTables);}
+      else if(tables.containsKey("CFF "))
+      {
+        byte[] cffData = subsetCff(getTable(fontData, tables.get("CFF ")), glyphSet);
+        if(cffData == null)
+          return null;
+
+        subsetTables.put("CFF ", cffData);
+        subsetTables.put("head", getTable(fontData, tables.get("head")));
+        subsetTables.put("hhea", getTable(fontData, tables.get("hhea")));
+        subsetTables.put("hmtx", getTable(fontData, tables.get("hmtx")));
+        subsetTables.put("maxp", getTable(fontData, tables.get("maxp")));
+      }
+      else
+        return null;
+
+      subsetTables.put("cmap", createCMap(glyphIndexes, isSymbolic(fontData, tables.get("cmap"))));
+      int[] postTable = tables.get("post");
+      if(postTable != null && postTable[1] >= 32)
+      {
+        // Format 3 (no glyph names).
+        byte[] postData = Arrays.copyOfRange(fontData, postTable[0], postTable[0] + 32);
+        putInt(postData, 0, 0x00030000);
+        subsetTables.put("post", postData);
+      }
+      return build(getInt(fontData, 0), subsetTables);
+    }
+    catch(IndexOutOfBoundsException e)
+    {return null;} // Malformed font program.
+  }
+  // </public>
+
+  // <private>
+  /**
+    Serializes the specified font tables into a font program.
+  */
+  private static byte[] build(
+    int version,
+    SortedMap<String,byte[]> tables
+    )
+  {
+    int tableCount = tables.size();
+    int dataLength = 12 + tableCount * 16;
+    for(byte[] table : tables.values())
+    {dataLength += (table.length + 3) & ~3;}
+    byte[] data = new byte[dataLength];
+
+    // 1. Offset table.
+    int entrySelector = 31 - Integer.numberOfLeadingZeros(tableCount);
+    int searchRange = (1 << entrySelector) * 16;
+    putInt(data, 0, version);
+    putUShort(data, 4, tableCount);
+    putUShort(data, 6, searchRange);
+    putUShort(data, 8, entrySelector);
+    putUShort(data, 10, tableCount * 16 - searchRange);
+
+    // 2. Table directory and tables.
+    int headOffset = -1;
+    int entryOffset = 12;
+    int tableOffset = 12 + tableCount * 16;
+    for(Map.Entry<String,byte[]> tableEntry : tables.entrySet())
+    {
+      String tableName = tableEntry.getKey();
+      byte[] table = tableEntry.getValue();
+      if(tableName.equals("head"))
+      {
+        putInt(table, 8, 0); // checkSumAdjustment.
+        headOffset = tableOffset;
+      }
+      System.arraycopy(table, 0, data, tableOffset, table.length);
+      for(int index = 0; index < 4; index++)
+      {data[entryOffset + index] = (byte)tableName.charAt(index);}
+      putInt(data, entryOffset + 4, getChecksum(data, tableOffset, table.length));
+      putInt(data, entryOffset + 8, tableOffset);
+      putInt(data, entryOffset + 12, table.length);
+      entryOffset += 16;
+      tableOffset += (table.length + 3) & ~3;
+    }
+    if(headOffset >= 0)
+    {putInt(data, headOffset + 8, 0xB1B0AFBA - getChecksum(data, 0, data.length));}
+    return data;
+  }
+
+  /**
+    Creates the character-to-glyph-index mapping table ('cmap' table) of the specified glyphs.
+  */
+  private static byte[] createCMap(
+    Map<Integer,Integer> glyphIndexes,
+    boolean symbolic
+    )
+  {
+    // Segments.
+    /*
+      NOTE: Adjacent codes whose glyph indexes have the same delta are merged into the same segment.
+    */
+    List<int[]> segments = new ArrayList<int[]>();
+    {
+      int[] segment = null;
+      for(Map.Entry<Integer,Integer> glyphIndexEntry : new TreeMap<Integer,Integer>(glyphIndexes).entrySet())
+      {
+        int code = glyphIndexEntry.getKey();
+        if(symbolic)
+        {
+          if(code > 0xFF)
+            continue;
+
+          code |= 0xF000;
+        }
+        else if(code >= 0xFFFF)
+          continue;
+
+        int delta = (glyphIndexEntry.getValue() - code) & 0xFFFF;
+        if(segment != null
+          && segment[1] + 1 == code
+          && segment[2] == delta)
+        {segment[1] = code;}
+        else
+        {segments.add(segment = new int[]{code, code, delta});}
+      }
+      segments.add(new int[]{0xFFFF, 0xFFFF, 1});
+    }
+
+    // Format-4 subtable.
+    int segmentCount = segments.size();
+    int subtableLength = 16 + segmentCount * 8;
+    byte[] data = new byte[12 + subtableLength];
+    putUShort(data, 2, 1); // Table count.
+    putUShort(data, 4, PlatformID_Microsoft);
+    putUShort(data, 6, symbolic ? 0 : 1);
+    putInt(data, 8, 12);
+    int offset = 12;
+    int entrySelector = 31 - Integer.numberOfLeadingZeros(segmentCount);
+    int searchRange = (1 << entrySelector) * 2;
+    putUShort(data, offset, 4);
+    putUShort(data, offset + 2, subtableLength);
+    putUShort(data, offset + 6, segmentCount * 2);
+    putUShort(data, offset + 8, searchRange);
+    putUShort(data, offset + 10, entrySelector);
+    putUShort(data, offset + 12, segmentCount * 2 - searchRange);
+    int endCodeOffset = offset + 14;
+    int startCodeOffset = endCodeOffset + segmentCount * 2 + 2;
+    int deltaOffset = startCodeOffset + segmentCount * 2;
+    for(int index = 0; index < segmentCount; index++)
+    {
+      int[] segment = segments.get(index);
+      putUShort(data, endCodeOffset + index * 2, segment[1]);
+      putUShort(data, startCodeOffset + index * 2, segment[0]);
+      putUShort(data, deltaOffset + index * 2, segment[2]);
+    }
+    return data;
+  }
+
+  private static int getChecksum(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {
+    int checksum = 0;
+    for(int index = 0, paddedLength = (length + 3) & ~3; index < paddedLength; index += 4)
+    {checksum += getInt(data, offset + index);}
+    return checksum;
+  }
+
+  static int getInt(
+    byte[] data,
+    int offset
+    )
+  {
+    return (data[offset] & 0xFF) << 24
+      | (data[offset + 1] & 0xFF) << 16
+      | (data[offset + 2] & 0xFF) << 8
+      | (data[offset + 3] & 0xFF);
+  }
+
+  private static byte[] getTable(
+    byte[] fontData,
+    int[] table
+    )
+  {return Arrays.copyOfRange(fontData, table[0], table[0] + table[1]);}
+
+  /**
+    Gets the table locations (offset and length) by name.
+
+    @return <code>null</code>, if the font program isn't a single Open Font.
+  */
+  static Map<String,int[]> getTables(
+    byte[] fontData
+    )
+  {
+    switch(getInt(fontData, 0))
+    {
+      case(0x00010000): // TrueType (standard/Windows).
+      case(0x74727565): // TrueType (legacy/Apple).
+      case(0x4F54544F): // CFF.
+        break;
+      default:
+        return null;
+    }
+
+    int tableCount = getUShort(fontData, 4);
+    Map<String,int[]> tables = new HashMap<String,int[]>(tableCount);
+    for(int index = 0, offset = 12; index < tableCount; index++, offset += 16)
+    {
+      int tableOffset = getInt(fontData, offset + 8);
+      int tableLength = getInt(fontData, offset + 12);
+      if(tableOffset < 0 || tableLength < 0 || tableOffset + tableLength > fontData.length)
+        return null;
+
+      tables.put(
+        new String(new char[]
+          {
+            (char)fontData[offset],
+            (char)fontData[offset + 1],
+            (char)fontData[offset + 2],
+            (char)fontData[offset + 3]
+          }),
+        new int[]{tableOffset, tableLength}
+        );
+    }
+    return tables;
+  }
+
+  static int getUShort(
+    byte[] data,
+    int offset
+    )
+  {return (data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF);}
+
+  /**
+    Gets whether the specified 'cmap' table lacks any Unicode subtable.
+  */
+  private static boolean isSymbolic(
+    byte[] fontData,
+    int[] cmapTable
+    )
+  {
+    if(cmapTable == null)
+      return false;
+
+    boolean symbolic = false;
+    for(int index = 0, count = getUShort(fontData, cmapTable[0] + 2), offset = cmapTable[0] + 4; index < count; index++, offset += 8)
+    {
+      int platformID = getUShort(fontData, offset);
+      int encodingID = getUShort(fontData, offset + 2);
+      if(platformID == PlatformID_Microsoft && encodingID == 1)
+        return false;
+      else if(platformID == PlatformID_Macintosh && encodingID == 0)
+      {symbolic = true;}
+    }
+    return symbolic;
+  }
+
+  /**
+    Parses a CFF dictionary [CFF:1.0:4].
+
+    @return Integer operands by operator; each operand is expressed as its value, position and
+      byte length (real operands have no value).
+  */
+  static Map<Integer,List<int[]>> parseCffDict(
+    byte[] data,
+    int start,
+    int end
+    )
+  {
+    Map<Integer,List<int[]>> entries = new HashMap<Integer,List<int[]>>();
+    List<int[]> operands = new ArrayList<int[]>();
+    int position = start;
+    while(position < end)
+    {
+      int b0 = data[position] & 0xFF;
+      if(b0 <= 21) // Operator.
+      {
+        int operator = b0;
+        if(b0 == 12) // 2-byte operator.
+        {operator = operator << 8 | (data[++position] & 0xFF);}
+        position++;
+
+        entries.put(operator, operands);
+        operands = new ArrayList<int[]>();
+      }
+      else // Operand.
+      {
+        int value;
+        int length;
+        if(b0 == 28) // 3-byte integer.
+        {
+          value = (short)getUShort(data, position + 1);
+          length = 3;
+        }
+        else if(b0 == 29) // 5-byte integer.
+        {
+          value = getInt(data, position + 1);
+          length = 5;
+        }
+        else if(b0 == 30) // Variable-length real.
+        {
+          length = 1;
+          while((data[position + length++] & 0x0F) != 0x0F);
+          value = 0;
+        }
+        else if(b0 >= 32 && b0 <= 246) // 1-byte integer.
+        {
+          value = b0 - 139;
+          length = 1;
+        }
+        else if(b0 >= 247 && b0 <= 250) // 2-byte positive integer.
+        {
+          value = ((b0 - 247) << 8) + (data[position + 1] & 0xFF) + 108;
+          length = 2;
+        }
+        else if(b0 >= 251 && b0 <= 254) // 2-byte negative integer.
+        {
+          value = -((b0 - 251) << 8) - (data[position + 1] & 0xFF) - 108;
+          length = 2;
+        }
+        else // Reserved.
+        {
+          value = 0;
+          length = 1;
+        }
+        operands.add(new int[]{value, position, length});
+        position += length;
+      }
+    }
+    return entries;
+  }
+
+  /**
+    Gets the bounds (data start, data end) of the items of the CFF index [CFF:1.0:5] at the
+    specified position.
+  */
+  static int[] parseCffIndex(
+    byte[] data,
+    int position
+    )
+  {
+    int count = getUShort(data, position);
+    int[] bounds = new int[count + 1];
+    if(count == 0)
+    {bounds[0] = position + 2;}
+    else
+    {
+      int offSize = data[position + 2] & 0xFF;
+      int offsetsPosition = position + 3;
+      int dataBase = offsetsPosition + (count + 1) * offSize - 1;
+      for(int index = 0; index <= count; index++)
+      {
+        int offset = 0;
+        for(int byteIndex = 0, offsetPosition = offsetsPosition + index * offSize; byteIndex < offSize; byteIndex++)
+        {offset = offset << 8 | (data[offsetPosition + byteIndex] & 0xFF);}
+        bounds[index] = dataBase + offset;
+      }
+    }
+    return bounds;
+  }
+
+  /**
+    Updates the specified CFF offset operand after the replacement of the region between
+    <code>start</code> and <code>end</code>.
+
+    @return Whether the operand was successfully updated.
+  */
+  private static boolean patchCffOffset(
+    byte[] subsetData,
+    int[] operand,
+    int start,
+    int end,
+    int delta
+    )
+  {
+    int offset = operand[0];
+    if(offset <= start)
+      return true;
+    else if(offset < end)
+      return false;
+
+    /*
+      NOTE: Operands are re-encoded within their original byte length, so that the dictionary
+      layout is left unchanged.
+    */
+    int position = operand[1] < start ? operand[1] : operand[1] + delta;
+    return putCffInteger(subsetData, position, operand[2], offset + delta);
+  }
+
+  /**
+    Checks whether the specified Private dictionary [CFF:1.0:15] keeps its local subroutines on the
+    same side of the specified region, so that their relative offset is still valid after the
+    region replacement.
+  */
+  private static boolean checkCffPrivate(
+    byte[] data,
+    List<int[]> privateOperands,
+    int start
+    )
+  {
+    if(privateOperands == null || privateOperands.size() < 2)
+      return true;
+
+    int privateLength = privateOperands.get(0)[0];
+    int privateOffset = privateOperands.get(1)[0];
+    List<int[]> subrsOperands = parseCffDict(data, privateOffset, privateOffset + privateLength).get(CffOperator_Subrs);
+    if(subrsOperands == null || subrsOperands.isEmpty())
+      return true;
+
+    return (privateOffset < start) == (privateOffset + subrsOperands.get(0)[0] < start);
+  }
+
+  private static void putInt(
+    byte[] data,
+    int offset,
+    int value
+    )
+  {
+    data[offset] = (byte)(value >> 24);
+    data[offset + 1] = (byte)(value >> 16);
+    data[offset + 2] = (byte)(value >> 8);
+    data[offset + 3] = (byte)value;
+  }
+
+  /**
+    Writes a CFF integer operand of the specified byte length.
+
+    @return Whether the value is representable within the specified byte length.
+  */
+  private static boolean putCffInteger(
+    byte[] data,
+    int position,
+    int length,
+    int value
+    )
+  {
+    switch(length)
+    {
+      case 1:
+        if(value < -107 || value > 107)
+          return false;
+
+        data[position] = (byte)(value + 139);
+        return true;
+      case 2:
+        if(value >= 108 && value <= 1131)
+        {
+          value -= 108;
+          data[position] = (byte)((value >> 8) + 247);
+        }
+        else if(value <= -108 && value >= -1131)
+        {
+          value = -value - 108;
+          data[position] = (byte)((value >> 8) + 251);
+        }
+        else
+          return false;
+
+        data[position + 1] = (byte)value;
+        return true;
+      case 3:
+        if(value < Short.MIN_VALUE || value > Short.MAX_VALUE)
+          return false;
+
+        data[position] = 28;
+        data[position + 1] = (byte)(value >> 8);
+        data[position + 2] = (byte)value;
+        return true;
+      case 5:
+        data[position] = 29;
+        putInt(data, position + 1, value);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static void putUShort(
+    byte[] data,
+    int offset,
+    int value
+    )
+  {
+    data[offset] = (byte)(value >> 8);
+    data[offset + 1] = (byte)value;
+  }
+
+  /**
+    Subsets the specified Compact Font Format program [CFF:1.0].
+    <p>Unused charstrings are replaced by empty ones, so that glyph indexes (and charset, FDSelect
+    and hmtx structures) are left unchanged; the offsets following the charstrings are shifted
+    accordingly.</p>
+
+    @return <code>null</code>, if the program structure isn't supported.
+  */
+  private static byte[] subsetCff(
+    byte[] data,
+    SortedSet<Integer> glyphSet
+    )
+  {
+    // 1. Top DICT.
+    int position = data[2] & 0xFF; // Header size.
+    int[] nameBounds = parseCffIndex(data, position);
+    int[] topDictBounds = parseCffIndex(data, nameBounds[nameBounds.length - 1]);
+    if(topDictBounds.length != 2) // NOTE: FontSets are NOT supported.
+      return null;
+
+    Map<Integer,List<int[]>> topDict = parseCffDict(data, topDictBounds[0], topDictBounds[1]);
+    List<int[]> charStringsOperands = topDict.get(CffOperator_CharStrings);
+    if(charStringsOperands == null || charStringsOperands.isEmpty())
+      return null;
+
+    // 2. CharStrings INDEX.
+    int charStringsStart = charStringsOperands.get(0)[0];
+    int[] charStringBounds = parseCffIndex(data, charStringsStart);
+    int charStringCount = charStringBounds.length - 1;
+    int charStringsEnd = charStringBounds[charStringCount];
+    if(charStringCount == 0 || topDictBounds[1] > charStringsStart)
+      return null;
+
+    byte[][] charStrings = new byte[charStringCount][];
+    int charStringsLength = 0;
+    for(int index = 0; index < charStringCount; index++)
+    {
+      charStrings[index] = (glyphSet.contains(index)
+        ? Arrays.copyOfRange(data, charStringBounds[index], charStringBounds[index + 1])
+        : CffEmptyCharString);
+      charStringsLength += charStrings[index].length;
+    }
+    int offSize = (charStringsLength + 1 <= 0xFF ? 1 : charStringsLength + 1 <= 0xFFFF ? 2 : charStringsLength + 1 <= 0xFFFFFF ? 3 : 4);
+    int charStringsIndexLength = 3 + (charStringCount + 1) * offSize + charStringsLength;
+    int delta = charStringsIndexLength - (charStringsEnd - charStringsStart);
+
+    byte[] subsetData = new byte[data.length + delta];
+    System.arraycopy(data, 0, subsetData, 0, charStringsStart);
+    {
+      position = charStringsStart;
+      putUShort(subsetData, position, charStringCount);
+      subsetData[position + 2] = (byte)offSize;
+      position += 3;
+      int dataPosition = position + (charStringCount + 1) * offSize;
+      int offset = 1;
+      for(int index = 0; index <= charStringCount; index++)
+      {
+        for(int byteIndex = offSize - 1; byteIndex >= 0; byteIndex--)
+        {subsetData[position++] = (byte)(offset >> (byteIndex * 8));}
+        if(index < charStringCount)
+        {
+          byte[] charString = charStrings[index];
+          System.arraycopy(charString, 0, subsetData, dataPosition, charString.length);
+          dataPosition += charString.length;
+          offset += charString.length;
+        }
+      }
+    }
+    System.arraycopy(data, charStringsEnd, subsetData, charStringsStart + charStringsIndexLength, data.length - charStringsEnd);
+
+    // 3. Offsets update.
+    for(int operator : new int[]{CffOperator_Charset, CffOperator_Encoding, CffOperator_FDSelect, CffOperator_FDArray})
+    {
+      List<int[]> operands = topDict.get(operator);
+      if(operands == null || operands.isEmpty())
+        continue;
+
+      int[] operand = operands.get(0);
+      if((operator == CffOperator_Charset && operand[0] <= 2)
+        || (operator == CffOperator_Encoding && operand[0] <= 1)) // Predefined.
+        continue;
+
+      if(!patchCffOffset(subsetData, operand, charStringsStart, charStringsEnd, delta))
+        return null;
+    }
+    List<List<int[]>> privateOperandsList = new LinkedList<List<int[]>>();
+    privateOperandsList.add(topDict.get(CffOperator_Private));
+    List<int[]> fdArrayOperands = topDict.get(CffOperator_FDArray);
+    if(fdArrayOperands != null && !fdArrayOperands.isEmpty()) // CID-keyed font.
+    {
+      int[] fontDictBounds = parseCffIndex(data, fdArrayOperands.get(0)[0]);
+      for(int index = 0, count = fontDictBounds.length - 1; index < count; index++)
+      {privateOperandsList.add(parseCffDict(data, fontDictBounds[index], fontDictBounds[index + 1]).get(CffOperator_Private));}
+    }
+    for(List<int[]> privateOperands : privateOperandsList)
+    {
+      if(privateOperands == null || privateOperands.size() < 2)
+        continue;
+
+      if(!checkCffPrivate(data, privateOperands, charStringsStart)
+        || !patchCffOffset(subsetData, privateOperands.get(1), charStringsStart, charStringsEnd, delta))
+        return null;
+    }
+    return subsetData;
+  }
+
+  /**
+    Subsets the TrueType outlines ('glyf', 'loca' tables) along with their related tables.
+  */
+  private static void subsetGlyphs(
+    byte[] fontData,
+    Map<String,int[]> tables,
+    SortedSet<Integer> glyphSet,
+    int glyphCount,
+    Map<String,byte[]> subsetTables
+    )
+  {
+    byte[] headData = getTable(fontData, tables.get("head"));
+    int glyfOffset = tables.get("glyf")[0];
+    int glyfLength = tables.get("glyf")[1];
+
+    // 1. Glyph locations.
+    int[] glyphOffsets = new int[glyphCount + 1];
+    {
+      int locaOffset = tables.get("loca")[0];
+      boolean longOffsets = getUShort(headData, 50) != 0;
+      for(int index = 0; index <= glyphCount; index++)
+      {
+        int glyphOffset = (longOffsets
+          ? getInt(fontData, locaOffset + index * 4)
+          : getUShort(fontData, locaOffset + index * 2) * 2);
+        glyphOffsets[index] = Math.max(0, Math.min(glyphOffset, glyfLength));
+      }
+    }
+
+    // 2. Composite glyph components.
+    LinkedList<Integer> pendingGlyphIndexes = new LinkedList<Integer>(glyphSet);
+    while(!pendingGlyphIndexes.isEmpty())
+    {
+      int glyphIndex = pendingGlyphIndexes.removeFirst();
+      int start = glyfOffset + glyphOffsets[glyphIndex];
+      int end = glyfOffset + glyphOffsets[glyphIndex + 1];
+      if(end - start < 10
+        || (short)getUShort(fontData, start) >= 0) // Simple glyph.
+        continue;
+
+      int position = start + 10;
+      int flags;
+      do
+      {
+        flags = getUShort(fontData, position);
+        int componentGlyphIndex = getUShort(fontData, position + 2);
+        position += 4 + ((flags & CompositeGlyphFlag_Arg1And2AreWords) != 0 ? 4 : 2);
+        if((flags & CompositeGlyphFlag_HaveScale) != 0)
+        {position += 2;}
+        else if((flags & CompositeGlyphFlag_HaveXAndYScale) != 0)
+        {position += 4;}
+        else if((flags & CompositeGlyphFlag_HaveTwoByTwo) != 0)
+        {position += 8;}
+
+        if(componentGlyphIndex < glyphCount
+          && glyphSet.add(componentGlyphIndex))
+        {pendingGlyphIndexes.add(componentGlyphIndex);}
+      } while((flags & CompositeGlyphFlag_MoreComponents) != 0 && position + 4 <= end);
+    }
+
+    // 3. Glyph data.
+    /*
+      NOTE: Trailing unused glyphs are dropped.
+    */
+    int subsetGlyphCount = glyphSet.last() + 1;
+    byte[] locaData = new byte[(subsetGlyphCount + 1) * 4];
+    byte[] glyfData;
+    {
+      int subsetGlyfLength = 0;
+      for(int glyphIndex : glyphSet)
+      {subsetGlyfLength += (glyphOffsets[glyphIndex + 1] - glyphOffsets[glyphIndex] + 3) & ~3;}
+      glyfData = new byte[subsetGlyfLength];
+      int offset = 0;
+      for(int glyphIndex = 0; glyphIndex < subsetGlyphCount; glyphIndex++)
+      {
+        putInt(locaData, glyphIndex * 4, offset);
+        if(glyphSet.contains(glyphIndex))
+        {
+          int glyphLength = Math.max(0, glyphOffsets[glyphIndex + 1] - glyphOffsets[glyphIndex]);
+          System.arraycopy(fontData, glyfOffset + glyphOffsets[glyphIndex], glyfData, offset, glyphLength);
+          offset += (glyphLength + 3) & ~3;
+        }
+      }
+      putInt(locaData, subsetGlyphCount * 4, offset);
+    }
+    subsetTables.put("glyf", glyfData);
+    subsetTables.put("loca", locaData);
+
+    // 4. Related tables.
+    putUShort(headData, 50, 1); // Long glyph offsets.
+    subsetTables.put("head", headData);
+
+    byte[] maxpData = getTable(fontData, tables.get("maxp"));
+    putUShort(maxpData, 4, subsetGlyphCount);
+    subsetTables.put("maxp", maxpData);
+
+    byte[] hheaData = getTable(fontData, tables.get("hhea"));
+    int metricCount = Math.min(getUShort(hheaData, 34), subsetGlyphCount);
+    putUShort(hheaData, 34, metricCount);
+    subsetTables.put("hhea", hheaData);
+
+    int[] hmtxTable = tables.get("hmtx");
+    subsetTables.put(
+      "hmtx",
+      Arrays.copyOfRange(
+        fontData,
+        hmtxTable[0],
+        hmtxTable[0] + Math.min(hmtxTable[1], metricCount * 4 + (subsetGlyphCount - metricCount) * 2)
+        )
+      );
+  }
+  // </private>
+  // </interface>
+  // </static>
+  // </class>
+}
@@ -0,0 +1,200 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.awt.Shape;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+  Document-wide cache of glyph outlines.
+  <p>Glyph outlines are parsed from the embedded font programs the first time they are rendered,
+  then reused by all the pages of the same document; least recently used entries are evicted when
+  the {@link #getMaxEntryCount() entry count limit} is exceeded. Cached outlines are expressed in
+  glyph space (1000 units per em) and MUST NOT be modified.</p>
+  <p>This class is thread-safe.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class GlyphOutlineCache
+{
+  // <class>
+  // <classes>
+  private static final class Key
+  {
+    final Font font;
+    final int glyphIndex;
+
+    Key(
+      Font font,
+      int glyphIndex
+      )
+    {
+      this.font = font;
+      this.glyphIndex = glyphIndex;
+    }
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      if(!(object instanceof Key))
+        return false;
+
+      Key key = (Key)object;
+      return key.font == font && key.glyphIndex == glyphIndex;
+    }
+
+    @Override
+    public int hashCode(
+      )
+    {return System.identityHashCode(font) * 31 + glyphIndex;}
+  }
+  // </classes>
+
+  // <dynamic>
+  // <fields>
+  private final LinkedHashMap<Key,Shape> entries = new LinkedHashMap<Key,Shape>(256, .75f, true);
+  private long hitCount;
+  private int maxEntryCount = 4096;
+  private long missCount;
+  // </fields>
+
+  // <constructors>
+  public GlyphOutlineCache(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the cached outlines.
+  */
+  public synchronized void clear(
+    )
+  {entries.clear();}
+
+  /**
+    Gets the number of cached outlines.
+  */
+  public synchronized int getEntryCount(
+    )
+  {return entries.size();}
+
+  /**
+    Gets the number of outline requests served from this cache.
+  */
+  public synchronized long getHitCount(
+    )
+  {return hitCount;}
+
+  /**
+    Gets the maximum number of cached outlines.
+  */
+  public synchronized int getMaxEntryCount(
+    )
+  {return maxEntryCount;}
+
+  /**
+    Gets the number of outline requests which required parsing.
+  */
+  public synchronized long getMissCount(
+    )
+  {return missCount;}
+
+  /**
+    @see #getMaxEntryCount()
+  */
+  public synchronized void setMaxEntryCount(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Maximum entry count MUST be non-negative.");
+
+    maxEntryCount = value;
+    evict();
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Gets the outline of the specified glyph.
+  */
+  Shape getOutline(
+    Font font,
+    int glyphIndex,
+    OutlineParser parser
+    )
+  {
+    Key key = new Key(font, glyphIndex);
+    synchronized(this)
+    {
+      Shape outline = entries.get(key);
+      if(outline != null
+        || entries.containsKey(key)) // NOTE: Missing glyphs are cached as null outlines.
+      {
+        hitCount++;
+        return outline;
+      }
+      missCount++;
+    }
+
+    /*
+      NOTE: Parsing is done outside the lock, so that distinct glyphs can be parsed concurrently.
+    */
+    Shape outline = parser.getOutline(glyphIndex);
+    synchronized(this)
+    {
+      entries.put(key, outline);
+      evict();
+    }
+    return outline;
+  }
+  // </internal>
+
+  // <private>
+  /**
+    Removes the least recently used entries exceeding the limit.
+  */
+  private void evict(
+    )
+  {
+    for(Iterator<Key> keyIterator = entries.keySet().iterator(); entries.size() > maxEntryCount;)
+    {
+      keyIterator.next();
+      keyIterator.remove();
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
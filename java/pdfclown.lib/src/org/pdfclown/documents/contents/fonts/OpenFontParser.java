@@ -27,8 +27,12 @@ package org.pdfclown.documents.contents.fonts;
 
 import java.io.EOFException;
 import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.tokens.CharsetName;
@@ -36,10 +40,12 @@ import org.pdfclown.util.parsers.ParseException;
 
 /**
   Open Font Format parser [OFF:2009].
+  <p>Once parsed, the font program is immutable, so it can be shared across documents and threads
+  (see {@link FontProgramCache}).</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.2.1, 05/22/15
+  @version 0.2.0, 10/19/26
 */
 final class OpenFontParser
 {
@@ -168,11 +174,25 @@ final class OpenFontParser
   */
   public boolean symbolic;
 
+  /**
+    Glyph indexes by unicode (read-only).
+  */
   public Map<Integer,Integer> glyphIndexes;
+  /**
+    Glyph kernings by (left-right) glyph index pairs (read-only).
+  */
   public Map<Integer,Integer> glyphKernings;
+  /**
+    Glyph widths by glyph index (read-only).
+  */
   public Map<Integer,Integer> glyphWidths;
 
-  public IInputStream fontData;
+  /**
+    Font program.
+  */
+  public byte[] data;
+
+  private IInputStream fontData;
 
   private Map<String,Integer> tableOffsets;
   // </fields>
@@ -207,11 +227,37 @@ final class OpenFontParser
       loadCMap();
       loadGlyphWidths();
       loadGlyphKerning();
+
+      data = fontData.toByteArray();
     }
     catch(EOFException e)
     {throw new ParseException(e);}
     catch(UnsupportedEncodingException e)
     {throw new ParseException(e);}
+
+    // Freeze the parsed data!
+    /*
+      NOTE: Multiple Unicode codepoints may map to the missing glyph (.notdef): only the lowest one
+      is retained, as the others are actually unsupported characters.
+    */
+    {
+      Map<Integer,Integer> glyphIndexes = new TreeMap<Integer,Integer>(this.glyphIndexes);
+      boolean notdefMapped = false;
+      for(Iterator<Integer> glyphIndexIterator = glyphIndexes.values().iterator(); glyphIndexIterator.hasNext();)
+      {
+        if(glyphIndexIterator.next() == 0)
+        {
+          if(notdefMapped)
+          {glyphIndexIterator.remove();}
+          else
+          {notdefMapped = true;}
+        }
+      }
+      this.glyphIndexes = Collections.unmodifiableMap(new HashMap<Integer,Integer>(glyphIndexes));
+    }
+    glyphKernings = (glyphKernings != null ? Collections.unmodifiableMap(new HashMap<Integer,Integer>(glyphKernings)) : null);
+    glyphWidths = Collections.unmodifiableMap(new HashMap<Integer,Integer>(glyphWidths));
+    fontData = null;
   }
 
   /**
@@ -0,0 +1,1082 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pdfclown.util.IntMap;
+
+/**
+  Glyph outline parser for Open Font [OFF:2009] and Compact Font Format [CFF:1.0] programs.
+  <p>It supports TrueType outlines ('glyf' table) and Type 2 charstrings [CFF:5177], either bare
+  (FontFile3 streams of Type1C/CIDFontType0C subtype) or wrapped into an Open Font ('CFF '
+  table).</p>
+  <p>Outlines are expressed in glyph space scaled to 1000 units per em, consistently with glyph
+  widths.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class OutlineParser
+{
+  // <class>
+  // <classes>
+  /**
+    Type 2 charstring interpretation state [CFF:5177].
+  */
+  private static final class CharStringState
+  {
+    boolean ended;
+    boolean open;
+    final GeneralPath path = new GeneralPath(Path2D.WIND_NON_ZERO);
+    final double[] stack = new double[48];
+    int stackSize;
+    int stemCount;
+    boolean widthParsed;
+    double x;
+    double y;
+
+    void closeContour(
+      )
+    {
+      if(open)
+      {
+        path.closePath();
+        open = false;
+      }
+    }
+
+    void curveTo(
+      double dxa,
+      double dya,
+      double dxb,
+      double dyb,
+      double dxc,
+      double dyc
+      )
+    {
+      double x1 = x + dxa, y1 = y + dya;
+      double x2 = x1 + dxb, y2 = y1 + dyb;
+      x = x2 + dxc; y = y2 + dyc;
+      path.curveTo(x1, y1, x2, y2, x, y);
+    }
+
+    void lineTo(
+      double dx,
+      double dy
+      )
+    {
+      x += dx; y += dy;
+      path.lineTo(x, y);
+    }
+
+    void moveTo(
+      double dx,
+      double dy
+      )
+    {
+      closeContour();
+      x += dx; y += dy;
+      path.moveTo(x, y);
+      open = true;
+    }
+
+    void push(
+      double value
+      )
+    {
+      if(stackSize < stack.length)
+      {stack[stackSize++] = value;}
+    }
+
+    /**
+      Gets the index of the first argument, skipping the glyph width in case it's prepended to the
+      arguments of the first stack-clearing operator.
+
+      @param argCountParity Expected argument count parity (-1 for exact counts).
+      @param argCount Expected argument count (for exact counts).
+    */
+    int start(
+      int argCountParity,
+      int argCount
+      )
+    {
+      if(widthParsed)
+        return 0;
+
+      widthParsed = true;
+      if(argCountParity >= 0)
+        return stackSize % 2 != argCountParity ? 1 : 0;
+      else
+        return stackSize > argCount ? 1 : 0;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final int CffOperator_Charset = 15;
+  private static final int CffOperator_CharStrings = 17;
+  private static final int CffOperator_Encoding = 16;
+  private static final int CffOperator_FDArray = 12 << 8 | 36;
+  private static final int CffOperator_FDSelect = 12 << 8 | 37;
+  private static final int CffOperator_FontMatrix = 12 << 8 | 7;
+  private static final int CffOperator_Private = 18;
+  private static final int CffOperator_ROS = 12 << 8 | 30;
+  private static final int CffOperator_Subrs = 19;
+
+  private static final int CompositeGlyphFlag_Arg1And2AreWords = 0x0001;
+  private static final int CompositeGlyphFlag_ArgsAreXYValues = 0x0002;
+  private static final int CompositeGlyphFlag_HaveScale = 0x0008;
+  private static final int CompositeGlyphFlag_MoreComponents = 0x0020;
+  private static final int CompositeGlyphFlag_HaveXAndYScale = 0x0040;
+  private static final int CompositeGlyphFlag_HaveTwoByTwo = 0x0080;
+
+  private static final int GlyphFlag_OnCurve = 0x01;
+  private static final int GlyphFlag_XShortVector = 0x02;
+  private static final int GlyphFlag_YShortVector = 0x04;
+  private static final int GlyphFlag_Repeat = 0x08;
+  private static final int GlyphFlag_XSame = 0x10;
+  private static final int GlyphFlag_YSame = 0x20;
+
+  /**
+    Maximum nesting depth of composite glyphs and subroutine calls.
+  */
+  private static final int MaxDepth = 10;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the outline parser of the specified font program.
+
+    @return <code>null</code>, if the font program format isn't supported or it's malformed.
+  */
+  public static OutlineParser get(
+    byte[] fontData
+    )
+  {
+    try
+    {
+      Map<String,int[]> tables = FontSubsetter.getTables(fontData);
+      if(tables != null) // Open Font.
+      {
+        int[] cffTable = tables.get("CFF ");
+        if(cffTable != null)
+          return new OutlineParser(
+            Arrays.copyOfRange(fontData, cffTable[0], cffTable[0] + cffTable[1]),
+            null
+            );
+        else if(tables.containsKey("glyf")
+          && tables.containsKey("loca")
+          && tables.containsKey("head"))
+          return new OutlineParser(fontData, tables);
+      }
+      else if(fontData.length > 4
+        && fontData[0] == 1) // Bare CFF (major version 1).
+        return new OutlineParser(fontData, null);
+    }
+    catch(RuntimeException e)
+    {/* NOOP: Malformed font program. */}
+    return null;
+  }
+  // </public>
+
+  // <private>
+  private static int getGlyphFlagsLength(
+    int flags,
+    int shortVectorFlag,
+    int sameFlag
+    )
+  {return (flags & shortVectorFlag) != 0 ? 1 : (flags & sameFlag) != 0 ? 0 : 2;}
+
+  /**
+    Gets the bias of the subroutine numbers [CFF:5177:4.7].
+  */
+  private static int getSubrBias(
+    int[] subrBounds
+    )
+  {
+    int count = subrBounds.length - 1;
+    return count < 1240 ? 107 : count < 33900 ? 1131 : 32768;
+  }
+
+  /**
+    Parses a real operand of a CFF dictionary [CFF:1.0:4].
+  */
+  private static double parseCffReal(
+    byte[] data,
+    int position
+    )
+  {
+    StringBuilder builder = new StringBuilder();
+    parsing:
+    for(int index = position + 1;; index++)
+    {
+      for(int nibble : new int[]{(data[index] & 0xF0) >> 4, data[index] & 0x0F})
+      {
+        switch(nibble)
+        {
+          case 0xA: builder.append('.'); break;
+          case 0xB: builder.append('E'); break;
+          case 0xC: builder.append("E-"); break;
+          case 0xE: builder.append('-'); break;
+          case 0xF: break parsing;
+          case 0xD: break;
+          default: builder.append((char)('0' + nibble)); break;
+        }
+      }
+    }
+    return builder.length() > 0 ? Double.parseDouble(builder.toString()) : 0;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final byte[] data;
+  private final int glyphCount;
+  /**
+    Transformation from glyph space to 1000-units-per-em glyph space.
+  */
+  private final AffineTransform glyphTransform;
+
+  // TrueType.
+  /** 'cmap' subtable offsets by platform and encoding IDs. */
+  private Map<Integer,Integer> cmapOffsets;
+  private int glyfOffset;
+  private int[] glyphOffsets;
+
+  // CFF.
+  private int[] charStringBounds;
+  /** CIDs (CID-keyed fonts) or SIDs by glyph index. */
+  private int[] charset;
+  /** Glyph indexes by CID (CID-keyed fonts only). */
+  private IntMap cidGlyphIndexes;
+  /** Glyph indexes by character code (custom encoding only). */
+  private IntMap encodedGlyphIndexes;
+  /** Font DICT indexes by glyph index (CID-keyed fonts only). */
+  private int[] fdSelect;
+  private int[] globalSubrBounds;
+  /** Local subroutines by font DICT index. */
+  private int[][] localSubrBounds;
+  /** Glyph indexes by Unicode (name-keyed fonts only). */
+  private IntMap unicodeGlyphIndexes;
+  // </fields>
+
+  // <constructors>
+  private OutlineParser(
+    byte[] data,
+    Map<String,int[]> tables
+    )
+  {
+    this.data = data;
+    if(tables != null) // TrueType.
+    {
+      int headOffset = tables.get("head")[0];
+      int unitsPerEm = getUShort(headOffset + 18);
+      boolean longOffsets = getUShort(headOffset + 50) != 0;
+      glyphTransform = AffineTransform.getScaleInstance(1000d / unitsPerEm, 1000d / unitsPerEm);
+
+      int[] locaTable = tables.get("loca");
+      glyphCount = (tables.containsKey("maxp")
+        ? Math.min(getUShort(tables.get("maxp")[0] + 4), locaTable[1] / (longOffsets ? 4 : 2) - 1)
+        : locaTable[1] / (longOffsets ? 4 : 2) - 1);
+      glyphOffsets = new int[glyphCount + 1];
+      for(int index = 0; index <= glyphCount; index++)
+      {
+        glyphOffsets[index] = (longOffsets
+          ? FontSubsetter.getInt(data, locaTable[0] + index * 4)
+          : getUShort(locaTable[0] + index * 2) * 2);
+      }
+      glyfOffset = tables.get("glyf")[0];
+
+      cmapOffsets = new HashMap<Integer,Integer>();
+      int[] cmapTable = tables.get("cmap");
+      if(cmapTable != null)
+      {
+        for(int index = 0, count = getUShort(cmapTable[0] + 2), offset = cmapTable[0] + 4; index < count; index++, offset += 8)
+        {
+          cmapOffsets.put(
+            getUShort(offset) << 16 | getUShort(offset + 2),
+            cmapTable[0] + FontSubsetter.getInt(data, offset + 4)
+            );
+        }
+      }
+    }
+    else // CFF.
+    {
+      int position = data[2] & 0xFF; // Header size.
+      int[] nameBounds = FontSubsetter.parseCffIndex(data, position);
+      int[] topDictBounds = FontSubsetter.parseCffIndex(data, nameBounds[nameBounds.length - 1]);
+      int[] stringBounds = FontSubsetter.parseCffIndex(data, topDictBounds[topDictBounds.length - 1]);
+      globalSubrBounds = FontSubsetter.parseCffIndex(data, stringBounds[stringBounds.length - 1]);
+      Map<Integer,List<int[]>> topDict = FontSubsetter.parseCffDict(data, topDictBounds[0], topDictBounds[1]);
+
+      // Font matrix.
+      List<int[]> fontMatrixOperands = topDict.get(CffOperator_FontMatrix);
+      if(fontMatrixOperands != null && fontMatrixOperands.size() == 6)
+      {
+        double[] fontMatrix = new double[6];
+        for(int index = 0; index < 6; index++)
+        {
+          int[] operand = fontMatrixOperands.get(index);
+          fontMatrix[index] = (data[operand[1]] & 0xFF) == 30 ? parseCffReal(data, operand[1]) : operand[0];
+        }
+        glyphTransform = new AffineTransform(fontMatrix);
+        glyphTransform.preConcatenate(AffineTransform.getScaleInstance(1000, 1000));
+      }
+      else
+      {glyphTransform = new AffineTransform();}
+
+      // Charstrings.
+      charStringBounds = FontSubsetter.parseCffIndex(data, topDict.get(CffOperator_CharStrings).get(0)[0]);
+      glyphCount = charStringBounds.length - 1;
+
+      // Charset.
+      charset = new int[glyphCount];
+      {
+        List<int[]> charsetOperands = topDict.get(CffOperator_Charset);
+        int charsetOffset = (charsetOperands != null && !charsetOperands.isEmpty() ? charsetOperands.get(0)[0] : 0);
+        if(charsetOffset <= 2) // Predefined charset (ISOAdobe, Expert, ExpertSubset).
+        {
+          for(int index = 0; index < glyphCount; index++)
+          {charset[index] = index;}
+        }
+        else
+        {
+          int format = data[charsetOffset] & 0xFF;
+          position = charsetOffset + 1;
+          for(int index = 1; index < glyphCount;)
+          {
+            if(format == 0)
+            {
+              charset[index++] = getUShort(position);
+              position += 2;
+            }
+            else
+            {
+              int first = getUShort(position);
+              int leftCount = (format == 1 ? data[position + 2] & 0xFF : getUShort(position + 2));
+              position += (format == 1 ? 3 : 4);
+              for(int code = first; code <= first + leftCount && index < glyphCount; code++)
+              {charset[index++] = code;}
+            }
+          }
+        }
+      }
+
+      if(topDict.containsKey(CffOperator_ROS)) // CID-keyed font.
+      {
+        cidGlyphIndexes = new IntMap(glyphCount);
+        for(int index = glyphCount - 1; index >= 0; index--)
+        {cidGlyphIndexes.put(charset[index], index);}
+
+        int[] fontDictBounds = FontSubsetter.parseCffIndex(data, topDict.get(CffOperator_FDArray).get(0)[0]);
+        localSubrBounds = new int[fontDictBounds.length - 1][];
+        for(int index = 0; index < localSubrBounds.length; index++)
+        {localSubrBounds[index] = parseLocalSubrs(FontSubsetter.parseCffDict(data, fontDictBounds[index], fontDictBounds[index + 1]));}
+
+        fdSelect = new int[glyphCount];
+        int fdSelectOffset = topDict.get(CffOperator_FDSelect).get(0)[0];
+        if((data[fdSelectOffset] & 0xFF) == 0)
+        {
+          for(int index = 0; index < glyphCount; index++)
+          {fdSelect[index] = data[fdSelectOffset + 1 + index] & 0xFF;}
+        }
+        else // Format 3.
+        {
+          int rangeCount = getUShort(fdSelectOffset + 1);
+          for(int rangeIndex = 0, rangeOffset = fdSelectOffset + 3; rangeIndex < rangeCount; rangeIndex++, rangeOffset += 3)
+          {
+            int fd = data[rangeOffset + 2] & 0xFF;
+            for(int index = getUShort(rangeOffset), endIndex = Math.min(getUShort(rangeOffset + 3), glyphCount); index < endIndex; index++)
+            {fdSelect[index] = fd;}
+          }
+        }
+      }
+      else // Name-keyed font.
+      {
+        localSubrBounds = new int[][]{parseLocalSubrs(topDict)};
+
+        // Glyph names.
+        unicodeGlyphIndexes = new IntMap(glyphCount);
+        int standardStringCount = CffParser.StandardStrings.size();
+        for(int index = glyphCount - 1; index > 0; index--)
+        {
+          int sid = charset[index];
+          String name;
+          if(sid < standardStringCount)
+          {name = CffParser.StandardStrings.get(sid);}
+          else if(sid - standardStringCount < stringBounds.length - 1)
+          {
+            int stringIndex = sid - standardStringCount;
+            name = new String(data, stringBounds[stringIndex], stringBounds[stringIndex + 1] - stringBounds[stringIndex]);
+          }
+          else
+            continue;
+
+          Integer code = GlyphMapping.nameToCode(name);
+          if(code != null)
+          {unicodeGlyphIndexes.put(code, index);}
+        }
+
+        // Custom encoding.
+        List<int[]> encodingOperands = topDict.get(CffOperator_Encoding);
+        int encodingOffset = (encodingOperands != null && !encodingOperands.isEmpty() ? encodingOperands.get(0)[0] : 0);
+        if(encodingOffset > 1)
+        {
+          encodedGlyphIndexes = new IntMap();
+          int format = data[encodingOffset] & 0x7F;
+          int count = data[encodingOffset + 1] & 0xFF;
+          position = encodingOffset + 2;
+          if(format == 0)
+          {
+            for(int index = 1; index <= count; index++)
+            {encodedGlyphIndexes.put(data[position++] & 0xFF, index);}
+          }
+          else if(format == 1)
+          {
+            for(int rangeIndex = 0, index = 1; rangeIndex < count; rangeIndex++, position += 2)
+            {
+              for(int code = data[position] & 0xFF, endCode = code + (data[position + 1] & 0xFF); code <= endCode; code++)
+              {encodedGlyphIndexes.put(code, index++);}
+            }
+          }
+        }
+      }
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the glyph index corresponding to the specified CID.
+    <p>Glyph indexes of non-CID-keyed programs are assumed to be the CIDs themselves.</p>
+  */
+  public int getCIDGlyphIndex(
+    int cid
+    )
+  {return cidGlyphIndexes != null ? cidGlyphIndexes.get(cid, 0) : cid;}
+
+  /**
+    Gets the glyph index corresponding to the specified character code through the specified
+    'cmap' subtable (TrueType programs only).
+
+    @return 0 (missing glyph), if unmapped.
+  */
+  public int getCMapGlyphIndex(
+    int platformID,
+    int encodingID,
+    int code
+    )
+  {
+    Integer cmapOffset = (cmapOffsets != null ? cmapOffsets.get(platformID << 16 | encodingID) : null);
+    if(cmapOffset == null)
+      return 0;
+
+    int offset = cmapOffset;
+    switch(getUShort(offset))
+    {
+      case 0: // Byte encoding table.
+        return code >= 0 && code < 256 ? data[offset + 6 + code] & 0xFF : 0;
+      case 4: // Segment mapping to delta values.
+      {
+        int segmentCount = getUShort(offset + 6) / 2;
+        int endCodesOffset = offset + 14;
+        int startCodesOffset = endCodesOffset + segmentCount * 2 + 2;
+        int deltasOffset = startCodesOffset + segmentCount * 2;
+        int rangeOffsetsOffset = deltasOffset + segmentCount * 2;
+        for(int index = 0; index < segmentCount; index++)
+        {
+          if(code > getUShort(endCodesOffset + index * 2))
+            continue;
+
+          int startCode = getUShort(startCodesOffset + index * 2);
+          if(code < startCode)
+            return 0;
+
+          int delta = getUShort(deltasOffset + index * 2);
+          int rangeOffset = getUShort(rangeOffsetsOffset + index * 2);
+          if(rangeOffset == 0)
+            return (code + delta) & 0xFFFF;
+
+          int glyphIndex = getUShort(rangeOffsetsOffset + index * 2 + rangeOffset + (code - startCode) * 2);
+          return glyphIndex != 0 ? (glyphIndex + delta) & 0xFFFF : 0;
+        }
+        return 0;
+      }
+      case 6: // Trimmed table mapping.
+      {
+        int index = code - getUShort(offset + 6);
+        return index >= 0 && index < getUShort(offset + 8) ? getUShort(offset + 10 + index * 2) : 0;
+      }
+      case 12: // Segmented coverage.
+      {
+        for(int index = 0, count = FontSubsetter.getInt(data, offset + 12), groupOffset = offset + 16; index < count; index++, groupOffset += 12)
+        {
+          int startCode = FontSubsetter.getInt(data, groupOffset);
+          if(code >= startCode && code <= FontSubsetter.getInt(data, groupOffset + 4))
+            return FontSubsetter.getInt(data, groupOffset + 8) + code - startCode;
+        }
+        return 0;
+      }
+      default:
+        return 0;
+    }
+  }
+
+  /**
+    Gets the glyph index corresponding to the specified character code through the built-in
+    encoding (custom-encoded CFF programs only).
+
+    @return 0 (missing glyph), if unmapped.
+  */
+  public int getEncodedGlyphIndex(
+    int code
+    )
+  {return encodedGlyphIndexes != null ? encodedGlyphIndexes.get(code, 0) : 0;}
+
+  /**
+    Gets the number of glyphs.
+  */
+  public int getGlyphCount(
+    )
+  {return glyphCount;}
+
+  /**
+    Gets the outline of the specified glyph.
+
+    @return Empty shape, if the glyph is missing or malformed.
+  */
+  public Shape getOutline(
+    int glyphIndex
+    )
+  {
+    GeneralPath outline;
+    try
+    {
+      if(glyphIndex < 0 || glyphIndex >= glyphCount)
+      {outline = new GeneralPath();}
+      else if(charStringBounds != null)
+      {
+        CharStringState state = new CharStringState();
+        runCharString(
+          charStringBounds[glyphIndex],
+          charStringBounds[glyphIndex + 1],
+          localSubrBounds[fdSelect != null ? fdSelect[glyphIndex] : 0],
+          state,
+          0
+          );
+        state.closeContour();
+        outline = state.path;
+      }
+      else
+      {outline = getTrueTypeOutline(glyphIndex, 0);}
+    }
+    catch(RuntimeException e)
+    {outline = new GeneralPath();} // Malformed glyph description.
+    outline.transform(glyphTransform);
+    return outline;
+  }
+
+  /**
+    Gets the glyph index corresponding to the specified Unicode character through its glyph name
+    (name-keyed CFF programs) or the Unicode 'cmap' subtable (TrueType programs).
+
+    @return 0 (missing glyph), if unmapped.
+  */
+  public int getUnicodeGlyphIndex(
+    int code
+    )
+  {
+    if(unicodeGlyphIndexes != null)
+      return unicodeGlyphIndexes.get(code, 0);
+    else
+      return getCMapGlyphIndex(3, 1, code);
+  }
+
+  /**
+    Gets whether the specified 'cmap' subtable is available.
+  */
+  public boolean hasCMap(
+    int platformID,
+    int encodingID
+    )
+  {return cmapOffsets != null && cmapOffsets.containsKey(platformID << 16 | encodingID);}
+
+  /**
+    Gets whether this is a CFF program.
+  */
+  public boolean isCff(
+    )
+  {return charStringBounds != null;}
+  // </public>
+
+  // <private>
+  private int getUShort(
+    int offset
+    )
+  {return FontSubsetter.getUShort(data, offset);}
+
+  /**
+    Parses the TrueType glyph description [OFF:2009:5.3.3].
+  */
+  private GeneralPath getTrueTypeOutline(
+    int glyphIndex,
+    int depth
+    )
+  {
+    GeneralPath outline = new GeneralPath(Path2D.WIND_NON_ZERO);
+    int offset = glyfOffset + glyphOffsets[glyphIndex];
+    if(glyphOffsets[glyphIndex + 1] <= glyphOffsets[glyphIndex]) // Empty glyph.
+      return outline;
+
+    int contourCount = (short)getUShort(offset);
+    if(contourCount >= 0) // Simple glyph.
+    {
+      int[] contourEnds = new int[contourCount];
+      for(int index = 0; index < contourCount; index++)
+      {contourEnds[index] = getUShort(offset + 10 + index * 2);}
+      int pointCount = (contourCount > 0 ? contourEnds[contourCount - 1] + 1 : 0);
+      int position = offset + 10 + contourCount * 2;
+      position += 2 + getUShort(position); // Instructions.
+
+      // Flags.
+      int[] flags = new int[pointCount];
+      for(int index = 0; index < pointCount;)
+      {
+        int flag = data[position++] & 0xFF;
+        flags[index++] = flag;
+        if((flag & GlyphFlag_Repeat) != 0)
+        {
+          for(int repeatCount = data[position++] & 0xFF; repeatCount > 0 && index < pointCount; repeatCount--)
+          {flags[index++] = flag;}
+        }
+      }
+
+      // Coordinates.
+      int[] xs = new int[pointCount], ys = new int[pointCount];
+      for(int pass = 0; pass < 2; pass++)
+      {
+        int[] coordinates = (pass == 0 ? xs : ys);
+        int shortVectorFlag = (pass == 0 ? GlyphFlag_XShortVector : GlyphFlag_YShortVector);
+        int sameFlag = (pass == 0 ? GlyphFlag_XSame : GlyphFlag_YSame);
+        int coordinate = 0;
+        for(int index = 0; index < pointCount; index++)
+        {
+          int flag = flags[index];
+          switch(getGlyphFlagsLength(flag, shortVectorFlag, sameFlag))
+          {
+            case 1:
+              coordinate += ((flag & sameFlag) != 0 ? 1 : -1) * (data[position++] & 0xFF);
+              break;
+            case 2:
+              coordinate += (short)getUShort(position);
+              position += 2;
+              break;
+          }
+          coordinates[index] = coordinate;
+        }
+      }
+
+      // Contours.
+      for(int contourIndex = 0, start = 0; contourIndex < contourCount; start = contourEnds[contourIndex++] + 1)
+      {
+        int end = contourEnds[contourIndex];
+        int count = end - start + 1;
+        if(count <= 0)
+          continue;
+
+        // Find the contour start!
+        int first = -1;
+        for(int index = start; index <= end; index++)
+        {
+          if((flags[index] & GlyphFlag_OnCurve) != 0)
+          {first = index; break;}
+        }
+        int stepCount;
+        double startX, startY;
+        if(first >= 0)
+        {
+          startX = xs[first];
+          startY = ys[first];
+          stepCount = count - 1;
+        }
+        else // All off-curve points: the contour starts at their implied midpoint.
+        {
+          first = start;
+          int next = (count > 1 ? start + 1 : start);
+          startX = (xs[first] + xs[next]) / 2d;
+          startY = (ys[first] + ys[next]) / 2d;
+          stepCount = count;
+        }
+        outline.moveTo(startX, startY);
+
+        boolean control = false;
+        double controlX = 0, controlY = 0;
+        for(int step = 1; step <= stepCount; step++)
+        {
+          int index = start + (first - start + step) % count;
+          double x = xs[index], y = ys[index];
+          if((flags[index] & GlyphFlag_OnCurve) != 0)
+          {
+            if(control)
+            {outline.quadTo(controlX, controlY, x, y);}
+            else
+            {outline.lineTo(x, y);}
+            control = false;
+          }
+          else
+          {
+            if(control)
+            {outline.quadTo(controlX, controlY, (controlX + x) / 2, (controlY + y) / 2);}
+            controlX = x; controlY = y;
+            control = true;
+          }
+        }
+        if(control)
+        {outline.quadTo(controlX, controlY, startX, startY);}
+        outline.closePath();
+      }
+    }
+    else if(depth < MaxDepth) // Composite glyph.
+    {
+      int position = offset + 10;
+      int flags;
+      do
+      {
+        flags = getUShort(position);
+        int componentGlyphIndex = getUShort(position + 2);
+        position += 4;
+        double dx, dy;
+        if((flags & CompositeGlyphFlag_Arg1And2AreWords) != 0)
+        {
+          dx = (short)getUShort(position);
+          dy = (short)getUShort(position + 2);
+          position += 4;
+        }
+        else
+        {
+          dx = data[position];
+          dy = data[position + 1];
+          position += 2;
+        }
+        if((flags & CompositeGlyphFlag_ArgsAreXYValues) == 0)
+        {dx = dy = 0;} // NOTE: Point matching is NOT supported.
+
+        double a = 1, b = 0, c = 0, d = 1;
+        if((flags & CompositeGlyphFlag_HaveScale) != 0)
+        {
+          a = d = getF2Dot14(position);
+          position += 2;
+        }
+        else if((flags & CompositeGlyphFlag_HaveXAndYScale) != 0)
+        {
+          a = getF2Dot14(position);
+          d = getF2Dot14(position + 2);
+          position += 4;
+        }
+        else if((flags & CompositeGlyphFlag_HaveTwoByTwo) != 0)
+        {
+          a = getF2Dot14(position);
+          b = getF2Dot14(position + 2);
+          c = getF2Dot14(position + 4);
+          d = getF2Dot14(position + 6);
+          position += 8;
+        }
+        if(componentGlyphIndex < glyphCount)
+        {
+          GeneralPath componentOutline = getTrueTypeOutline(componentGlyphIndex, depth + 1);
+          componentOutline.transform(new AffineTransform(a, b, c, d, dx, dy));
+          outline.append(componentOutline, false);
+        }
+      } while((flags & CompositeGlyphFlag_MoreComponents) != 0);
+    }
+    return outline;
+  }
+
+  private double getF2Dot14(
+    int offset
+    )
+  {return (short)getUShort(offset) / 16384d;}
+
+  /**
+    Gets the local subroutines bounds of the specified (Top or Font) DICT.
+  */
+  private int[] parseLocalSubrs(
+    Map<Integer,List<int[]>> dict
+    )
+  {
+    List<int[]> privateOperands = dict.get(CffOperator_Private);
+    if(privateOperands == null || privateOperands.size() < 2)
+      return null;
+
+    int privateLength = privateOperands.get(0)[0];
+    int privateOffset = privateOperands.get(1)[0];
+    List<int[]> subrsOperands = FontSubsetter.parseCffDict(data, privateOffset, privateOffset + privateLength).get(CffOperator_Subrs);
+    if(subrsOperands == null || subrsOperands.isEmpty())
+      return null;
+
+    return FontSubsetter.parseCffIndex(data, privateOffset + subrsOperands.get(0)[0]);
+  }
+
+  /**
+    Interprets the specified Type 2 charstring [CFF:5177].
+  */
+  private void runCharString(
+    int start,
+    int end,
+    int[] localSubrBounds,
+    CharStringState state,
+    int depth
+    )
+  {
+    double[] stack = state.stack;
+    int position = start;
+    while(position < end && !state.ended)
+    {
+      int b0 = data[position] & 0xFF;
+      if(b0 == 28) // 3-byte integer.
+      {
+        state.push((short)getUShort(position + 1));
+        position += 3;
+      }
+      else if(b0 >= 32 && b0 <= 246) // 1-byte integer.
+      {
+        state.push(b0 - 139);
+        position++;
+      }
+      else if(b0 >= 247 && b0 <= 250) // 2-byte positive integer.
+      {
+        state.push(((b0 - 247) << 8) + (data[position + 1] & 0xFF) + 108);
+        position += 2;
+      }
+      else if(b0 >= 251 && b0 <= 254) // 2-byte negative integer.
+      {
+        state.push(-((b0 - 251) << 8) - (data[position + 1] & 0xFF) - 108);
+        position += 2;
+      }
+      else if(b0 == 255) // 16.16 fixed.
+      {
+        state.push(FontSubsetter.getInt(data, position + 1) / 65536d);
+        position += 5;
+      }
+      else // Operator.
+      {
+        position++;
+        int size = state.stackSize;
+        switch(b0)
+        {
+          case 1: // hstem.
+          case 3: // vstem.
+          case 18: // hstemhm.
+          case 23: // vstemhm.
+            state.stemCount += (size - state.start(0, 0)) / 2;
+            break;
+          case 19: // hintmask.
+          case 20: // cntrmask.
+            state.stemCount += (size - state.start(0, 0)) / 2; // Implicit vstem.
+            position += (state.stemCount + 7) / 8;
+            break;
+          case 21: // rmoveto.
+          {
+            int index = state.start(-1, 2);
+            state.moveTo(stack[index], stack[index + 1]);
+            break;
+          }
+          case 22: // hmoveto.
+            state.moveTo(stack[state.start(-1, 1)], 0);
+            break;
+          case 4: // vmoveto.
+            state.moveTo(0, stack[state.start(-1, 1)]);
+            break;
+          case 5: // rlineto.
+            for(int index = 0; index + 1 < size; index += 2)
+            {state.lineTo(stack[index], stack[index + 1]);}
+            break;
+          case 6: // hlineto.
+          case 7: // vlineto.
+          {
+            boolean horizontal = (b0 == 6);
+            for(int index = 0; index < size; index++, horizontal = !horizontal)
+            {
+              if(horizontal)
+              {state.lineTo(stack[index], 0);}
+              else
+              {state.lineTo(0, stack[index]);}
+            }
+            break;
+          }
+          case 8: // rrcurveto.
+            for(int index = 0; index + 5 < size; index += 6)
+            {state.curveTo(stack[index], stack[index + 1], stack[index + 2], stack[index + 3], stack[index + 4], stack[index + 5]);}
+            break;
+          case 24: // rcurveline.
+          {
+            int index = 0;
+            for(; index + 7 < size; index += 6)
+            {state.curveTo(stack[index], stack[index + 1], stack[index + 2], stack[index + 3], stack[index + 4], stack[index + 5]);}
+            if(index + 1 < size)
+            {state.lineTo(stack[index], stack[index + 1]);}
+            break;
+          }
+          case 25: // rlinecurve.
+          {
+            int index = 0;
+            for(; index + 7 < size; index += 2)
+            {state.lineTo(stack[index], stack[index + 1]);}
+            if(index + 5 < size)
+            {state.curveTo(stack[index], stack[index + 1], stack[index + 2], stack[index + 3], stack[index + 4], stack[index + 5]);}
+            break;
+          }
+          case 26: // vvcurveto.
+          {
+            int index = 0;
+            double dx1 = 0;
+            if(size % 2 == 1)
+            {dx1 = stack[index++];}
+            for(; index + 3 < size; index += 4, dx1 = 0)
+            {state.curveTo(dx1, stack[index], stack[index + 1], stack[index + 2], 0, stack[index + 3]);}
+            break;
+          }
+          case 27: // hhcurveto.
+          {
+            int index = 0;
+            double dy1 = 0;
+            if(size % 2 == 1)
+            {dy1 = stack[index++];}
+            for(; index + 3 < size; index += 4, dy1 = 0)
+            {state.curveTo(stack[index], dy1, stack[index + 1], stack[index + 2], stack[index + 3], 0);}
+            break;
+          }
+          case 30: // vhcurveto.
+          case 31: // hvcurveto.
+          {
+            boolean horizontal = (b0 == 31);
+            for(int index = 0; index + 3 < size; horizontal = !horizontal)
+            {
+              boolean last = (size - index == 5);
+              if(horizontal)
+              {state.curveTo(stack[index], 0, stack[index + 1], stack[index + 2], last ? stack[index + 4] : 0, stack[index + 3]);}
+              else
+              {state.curveTo(0, stack[index], stack[index + 1], stack[index + 2], stack[index + 3], last ? stack[index + 4] : 0);}
+              index += (last ? 5 : 4);
+            }
+            break;
+          }
+          case 10: // callsubr.
+          case 29: // callgsubr.
+          {
+            int[] subrBounds = (b0 == 10 ? localSubrBounds : globalSubrBounds);
+            if(size == 0 || subrBounds == null || depth >= MaxDepth)
+            {
+              state.ended = true;
+              break;
+            }
+            int subrIndex = (int)stack[--state.stackSize] + getSubrBias(subrBounds);
+            if(subrIndex >= 0 && subrIndex < subrBounds.length - 1)
+            {runCharString(subrBounds[subrIndex], subrBounds[subrIndex + 1], localSubrBounds, state, depth + 1);}
+            continue; // NOTE: Subroutines leave the stack to their caller.
+          }
+          case 11: // return.
+            return;
+          case 14: // endchar.
+            /*
+              NOTE: Accented characters (deprecated 'seac'-like arguments) are NOT supported.
+            */
+            state.start(-1, size >= 4 ? 4 : 0);
+            state.closeContour();
+            state.ended = true;
+            break;
+          case 12: // Escape.
+          {
+            int b1 = data[position++] & 0xFF;
+            switch(b1)
+            {
+              case 35: // flex.
+                if(size >= 12)
+                {
+                  state.curveTo(stack[0], stack[1], stack[2], stack[3], stack[4], stack[5]);
+                  state.curveTo(stack[6], stack[7], stack[8], stack[9], stack[10], stack[11]);
+                }
+                break;
+              case 34: // hflex.
+                if(size >= 7)
+                {
+                  state.curveTo(stack[0], 0, stack[1], stack[2], stack[3], 0);
+                  state.curveTo(stack[4], 0, stack[5], -stack[2], stack[6], 0);
+                }
+                break;
+              case 36: // hflex1.
+                if(size >= 9)
+                {
+                  state.curveTo(stack[0], stack[1], stack[2], stack[3], stack[4], 0);
+                  state.curveTo(stack[5], 0, stack[6], stack[7], stack[8], -(stack[1] + stack[3] + stack[7]));
+                }
+                break;
+              case 37: // flex1.
+                if(size >= 11)
+                {
+                  double dx = stack[0] + stack[2] + stack[4] + stack[6] + stack[8];
+                  double dy = stack[1] + stack[3] + stack[5] + stack[7] + stack[9];
+                  state.curveTo(stack[0], stack[1], stack[2], stack[3], stack[4], stack[5]);
+                  if(Math.abs(dx) > Math.abs(dy))
+                  {state.curveTo(stack[6], stack[7], stack[8], stack[9], stack[10], -dy);}
+                  else
+                  {state.curveTo(stack[6], stack[7], stack[8], stack[9], -dx, stack[10]);}
+                }
+                break;
+              default:
+                /*
+                  NOTE: Arithmetic and storage operators are NOT supported.
+                */
+                break;
+            }
+            break;
+          }
+          default: // Reserved.
+            break;
+        }
+        state.stackSize = 0;
+      }
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
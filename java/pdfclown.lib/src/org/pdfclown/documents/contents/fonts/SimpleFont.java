@@ -47,7 +47,7 @@ import org.pdfclown.util.ByteArray;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 05/25/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class SimpleFont
@@ -148,9 +148,9 @@ public abstract class SimpleFont
       if(glyphWidthObjects != null)
       {
         ByteArray charCode = new ByteArray(new byte[]{(byte)((PdfInteger)getBaseDataObject().get(PdfName.FirstChar)).getIntValue()});
-        for(PdfDirectObject glyphWidthObject : glyphWidthObjects)
+        for(double glyphWidth : glyphWidthObjects.toDoubleArray())
         {
-          if(((PdfInteger)glyphWidthObject).getValue() == 0)
+          if(glyphWidth == 0)
           {codes.remove(charCode);}
           charCode.data[0]++;
         }
@@ -180,9 +180,8 @@ public abstract class SimpleFont
           new byte[]
           {(byte)((PdfInteger)getBaseDataObject().get(PdfName.FirstChar)).getIntValue()}
           );
-        for(PdfDirectObject glyphWidthObject : glyphWidthObjects)
+        for(double glyphWidth : glyphWidthObjects.toDoubleArray())
         {
-          int glyphWidth = ((PdfNumber<?>)glyphWidthObject).getIntValue();
           if(glyphWidth > 0)
           {
             Integer code = codes.get(charCode);
@@ -190,7 +189,7 @@ public abstract class SimpleFont
             {
               glyphWidths.put(
                 glyphIndexes.get(code),
-                glyphWidth
+                (int)Math.round(glyphWidth)
                 );
             }
           }
@@ -209,5 +208,53 @@ public abstract class SimpleFont
     }
   }
   // </protected>
+
+  // <internal>
+  /**
+    {@inheritDoc}
+    <p>Glyph indexes of existing simple fonts are character codes, which are mapped to the embedded
+    font program through either its 'cmap' table (TrueType programs [PDF:1.6:5.5.5]) or its glyph
+    names and built-in encoding (CFF programs).</p>
+  */
+  @Override
+  int getProgramGlyphIndex(
+    OutlineParser outlineParser,
+    char textChar,
+    int glyphIndex
+    )
+  {
+    int programGlyphIndex;
+    if(outlineParser.isCff())
+    {
+      if(symbolic)
+      {
+        programGlyphIndex = outlineParser.getEncodedGlyphIndex(glyphIndex);
+        if(programGlyphIndex == 0)
+        {programGlyphIndex = outlineParser.getUnicodeGlyphIndex(textChar);}
+      }
+      else
+      {
+        programGlyphIndex = outlineParser.getUnicodeGlyphIndex(textChar);
+        if(programGlyphIndex == 0)
+        {programGlyphIndex = outlineParser.getEncodedGlyphIndex(glyphIndex);}
+      }
+      return programGlyphIndex;
+    }
+
+    if(!symbolic && outlineParser.hasCMap(3, 1)
+      && (programGlyphIndex = outlineParser.getCMapGlyphIndex(3, 1, textChar)) != 0)
+      return programGlyphIndex;
+    else if(outlineParser.hasCMap(3, 0)
+      && ((programGlyphIndex = outlineParser.getCMapGlyphIndex(3, 0, glyphIndex)) != 0
+        || (programGlyphIndex = outlineParser.getCMapGlyphIndex(3, 0, 0xF000 + glyphIndex)) != 0))
+      return programGlyphIndex;
+    else if(outlineParser.hasCMap(1, 0)
+      && (programGlyphIndex = outlineParser.getCMapGlyphIndex(1, 0, glyphIndex)) != 0)
+      return programGlyphIndex;
+    else
+      return outlineParser.getCMapGlyphIndex(3, 1, textChar);
+  }
+  // </internal>
+  // </interface>
   // </dynamic>
 }
\ No newline at end of file
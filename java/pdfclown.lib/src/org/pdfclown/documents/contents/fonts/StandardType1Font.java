@@ -28,6 +28,7 @@ package org.pdfclown.documents.contents.fonts;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.pdfclown.PDF;
@@ -42,7 +43,7 @@ import org.pdfclown.util.io.IOUtils;
   Standard Type 1 font [PDF:1.6:5.5.1].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 04/23/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public final class StandardType1Font
@@ -73,6 +74,51 @@ public final class StandardType1Font
   };
   // </classes>
 
+  // <static>
+  // <fields>
+  /**
+    Font metrics by font name.
+    <p>Standard font metrics are parsed once per process, as they can be shared (read-only).</p>
+  */
+  private static final Map<String,AfmParser> fontMetrics = new HashMap<String,AfmParser>();
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Gets the metrics of the specified standard font.
+  */
+  private static AfmParser getFontMetrics(
+    String fontName
+    )
+  {
+    synchronized(fontMetrics)
+    {
+      AfmParser parser = fontMetrics.get(fontName);
+      if(parser == null)
+      {
+        BufferedReader fontMetricsStream = null;
+        try
+        {
+          fontMetricsStream = new BufferedReader(
+            new InputStreamReader(
+              StandardType1Font.class.getResourceAsStream("/fonts/afm/" + fontName + ".afm")
+              )
+            );
+          fontMetrics.put(fontName, parser = new AfmParser(fontMetricsStream));
+        }
+        catch(Exception e)
+        {throw new RuntimeException(String.format("Failed to load '%s'", fontName), e);}
+        finally
+        {IOUtils.closeQuietly(fontMetricsStream);}
+      }
+      return parser;
+    }
+  }
+  // </private>
+  // </interface>
+  // </static>
+
   // <dynamic>
   // <constructors>
   public StandardType1Font(
@@ -217,26 +263,12 @@ public final class StandardType1Font
     String fontName
     )
   {
-    BufferedReader fontMetricsStream = null;
-    try
-    {
-      fontMetricsStream = new BufferedReader(
-        new InputStreamReader(
-          getClass().getResourceAsStream("/fonts/afm/" + fontName + ".afm")
-          )
-        );
-
-      AfmParser parser = new AfmParser(fontMetricsStream);
-      metrics = parser.metrics;
-      symbolic = metrics.isCustomEncoding;
-      glyphIndexes = parser.glyphIndexes;
-      glyphKernings = parser.glyphKernings;
-      glyphWidths = parser.glyphWidths;
-    }
-    catch(Exception e)
-    {throw new RuntimeException(String.format("Failed to load '%s'", fontName), e);}
-    finally
-    {IOUtils.closeQuietly(fontMetricsStream);}
+    AfmParser parser = getFontMetrics(fontName);
+    metrics = parser.metrics;
+    symbolic = metrics.isCustomEncoding;
+    glyphIndexes = parser.glyphIndexes;
+    glyphKernings = parser.glyphKernings;
+    glyphWidths = parser.glyphWidths;
   }
   // </private>
   // </interface>
@@ -27,11 +27,15 @@ package org.pdfclown.documents.contents.objects;
 
 import java.awt.Dimension;
 import java.awt.geom.Dimension2D;
+import java.awt.image.BufferedImage;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.documents.Document;
+import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.documents.contents.xObjects.ImageDecoder;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfNumber;
 
@@ -40,7 +44,7 @@ import org.pdfclown.objects.PdfNumber;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.4
-  @version 0.1.1, 11/01/11
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public final class InlineImage
@@ -82,6 +86,20 @@ public final class InlineImage
     )
   {return (InlineImageHeader)getObjects().get(0);}
 
+  /**
+    Gets the decoded image.
+
+    @param context Content context the image belongs to.
+    @param subsampling Subsampling factor (1 for full resolution; see {@link
+      ImageDecoder#getSubsampling(int, int, double, double)}).
+    @since 0.2.0
+  */
+  public BufferedImage getImage(
+    IContentContext context,
+    int subsampling
+    )
+  {return ImageDecoder.get(this, context).decode(subsampling);}
+
   /**
     Gets the image size.
   */
@@ -95,6 +113,17 @@ public final class InlineImage
       );
   }
 
+  @Override
+  public void scan(
+    GraphicsState state
+    )
+  {
+    super.scan(state);
+
+    if(state.getScanner().getRenderContext() != null)
+    {PaintXObject.paintImage(state, ImageDecoder.get(this, state.getScanner().getContentContext()), null);}
+  }
+
   @Override
   public void writeTo(
     IOutputStream stream,
@@ -42,7 +42,7 @@ import org.pdfclown.util.ConvertUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.7
-  @version 0.1.2.1, 03/21/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public final class PaintPath
@@ -104,8 +104,11 @@ public final class PaintPath
   // </fields>
 
   // <interface>
-  // <private>
-  private static java.awt.Stroke getStroke(
+  // <internal>
+  /**
+    Gets the stroke corresponding to the line parameters of the specified graphics state.
+  */
+  static java.awt.Stroke getStroke(
     GraphicsState state
     )
   {
@@ -121,7 +124,7 @@ public final class PaintPath
       (float)lineDash.getDashPhase()
       );
   }
-  // </private>
+  // </internal>
   // </interface>
   // </static>
 
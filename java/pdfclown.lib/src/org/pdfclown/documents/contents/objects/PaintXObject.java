@@ -25,23 +25,32 @@
 
 package org.pdfclown.documents.contents.objects;
 
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.List;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.contents.ContentScanner;
+import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
 import org.pdfclown.documents.contents.IContentContext;
 import org.pdfclown.documents.contents.xObjects.FormXObject;
+import org.pdfclown.documents.contents.xObjects.ImageDecoder;
+import org.pdfclown.documents.contents.xObjects.ImageXObject;
 import org.pdfclown.documents.contents.xObjects.XObject;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.util.NotImplementedException;
 
 /**
   'Paint the specified XObject' operation [PDF:1.6:4.7].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.4
-  @version 0.1.1, 11/01/11
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public final class PaintXObject
@@ -95,6 +104,23 @@ public final class PaintXObject
     )
   {return getResource(context);}
 
+  @Override
+  public void scan(
+    GraphicsState state
+    )
+  {
+    ContentScanner scanner = state.getScanner();
+    if(scanner.getRenderContext() == null)
+      return;
+
+    XObject xObject = getXObject(scanner.getContentContext());
+    if(xObject instanceof ImageXObject)
+    {
+      ImageXObject image = (ImageXObject)xObject;
+      paintImage(state, ImageDecoder.get(image), image);
+    }
+  }
+
   // <IResourceReference>
   @Override
   public PdfName getName(
@@ -114,6 +140,71 @@ public final class PaintXObject
   {operands.set(0,value);}
   // </IResourceReference>
   // </public>
+
+  // <internal>
+  /**
+    Paints the specified image into the current render context.
+    <p>The image is decoded at the coarsest resolution which doesn't drop below the device
+    resolution.</p>
+
+    @param state Graphics state.
+    @param decoder Image decoder.
+    @param xObject Image XObject (<code>null</code> in case of inline image).
+  */
+  static void paintImage(
+    GraphicsState state,
+    ImageDecoder decoder,
+    ImageXObject xObject
+    )
+  {
+    Graphics2D context = state.getScanner().getRenderContext();
+    /*
+      NOTE: The render context maps the unit square of the image space to device space.
+    */
+    AffineTransform transform = context.getTransform();
+    double deviceWidth = Math.hypot(transform.getScaleX(), transform.getShearY());
+    double deviceHeight = Math.hypot(transform.getShearX(), transform.getScaleY());
+    int subsampling = ImageDecoder.getSubsampling(decoder.getWidth(), decoder.getHeight(), deviceWidth, deviceHeight);
+    BufferedImage image;
+    try
+    {image = (xObject != null ? xObject.getImage(subsampling) : decoder.decode(subsampling));}
+    catch(NotImplementedException e)
+    {return;} // Unsupported image encoding (e.g. JBIG2, JPX).
+    if(image == null)
+      return;
+
+    if(decoder.isImageMask()) // Stencil mask.
+    {
+      // Colorize the stencil with the current fill color!
+      Paint fillPaint = state.getFillColorSpace().getPaint(state.getFillColor());
+      int fillRgb = (fillPaint instanceof java.awt.Color ? ((java.awt.Color)fillPaint).getRGB() & 0xffffff : 0);
+      if(fillRgb != 0)
+      {
+        int width = image.getWidth(), height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        for(int index = 0; index < pixels.length; index++)
+        {pixels[index] = (pixels[index] & 0xff000000) | fillRgb;}
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+      }
+    }
+    /*
+      NOTE: Enlarged images are sharp unless interpolation is explicitly requested [PDF:1.6:4.8.4].
+    */
+    Object interpolation = context.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+    boolean sharp = (!decoder.isInterpolated()
+      && (image.getWidth() < deviceWidth || image.getHeight() < deviceHeight));
+    if(sharp)
+    {context.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);}
+    context.drawImage(
+      image,
+      new AffineTransform(1d / image.getWidth(), 0, 0, -1d / image.getHeight(), 0, 1),
+      null
+      );
+    if(sharp && interpolation != null)
+    {context.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);}
+  }
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
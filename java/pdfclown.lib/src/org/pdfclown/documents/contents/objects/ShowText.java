@@ -25,6 +25,10 @@
 
 package org.pdfclown.documents.contents.objects;
 
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.Arrays;
@@ -34,6 +38,7 @@ import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.documents.contents.TextRenderModeEnum;
 import org.pdfclown.documents.contents.fonts.CompositeFont;
 import org.pdfclown.documents.contents.fonts.Font;
 import org.pdfclown.objects.PdfDirectObject;
@@ -43,7 +48,7 @@ import org.pdfclown.objects.PdfDirectObject;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 04/30/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class ShowText
@@ -171,6 +176,39 @@ public abstract class ShowText
     else
     {tm = (AffineTransform)state.getTm().clone();}
 
+    // Glyph painting.
+    Graphics2D renderContext = (textScanner == null ? state.getScanner().getRenderContext() : null);
+    Paint fillPaint = null, strokePaint = null;
+    Stroke stroke = null;
+    if(renderContext != null)
+    {
+      /*
+        TODO: support to clipping render modes (glyph outlines are currently just painted).
+      */
+      switch(state.getRenderMode())
+      {
+        case Fill:
+        case FillClip:
+          fillPaint = state.getFillColorSpace().getPaint(state.getFillColor());
+          break;
+        case Stroke:
+        case StrokeClip:
+          strokePaint = state.getStrokeColorSpace().getPaint(state.getStrokeColor());
+          break;
+        case FillStroke:
+        case FillStrokeClip:
+          fillPaint = state.getFillColorSpace().getPaint(state.getFillColor());
+          strokePaint = state.getStrokeColorSpace().getPaint(state.getStrokeColor());
+          break;
+        default:
+          break;
+      }
+      if(strokePaint != null)
+      {stroke = PaintPath.getStroke(state);}
+      else if(fillPaint == null) // Invisible text.
+      {renderContext = null;}
+    }
+
     for(Object textElement : getValue())
     {
       if(textElement instanceof byte[]) // Text string.
@@ -196,6 +234,28 @@ public abstract class ShowText
               );
             textScanner.scanChar(textChar,charBox);
           }
+          else if(renderContext != null)
+          {
+            Shape charOutline = font.getGlyphOutline(textChar);
+            if(charOutline != null)
+            {
+              // Glyph space to user space (the render context is already in device space).
+              AffineTransform charTransform = (AffineTransform)tm.clone();
+              charTransform.translate(0, state.getRise());
+              charTransform.scale(scaledFactor, Font.getScalingFactor(fontSize));
+              Shape charShape = charTransform.createTransformedShape(charOutline);
+              if(fillPaint != null)
+              {
+                renderContext.setPaint(fillPaint);
+                renderContext.fill(charShape);
+              }
+              if(strokePaint != null)
+              {
+                renderContext.setPaint(strokePaint);
+                renderContext.fill(stroke.createStrokedShape(charShape));
+              }
+            }
+          }
 
           /*
             NOTE: After the glyph is painted, the text matrix is updated
@@ -26,9 +26,9 @@
 
 package org.pdfclown.documents.contents.tokens;
 
-import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.pdfclown.bytes.Buffer;
@@ -57,8 +57,12 @@ import org.pdfclown.documents.contents.objects.SaveGraphicsState;
 import org.pdfclown.documents.contents.objects.Shading;
 import org.pdfclown.documents.contents.objects.Text;
 import org.pdfclown.documents.contents.objects.XObject;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfBoolean;
 import org.pdfclown.objects.PdfByteString;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
 import org.pdfclown.tokens.BaseParser;
 import org.pdfclown.tokens.Encoding;
 import org.pdfclown.util.parsers.PostScriptParseException;
@@ -68,12 +72,27 @@ import org.pdfclown.util.parsers.PostScriptParseException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/19/26
 */
 public final class ContentParser
   extends BaseParser
 {
   // <class>
+  // <static>
+  // <fields>
+  /**
+    Maximum length of the chunk checked for the end image operator after inline image data of
+    known length.
+  */
+  private static final int InlineImageTailMaxLength = 32;
+  /**
+    Initial length of the chunk scanned for the end image operator after inline image data of
+    unknown length.
+  */
+  private static final int InlineImageScanChunkLength = 1 << 12;
+  // </fields>
+  // </static>
+
   // <dynamic>
   // <constructors>
   public ContentParser(
@@ -206,64 +225,21 @@ public final class ContentParser
     InlineImageBody body;
     try
     {
-      // [FIX:51,74] Wrong 'EI' token handling on inline image parsing.
       IInputStream stream = getStream();
       stream.readByte(); // Should be the whitespace following the 'ID' token.
-      Buffer data = new Buffer();
-      ByteArrayOutputStream endChunkBuffer = new ByteArrayOutputStream(3);
-      int endChunkIndex = -1;
-      while(true)
-      {
-        byte curByte = stream.readByte();
-        if(endChunkIndex == -1)
-        {
-          if(isWhitespace(curByte))
-          {
-            /*
-              NOTE: Whitespace characters may announce the beginning of the end image operator.
-            */
-            endChunkBuffer.write(curByte);
-            endChunkIndex++;
-          }
-          else
-          {data.append(curByte);}
-        }
-        else if(endChunkIndex == 0 && isWhitespace(curByte))
-        {
-          /*
-            NOTE: Only the last whitespace character may announce the beginning of the end image 
-            operator.
-          */
-          data.append(endChunkBuffer.toByteArray());
-          endChunkBuffer.reset();
-          endChunkBuffer.write(curByte);
-        }
-        else if((endChunkIndex == 0 && curByte == 'E')
-          || (endChunkIndex == 1 && curByte == 'I'))
-        {
-          /*
-            NOTE: End image operator characters.
-          */
-          endChunkBuffer.write(curByte);
-          endChunkIndex++;
-        }
-        else if(endChunkIndex == 2 && isWhitespace(curByte))
-          /*
-            NOTE: The whitespace character after the end image operator completes the pattern.
-          */
-          break;
-        else
-        {
-          if(endChunkIndex > -1)
-          {
-            data.append(endChunkBuffer.toByteArray());
-            endChunkBuffer.reset();
-            endChunkIndex = -1;
-          }
-          data.append(curByte);
-        }
-      }
-      body = new InlineImageBody(data);
+      long dataPosition = stream.getPosition();
+      byte[] data = null;
+      /*
+        NOTE: Whenever the header tells the data length, the body is read in a single pass, falling
+        back to delimiter scanning only if the data turn out not to be followed by the end image
+        operator (e.g., wrong header entries).
+      */
+      int dataLength = getInlineImageDataLength(header);
+      if(dataLength >= 0)
+      {data = readInlineImageData(stream, dataPosition, dataLength);}
+      if(data == null)
+      {data = scanInlineImageData(stream, dataPosition);}
+      body = new InlineImageBody(new Buffer(data));
     }
     catch(EOFException e)
     {throw new PostScriptParseException("No 'EI' token found to close inline image data stream.", e);}
@@ -271,6 +247,205 @@ public final class ContentParser
     return new InlineImage(header, body);
   }
 
+  /**
+    Gets the length of the data of the inline image described by the specified header.
+
+    @return <code>-1</code>, if the length cannot be inferred from the header (e.g., filtered data
+      without explicit length, or color space defined in the resources).
+  */
+  private int getInlineImageDataLength(
+    InlineImageHeader header
+    )
+  {
+    // Explicit length (PDF 2.0)?
+    PdfDirectObject lengthObject = getInlineImageEntry(header, PdfName.L, PdfName.Length);
+    if(lengthObject instanceof PdfInteger)
+      return ((PdfInteger)lengthObject).getIntValue();
+
+    // Filtered data?
+    PdfDirectObject filterObject = getInlineImageEntry(header, PdfName.F, PdfName.Filter);
+    if(filterObject instanceof PdfName
+      || (filterObject instanceof PdfArray && !((PdfArray)filterObject).isEmpty()))
+      return -1;
+
+    PdfDirectObject widthObject = getInlineImageEntry(header, PdfName.W, PdfName.Width);
+    PdfDirectObject heightObject = getInlineImageEntry(header, PdfName.H, PdfName.Height);
+    if(!(widthObject instanceof PdfInteger && heightObject instanceof PdfInteger))
+      return -1;
+
+    int componentCount, bitsPerComponent;
+    if(PdfBoolean.True.equals(getInlineImageEntry(header, PdfName.IM, PdfName.ImageMask)))
+    {
+      componentCount = 1;
+      bitsPerComponent = 1;
+    }
+    else
+    {
+      PdfDirectObject colorSpaceObject = getInlineImageEntry(header, PdfName.CS, PdfName.ColorSpace);
+      if(colorSpaceObject instanceof PdfArray && !((PdfArray)colorSpaceObject).isEmpty())
+      {colorSpaceObject = ((PdfArray)colorSpaceObject).get(0);}
+      if(PdfName.G.equals(colorSpaceObject)
+        || PdfName.DeviceGray.equals(colorSpaceObject)
+        || PdfName.I.equals(colorSpaceObject)
+        || PdfName.Indexed.equals(colorSpaceObject))
+      {componentCount = 1;}
+      else if(PdfName.RGB.equals(colorSpaceObject)
+        || PdfName.DeviceRGB.equals(colorSpaceObject))
+      {componentCount = 3;}
+      else if(PdfName.CMYK.equals(colorSpaceObject)
+        || PdfName.DeviceCMYK.equals(colorSpaceObject))
+      {componentCount = 4;}
+      else
+        return -1;
+
+      PdfDirectObject bitsPerComponentObject = getInlineImageEntry(header, PdfName.BPC, PdfName.BitsPerComponent);
+      if(!(bitsPerComponentObject instanceof PdfInteger))
+        return -1;
+
+      bitsPerComponent = ((PdfInteger)bitsPerComponentObject).getIntValue();
+    }
+
+    long rowLength = ((long)((PdfInteger)widthObject).getIntValue() * componentCount * bitsPerComponent + 7) / 8;
+    long length = rowLength * ((PdfInteger)heightObject).getIntValue();
+    return length >= 0 && length <= Integer.MAX_VALUE ? (int)length : -1;
+  }
+
+  private PdfDirectObject getInlineImageEntry(
+    InlineImageHeader header,
+    PdfName abbreviatedKey,
+    PdfName key
+    )
+  {
+    PdfDirectObject value = header.get(abbreviatedKey);
+    return value != null ? value : header.get(key);
+  }
+
+  /**
+    Gets the index of the whitespace announcing the end image operator within the specified range.
+    <p>The operator is matched as whitespace + <code>EI</code> + whitespace (or end of data); as
+    every <code>EI</code> pair has either character at an odd offset, only every other byte is
+    probed.</p>
+
+    @param data Scanned data.
+    @param start Start of the range to scan.
+    @param end End (exclusive) of the range to scan.
+    @param eof Whether the range end coincides with the end of the content stream.
+    @return <code>-1</code>, if no match was found.
+  */
+  private int indexOfInlineImageEnd(
+    byte[] data,
+    int start,
+    int end,
+    boolean eof
+    )
+  {
+    for(int index = start + 1; index < end; index += 2)
+    {
+      int endIndex; // Index of the 'E' character.
+      {
+        byte curByte = data[index];
+        if(curByte == 'E')
+        {endIndex = index;}
+        else if(curByte == 'I')
+        {endIndex = index - 1;}
+        else
+          continue;
+      }
+      if(endIndex > start
+        && endIndex + 1 < end
+        && data[endIndex] == 'E'
+        && data[endIndex + 1] == 'I'
+        && isWhitespace(data[endIndex - 1])
+        && (endIndex + 2 < end ? isWhitespace(data[endIndex + 2]) : eof))
+        return endIndex - 1;
+    }
+    return -1;
+  }
+
+  /**
+    Reads the inline image data of known length, checking that the end image operator follows.
+
+    @return <code>null</code>, if the data are not followed by the end image operator (the stream
+      is left at the beginning of the data).
+  */
+  private byte[] readInlineImageData(
+    IInputStream stream,
+    long position,
+    int length
+    ) throws EOFException
+  {
+    long streamLength = stream.getLength();
+    if(position + length > streamLength)
+      return null;
+
+    byte[] data = new byte[length];
+    stream.read(data, 0, length);
+
+    // End image operator check.
+    byte[] tail = new byte[(int)Math.min(streamLength - stream.getPosition(), InlineImageTailMaxLength)];
+    stream.read(tail, 0, tail.length);
+    int tailIndex = 0;
+    while(tailIndex < tail.length && isWhitespace(tail[tailIndex]))
+    {tailIndex++;}
+    if(tailIndex + 1 < tail.length
+      && tail[tailIndex] == 'E'
+      && tail[tailIndex + 1] == 'I')
+    {
+      tailIndex += 2;
+      if(tailIndex == tail.length
+        || isWhitespace(tail[tailIndex])
+        || isDelimiter(tail[tailIndex]))
+      {
+        if(tailIndex < tail.length && isWhitespace(tail[tailIndex]))
+        {tailIndex++;}
+        stream.seek(position + length + tailIndex);
+        return data;
+      }
+    }
+
+    stream.seek(position);
+    return null;
+  }
+
+  /**
+    Reads the inline image data scanning for the end image operator.
+  */
+  private byte[] scanInlineImageData(
+    IInputStream stream,
+    long position
+    ) throws EOFException
+  {
+    long available = stream.getLength() - position;
+    byte[] data = new byte[(int)Math.min(Math.max(available, 4), InlineImageScanChunkLength)];
+    int length = 0;
+    int scanIndex = 0;
+    while(true)
+    {
+      int readLength = (int)Math.min(data.length - length, available);
+      if(readLength > 0)
+      {
+        stream.read(data, length, readLength);
+        length += readLength;
+        available -= readLength;
+      }
+
+      int endIndex = indexOfInlineImageEnd(data, scanIndex, length, available == 0);
+      if(endIndex >= 0)
+      {
+        // Skip the end image operator along with its trailing whitespace!
+        stream.seek(position + Math.min(endIndex + 4, length));
+        return Arrays.copyOf(data, endIndex);
+      }
+      else if(available == 0)
+        throw new EOFException();
+
+      // Keep the trailing bytes which may belong to a partial match!
+      scanIndex = Math.max(0, length - 3);
+      if(length == data.length)
+      {data = Arrays.copyOf(data, data.length << 1);}
+    }
+  }
+
   private Path parsePath(
     Operation beginOperation
     )
@@ -0,0 +1,260 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.xObjects;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.objects.PdfStream;
+
+/**
+  Document-wide cache of decoded images.
+  <p>Image XObjects are decoded the first time they are requested at a given subsampling factor,
+  then reused by all the pages of the same document; least recently used entries are evicted when
+  either the {@link #getMaxEntryCount() entry count limit} or the {@link #getMaxSize() size limit}
+  is exceeded. Cached images MUST NOT be modified.</p>
+  <p>This class is thread-safe.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ImageCache
+{
+  // <class>
+  // <classes>
+  private static final class Key
+  {
+    final PdfStream stream;
+    final int subsampling;
+
+    Key(
+      PdfStream stream,
+      int subsampling
+      )
+    {
+      this.stream = stream;
+      this.subsampling = subsampling;
+    }
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      if(!(object instanceof Key))
+        return false;
+
+      Key key = (Key)object;
+      return key.stream == stream && key.subsampling == subsampling;
+    }
+
+    @Override
+    public int hashCode(
+      )
+    {return System.identityHashCode(stream) * 31 + subsampling;}
+  }
+  // </classes>
+
+  // <static>
+  // <interface>
+  // <private>
+  /**
+    Gets the memory footprint of the specified image (in bytes).
+  */
+  private static long getSize(
+    BufferedImage image
+    )
+  {return (long)image.getWidth() * image.getHeight() * 4;}
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final LinkedHashMap<Key,BufferedImage> entries = new LinkedHashMap<Key,BufferedImage>(16, .75f, true);
+  private long hitCount;
+  private int maxEntryCount = 256;
+  private long maxSize = 64L << 20;
+  private long missCount;
+  private long size;
+  // </fields>
+
+  // <constructors>
+  public ImageCache(
+    )
+  {}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the cached images.
+  */
+  public synchronized void clear(
+    )
+  {
+    entries.clear();
+    size = 0;
+  }
+
+  /**
+    Gets the number of cached images.
+  */
+  public synchronized int getEntryCount(
+    )
+  {return entries.size();}
+
+  /**
+    Gets the number of image requests served from this cache.
+  */
+  public synchronized long getHitCount(
+    )
+  {return hitCount;}
+
+  /**
+    Gets the maximum number of cached images.
+  */
+  public synchronized int getMaxEntryCount(
+    )
+  {return maxEntryCount;}
+
+  /**
+    Gets the maximum memory footprint of the cached images (in bytes).
+    <p>Images larger than this limit are decoded on each request.</p>
+  */
+  public synchronized long getMaxSize(
+    )
+  {return maxSize;}
+
+  /**
+    Gets the number of image requests which required decoding.
+  */
+  public synchronized long getMissCount(
+    )
+  {return missCount;}
+
+  /**
+    Gets the memory footprint of the cached images (in bytes).
+  */
+  public synchronized long getSize(
+    )
+  {return size;}
+
+  /**
+    @see #getMaxEntryCount()
+  */
+  public synchronized void setMaxEntryCount(
+    int value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Maximum entry count MUST be non-negative.");
+
+    maxEntryCount = value;
+    evict();
+  }
+
+  /**
+    @see #getMaxSize()
+  */
+  public synchronized void setMaxSize(
+    long value
+    )
+  {
+    if(value < 0)
+      throw new IllegalArgumentException("Maximum size MUST be non-negative.");
+
+    maxSize = value;
+    evict();
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Gets the specified image decoded at the specified subsampling factor.
+  */
+  BufferedImage getImage(
+    ImageXObject image,
+    int subsampling
+    )
+  {
+    Key key = new Key(image.getBaseDataObject(), subsampling);
+    synchronized(this)
+    {
+      BufferedImage decodedImage = entries.get(key);
+      if(decodedImage != null)
+      {
+        hitCount++;
+        return decodedImage;
+      }
+      missCount++;
+    }
+
+    /*
+      NOTE: Decoding is done outside the lock, so that distinct images can be decoded concurrently.
+    */
+    BufferedImage decodedImage = ImageDecoder.get(image).decode(subsampling);
+    if(decodedImage != null)
+    {
+      synchronized(this)
+      {
+        long decodedImageSize = getSize(decodedImage);
+        if(decodedImageSize <= maxSize)
+        {
+          BufferedImage oldDecodedImage = entries.put(key, decodedImage);
+          if(oldDecodedImage != null)
+          {size -= getSize(oldDecodedImage);}
+          size += decodedImageSize;
+          evict();
+        }
+      }
+    }
+    return decodedImage;
+  }
+  // </internal>
+
+  // <private>
+  /**
+    Removes the least recently used entries exceeding the limits.
+  */
+  private void evict(
+    )
+  {
+    for(Iterator<Map.Entry<Key,BufferedImage>> entryIterator = entries.entrySet().iterator();
+      entries.size() > maxEntryCount || size > maxSize;)
+    {
+      size -= getSize(entryIterator.next().getValue());
+      entryIterator.remove();
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,882 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.xObjects;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.bytes.filters.DCTFilter;
+import org.pdfclown.bytes.filters.Filter;
+import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.documents.contents.colorSpaces.ColorConverter;
+import org.pdfclown.documents.contents.colorSpaces.ColorSpace;
+import org.pdfclown.documents.contents.objects.InlineImage;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfBoolean;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.util.IDataWrapper;
+import org.pdfclown.util.NotImplementedException;
+
+/**
+  Image sample decoder [PDF:1.6:4.8].
+  <p>It converts the samples of {@link ImageXObject image XObjects} and {@link InlineImage inline
+  images} into AWT images, applying the filter chain, the decode array, the color space and the
+  masks (image masks, soft masks, stencil masks and color key masks) of the image.</p>
+  <p>Images can be decoded at reduced resolution (the {@link #getSubsampling(int, int, double,
+  double) subsampling factor} skips source rows and columns, while DCT-encoded images are
+  downscaled by the JPEG decoder itself) and in horizontal bands, so that large images can be
+  processed without materializing their whole raster.</p>
+  <p>JBIG2- and JPX-encoded images are not supported.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class ImageDecoder
+{
+  // <class>
+  // <classes>
+  /**
+    Image band handler.
+  */
+  public interface IBandHandler
+  {
+    /**
+      Notifies the decoding of an image band.
+
+      @param band Decoded band (its width is the width of the decoded image).
+      @param y Vertical offset of the band within the decoded image.
+      @return Whether to continue decoding.
+    */
+    boolean handle(
+      BufferedImage band,
+      int y
+      );
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final int ColorKind_Gray = 0;
+  private static final int ColorKind_RGB = 1;
+  private static final int ColorKind_CMYK = 2;
+  private static final int ColorKind_Indexed = 3;
+  private static final int ColorKind_Other = 4;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the decoder of the specified image XObject.
+  */
+  public static ImageDecoder get(
+    ImageXObject image
+    )
+  {return new ImageDecoder(image.getBaseDataObject(), null);}
+
+  /**
+    Gets the decoder of the specified inline image.
+
+    @param image Inline image.
+    @param context Content context the image belongs to (its resources are used to resolve named
+      color spaces).
+  */
+  public static ImageDecoder get(
+    InlineImage image,
+    IContentContext context
+    )
+  {return new ImageDecoder(image, context);}
+
+  /**
+    Gets the subsampling factor suitable to render an image at the specified device size.
+    <p>It corresponds to the largest power of 2 which doesn't drop below the device
+    resolution.</p>
+
+    @param width Image width (in samples).
+    @param height Image height (in samples).
+    @param deviceWidth Rendered image width (in device units).
+    @param deviceHeight Rendered image height (in device units).
+  */
+  public static int getSubsampling(
+    int width,
+    int height,
+    double deviceWidth,
+    double deviceHeight
+    )
+  {
+    double ratio = Math.min(width / deviceWidth, height / deviceHeight);
+    int subsampling = 1;
+    while(subsampling * 2 <= ratio)
+    {subsampling *= 2;}
+    return subsampling;
+  }
+  // </public>
+
+  // <private>
+  private static int clamp(
+    double value
+    )
+  {return value <= 0 ? 0 : value >= 1 ? 255 : (int)(value * 255 + .5);}
+
+  /**
+    Gets the RGB value corresponding to the specified CMYK components.
+  */
+  private static int getCmykRgb(
+    double c,
+    double m,
+    double y,
+    double k
+    )
+  {
+    /*
+      NOTE: Conversion is consistent with DeviceCMYKColorSpace.getPaint(...).
+    */
+    double keyCorrection = k / 2.5;
+    return clamp(1 - c + keyCorrection) << 16
+      | clamp(1 - m + keyCorrection) << 8
+      | clamp(1 - y + keyCorrection);
+  }
+
+  /**
+    Expands the abbreviated color space names used by inline images [PDF:1.6:4.8.6].
+  */
+  private static PdfDirectObject expandColorSpace(
+    PdfDirectObject colorSpaceObject
+    )
+  {
+    if(colorSpaceObject instanceof PdfName)
+    {
+      if(colorSpaceObject.equals(PdfName.G))
+        return PdfName.DeviceGray;
+      else if(colorSpaceObject.equals(PdfName.RGB))
+        return PdfName.DeviceRGB;
+      else if(colorSpaceObject.equals(PdfName.CMYK))
+        return PdfName.DeviceCMYK;
+      else if(colorSpaceObject.equals(PdfName.I))
+        return PdfName.Indexed;
+    }
+    else if(colorSpaceObject instanceof PdfArray)
+    {
+      PdfArray colorSpaceArray = (PdfArray)colorSpaceObject;
+      if(PdfName.I.equals(colorSpaceArray.get(0)))
+      {
+        PdfArray expandedArray = new PdfArray();
+        expandedArray.add(PdfName.Indexed);
+        expandedArray.add(expandColorSpace(colorSpaceArray.get(1)));
+        for(int index = 2, length = colorSpaceArray.size(); index < length; index++)
+        {expandedArray.add(colorSpaceArray.get(index));}
+        return expandedArray;
+      }
+    }
+    return colorSpaceObject;
+  }
+
+  private static PdfDictionary getItem(
+    List<PdfDictionary> list,
+    int index
+    )
+  {return index < list.size() ? list.get(index) : null;}
+
+  /**
+    @param itemClass Item class (its raw type, in case of generic items).
+  */
+  @SuppressWarnings("unchecked")
+  private static <T extends PdfDataObject> List<T> getList(
+    PdfDataObject object,
+    Class<? super T> itemClass
+    )
+  {
+    List<T> list = new ArrayList<T>();
+    if(object instanceof PdfArray)
+    {
+      for(PdfDirectObject item : (PdfArray)object)
+      {
+        PdfDataObject resolvedItem = (item != null ? item.resolve() : null);
+        list.add(itemClass.isInstance(resolvedItem) ? (T)resolvedItem : null);
+      }
+    }
+    else if(itemClass.isInstance(object))
+    {list.add((T)object);}
+    return list;
+  }
+
+  private static PdfDataObject resolve(
+    PdfDirectObject object
+    )
+  {return object != null ? object.resolve() : null;}
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final int bitsPerComponent;
+  private final IContentContext context;
+  private final int height;
+  private final Map<PdfName,PdfDirectObject> header;
+  private final boolean imageMask;
+  private final InlineImage inlineImage;
+  private final PdfStream stream;
+  private final int width;
+
+  private int colorKind;
+  private int componentCount;
+  private ColorConverter converter;
+  private int[] palette;
+  // </fields>
+
+  // <constructors>
+  private ImageDecoder(
+    PdfStream stream,
+    IContentContext context
+    )
+  {
+    this.stream = stream;
+    this.inlineImage = null;
+    this.header = stream.getHeader();
+    this.context = context;
+
+    width = getIntEntry(PdfName.Width, PdfName.W, 0);
+    height = getIntEntry(PdfName.Height, PdfName.H, 0);
+    imageMask = getBooleanEntry(PdfName.ImageMask, PdfName.IM);
+    bitsPerComponent = (imageMask ? 1 : getIntEntry(PdfName.BitsPerComponent, PdfName.BPC, 8));
+  }
+
+  private ImageDecoder(
+    InlineImage image,
+    IContentContext context
+    )
+  {
+    this.stream = null;
+    this.inlineImage = image;
+    this.header = image.getHeader();
+    this.context = context;
+
+    width = getIntEntry(PdfName.Width, PdfName.W, 0);
+    height = getIntEntry(PdfName.Height, PdfName.H, 0);
+    imageMask = getBooleanEntry(PdfName.ImageMask, PdfName.IM);
+    bitsPerComponent = (imageMask ? 1 : getIntEntry(PdfName.BitsPerComponent, PdfName.BPC, 8));
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Decodes the image.
+
+    @param subsampling Subsampling factor (1 for full resolution).
+    @return Decoded image, whose size is <code>ceil(width / subsampling)</code> by
+      <code>ceil(height / subsampling)</code> pixels; it has an alpha channel only in case of masked
+      images.
+  */
+  public BufferedImage decode(
+    int subsampling
+    )
+  {
+    final BufferedImage[] image = new BufferedImage[1];
+    decode(
+      subsampling,
+      Integer.MAX_VALUE,
+      new IBandHandler()
+      {
+        @Override
+        public boolean handle(
+          BufferedImage band,
+          int y
+          )
+        {
+          image[0] = band;
+          return true;
+        }
+      }
+      );
+    return image[0];
+  }
+
+  /**
+    Decodes the image in horizontal bands.
+
+    @param subsampling Subsampling factor (1 for full resolution).
+    @param bandHeight Maximum band height (in decoded pixels).
+    @param handler Band handler.
+  */
+  public void decode(
+    int subsampling,
+    int bandHeight,
+    IBandHandler handler
+    )
+  {
+    if(subsampling < 1)
+      throw new IllegalArgumentException("Subsampling MUST be positive.");
+    if(bandHeight < 1)
+      throw new IllegalArgumentException("Band height MUST be positive.");
+    if(width <= 0 || height <= 0)
+      return;
+
+    try
+    {decodeBands(subsampling, bandHeight, handler);}
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+  }
+
+  /**
+    Gets the number of bits per color component.
+  */
+  public int getBitsPerComponent(
+    )
+  {return bitsPerComponent;}
+
+  /**
+    Gets the image height (in samples).
+  */
+  public int getHeight(
+    )
+  {return height;}
+
+  /**
+    Gets the image width (in samples).
+  */
+  public int getWidth(
+    )
+  {return width;}
+
+  /**
+    Gets whether image interpolation has to be performed when the image is enlarged.
+  */
+  public boolean isInterpolated(
+    )
+  {return getBooleanEntry(PdfName.Interpolate, PdfName.I);}
+
+  /**
+    Gets whether this image is a stencil mask (its decoded pixels are black, painted areas being
+    opaque).
+  */
+  public boolean isImageMask(
+    )
+  {return imageMask;}
+  // </public>
+
+  // <private>
+  /**
+    Builds the lookup tables mapping the sample values of each component to their decoded
+    values [PDF:1.6:4.8.4].
+  */
+  private double[][] buildDecodeTables(
+    )
+  {
+    int maxSampleValue = (1 << bitsPerComponent) - 1;
+    List<PdfNumber<?>> decodeValues = getList(getEntry(PdfName.Decode, PdfName.D), PdfNumber.class);
+    double[][] tables = new double[componentCount][];
+    for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+    {
+      double min, max;
+      if(decodeValues.size() >= componentIndex * 2 + 2
+        && decodeValues.get(componentIndex * 2) != null
+        && decodeValues.get(componentIndex * 2 + 1) != null)
+      {
+        min = decodeValues.get(componentIndex * 2).getDoubleValue();
+        max = decodeValues.get(componentIndex * 2 + 1).getDoubleValue();
+      }
+      else
+      {
+        min = 0;
+        max = (colorKind == ColorKind_Indexed ? maxSampleValue : 1);
+      }
+
+      double[] table = tables[componentIndex] = new double[maxSampleValue + 1];
+      for(int sampleValue = 0; sampleValue <= maxSampleValue; sampleValue++)
+      {table[sampleValue] = min + sampleValue * (max - min) / maxSampleValue;}
+    }
+    return tables;
+  }
+
+  /**
+    Builds the color table of the indexed color space.
+  */
+  private int[] buildPalette(
+    PdfArray colorSpaceArray
+    )
+  {
+    int highValue = ((PdfNumber<?>)colorSpaceArray.resolve(2)).getIntValue();
+    byte[] lookup;
+    {
+      PdfDataObject lookupObject = colorSpaceArray.resolve(3);
+      if(lookupObject instanceof PdfStream)
+      {
+        PdfStream lookupStream = (PdfStream)lookupObject;
+        lookup = lookupStream.getBody(false).toByteArray();
+        List<PdfName> filters = getList(resolve(lookupStream.getFilter()), PdfName.class);
+        List<PdfDictionary> filterParameters = getList(resolve(lookupStream.getParameters()), PdfDictionary.class);
+        for(int filterIndex = 0; filterIndex < filters.size(); filterIndex++)
+        {lookup = Filter.get(filters.get(filterIndex)).decode(lookup, 0, lookup.length, getItem(filterParameters, filterIndex));}
+      }
+      else
+      {lookup = ((IDataWrapper)lookupObject).toByteArray();}
+    }
+
+    // Resolve the base color space!
+    int indexedColorKind = colorKind, indexedComponentCount = componentCount;
+    ColorConverter indexedConverter = converter;
+    resolveColorSpace(colorSpaceArray.get(1));
+    int baseComponentCount = componentCount;
+
+    int[] palette = new int[highValue + 1];
+    double[] components = new double[baseComponentCount];
+    for(int index = 0; index <= highValue; index++)
+    {
+      for(int componentIndex = 0; componentIndex < baseComponentCount; componentIndex++)
+      {
+        int lookupIndex = index * baseComponentCount + componentIndex;
+        components[componentIndex] = (lookupIndex < lookup.length ? (lookup[lookupIndex] & 0xff) / 255d : 0);
+      }
+      palette[index] = getRgb(components);
+    }
+
+    colorKind = indexedColorKind; componentCount = indexedComponentCount; converter = indexedConverter;
+    return palette;
+  }
+
+  private void decodeBands(
+    int subsampling,
+    int bandHeight,
+    IBandHandler handler
+    ) throws IOException
+  {
+    // Color space.
+    if(imageMask)
+    {
+      colorKind = ColorKind_Gray;
+      componentCount = 1;
+    }
+    else
+    {resolveColorSpace(getRawEntry(PdfName.ColorSpace, PdfName.CS));}
+    double[][] decodeTables = buildDecodeTables();
+
+    // Encoded data.
+    List<PdfName> filters;
+    List<PdfDictionary> filterParameters;
+    byte[] data;
+    if(stream != null)
+    {
+      IBuffer body = stream.getBody(false);
+      data = body.toByteArray();
+      filters = getList(resolve(stream.getFilter()), PdfName.class);
+      filterParameters = getList(resolve(stream.getParameters()), PdfDictionary.class);
+    }
+    else
+    {
+      data = inlineImage.getBody().getValue().toByteArray();
+      filters = getList(getEntry(PdfName.Filter, PdfName.F), PdfName.class);
+      filterParameters = getList(getEntry(PdfName.DecodeParms, PdfName.DP), PdfDictionary.class);
+    }
+
+    // Decoded data.
+    int sourceWidth = width, sourceHeight = height, step = subsampling;
+    InputStream sampleStream;
+    {
+      int filterCount = filters.size();
+      Filter lastFilter = (filterCount > 0 ? Filter.get(filters.get(filterCount - 1)) : null);
+      if(lastFilter instanceof DCTFilter)
+      {
+        for(int filterIndex = 0; filterIndex < filterCount - 1; filterIndex++)
+        {data = Filter.get(filters.get(filterIndex)).decode(data, 0, data.length, getItem(filterParameters, filterIndex));}
+        /*
+          NOTE: The JPEG decoder subsamples by itself, skipping the inverse DCT of the dropped
+          samples.
+        */
+        data = ((DCTFilter)lastFilter).decode(data, 0, data.length, getItem(filterParameters, filterCount - 1), subsampling);
+        sourceWidth = (width + subsampling - 1) / subsampling;
+        sourceHeight = (height + subsampling - 1) / subsampling;
+        step = 1;
+        sampleStream = new ByteArrayInputStream(data);
+      }
+      else
+      {
+        sampleStream = new ByteArrayInputStream(data);
+        for(int filterIndex = 0; filterIndex < filterCount; filterIndex++)
+        {
+          Filter filter = Filter.get(filters.get(filterIndex));
+          if(filter == null)
+            throw new NotImplementedException("Filter " + filters.get(filterIndex));
+
+          sampleStream = filter.decode(sampleStream, getItem(filterParameters, filterIndex));
+        }
+      }
+    }
+
+    // Masks.
+    int[] colorKeyRanges = null;
+    BufferedImage maskImage = null;
+    boolean softMask = false;
+    if(!imageMask)
+    {
+      PdfDataObject maskObject = getEntry(PdfName.SMask, null);
+      if(maskObject instanceof PdfStream)
+      {softMask = true;}
+      else
+      {maskObject = getEntry(PdfName.Mask, null);}
+
+      if(maskObject instanceof PdfStream)
+      {
+        ImageDecoder maskDecoder = new ImageDecoder((PdfStream)maskObject, context);
+        if(maskDecoder.width > 0 && maskDecoder.height > 0)
+        {
+          int maskSubsampling = Math.max(1, (int)(subsampling * Math.min((double)maskDecoder.width / width, (double)maskDecoder.height / height)));
+          maskImage = maskDecoder.decode(maskSubsampling);
+        }
+      }
+      else if(maskObject instanceof PdfArray)
+      {
+        List<PdfNumber<?>> colorKeyValues = getList(maskObject, PdfNumber.class);
+        colorKeyRanges = new int[componentCount * 2];
+        for(int index = 0; index < colorKeyRanges.length; index++)
+        {
+          PdfNumber<?> colorKeyValue = (index < colorKeyValues.size() ? colorKeyValues.get(index) : null);
+          colorKeyRanges[index] = (colorKeyValue != null ? colorKeyValue.getIntValue() : (index % 2 == 0 ? 0 : -1));
+        }
+      }
+    }
+    boolean alpha = (imageMask || maskImage != null || colorKeyRanges != null);
+
+    // Sample conversion.
+    int[][] byteTables = null;
+    int[] indexTable = null;
+    if(colorKind == ColorKind_Indexed)
+    {
+      indexTable = new int[decodeTables[0].length];
+      for(int sampleValue = 0; sampleValue < indexTable.length; sampleValue++)
+      {indexTable[sampleValue] = Math.min(Math.max((int)Math.round(decodeTables[0][sampleValue]), 0), palette.length - 1);}
+    }
+    else if(colorKind != ColorKind_Other)
+    {
+      byteTables = new int[componentCount][];
+      for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+      {
+        double[] decodeTable = decodeTables[componentIndex];
+        int[] byteTable = byteTables[componentIndex] = new int[decodeTable.length];
+        for(int sampleValue = 0; sampleValue < byteTable.length; sampleValue++)
+        {byteTable[sampleValue] = clamp(decodeTable[sampleValue]);}
+      }
+    }
+
+    int outputWidth = (width + subsampling - 1) / subsampling;
+    int outputHeight = (height + subsampling - 1) / subsampling;
+    int rowLength = (sourceWidth * componentCount * bitsPerComponent + 7) / 8;
+    int sampleBitCount = componentCount * bitsPerComponent;
+    int sampleMask = (1 << bitsPerComponent) - 1;
+    byte[] row = new byte[rowLength];
+    int[] samples = new int[componentCount];
+    /*
+      NOTE: Generic color spaces are converted in batch, row by row.
+    */
+    double[] rowComponents = (colorKind == ColorKind_Other ? new double[outputWidth * componentCount] : null);
+    int[] rowRgbs = (colorKind == ColorKind_Other ? new int[outputWidth] : null);
+    int sourceY = 0;
+    try
+    {
+      for(int bandY = 0; bandY < outputHeight; bandY += bandHeight)
+      {
+        int bandRowCount = Math.min(bandHeight, outputHeight - bandY);
+        BufferedImage band = new BufferedImage(outputWidth, bandRowCount, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt)band.getRaster().getDataBuffer()).getData();
+        for(int bandRowIndex = 0, pixelIndex = 0; bandRowIndex < bandRowCount; bandRowIndex++)
+        {
+          // Read the source row (skipping the subsampled ones)!
+          int y = bandY + bandRowIndex;
+          for(; sourceY < y * step; sourceY++)
+          {skipFully(sampleStream, rowLength);}
+          readFully(sampleStream, row);
+          sourceY++;
+
+          int maskRowOffset = (maskImage != null ? (int)((long)y * maskImage.getHeight() / outputHeight) : 0);
+          int rowPixelIndex = pixelIndex;
+          for(int x = 0, bitOffset = 0; x < outputWidth; x++, bitOffset += step * sampleBitCount)
+          {
+            // Unpack the samples!
+            for(int componentIndex = 0, componentBitOffset = bitOffset; componentIndex < componentCount; componentIndex++, componentBitOffset += bitsPerComponent)
+            {
+              int byteOffset = componentBitOffset >> 3;
+              switch(bitsPerComponent)
+              {
+                case 8:
+                  samples[componentIndex] = row[byteOffset] & 0xff;
+                  break;
+                case 16:
+                  samples[componentIndex] = (row[byteOffset] & 0xff) << 8 | (row[byteOffset + 1] & 0xff);
+                  break;
+                default:
+                  samples[componentIndex] = (row[byteOffset] >> (8 - bitsPerComponent - (componentBitOffset & 7))) & sampleMask;
+                  break;
+              }
+            }
+
+            // Convert the samples!
+            int pixel;
+            if(imageMask)
+            {pixel = (decodeTables[0][samples[0]] < .5 ? 0xff000000 : 0);}
+            else
+            {
+              switch(colorKind)
+              {
+                case ColorKind_Gray:
+                  pixel = byteTables[0][samples[0]] * 0x010101;
+                  break;
+                case ColorKind_RGB:
+                  pixel = byteTables[0][samples[0]] << 16 | byteTables[1][samples[1]] << 8 | byteTables[2][samples[2]];
+                  break;
+                case ColorKind_CMYK:
+                  pixel = getCmykRgb(
+                    byteTables[0][samples[0]] / 255d,
+                    byteTables[1][samples[1]] / 255d,
+                    byteTables[2][samples[2]] / 255d,
+                    byteTables[3][samples[3]] / 255d
+                    );
+                  break;
+                case ColorKind_Indexed:
+                  pixel = palette[indexTable[samples[0]]];
+                  break;
+                default:
+                {
+                  for(int componentIndex = 0, rowComponentIndex = x * componentCount; componentIndex < componentCount; componentIndex++)
+                  {rowComponents[rowComponentIndex++] = decodeTables[componentIndex][samples[componentIndex]];}
+                  pixel = 0; // Converted at the end of the row.
+                  break;
+                }
+              }
+              if(alpha)
+              {
+                int pixelAlpha = 0xff;
+                if(maskImage != null)
+                {
+                  int maskPixel = maskImage.getRGB((int)((long)x * maskImage.getWidth() / outputWidth), maskRowOffset);
+                  pixelAlpha = (softMask ? maskPixel & 0xff : maskPixel >>> 24);
+                }
+                else if(colorKeyRanges != null)
+                {
+                  boolean masked = true;
+                  for(int componentIndex = 0; componentIndex < componentCount; componentIndex++)
+                  {
+                    int sample = samples[componentIndex];
+                    if(sample < colorKeyRanges[componentIndex * 2] || sample > colorKeyRanges[componentIndex * 2 + 1])
+                    {masked = false; break;}
+                  }
+                  if(masked)
+                  {pixelAlpha = 0;}
+                }
+                pixel |= pixelAlpha << 24;
+              }
+            }
+            pixels[pixelIndex++] = pixel;
+          }
+          if(rowComponents != null)
+          {
+            converter.toRgb(rowComponents, 0, rowRgbs, 0, outputWidth);
+            for(int x = 0; x < outputWidth; x++)
+            {pixels[rowPixelIndex + x] |= rowRgbs[x];}
+          }
+        }
+        if(!handler.handle(band, bandY))
+          break;
+      }
+    }
+    finally
+    {sampleStream.close();}
+  }
+
+  private boolean getBooleanEntry(
+    PdfName key,
+    PdfName abbreviatedKey
+    )
+  {
+    PdfDataObject value = getEntry(key, abbreviatedKey);
+    return value instanceof PdfBoolean && ((PdfBoolean)value).getValue();
+  }
+
+  /**
+    Gets the resolved value of the specified header entry.
+  */
+  private PdfDataObject getEntry(
+    PdfName key,
+    PdfName abbreviatedKey
+    )
+  {
+    return resolve(getRawEntry(key, abbreviatedKey));
+  }
+
+  private int getIntEntry(
+    PdfName key,
+    PdfName abbreviatedKey,
+    int defaultValue
+    )
+  {
+    PdfDataObject value = getEntry(key, abbreviatedKey);
+    return value instanceof PdfNumber<?> ? ((PdfNumber<?>)value).getIntValue() : defaultValue;
+  }
+
+  /**
+    Gets the RGB value of the specified color components according to the current color space.
+  */
+  private int getRgb(
+    double[] components
+    )
+  {
+    switch(colorKind)
+    {
+      case ColorKind_Gray:
+        return clamp(components[0]) * 0x010101;
+      case ColorKind_RGB:
+        return clamp(components[0]) << 16 | clamp(components[1]) << 8 | clamp(components[2]);
+      case ColorKind_CMYK:
+        return getCmykRgb(components[0], components[1], components[2], components[3]);
+      default:
+        return converter.toRgb(components, 0);
+    }
+  }
+
+  /**
+    Gets the unresolved value of the specified header entry.
+  */
+  private PdfDirectObject getRawEntry(
+    PdfName key,
+    PdfName abbreviatedKey
+    )
+  {
+    PdfDirectObject value = header.get(key);
+    if(value == null && inlineImage != null && abbreviatedKey != null)
+    {value = header.get(abbreviatedKey);}
+    return value;
+  }
+
+  private void readFully(
+    InputStream stream,
+    byte[] buffer
+    ) throws IOException
+  {
+    int offset = 0;
+    while(offset < buffer.length)
+    {
+      int count = stream.read(buffer, offset, buffer.length - offset);
+      if(count <= 0)
+        break;
+
+      offset += count;
+    }
+    // Missing data (truncated stream).
+    for(; offset < buffer.length; offset++)
+    {buffer[offset] = 0;}
+  }
+
+  /**
+    Resolves the color space of the samples, setting the conversion strategy.
+  */
+  private void resolveColorSpace(
+    PdfDirectObject colorSpaceObject
+    )
+  {
+    if(inlineImage != null)
+    {colorSpaceObject = expandColorSpace(colorSpaceObject);}
+    PdfDataObject colorSpaceDataObject = (colorSpaceObject != null ? colorSpaceObject.resolve() : null);
+    if(colorSpaceDataObject instanceof PdfName
+      && context != null
+      && !colorSpaceDataObject.equals(PdfName.DeviceGray)
+      && !colorSpaceDataObject.equals(PdfName.DeviceRGB)
+      && !colorSpaceDataObject.equals(PdfName.DeviceCMYK)) // Named resource.
+    {
+      ColorSpace<?> resourceColorSpace = context.getResources().getColorSpaces().get((PdfName)colorSpaceDataObject);
+      if(resourceColorSpace != null)
+      {
+        colorSpaceObject = resourceColorSpace.getBaseObject();
+        colorSpaceDataObject = colorSpaceObject.resolve();
+      }
+    }
+
+    PdfName family = (PdfName)(colorSpaceDataObject instanceof PdfArray
+      ? ((PdfArray)colorSpaceDataObject).resolve(0)
+      : colorSpaceDataObject);
+    if(family == null || family.equals(PdfName.DeviceGray) || family.equals(PdfName.CalGray))
+    {
+      colorKind = ColorKind_Gray;
+      componentCount = 1;
+    }
+    else if(family.equals(PdfName.DeviceRGB) || family.equals(PdfName.CalRGB))
+    {
+      colorKind = ColorKind_RGB;
+      componentCount = 3;
+    }
+    else if(family.equals(PdfName.DeviceCMYK))
+    {
+      colorKind = ColorKind_CMYK;
+      componentCount = 4;
+    }
+    else if(family.equals(PdfName.Indexed))
+    {
+      palette = buildPalette((PdfArray)colorSpaceDataObject);
+      colorKind = ColorKind_Indexed;
+      componentCount = 1;
+    }
+    else
+    {
+      converter = ColorConverter.get(ColorSpace.wrap(colorSpaceObject));
+      colorKind = ColorKind_Other;
+      componentCount = converter.getComponentCount();
+    }
+  }
+
+  private void skipFully(
+    InputStream stream,
+    long count
+    ) throws IOException
+  {
+    while(count > 0)
+    {
+      long skippedCount = stream.skip(count);
+      if(skippedCount <= 0)
+      {
+        if(stream.read() < 0)
+          break;
+
+        skippedCount = 1;
+      }
+      count -= skippedCount;
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
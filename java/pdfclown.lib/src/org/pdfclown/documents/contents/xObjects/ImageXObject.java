@@ -28,6 +28,7 @@ package org.pdfclown.documents.contents.xObjects;
 import java.awt.Dimension;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Dimension2D;
+import java.awt.image.BufferedImage;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
@@ -43,7 +44,7 @@ import org.pdfclown.objects.PdfStream;
   Image external object [PDF:1.6:4.8.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 04/29/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public final class ImageXObject
@@ -111,6 +112,24 @@ public final class ImageXObject
     )
   {return ColorSpace.wrap(getBaseDataObject().getHeader().get(PdfName.ColorSpace));}
 
+  /**
+    Gets the decoded image.
+    <p>Decoded images are cached at document level (see {@link Document#getImageCache()}).</p>
+
+    @param subsampling Subsampling factor (1 for full resolution; see {@link
+      ImageDecoder#getSubsampling(int, int, double, double)}).
+    @since 0.2.0
+  */
+  public BufferedImage getImage(
+    int subsampling
+    )
+  {
+    Document document = getDocument();
+    return document != null
+      ? document.getImageCache().getImage(this, subsampling)
+      : ImageDecoder.get(this).decode(subsampling);
+  }
+
   @Override
   public AffineTransform getMatrix(
     )
@@ -26,6 +26,7 @@
 package org.pdfclown.documents.functions;
 
 import java.util.ArrayList;
+import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 
@@ -41,6 +42,7 @@ import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfObjectWrapper;
 import org.pdfclown.objects.PdfReal;
+import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.math.Interval;
 
@@ -49,7 +51,7 @@ import org.pdfclown.util.math.Interval;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
-  @version 0.1.2, 12/28/12
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF12)
 public abstract class Function<TDataObject extends PdfDataObject>
@@ -57,6 +59,108 @@ public abstract class Function<TDataObject extends PdfDataObject>
 {
   // <class>
   // <classes>
+  /**
+    Compiled function.
+    <p>It holds the function definition in primitive form, so that evaluations don't access the
+    underlying PDF objects. Evaluators are immutable, hence thread-safe.</p>
+  */
+  abstract static class Evaluator
+  {
+    /**
+      Input domains (min/max pairs).
+    */
+    final double[] domains;
+    final int inputCount;
+    final int outputCount;
+    /**
+      Output ranges (min/max pairs; <code>null</code> if unbounded).
+    */
+    final double[] ranges;
+
+    Evaluator(
+      double[] domains,
+      double[] ranges,
+      int outputCount
+      )
+    {
+      this.domains = domains;
+      this.ranges = ranges;
+      this.inputCount = domains.length / 2;
+      this.outputCount = outputCount;
+    }
+
+    /**
+      Evaluates the specified batch of input values.
+    */
+    final void evaluate(
+      double[] inputs,
+      int inputOffset,
+      double[] outputs,
+      int outputOffset,
+      int count
+      )
+    {
+      double[] values = new double[getValuesLength()];
+      for(int index = 0; index < count; index++, inputOffset += inputCount, outputOffset += outputCount)
+      {
+        System.arraycopy(inputs, inputOffset, values, 0, inputCount);
+        evaluate(values, outputs, outputOffset);
+      }
+    }
+
+    /**
+      Evaluates the input values at the beginning of the specified working array.
+
+      @param values Working array (at least {@link #getValuesLength()} long), beginning with the
+        input values.
+      @param outputs Output values.
+      @param outputOffset Position of the first output value.
+    */
+    final void evaluate(
+      double[] values,
+      double[] outputs,
+      int outputOffset
+      )
+    {
+      for(int index = 0, domainIndex = 0; index < inputCount; index++)
+      {
+        double value = values[index];
+        double min = domains[domainIndex++], max = domains[domainIndex++];
+        values[index] = (value < min ? min : value > max ? max : value);
+      }
+      compute(values, outputs, outputOffset);
+      if(ranges != null)
+      {
+        for(int index = outputOffset, rangeIndex = 0, endIndex = outputOffset + outputCount; index < endIndex; index++)
+        {
+          double value = outputs[index];
+          double min = ranges[rangeIndex++], max = ranges[rangeIndex++];
+          outputs[index] = (value < min ? min : value > max ? max : value);
+        }
+      }
+    }
+
+    /**
+      Gets the length of the working array required by the computation.
+    */
+    int getValuesLength(
+      )
+    {return inputCount;}
+
+    /**
+      Computes the output values corresponding to the (clipped) input values.
+
+      @param values Working array, beginning with the input values.
+      @param outputs Output values.
+      @param outputOffset Position of the first output value.
+    */
+    abstract void compute(
+      double[] values,
+      double[] outputs,
+      int outputOffset
+      );
+  }
+
   /**
     Default intervals callback.
   */
@@ -87,25 +191,63 @@ public abstract class Function<TDataObject extends PdfDataObject>
     if(baseObject == null)
       return null;
 
+    /*
+      NOTE: Functions are compiled on their first evaluation, so it's convenient to retrieve shared
+      (indirect) ones from the common cache.
+    */
+    Hashtable<PdfReference,Object> cache = null;
+    if(baseObject instanceof PdfReference)
+    {
+      cache = ((PdfReference)baseObject).getIndirectObject().getFile().getDocument().cache;
+      Object cachedObject = cache.get(baseObject);
+      if(cachedObject instanceof Function<?>)
+        return (Function<?>)cachedObject;
+    }
+
     PdfDataObject dataObject = baseObject.resolve();
     PdfDictionary dictionary = getDictionary(dataObject);
     int functionType = ((PdfInteger)dictionary.get(PdfName.FunctionType)).getRawValue();
+    Function<?> function;
     switch(functionType)
     {
       case FunctionType0:
-        return new Type0Function(baseObject);
+        function = new Type0Function(baseObject);
+        break;
       case FunctionType2:
-        return new Type2Function(baseObject);
+        function = new Type2Function(baseObject);
+        break;
       case FunctionType3:
-        return new Type3Function(baseObject);
+        function = new Type3Function(baseObject);
+        break;
       case FunctionType4:
-        return new Type4Function(baseObject);
+        function = new Type4Function(baseObject);
+        break;
       default:
         throw new UnsupportedOperationException("Function type " + functionType + " unknown.");
     }
+    if(cache != null)
+    {cache.put((PdfReference)baseObject, function);}
+    return function;
   }
   // </public>
 
+  // <internal>
+  /**
+    Gets the numeric values of the specified array.
+
+    @return <code>null</code>, if <code>arrayObject</code> is undefined.
+  */
+  static double[] getValues(
+    PdfDataObject arrayObject
+    )
+  {
+    if(arrayObject == null)
+      return null;
+
+    return ((PdfArray)arrayObject).toDoubleArray();
+  }
+  // </internal>
+
   // <private>
   /**
     Gets a function's dictionary.
@@ -126,6 +268,11 @@ public abstract class Function<TDataObject extends PdfDataObject>
   // </static>
 
   // <dynamic>
+  // <fields>
+  private volatile Evaluator evaluator;
+  private volatile double[] lookupTable;
+  // </fields>
+
   // <constructors>
   protected Function(
     Document context,
@@ -147,9 +294,37 @@ public abstract class Function<TDataObject extends PdfDataObject>
 
     @param inputs Input values.
    */
-  public abstract double[] calculate(
+  public double[] calculate(
     double[] inputs
-    );
+    )
+  {
+    Evaluator evaluator = getEvaluator();
+    double[] outputs = new double[evaluator.outputCount];
+    evaluator.evaluate(inputs, 0, outputs, 0, 1);
+    return outputs;
+  }
+
+  /**
+    Applies the calculation of this function to the specified batch of input values.
+    <p>This is the preferred way to evaluate large amounts of values (for example, shading and color
+    conversion samples), as the function definition is compiled once and no object is allocated
+    for each evaluation.</p>
+
+    @param inputs Input values (consecutive groups of {@link #getInputCount()} values).
+    @param inputOffset Position of the first input value.
+    @param outputs Output values (consecutive groups of {@link #getOutputCount()} values).
+    @param outputOffset Position of the first output value.
+    @param count Number of evaluations.
+    @since 0.2.0
+   */
+  public void calculate(
+    double[] inputs,
+    int inputOffset,
+    double[] outputs,
+    int outputOffset,
+    int count
+    )
+  {getEvaluator().evaluate(inputs, inputOffset, outputs, outputOffset, count);}
 
   /**
     Gets the result of the calculation applied by this function
@@ -198,6 +373,42 @@ public abstract class Function<TDataObject extends PdfDataObject>
     )
   {return ((PdfArray)getDictionary().get(PdfName.Domain)).size() / 2;}
 
+  /**
+    Gets the output values of this 1-input function sampled at evenly-spaced input values across
+    its domain.
+    <p>It allows to approximate the function through a table lookup (possibly with linear
+    interpolation): the output values corresponding to the <code>i</code>-th sample (whose input
+    value is <code>domainMin + i * (domainMax - domainMin) / (sampleCount - 1)</code>) begin at
+    position <code>i * outputCount</code>. The last requested table is cached and MUST NOT be
+    modified.</p>
+
+    @param sampleCount Number of samples (at least 2).
+    @since 0.2.0
+  */
+  public double[] getLookupTable(
+    int sampleCount
+    )
+  {
+    Evaluator evaluator = getEvaluator();
+    if(evaluator.inputCount != 1)
+      throw new UnsupportedOperationException("Lookup tables are available to 1-input functions only.");
+    if(sampleCount < 2)
+      throw new IllegalArgumentException("Sample count MUST be at least 2.");
+
+    double[] lookupTable = this.lookupTable;
+    if(lookupTable == null || lookupTable.length != sampleCount * evaluator.outputCount)
+    {
+      double min = evaluator.domains[0], step = (evaluator.domains[1] - min) / (sampleCount - 1);
+      double[] inputs = new double[sampleCount];
+      for(int index = 0; index < sampleCount; index++)
+      {inputs[index] = min + index * step;}
+      lookupTable = new double[sampleCount * evaluator.outputCount];
+      evaluator.evaluate(inputs, 0, lookupTable, 0, sampleCount);
+      this.lookupTable = lookupTable;
+    }
+    return lookupTable;
+  }
+
   /**
     Gets the number of output values (results) of this function.
   */
@@ -264,6 +475,32 @@ public abstract class Function<TDataObject extends PdfDataObject>
     return intervals;
   }
   // </protected>
+
+  // <internal>
+  /**
+    Compiles this function.
+  */
+  abstract Evaluator compile(
+    );
+
+  /**
+    Gets the compiled form of this function.
+  */
+  final Evaluator getEvaluator(
+    )
+  {
+    Evaluator evaluator = this.evaluator;
+    if(evaluator == null)
+    {
+      synchronized(this)
+      {
+        if((evaluator = this.evaluator) == null)
+        {this.evaluator = evaluator = compile();}
+      }
+    }
+    return evaluator;
+  }
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
@@ -34,6 +34,7 @@ import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.Document;
 import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
@@ -47,7 +48,7 @@ import org.pdfclown.util.math.Interval;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
-  @version 0.1.2, 12/21/12
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF12)
 public final class Type0Function
@@ -89,6 +90,111 @@ public final class Type0Function
       )
     {return code;}
   }
+
+  private static final class Type0Evaluator
+    extends Evaluator
+  {
+    private final double[] encodes;
+    private final double[] samples;
+    private final int[] sampleCounts;
+    private final int[] strides;
+
+    Type0Evaluator(
+      double[] domains,
+      double[] ranges,
+      int[] sampleCounts,
+      double[] encodes,
+      double[] samples
+      )
+    {
+      super(domains, ranges, ranges.length / 2);
+
+      this.sampleCounts = sampleCounts;
+      this.encodes = encodes;
+      this.samples = samples;
+
+      strides = new int[sampleCounts.length];
+      for(int index = 0, stride = 1; index < strides.length; index++)
+      {
+        strides[index] = stride;
+        stride *= sampleCounts[index];
+      }
+    }
+
+    @Override
+    void compute(
+      double[] values,
+      double[] outputs,
+      int outputOffset
+      )
+    {
+      /*
+        NOTE: Values are multilinearly interpolated between the 2^m samples surrounding the input
+        point. Working values following the inputs hold, for each dimension, the fractional and
+        integral parts of the sample position.
+      */
+      for(int index = 0; index < inputCount; index++)
+      {
+        double domainLow = domains[index * 2], domainHigh = domains[index * 2 + 1];
+        double encodeLow = encodes[index * 2], encodeHigh = encodes[index * 2 + 1];
+        double position = (domainHigh == domainLow
+          ? encodeLow
+          : encodeLow + (values[index] - domainLow) * (encodeHigh - encodeLow) / (domainHigh - domainLow));
+        int maxPosition = sampleCounts[index] - 1;
+        if(position < 0)
+        {position = 0;}
+        else if(position > maxPosition)
+        {position = maxPosition;}
+        int lowPosition = Math.min((int)position, Math.max(maxPosition - 1, 0));
+        values[inputCount + index] = position - lowPosition;
+        values[inputCount * 2 + index] = lowPosition;
+      }
+
+      if(inputCount == 1) // Fast path.
+      {
+        double fraction = values[1];
+        int sampleOffset = (int)values[2] * outputCount;
+        for(int index = 0; index < outputCount; index++, sampleOffset++)
+        {
+          outputs[outputOffset + index] = (fraction == 0
+            ? samples[sampleOffset]
+            : samples[sampleOffset] + fraction * (samples[sampleOffset + outputCount] - samples[sampleOffset]));
+        }
+        return;
+      }
+
+      for(int index = 0; index < outputCount; index++)
+      {outputs[outputOffset + index] = 0;}
+      for(int corner = 0, cornerCount = 1 << inputCount; corner < cornerCount; corner++)
+      {
+        double weight = 1;
+        int sampleIndex = 0;
+        for(int index = 0; index < inputCount && weight != 0; index++)
+        {
+          double fraction = values[inputCount + index];
+          int position = (int)values[inputCount * 2 + index];
+          if((corner & (1 << index)) != 0)
+          {
+            weight *= fraction;
+            position++;
+          }
+          else
+          {weight *= 1 - fraction;}
+          sampleIndex += position * strides[index];
+        }
+        if(weight == 0)
+          continue;
+
+        for(int index = 0, sampleOffset = sampleIndex * outputCount; index < outputCount; index++)
+        {outputs[outputOffset + index] += weight * samples[sampleOffset + index];}
+      }
+    }
+
+    @Override
+    int getValuesLength(
+      )
+    {return inputCount * 3;}
+  }
   // </classes>
 
   // <dynamic>
@@ -103,15 +209,6 @@ public final class Type0Function
 
   // <interface>
   // <public>
-  @Override
-  public double[] calculate(
-    double[] inputs
-    )
-  {
-    // FIXME: Auto-generated method stub
-    return null;
-  }
-
   @Override
   public Type0Function clone(
     Document context
@@ -182,6 +279,72 @@ public final class Type0Function
     return sampleCounts;
   }
   // </public>
+
+  // <internal>
+  /**
+    NOTE: Cubic spline interpolation is approximated through linear interpolation.
+  */
+  @Override
+  Evaluator compile(
+    )
+  {
+    PdfDictionary dictionary = getDictionary();
+    double[] domains = getValues(dictionary.resolve(PdfName.Domain));
+    double[] ranges = getValues(dictionary.resolve(PdfName.Range));
+    int inputCount = domains.length / 2, outputCount = ranges.length / 2;
+
+    int[] sampleCounts = new int[inputCount];
+    double[] encodes = getValues(dictionary.resolve(PdfName.Encode));
+    {
+      List<Integer> sampleCountList = getSampleCounts();
+      if(encodes == null)
+      {encodes = new double[inputCount * 2];}
+      for(int index = 0; index < inputCount; index++)
+      {
+        sampleCounts[index] = sampleCountList.get(index);
+        if(!dictionary.containsKey(PdfName.Encode))
+        {encodes[index * 2 + 1] = sampleCounts[index] - 1;}
+      }
+    }
+    double[] decodes = getValues(dictionary.resolve(PdfName.Decode));
+    if(decodes == null)
+    {decodes = ranges;}
+
+    // Unpack the sample table!
+    double[] samples;
+    {
+      int sampleCount = outputCount;
+      for(int count : sampleCounts)
+      {sampleCount *= count;}
+      samples = new double[sampleCount];
+
+      byte[] data = getBaseDataObject().getBody().toByteArray();
+      int sampleBitsCount = getSampleBitsCount();
+      double maxSampleValue = (1L << sampleBitsCount) - 1;
+      long bitOffset = 0, dataBitsCount = data.length * 8L;
+      for(int index = 0; index < sampleCount; index++)
+      {
+        long sampleValue = 0;
+        if(sampleBitsCount % 8 == 0 && bitOffset % 8 == 0) // Byte-aligned sample.
+        {
+          for(int byteIndex = (int)(bitOffset >> 3), endIndex = byteIndex + sampleBitsCount / 8; byteIndex < endIndex; byteIndex++)
+          {sampleValue = sampleValue << 8 | (byteIndex < data.length ? data[byteIndex] & 0xff : 0);}
+        }
+        else
+        {
+          for(long bitIndex = bitOffset, endIndex = bitOffset + sampleBitsCount; bitIndex < endIndex; bitIndex++)
+          {sampleValue = sampleValue << 1 | (bitIndex < dataBitsCount ? (data[(int)(bitIndex >> 3)] >> (7 - (int)(bitIndex & 7))) & 1 : 0);}
+        }
+        bitOffset += sampleBitsCount;
+
+        int outputIndex = index % outputCount;
+        double decodeLow = decodes[outputIndex * 2], decodeHigh = decodes[outputIndex * 2 + 1];
+        samples[index] = decodeLow + sampleValue * (decodeHigh - decodeLow) / maxSampleValue;
+      }
+    }
+    return new Type0Evaluator(domains, ranges, sampleCounts, encodes, samples);
+  }
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
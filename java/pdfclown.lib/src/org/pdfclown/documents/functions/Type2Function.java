@@ -48,13 +48,51 @@ import org.pdfclown.objects.PdfNumber;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
-  @version 0.1.2, 12/21/12
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF13)
 public final class Type2Function
   extends Function<PdfDictionary>
 {
   // <class>
+  // <classes>
+  private static final class Type2Evaluator
+    extends Evaluator
+  {
+    private final double[] highOutputs;
+    private final double[] lowOutputs;
+    private final double exponent;
+
+    Type2Evaluator(
+      double[] domains,
+      double[] ranges,
+      double[] lowOutputs,
+      double[] highOutputs,
+      double exponent
+      )
+    {
+      super(domains, ranges, lowOutputs.length);
+
+      this.lowOutputs = lowOutputs;
+      this.highOutputs = highOutputs;
+      this.exponent = exponent;
+    }
+
+    @Override
+    void compute(
+      double[] values,
+      double[] outputs,
+      int outputOffset
+      )
+    {
+      double input = values[0];
+      double factor = (exponent == 1 ? input : Math.pow(input, exponent));
+      for(int index = 0; index < outputCount; index++)
+      {outputs[outputOffset + index] = lowOutputs[index] + factor * (highOutputs[index] - lowOutputs[index]);}
+    }
+  }
+  // </classes>
+
   // <dynamic>
   // <constructors>
   //TODO:implement function creation!
@@ -67,15 +105,6 @@ public final class Type2Function
 
   // <interface>
   // <public>
-  @Override
-  public double[] calculate(
-    double[] inputs
-    )
-  {
-    // FIXME: Auto-generated method stub
-    return null;
-  }
-
   @Override
   public Type2Function clone(
     Document context
@@ -122,7 +151,33 @@ public final class Type2Function
   public double getExponent(
     )
   {return ((PdfNumber<?>)getDictionary().get(PdfName.N)).getDoubleValue();}
+
+  @Override
+  public int getOutputCount(
+    )
+  {
+    PdfArray lowOutputBoundsObject = (PdfArray)getDictionary().resolve(PdfName.C0);
+    return lowOutputBoundsObject == null ? 1 : lowOutputBoundsObject.size();
+  }
   // </public>
+
+  // <internal>
+  @Override
+  Evaluator compile(
+    )
+  {
+    PdfDictionary dictionary = getDictionary();
+    double[] lowOutputs = getValues(dictionary.resolve(PdfName.C0));
+    double[] highOutputs = getValues(dictionary.resolve(PdfName.C1));
+    return new Type2Evaluator(
+      getValues(dictionary.resolve(PdfName.Domain)),
+      getValues(dictionary.resolve(PdfName.Range)),
+      lowOutputs != null ? lowOutputs : new double[]{0},
+      highOutputs != null ? highOutputs : new double[]{1},
+      getExponent()
+      );
+  }
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
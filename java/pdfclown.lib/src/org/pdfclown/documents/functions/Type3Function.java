@@ -44,13 +44,73 @@ import org.pdfclown.util.math.Interval;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
-  @version 0.1.2, 12/21/12
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF13)
 public final class Type3Function
   extends Function<PdfDictionary>
 {
   // <class>
+  // <classes>
+  private static final class Type3Evaluator
+    extends Evaluator
+  {
+    private final double[] bounds;
+    private final double[] encodes;
+    private final Evaluator[] functions;
+    private final int valuesLength;
+
+    Type3Evaluator(
+      double[] domains,
+      double[] ranges,
+      Evaluator[] functions,
+      double[] bounds,
+      double[] encodes
+      )
+    {
+      super(domains, ranges, functions[0].outputCount);
+
+      this.functions = functions;
+      this.bounds = bounds;
+      this.encodes = encodes;
+
+      int valuesLength = 1;
+      for(Evaluator function : functions)
+      {valuesLength = Math.max(valuesLength, function.getValuesLength());}
+      this.valuesLength = valuesLength;
+    }
+
+    @Override
+    void compute(
+      double[] values,
+      double[] outputs,
+      int outputOffset
+      )
+    {
+      double input = values[0];
+
+      // Select the subdomain!
+      int functionIndex = 0;
+      while(functionIndex < bounds.length && input >= bounds[functionIndex])
+      {functionIndex++;}
+      double low = (functionIndex == 0 ? domains[0] : bounds[functionIndex - 1]);
+      double high = (functionIndex == bounds.length ? domains[1] : bounds[functionIndex]);
+
+      // Map the input value into the domain of the subfunction!
+      double encodeLow = encodes[functionIndex * 2], encodeHigh = encodes[functionIndex * 2 + 1];
+      values[0] = (high == low
+        ? encodeLow
+        : encodeLow + (input - low) * (encodeHigh - encodeLow) / (high - low));
+      functions[functionIndex].evaluate(values, outputs, outputOffset);
+    }
+
+    @Override
+    int getValuesLength(
+      )
+    {return valuesLength;}
+  }
+  // </classes>
+
   // <dynamic>
   // <constructors>
   //TODO:implement function creation!
@@ -63,15 +123,6 @@ public final class Type3Function
 
   // <interface>
   // <public>
-  @Override
-  public double[] calculate(
-    double[] inputs
-    )
-  {
-    // FIXME: Auto-generated method stub
-    return null;
-  }
-
   @Override
   public Type3Function clone(
     Document context
@@ -109,7 +160,36 @@ public final class Type3Function
   public Functions getFunctions(
     )
   {return new Functions(getDictionary().get(PdfName.Functions), this);}
+
+  @Override
+  public int getOutputCount(
+    )
+  {
+    PdfArray rangesObject = (PdfArray)getDictionary().resolve(PdfName.Range);
+    return rangesObject != null ? rangesObject.size() / 2 : getFunctions().get(0).getOutputCount();
+  }
   // </public>
+
+  // <internal>
+  @Override
+  Evaluator compile(
+    )
+  {
+    PdfDictionary dictionary = getDictionary();
+    double[] bounds = getValues(dictionary.resolve(PdfName.Bounds));
+    Functions functions = getFunctions();
+    Evaluator[] functionEvaluators = new Evaluator[functions.size()];
+    for(int index = 0; index < functionEvaluators.length; index++)
+    {functionEvaluators[index] = functions.get(index).getEvaluator();}
+    return new Type3Evaluator(
+      getValues(dictionary.resolve(PdfName.Domain)),
+      getValues(dictionary.resolve(PdfName.Range)),
+      functionEvaluators,
+      bounds != null ? bounds : new double[0],
+      getValues(dictionary.resolve(PdfName.Encode))
+      );
+  }
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
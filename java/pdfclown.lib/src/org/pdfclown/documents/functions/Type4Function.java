@@ -25,11 +25,20 @@
 
 package org.pdfclown.documents.functions;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.Document;
+import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfStream;
+import org.pdfclown.util.parsers.PostScriptParseException;
+import org.pdfclown.util.parsers.PostScriptParser;
 
 /**
   PostScript calculator function represented as a stream containing code written in a small subset
@@ -37,13 +46,615 @@ import org.pdfclown.objects.PdfStream;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
-  @version 0.1.2, 12/21/12
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF13)
 public final class Type4Function
   extends Function<PdfStream>
 {
   // <class>
+  // <classes>
+  /**
+    Compile-time model of the operand stack.
+    <p>It tracks the type (and, for numeric literals, the value) of the operands, so that operators
+    whose semantics depend on their operand types can be resolved at compile time. Should the
+    stack layout become undeterminable (for example, <code>copy</code> with a computed count), the
+    operand types are thereafter unknown.</p>
+  */
+  private static final class OperandStack
+    implements Cloneable
+  {
+    /**
+      Operand types: {@link Boolean#TRUE} for booleans, {@link Boolean#FALSE} for numbers,
+      <code>null</code> for unknown.
+    */
+    private List<Boolean> types = new ArrayList<Boolean>();
+    /**
+      Operand values (<code>null</code> if unknown).
+    */
+    private List<Double> values = new ArrayList<Double>();
+    /**
+      Whether the stack layout is known.
+    */
+    private boolean known = true;
+
+    OperandStack(
+      int inputCount
+      )
+    {
+      for(int index = 0; index < inputCount; index++)
+      {push(Boolean.FALSE, null);}
+    }
+
+    @Override
+    public OperandStack clone(
+      )
+    {
+      OperandStack clone;
+      try
+      {clone = (OperandStack)super.clone();}
+      catch(CloneNotSupportedException e)
+      {throw new RuntimeException(e);}
+      clone.types = new ArrayList<Boolean>(types);
+      clone.values = new ArrayList<Double>(values);
+      return clone;
+    }
+
+    /**
+      Updates the operand stack according to the specified operator.
+    */
+    void apply(
+      int operator
+      )
+    {
+      switch(operator)
+      {
+        case Abs:
+        case Ceiling:
+        case Cos:
+        case Cvi:
+        case Cvr:
+        case Floor:
+        case Ln:
+        case Log:
+        case Neg:
+        case Round:
+        case Sin:
+        case Sqrt:
+        case Truncate:
+          pop();
+          push(Boolean.FALSE, null);
+          break;
+        case Add:
+        case Atan:
+        case Bitshift:
+        case Div:
+        case Exp:
+        case Idiv:
+        case Mod:
+        case Mul:
+        case Sub:
+          pop(); pop();
+          push(Boolean.FALSE, null);
+          break;
+        case Eq:
+        case Ge:
+        case Gt:
+        case Le:
+        case Lt:
+        case Ne:
+          pop(); pop();
+          push(Boolean.TRUE, null);
+          break;
+        case And:
+        case Or:
+        case Xor:
+        {
+          Boolean type = getType(0);
+          pop();
+          if(type != null && !type.equals(getType(0)))
+          {type = null;}
+          pop();
+          push(type, null);
+          break;
+        }
+        case Not:
+        case NotBoolean:
+        case NotUntyped:
+        {
+          Boolean type = getType(0);
+          pop();
+          push(type, null);
+          break;
+        }
+        case Copy:
+        {
+          Double count = getValue(0);
+          pop();
+          if(count == null || count < 0 || count > size())
+          {known = false;}
+          else
+          {
+            for(int index = 0, offset = size() - count.intValue(); index < count; index++)
+            {push(types.get(offset + index), values.get(offset + index));}
+          }
+          break;
+        }
+        case Dup:
+          push(getType(0), getValue(0));
+          break;
+        case Exch:
+        {
+          Boolean type = getType(0), type2 = getType(1);
+          Double value = getValue(0), value2 = getValue(1);
+          pop(); pop();
+          push(type, value);
+          push(type2, value2);
+          break;
+        }
+        case Index:
+        {
+          Double depth = getValue(0);
+          pop();
+          if(depth == null)
+          {push(null, null);}
+          else
+          {push(getType(depth.intValue()), getValue(depth.intValue()));}
+          break;
+        }
+        case Pop:
+          pop();
+          break;
+        case Roll:
+        {
+          Double shift = getValue(0);
+          pop();
+          Double count = getValue(0);
+          pop();
+          if(count == null || count < 0 || count > size())
+          {known = false;}
+          else if(count > 1)
+          {
+            int countValue = count.intValue(), base = size() - countValue;
+            List<Boolean> rolledTypes = new ArrayList<Boolean>(types.subList(base, size()));
+            List<Double> rolledValues = new ArrayList<Double>(values.subList(base, size()));
+            for(int index = 0; index < countValue; index++)
+            {
+              if(shift == null)
+              {
+                types.set(base + index, null);
+                values.set(base + index, null);
+              }
+              else
+              {
+                int targetIndex = (int)((index + shift.longValue() % countValue + countValue) % countValue);
+                types.set(base + targetIndex, rolledTypes.get(index));
+                values.set(base + targetIndex, rolledValues.get(index));
+              }
+            }
+          }
+          break;
+        }
+        default:
+          throw new IllegalArgumentException();
+      }
+    }
+
+    /**
+      Gets the type of the operand at the specified depth from the top.
+
+      @return {@link Boolean#TRUE} for booleans, {@link Boolean#FALSE} for numbers,
+        <code>null</code> if unknown.
+    */
+    Boolean getType(
+      int depth
+      )
+    {return known && depth >= 0 && depth < size() ? types.get(size() - 1 - depth) : null;}
+
+    /**
+      Merges the specified alternative stack state into this one (control flow join).
+    */
+    void merge(
+      OperandStack stack
+      )
+    {
+      if(!known)
+        return;
+      else if(!stack.known || stack.size() != size())
+      {
+        known = false;
+        return;
+      }
+
+      for(int index = 0, size = size(); index < size; index++)
+      {
+        if(types.get(index) != stack.types.get(index))
+        {types.set(index, null);}
+        Double value = values.get(index);
+        if(value != null && !value.equals(stack.values.get(index)))
+        {values.set(index, null);}
+      }
+    }
+
+    void pop(
+      )
+    {
+      if(!known)
+        return;
+      else if(size() == 0) // Stack underflow.
+      {
+        known = false;
+        return;
+      }
+
+      int index = size() - 1;
+      types.remove(index);
+      values.remove(index);
+    }
+
+    void push(
+      Boolean type,
+      Double value
+      )
+    {
+      if(!known)
+        return;
+
+      types.add(type);
+      values.add(value);
+    }
+
+    private Double getValue(
+      int depth
+      )
+    {return known && depth >= 0 && depth < size() ? values.get(size() - 1 - depth) : null;}
+
+    private int size(
+      )
+    {return types.size();}
+  }
+
+  /**
+    Compiled PostScript calculator program.
+    <p>The program is flattened into an instruction array (conditional procedures become jumps)
+    which is executed against an operand stack laid out in the working array, right after the
+    input values (which are its initial content). Boolean values are represented as
+    <code>1</code> (true) and <code>0</code> (false).</p>
+  */
+  private static final class Type4Evaluator
+    extends Evaluator
+  {
+    private final double[] operands;
+    private final int[] operators;
+
+    Type4Evaluator(
+      double[] domains,
+      double[] ranges,
+      int[] operators,
+      double[] operands
+      )
+    {
+      super(domains, ranges, ranges.length / 2);
+
+      this.operators = operators;
+      this.operands = operands;
+    }
+
+    @Override
+    void compute(
+      double[] values,
+      double[] outputs,
+      int outputOffset
+      )
+    {
+      double[] stack = values;
+      int top = inputCount; // Stack pointer (next free position).
+      for(int index = 0, length = operators.length; index < length; index++)
+      {
+        switch(operators[index])
+        {
+          case Push:
+          case PushBoolean:
+            stack[top++] = operands[index];
+            break;
+          case JumpIfFalse:
+            if(stack[--top] == 0)
+            {index = (int)operands[index] - 1;}
+            break;
+          case Jump:
+            index = (int)operands[index] - 1;
+            break;
+          // Arithmetic operators.
+          case Abs:
+            stack[top - 1] = Math.abs(stack[top - 1]);
+            break;
+          case Add:
+            top--; stack[top - 1] += stack[top];
+            break;
+          case Atan:
+          {
+            top--;
+            double angle = Math.toDegrees(Math.atan2(stack[top - 1], stack[top]));
+            stack[top - 1] = (angle < 0 ? angle + 360 : angle);
+            break;
+          }
+          case Ceiling:
+            stack[top - 1] = Math.ceil(stack[top - 1]);
+            break;
+          case Cos:
+            stack[top - 1] = Math.cos(Math.toRadians(stack[top - 1]));
+            break;
+          case Cvi:
+          case Truncate:
+            stack[top - 1] = (long)stack[top - 1];
+            break;
+          case Cvr:
+            break;
+          case Div:
+            top--; stack[top - 1] /= stack[top];
+            break;
+          case Exp:
+            top--; stack[top - 1] = Math.pow(stack[top - 1], stack[top]);
+            break;
+          case Floor:
+            stack[top - 1] = Math.floor(stack[top - 1]);
+            break;
+          case Idiv:
+          {
+            top--;
+            long divisor = (long)stack[top];
+            stack[top - 1] = (divisor != 0 ? (long)stack[top - 1] / divisor : 0); // NOTE: Undefined result (zero divisor) falls back to 0.
+            break;
+          }
+          case Ln:
+            stack[top - 1] = Math.log(stack[top - 1]);
+            break;
+          case Log:
+            stack[top - 1] = Math.log10(stack[top - 1]);
+            break;
+          case Mod:
+          {
+            top--;
+            long divisor = (long)stack[top];
+            stack[top - 1] = (divisor != 0 ? (long)stack[top - 1] % divisor : 0); // NOTE: Undefined result (zero divisor) falls back to 0.
+            break;
+          }
+          case Mul:
+            top--; stack[top - 1] *= stack[top];
+            break;
+          case Neg:
+            stack[top - 1] = -stack[top - 1];
+            break;
+          case Round:
+            stack[top - 1] = Math.floor(stack[top - 1] + .5);
+            break;
+          case Sin:
+            stack[top - 1] = Math.sin(Math.toRadians(stack[top - 1]));
+            break;
+          case Sqrt:
+            stack[top - 1] = Math.sqrt(stack[top - 1]);
+            break;
+          case Sub:
+            top--; stack[top - 1] -= stack[top];
+            break;
+          // Relational, boolean and bitwise operators.
+          case And:
+            top--; stack[top - 1] = (long)stack[top - 1] & (long)stack[top];
+            break;
+          case Bitshift:
+          {
+            top--;
+            int value = (int)(long)stack[top - 1]; // NOTE: Bitwise operators work on 32-bit integers.
+            int shift = (int)stack[top];
+            stack[top - 1] = (shift >= 32 || shift <= -32 ? 0 : shift >= 0 ? value << shift : value >>> -shift);
+            break;
+          }
+          case Eq:
+            top--; stack[top - 1] = (stack[top - 1] == stack[top] ? 1 : 0);
+            break;
+          case Ge:
+            top--; stack[top - 1] = (stack[top - 1] >= stack[top] ? 1 : 0);
+            break;
+          case Gt:
+            top--; stack[top - 1] = (stack[top - 1] > stack[top] ? 1 : 0);
+            break;
+          case Le:
+            top--; stack[top - 1] = (stack[top - 1] <= stack[top] ? 1 : 0);
+            break;
+          case Lt:
+            top--; stack[top - 1] = (stack[top - 1] < stack[top] ? 1 : 0);
+            break;
+          case Ne:
+            top--; stack[top - 1] = (stack[top - 1] != stack[top] ? 1 : 0);
+            break;
+          case Not:
+            stack[top - 1] = ~(long)stack[top - 1];
+            break;
+          case NotBoolean:
+            stack[top - 1] = (stack[top - 1] == 0 ? 1 : 0);
+            break;
+          case NotUntyped:
+          {
+            double value = stack[top - 1];
+            stack[top - 1] = (value == 0 || value == 1 ? 1 - value : ~(long)value);
+            break;
+          }
+          case Or:
+            top--; stack[top - 1] = (long)stack[top - 1] | (long)stack[top];
+            break;
+          case Xor:
+            top--; stack[top - 1] = (long)stack[top - 1] ^ (long)stack[top];
+            break;
+          // Stack operators.
+          case Copy:
+          {
+            int count = (int)stack[--top];
+            System.arraycopy(stack, top - count, stack, top, count);
+            top += count;
+            break;
+          }
+          case Dup:
+            stack[top] = stack[top - 1]; top++;
+            break;
+          case Exch:
+          {
+            double value = stack[top - 1];
+            stack[top - 1] = stack[top - 2];
+            stack[top - 2] = value;
+            break;
+          }
+          case Index:
+            stack[top - 1] = stack[top - 2 - (int)stack[top - 1]];
+            break;
+          case Pop:
+            top--;
+            break;
+          case Roll:
+          {
+            top -= 2;
+            int count = (int)stack[top], shift = (int)stack[top + 1];
+            if(count <= 1)
+              break;
+
+            shift %= count;
+            if(shift < 0)
+            {shift += count;}
+            if(shift == 0)
+              break;
+
+            // Rotate the topmost 'count' values by 'shift' positions, using the free stack space.
+            int base = top - count;
+            System.arraycopy(stack, base, stack, top, count);
+            for(int rollIndex = 0; rollIndex < count; rollIndex++)
+            {stack[base + (rollIndex + shift) % count] = stack[top + rollIndex];}
+            break;
+          }
+          default:
+            throw new IllegalStateException();
+        }
+      }
+
+      // Output values are the topmost ones.
+      for(int index = 0, stackIndex = top - outputCount; index < outputCount; index++, stackIndex++)
+      {outputs[outputOffset + index] = (stackIndex >= 0 ? stack[stackIndex] : 0);}
+    }
+
+    @Override
+    int getValuesLength(
+      )
+    {
+      // NOTE: Roll needs twice its operand count.
+      return inputCount + MaxStackDepth * 2;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Maximum operand stack depth [PDF:1.7:3.9.4].
+  */
+  private static final int MaxStackDepth = 100;
+
+  private static final int Push = 0;
+  private static final int PushBoolean = 1;
+  private static final int JumpIfFalse = 2;
+  private static final int Jump = 3;
+  private static final int Abs = 4;
+  private static final int Add = 5;
+  private static final int Atan = 6;
+  private static final int Ceiling = 7;
+  private static final int Cos = 8;
+  private static final int Cvi = 9;
+  private static final int Cvr = 10;
+  private static final int Div = 11;
+  private static final int Exp = 12;
+  private static final int Floor = 13;
+  private static final int Idiv = 14;
+  private static final int Ln = 15;
+  private static final int Log = 16;
+  private static final int Mod = 17;
+  private static final int Mul = 18;
+  private static final int Neg = 19;
+  private static final int Round = 20;
+  private static final int Sin = 21;
+  private static final int Sqrt = 22;
+  private static final int Sub = 23;
+  private static final int Truncate = 24;
+  private static final int And = 25;
+  private static final int Bitshift = 26;
+  private static final int Eq = 27;
+  private static final int Ge = 28;
+  private static final int Gt = 29;
+  private static final int Le = 30;
+  private static final int Lt = 31;
+  private static final int Ne = 32;
+  private static final int Not = 33;
+  private static final int NotBoolean = 34;
+  private static final int Or = 35;
+  private static final int Xor = 36;
+  private static final int Copy = 37;
+  private static final int Dup = 38;
+  private static final int Exch = 39;
+  private static final int Index = 40;
+  private static final int Pop = 41;
+  private static final int Roll = 42;
+  /**
+    Logical or bitwise negation, depending on the operand value (fallback for operands whose type
+    can't be determined at compile time): <code>0</code> and <code>1</code> are assumed to be
+    booleans.
+  */
+  private static final int NotUntyped = 43;
+
+  private static final Map<String,Integer> OperatorCodes;
+  // </fields>
+
+  // <constructors>
+  static
+  {
+    OperatorCodes = new HashMap<String,Integer>();
+    OperatorCodes.put("abs", Abs);
+    OperatorCodes.put("add", Add);
+    OperatorCodes.put("atan", Atan);
+    OperatorCodes.put("ceiling", Ceiling);
+    OperatorCodes.put("cos", Cos);
+    OperatorCodes.put("cvi", Cvi);
+    OperatorCodes.put("cvr", Cvr);
+    OperatorCodes.put("div", Div);
+    OperatorCodes.put("exp", Exp);
+    OperatorCodes.put("floor", Floor);
+    OperatorCodes.put("idiv", Idiv);
+    OperatorCodes.put("ln", Ln);
+    OperatorCodes.put("log", Log);
+    OperatorCodes.put("mod", Mod);
+    OperatorCodes.put("mul", Mul);
+    OperatorCodes.put("neg", Neg);
+    OperatorCodes.put("round", Round);
+    OperatorCodes.put("sin", Sin);
+    OperatorCodes.put("sqrt", Sqrt);
+    OperatorCodes.put("sub", Sub);
+    OperatorCodes.put("truncate", Truncate);
+    OperatorCodes.put("and", And);
+    OperatorCodes.put("bitshift", Bitshift);
+    OperatorCodes.put("eq", Eq);
+    OperatorCodes.put("ge", Ge);
+    OperatorCodes.put("gt", Gt);
+    OperatorCodes.put("le", Le);
+    OperatorCodes.put("lt", Lt);
+    OperatorCodes.put("ne", Ne);
+    OperatorCodes.put("not", Not);
+    OperatorCodes.put("or", Or);
+    OperatorCodes.put("xor", Xor);
+    OperatorCodes.put("copy", Copy);
+    OperatorCodes.put("dup", Dup);
+    OperatorCodes.put("exch", Exch);
+    OperatorCodes.put("index", Index);
+    OperatorCodes.put("pop", Pop);
+    OperatorCodes.put("roll", Roll);
+  }
+  // </constructors>
+  // </static>
+
   // <dynamic>
   // <constructors>
   //TODO:implement function creation!
@@ -56,21 +667,199 @@ public final class Type4Function
 
   // <interface>
   // <public>
-  @Override
-  public double[] calculate(
-    double[] inputs
-    )
-  {
-    // FIXME: Auto-generated method stub
-    return null;
-  }
-
   @Override
   public Type4Function clone(
     Document context
     )
   {return (Type4Function)super.clone(context);}
   // </public>
+
+  // <internal>
+  @Override
+  Evaluator compile(
+    )
+  {
+    PdfDictionary dictionary = getDictionary();
+    List<Object> program;
+    {
+      PostScriptParser parser = new PostScriptParser(getBaseDataObject().getBody().toByteArray());
+      if(!parser.moveNext()
+        || parser.getTokenType() != PostScriptParser.TokenTypeEnum.ProcedureBegin)
+        throw new PostScriptParseException("Calculator program MUST be enclosed in braces.", parser);
+
+      program = parseProcedure(parser);
+    }
+
+    double[] domains = getValues(dictionary.resolve(PdfName.Domain));
+    List<Integer> operators = new ArrayList<Integer>();
+    List<Double> operands = new ArrayList<Double>();
+    compileProcedure(program, operators, operands, new OperandStack(domains.length / 2));
+
+    int[] operatorArray = new int[operators.size()];
+    double[] operandArray = new double[operatorArray.length];
+    for(int index = 0; index < operatorArray.length; index++)
+    {
+      operatorArray[index] = operators.get(index);
+      Double operand = operands.get(index);
+      if(operand != null)
+      {operandArray[index] = operand;}
+    }
+    return new Type4Evaluator(
+      domains,
+      getValues(dictionary.resolve(PdfName.Range)),
+      operatorArray,
+      operandArray
+      );
+  }
+  // </internal>
+
+  // <private>
+  /**
+    Appends the instructions corresponding to the specified procedure.
+
+    @param stack Operand stack model, updated to the state after the procedure.
+  */
+  private void compileProcedure(
+    List<Object> procedure,
+    List<Integer> operators,
+    List<Double> operands,
+    OperandStack stack
+    )
+  {
+    List<List<Object>> pendingProcedures = new ArrayList<List<Object>>();
+    for(Object item : procedure)
+    {
+      if(item instanceof List<?>)
+      {
+        @SuppressWarnings("unchecked")
+        List<Object> subprocedure = (List<Object>)item;
+        pendingProcedures.add(subprocedure);
+        continue;
+      }
+      else if(item instanceof Double)
+      {
+        operators.add(Push);
+        operands.add((Double)item);
+        stack.push(Boolean.FALSE, (Double)item);
+        continue;
+      }
+
+      String operator = (String)item;
+      if(operator.equals("if"))
+      {
+        if(pendingProcedures.size() != 1)
+          throw new PostScriptParseException("'if' operator requires 1 procedure.");
+
+        int jumpIndex = emit(JumpIfFalse, operators, operands);
+        stack.pop();
+        OperandStack skipStack = stack.clone();
+        compileProcedure(pendingProcedures.remove(0), operators, operands, stack);
+        operands.set(jumpIndex, (double)operators.size());
+        stack.merge(skipStack);
+      }
+      else if(operator.equals("ifelse"))
+      {
+        if(pendingProcedures.size() != 2)
+          throw new PostScriptParseException("'ifelse' operator requires 2 procedures.");
+
+        int jumpIndex = emit(JumpIfFalse, operators, operands);
+        stack.pop();
+        OperandStack elseStack = stack.clone();
+        compileProcedure(pendingProcedures.remove(0), operators, operands, stack);
+        int elseJumpIndex = emit(Jump, operators, operands);
+        operands.set(jumpIndex, (double)operators.size());
+        compileProcedure(pendingProcedures.remove(0), operators, operands, elseStack);
+        operands.set(elseJumpIndex, (double)operators.size());
+        stack.merge(elseStack);
+      }
+      else if(operator.equals("true") || operator.equals("false"))
+      {
+        operators.add(PushBoolean);
+        operands.add(operator.equals("true") ? 1d : 0d);
+        stack.push(Boolean.TRUE, null);
+      }
+      else
+      {
+        if(!pendingProcedures.isEmpty())
+          throw new PostScriptParseException("Unexpected procedure before '" + operator + "' operator.");
+
+        Integer operatorCode = OperatorCodes.get(operator);
+        if(operatorCode == null)
+          throw new PostScriptParseException("Unknown operator '" + operator + "'.");
+
+        /*
+          NOTE: 'not' is either a logical or a bitwise operator, depending on its operand type: as
+          values are untyped at runtime, it is resolved here on the basis of the operand type
+          tracked by the stack model.
+        */
+        if(operatorCode == Not)
+        {
+          Boolean operandType = stack.getType(0);
+          if(operandType == null)
+          {operatorCode = NotUntyped;}
+          else if(operandType)
+          {operatorCode = NotBoolean;}
+        }
+        emit(operatorCode, operators, operands);
+        stack.apply(operatorCode);
+      }
+    }
+    if(!pendingProcedures.isEmpty())
+      throw new PostScriptParseException("Unexpected procedure at the end of the program.");
+  }
+
+  private int emit(
+    int operator,
+    List<Integer> operators,
+    List<Double> operands
+    )
+  {
+    operators.add(operator);
+    operands.add(null);
+    return operators.size() - 1;
+  }
+
+  /**
+    Parses the procedure whose opening brace has just been read.
+
+    @return Procedure items: numbers ({@link Double}), operators ({@link String}) and nested
+      procedures ({@link List}).
+  */
+  private List<Object> parseProcedure(
+    PostScriptParser parser
+    )
+  {
+    List<Object> procedure = new ArrayList<Object>();
+    while(parser.moveNext())
+    {
+      switch(parser.getTokenType())
+      {
+        case ProcedureBegin:
+          procedure.add(parseProcedure(parser));
+          break;
+        case ProcedureEnd:
+          return procedure;
+        case Integer:
+          procedure.add(((Integer)parser.getToken()).doubleValue());
+          break;
+        case Real:
+          procedure.add((Double)parser.getToken());
+          break;
+        case Boolean:
+          procedure.add(((Boolean)parser.getToken()).toString());
+          break;
+        case Keyword:
+          procedure.add((String)parser.getToken());
+          break;
+        case Comment:
+          break;
+        default:
+          throw new PostScriptParseException("Unexpected token in calculator program.", parser);
+      }
+    }
+    throw new PostScriptParseException("Calculator program MUST be enclosed in braces.", parser);
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -28,14 +28,22 @@ package org.pdfclown.documents.interaction.forms;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.documents.Document;
+import org.pdfclown.documents.contents.fonts.Font;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
@@ -50,7 +58,7 @@ import org.pdfclown.util.NotImplementedException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.7
-  @version 0.1.2, 12/21/12
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF12)
 public final class Fields
@@ -58,7 +66,26 @@ public final class Fields
   implements Map<String,Field>
 {
   // <class>
+  // <static>
+  // <fields>
+  /**
+    Number of lookups (since the last change) beyond which the name index is built.
+  */
+  private static final int IndexLookupThreshold = 16;
+  // </fields>
+  // </static>
+
   // <dynamic>
+  // <fields>
+  /**
+    Field references by fully-qualified name.
+    <p>It's lazily built on read-heavy usage (see {@link #get(Object)}) and discarded as soon as
+    this collection is modified.</p>
+  */
+  private Map<String,PdfReference> index;
+  private int lookupCount;
+  // </fields>
+
   // <constructors>
   public Fields(
     Document context
@@ -76,7 +103,10 @@ public final class Fields
   public boolean add(
     Field value
     )
-  {return getBaseDataObject().add(value.getBaseObject());}
+  {
+    invalidateIndex();
+    return getBaseDataObject().add(value.getBaseObject());
+  }
 
   @Override
   public Fields clone(
@@ -88,7 +118,10 @@ public final class Fields
   @Override
   public void clear(
     )
-  {getBaseDataObject().clear();}
+  {
+    invalidateIndex();
+    getBaseDataObject().clear();
+  }
 
   @Override
   public boolean containsKey(
@@ -108,11 +141,25 @@ public final class Fields
     )
   {throw new NotImplementedException();}
 
+  /**
+    {@inheritDoc}
+    <p>On read-heavy usage (many lookups with no change in between), lookups are served by an
+    in-memory index of the fully-qualified field names, which is discarded as soon as this
+    collection is modified. Changes applied otherwise (through another collection object, by
+    renaming fields or directly to the underlying data objects) aren't tracked: avoid keeping
+    collection objects across such changes.</p>
+  */
   @Override
   public Field get(
     Object key
     )
   {
+    if(index == null
+      && ++lookupCount > IndexLookupThreshold)
+    {buildIndex();}
+    if(index != null)
+      return Field.wrap(index.get(key));
+
     /*
       TODO: It is possible for different field dictionaries to have the SAME fully qualified field
       name if they are descendants of a common ancestor with that name and have no
@@ -189,6 +236,8 @@ TODO:put the field into the correct position, based on the full name (key)!!!
     if(field == null)
       return null;
 
+    invalidateIndex();
+
     PdfArray fieldObjects;
     {
       PdfReference fieldParentReference = (PdfReference)field.getBaseDataObject().get(PdfName.Parent);
@@ -200,6 +249,152 @@ TODO:put the field into the correct position, based on the full name (key)!!!
     return (fieldObjects.remove(field.getBaseObject()) ? field : null);
   }
 
+  /**
+    Sets the values of the specified fields in a single pass.
+
+    @param values Field values by fully-qualified name (see {@link Field#setValue(Object)}).
+    @throws IllegalArgumentException If any of the names doesn't match a field (in such case, no
+      field is modified).
+    @see #setValues(Map, ExecutorService)
+    @since 0.2.0
+  */
+  public void setValues(
+    Map<String,?> values
+    )
+  {setValues(values, null);}
+
+  /**
+    Sets the values of the specified fields in a single pass, regenerating the affected
+    appearances in batch.
+    <p>Fields are looked up through the name index, then their values are set; text field
+    appearances are prepared along with the values, composed (concurrently, if an executor is
+    specified) and finally serialized.</p>
+    <p>As the fonts keep track of the glyphs they encode, text fields sharing the same font are
+    composed by the same task, whilst fields using distinct fonts are independent from each other.
+    Since document objects aren't thread-safe, everything but the text composition is performed on
+    the calling thread: the document MUST NOT be accessed by other threads until this method
+    returns.</p>
+
+    @param values Field values by fully-qualified name (see {@link Field#setValue(Object)}).
+    @param executor Executor of the appearance composition tasks (<code>null</code> to compose
+      them on the calling thread).
+    @throws IllegalArgumentException If any of the names doesn't match a field (in such case, no
+      field is modified).
+    @since 0.2.0
+  */
+  public void setValues(
+    Map<String,?> values,
+    ExecutorService executor
+    )
+  {
+    if(index == null)
+    {buildIndex();}
+
+    // Retrieve the fields!
+    List<Field> fields = new ArrayList<Field>(values.size());
+    List<Object> fieldValues = new ArrayList<Object>(values.size());
+    {
+      List<String> unknownNames = null;
+      for(Map.Entry<String,?> entry : values.entrySet())
+      {
+        PdfReference fieldReference = index.get(entry.getKey());
+        if(fieldReference == null)
+        {
+          if(unknownNames == null)
+          {unknownNames = new ArrayList<String>();}
+          unknownNames.add(entry.getKey());
+          continue;
+        }
+
+        fields.add(Field.wrap(fieldReference));
+        fieldValues.add(entry.getValue());
+      }
+      if(unknownNames != null)
+        throw new IllegalArgumentException("No field matching the given names: " + unknownNames);
+    }
+
+    // Set the values!
+    Map<Font,List<TextField.AppearanceRefresh>> appearanceRefreshGroups = new IdentityHashMap<Font,List<TextField.AppearanceRefresh>>();
+    {
+      for(int fieldIndex = 0, fieldCount = fields.size(); fieldIndex < fieldCount; fieldIndex++)
+      {
+        Field field = fields.get(fieldIndex);
+        Object value = fieldValues.get(fieldIndex);
+        if(field instanceof TextField)
+        {
+          TextField.AppearanceRefresh appearanceRefresh = ((TextField)field).setValue_(value);
+          List<TextField.AppearanceRefresh> appearanceRefreshGroup = appearanceRefreshGroups.get(appearanceRefresh.getFont());
+          if(appearanceRefreshGroup == null)
+          {appearanceRefreshGroups.put(appearanceRefresh.getFont(), appearanceRefreshGroup = new ArrayList<TextField.AppearanceRefresh>());}
+          appearanceRefreshGroup.add(appearanceRefresh);
+        }
+        else
+        {field.setValue(value);}
+      }
+    }
+
+    // Compose the appearances!
+    if(executor == null
+      || appearanceRefreshGroups.size() < 2)
+    {
+      for(List<TextField.AppearanceRefresh> appearanceRefreshGroup : appearanceRefreshGroups.values())
+      {compose(appearanceRefreshGroup);}
+    }
+    else
+    {
+      List<Future<?>> composeTasks = new ArrayList<Future<?>>(appearanceRefreshGroups.size());
+      try
+      {
+        for(final List<TextField.AppearanceRefresh> appearanceRefreshGroup : appearanceRefreshGroups.values())
+        {
+          composeTasks.add(
+            executor.submit(
+              new Callable<Void>()
+              {
+                @Override
+                public Void call(
+                  ) throws Exception
+                {
+                  compose(appearanceRefreshGroup);
+                  return null;
+                }
+              }
+              )
+            );
+        }
+        for(Future<?> composeTask : composeTasks)
+        {composeTask.get();}
+      }
+      catch(InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      catch(ExecutionException e)
+      {
+        Throwable cause = e.getCause();
+        if(cause instanceof RuntimeException)
+          throw (RuntimeException)cause;
+        else if(cause instanceof Error)
+          throw (Error)cause;
+        else
+          throw new RuntimeException(cause);
+      }
+      finally
+      {
+        for(Future<?> composeTask : composeTasks)
+        {composeTask.cancel(true);}
+      }
+    }
+
+    // Serialize the appearances!
+    for(List<TextField.AppearanceRefresh> appearanceRefreshGroup : appearanceRefreshGroups.values())
+    {
+      for(TextField.AppearanceRefresh appearanceRefresh : appearanceRefreshGroup)
+      {appearanceRefresh.flush();}
+    }
+  }
+
   @Override
   public int size(
     )
@@ -218,6 +413,70 @@ TODO:put the field into the correct position, based on the full name (key)!!!
   // </public>
 
   // <private>
+  /**
+    Builds the name index.
+  */
+  private void buildIndex(
+    )
+  {
+    Map<String,PdfReference> index = new HashMap<String,PdfReference>();
+    buildIndex(getBaseDataObject(), null, index);
+
+    this.index = index;
+  }
+
+  private void buildIndex(
+    PdfArray fieldObjects,
+    String parentFullName,
+    Map<String,PdfReference> index
+    )
+  {
+    /*
+      NOTE: The index mirrors the lookup walk (see get(..)): at each level, only the first of the
+      homonymous fields is reachable (along with its descendants), and partial names containing
+      periods can't be matched.
+    */
+    Set<String> partialNames = new HashSet<String>();
+    for(PdfDirectObject fieldObject : fieldObjects)
+    {
+      PdfReference fieldReference = (PdfReference)fieldObject;
+      PdfDictionary fieldDictionary = (PdfDictionary)fieldReference.getDataObject();
+      PdfTextString fieldName = (PdfTextString)fieldDictionary.get(PdfName.T);
+      if(fieldName == null) // Widget annotation.
+        continue;
+
+      String partialName = fieldName.getValue();
+      if(!partialNames.add(partialName)
+        || partialName.indexOf('.') >= 0)
+        continue;
+
+      String fullName = (parentFullName != null ? parentFullName + "." + partialName : partialName);
+      index.put(fullName, fieldReference);
+
+      PdfArray kidFieldObjects = (PdfArray)fieldDictionary.resolve(PdfName.Kids);
+      if(kidFieldObjects != null)
+      {buildIndex(kidFieldObjects, fullName, index);}
+    }
+  }
+
+  private static void compose(
+    List<TextField.AppearanceRefresh> appearanceRefreshes
+    )
+  {
+    for(TextField.AppearanceRefresh appearanceRefresh : appearanceRefreshes)
+    {appearanceRefresh.compose();}
+  }
+
+  /**
+    Discards the name index.
+  */
+  private void invalidateIndex(
+    )
+  {
+    index = null;
+    lookupCount = 0;
+  }
+
   private void retrieveValues(
     PdfArray fieldObjects,
     List<Field> values
@@ -67,13 +67,288 @@ import org.pdfclown.util.math.geom.Dimension;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.7
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF12)
 public final class TextField
   extends Field
 {
   // <class>
+  // <types>
+  /**
+    Pending appearance refresh.
+    <p>The refresh is split into three phases:</p>
+    <ol>
+      <li>preparation (on instantiation): the appearance objects are retrieved (or created), along
+      with everything the composition depends on (field attributes, fonts, contents);</li>
+      <li>{@link #compose() composition}: the text is laid out into the parsed contents; as it
+      touches neither the file nor the objects shared with other fields except the font, it can
+      be executed on any thread, provided that no other composition using the same font runs
+      concurrently (font objects keep track of the used glyphs);</li>
+      <li>{@link #flush() flush}: the contents are serialized back into the appearance stream.</li>
+    </ol>
+  */
+  final class AppearanceRefresh
+  {
+    private final PrimitiveComposer baseComposer;
+    private final EnumSet<FlagsEnum> flags;
+    private final Font font;
+    private final PdfName fontName;
+    private final double fontSize;
+    private final JustificationEnum justification;
+    private final int maxLength;
+    private final String text;
+
+    private AppearanceRefresh(
+      )
+    {
+      Widget widget = getWidgets().get(0);
+      FormXObject normalAppearance;
+      {
+        AppearanceStates normalAppearances = widget.getAppearance().getNormal();
+        normalAppearance = normalAppearances.get(null);
+        if(normalAppearance == null)
+        {
+          normalAppearances.put(
+            null,
+            normalAppearance = new FormXObject(
+              getDocument(),
+              Dimension.get(widget.getBox())
+              )
+            );
+        }
+      }
+      PdfName fontName = null;
+      double fontSize = 0;
+      {
+        PdfString defaultAppearanceState = getDefaultAppearanceState();
+        if(defaultAppearanceState == null)
+        {
+          // Retrieving the font to define the default appearance...
+          Font defaultFont = null;
+          PdfName defaultFontName = null;
+          {
+            // Field fonts.
+            FontResources normalAppearanceFonts = normalAppearance.getResources().getFonts();
+            for(Map.Entry<PdfName,Font> entry : normalAppearanceFonts.entrySet())
+            {
+              if(!entry.getValue().isSymbolic())
+              {
+                defaultFont = entry.getValue();
+                defaultFontName = entry.getKey();
+                break;
+              }
+            }
+            if(defaultFontName == null)
+            {
+              // Common fonts.
+              FontResources formFonts = getDocument().getForm().getResources().getFonts();
+              for(Map.Entry<PdfName,Font> entry : formFonts.entrySet())
+              {
+                if(!entry.getValue().isSymbolic())
+                {
+                  defaultFont = entry.getValue();
+                  defaultFontName = entry.getKey();
+                  break;
+                }
+              }
+              if(defaultFontName == null)
+              {
+                //TODO:manage name collision!
+                formFonts.put(
+                  defaultFontName = new PdfName("default"),
+                  defaultFont = new StandardType1Font(
+                    getDocument(),
+                    StandardType1Font.FamilyEnum.Helvetica,
+                    false,
+                    false
+                    )
+                  );
+              }
+              normalAppearanceFonts.put(defaultFontName, defaultFont);
+            }
+          }
+          Buffer buffer = new Buffer();
+          new SetFont(defaultFontName, isMultiline() ? 10 : 0).writeTo(buffer, getDocument());
+          widget.getBaseDataObject().put(PdfName.DA, defaultAppearanceState = new PdfString(buffer.toByteArray()));
+        }
+
+        // Retrieving the font to use...
+        @SuppressWarnings("resource")
+        ContentParser parser = new ContentParser(defaultAppearanceState.toByteArray());
+        for(ContentObject content : parser.parseContentObjects())
+        {
+          if(content instanceof SetFont)
+          {
+            SetFont setFontOperation = (SetFont)content;
+            fontName = setFontOperation.getName();
+            fontSize = setFontOperation.getSize();
+            break;
+          }
+        }
+        normalAppearance.getResources().getFonts().put(fontName, getDocument().getForm().getResources().getFonts().get(fontName));
+      }
+      this.fontName = fontName;
+      this.fontSize = fontSize;
+      font = normalAppearance.getResources().getFonts().get(fontName);
+
+      flags = getFlags();
+      justification = getJustification();
+      maxLength = getMaxLength();
+      text = (String)getValue();
+
+      // Parse the contents and load their resources!
+      baseComposer = new PrimitiveComposer(normalAppearance);
+      new ContentScanner(baseComposer.getScanner().getContents()).moveEnd();
+    }
+
+    /**
+      Lays out the field text into the appearance contents.
+    */
+    public void compose(
+      )
+    {
+      // Refreshing the field appearance...
+      /*
+       * TODO: resources MUST be resolved both through the apperance stream resource dictionary and
+       * from the DR-entry acroform resource dictionary
+       */
+      BlockComposer composer = new BlockComposer(baseComposer);
+      ContentScanner currentLevel = composer.getScanner();
+      boolean textShown = false;
+      while(currentLevel != null)
+      {
+        if(!currentLevel.moveNext())
+        {
+          currentLevel = currentLevel.getParentLevel();
+          continue;
+        }
+
+        ContentObject content = currentLevel.getCurrent();
+        if(content instanceof MarkedContent)
+        {
+          MarkedContent markedContent = (MarkedContent)content;
+          if(PdfName.Tx.equals(markedContent.getHeader().getTag()))
+          {
+            // Remove old text representation!
+            markedContent.getObjects().clear();
+            // Add new text representation!
+            baseComposer.setScanner(currentLevel.getChildLevel()); // Ensures the composer places new contents within the marked content block.
+            showText(composer);
+            textShown = true;
+          }
+        }
+        else if(content instanceof Text)
+        {currentLevel.remove();}
+        else if(currentLevel.getChildLevel() != null)
+        {currentLevel = currentLevel.getChildLevel();}
+      }
+      if(!textShown)
+      {
+        baseComposer.beginMarkedContent(PdfName.Tx);
+        showText(composer);
+        baseComposer.end();
+      }
+    }
+
+    /**
+      Serializes the appearance contents.
+    */
+    public void flush(
+      )
+    {baseComposer.flush();}
+
+    /**
+      Gets the font used by the composition.
+    */
+    public Font getFont(
+      )
+    {return font;}
+
+    private void showText(
+      BlockComposer composer
+      )
+    {
+      PrimitiveComposer baseComposer = composer.getBaseComposer();
+      ContentScanner scanner = baseComposer.getScanner();
+      Rectangle2D textBox = scanner.getContentContext().getBox();
+      double fontSize = this.fontSize;
+      if(scanner.getState().getFont() == null)
+      {
+        /*
+          NOTE: A zero value for size means that the font is to be auto-sized: its size is computed as
+          a function of the height of the annotation rectangle.
+        */
+        if(fontSize == 0)
+        {fontSize = textBox.getHeight() * 0.65;}
+        baseComposer.setFont(fontName, fontSize);
+      }
+
+      if(flags.contains(FlagsEnum.Comb)
+        && !flags.contains(FlagsEnum.FileSelect)
+        && !flags.contains(FlagsEnum.Multiline)
+        && !flags.contains(FlagsEnum.Password))
+      {
+        if(maxLength > 0)
+        {
+          textBox.setRect(
+            textBox.getX(),
+            textBox.getY(),
+            textBox.getWidth() / maxLength,
+            textBox.getHeight()
+            );
+          for(int index = 0, length = text.length(); index < length; index++)
+          {
+            composer.begin(
+              textBox,
+              XAlignmentEnum.Center,
+              YAlignmentEnum.Middle
+              );
+            composer.showText(Character.toString(text.charAt(index)));
+            composer.end();
+            textBox.setRect(
+              textBox.getX() + textBox.getWidth(),
+              textBox.getY(),
+              textBox.getWidth(),
+              textBox.getHeight()
+              );
+          }
+          return;
+        }
+      }
+
+      textBox.setRect(
+        textBox.getX() + 2,
+        textBox.getY(),
+        textBox.getWidth() - 4,
+        textBox.getHeight()
+        );
+      YAlignmentEnum yAlignment;
+      if(flags.contains(FlagsEnum.Multiline))
+      {
+        yAlignment = YAlignmentEnum.Top;
+        textBox.setRect(
+          textBox.getX(),
+          textBox.getY() + fontSize * .35,
+          textBox.getWidth(),
+          textBox.getHeight() - fontSize * .7
+          );
+      }
+      else
+      {
+        yAlignment = YAlignmentEnum.Middle;
+      }
+      composer.begin(
+        textBox,
+        justification.toXAlignment(),
+        yAlignment
+        );
+      composer.showText(text);
+      composer.end();
+    }
+  }
+  // </types>
+
   // <dynamic>
   // <constructors>
   /**
@@ -211,6 +486,22 @@ public final class TextField
   public void setValue(
     Object value
     )
+  {
+    AppearanceRefresh appearanceRefresh = setValue_(value);
+    appearanceRefresh.compose();
+    appearanceRefresh.flush();
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Sets the value of this field, leaving the composition of its appearance to the caller.
+
+    @see #setValue(Object)
+  */
+  AppearanceRefresh setValue_(
+    Object value
+    )
   {
     if(!(value == null
         || value instanceof String
@@ -244,233 +535,9 @@ public final class TextField
     else
     {getBaseDataObject().put(PdfName.V, null);}
     
-    refreshAppearance();
-  }
-  // </public>
-
-  // <private>
-  private void refreshAppearance(
-    )
-  {
-    Widget widget = getWidgets().get(0);
-    FormXObject normalAppearance;
-    {
-      AppearanceStates normalAppearances = widget.getAppearance().getNormal();
-      normalAppearance = normalAppearances.get(null);
-      if(normalAppearance == null)
-      {
-        normalAppearances.put(
-          null,
-          normalAppearance = new FormXObject(
-            getDocument(),
-            Dimension.get(widget.getBox())
-            )
-          );
-      }
-    }
-    PdfName fontName = null;
-    double fontSize = 0;
-    {
-      PdfString defaultAppearanceState = getDefaultAppearanceState();
-      if(defaultAppearanceState == null)
-      {
-        // Retrieving the font to define the default appearance...
-        Font defaultFont = null;
-        PdfName defaultFontName = null;
-        {
-          // Field fonts.
-          FontResources normalAppearanceFonts = normalAppearance.getResources().getFonts();
-          for(Map.Entry<PdfName,Font> entry : normalAppearanceFonts.entrySet())
-          {
-            if(!entry.getValue().isSymbolic())
-            {
-              defaultFont = entry.getValue();
-              defaultFontName = entry.getKey();
-              break;
-            }
-          }
-          if(defaultFontName == null)
-          {
-            // Common fonts.
-            FontResources formFonts = getDocument().getForm().getResources().getFonts();
-            for(Map.Entry<PdfName,Font> entry : formFonts.entrySet())
-            {
-              if(!entry.getValue().isSymbolic())
-              {
-                defaultFont = entry.getValue();
-                defaultFontName = entry.getKey();
-                break;
-              }
-            }
-            if(defaultFontName == null)
-            {
-              //TODO:manage name collision!
-              formFonts.put(
-                defaultFontName = new PdfName("default"),
-                defaultFont = new StandardType1Font(
-                  getDocument(),
-                  StandardType1Font.FamilyEnum.Helvetica,
-                  false,
-                  false
-                  )
-                );
-            }
-            normalAppearanceFonts.put(defaultFontName, defaultFont);
-          }
-        }
-        Buffer buffer = new Buffer();
-        new SetFont(defaultFontName, isMultiline() ? 10 : 0).writeTo(buffer, getDocument());
-        widget.getBaseDataObject().put(PdfName.DA, defaultAppearanceState = new PdfString(buffer.toByteArray()));
-      }
-
-      // Retrieving the font to use...
-      @SuppressWarnings("resource")
-      ContentParser parser = new ContentParser(defaultAppearanceState.toByteArray());
-      for(ContentObject content : parser.parseContentObjects())
-      {
-        if(content instanceof SetFont)
-        {
-          SetFont setFontOperation = (SetFont)content;
-          fontName = setFontOperation.getName();
-          fontSize = setFontOperation.getSize();
-          break;
-        }
-      }
-      normalAppearance.getResources().getFonts().put(fontName, getDocument().getForm().getResources().getFonts().get(fontName));
-    }
-
-    // Refreshing the field appearance...
-    /*
-     * TODO: resources MUST be resolved both through the apperance stream resource dictionary and
-     * from the DR-entry acroform resource dictionary
-     */
-    PrimitiveComposer baseComposer = new PrimitiveComposer(normalAppearance);
-    BlockComposer composer = new BlockComposer(baseComposer);
-    ContentScanner currentLevel = composer.getScanner();
-    boolean textShown = false;
-    while(currentLevel != null)
-    {
-      if(!currentLevel.moveNext())
-      {
-        currentLevel = currentLevel.getParentLevel();
-        continue;
-      }
-
-      ContentObject content = currentLevel.getCurrent();
-      if(content instanceof MarkedContent)
-      {
-        MarkedContent markedContent = (MarkedContent)content;
-        if(PdfName.Tx.equals(markedContent.getHeader().getTag()))
-        {
-          // Remove old text representation!
-          markedContent.getObjects().clear();
-          // Add new text representation!
-          baseComposer.setScanner(currentLevel.getChildLevel()); // Ensures the composer places new contents within the marked content block.
-          showText(composer, fontName, fontSize);
-          textShown = true;
-        }
-      }
-      else if(content instanceof Text)
-      {currentLevel.remove();}
-      else if(currentLevel.getChildLevel() != null)
-      {currentLevel = currentLevel.getChildLevel();}
-    }
-    if(!textShown)
-    {
-      baseComposer.beginMarkedContent(PdfName.Tx);
-      showText(composer, fontName, fontSize);
-      baseComposer.end();
-    }
-    baseComposer.flush();
-  }
-
-  private void showText(
-    BlockComposer composer,
-    PdfName fontName,
-    double fontSize
-    )
-  {
-    PrimitiveComposer baseComposer = composer.getBaseComposer();
-    ContentScanner scanner = baseComposer.getScanner();
-    Rectangle2D textBox = scanner.getContentContext().getBox();
-    if(scanner.getState().getFont() == null)
-    {
-      /*
-        NOTE: A zero value for size means that the font is to be auto-sized: its size is computed as
-        a function of the height of the annotation rectangle.
-      */
-      if(fontSize == 0)
-      {fontSize = textBox.getHeight() * 0.65;}
-      baseComposer.setFont(fontName, fontSize);
-    }
-
-    String text = (String)getValue();
-
-    EnumSet<FlagsEnum> flags = getFlags();
-    if(flags.contains(FlagsEnum.Comb)
-      && !flags.contains(FlagsEnum.FileSelect)
-      && !flags.contains(FlagsEnum.Multiline)
-      && !flags.contains(FlagsEnum.Password))
-    {
-      int maxLength = getMaxLength();
-      if(maxLength > 0)
-      {
-        textBox.setRect(
-          textBox.getX(),
-          textBox.getY(),
-          textBox.getWidth() / maxLength,
-          textBox.getHeight()
-          );
-        for(int index = 0, length = text.length(); index < length; index++)
-        {
-          composer.begin(
-            textBox,
-            XAlignmentEnum.Center,
-            YAlignmentEnum.Middle
-            );
-          composer.showText(Character.toString(text.charAt(index)));
-          composer.end();
-          textBox.setRect(
-            textBox.getX() + textBox.getWidth(),
-            textBox.getY(),
-            textBox.getWidth(),
-            textBox.getHeight()
-            );
-        }
-        return;
-      }
-    }
-
-    textBox.setRect(
-      textBox.getX() + 2,
-      textBox.getY(),
-      textBox.getWidth() - 4,
-      textBox.getHeight()
-      );
-    YAlignmentEnum yAlignment;
-    if(flags.contains(FlagsEnum.Multiline))
-    {
-      yAlignment = YAlignmentEnum.Top;
-      textBox.setRect(
-        textBox.getX(),
-        textBox.getY() + fontSize * .35,
-        textBox.getWidth(),
-        textBox.getHeight() - fontSize * .7
-        );
-    }
-    else
-    {
-      yAlignment = YAlignmentEnum.Middle;
-    }
-    composer.begin(
-      textBox,
-      getJustification().toXAlignment(),
-      yAlignment
-      );
-    composer.showText(text);
-    composer.end();
+    return new AppearanceRefresh();
   }
-  // </private>
+  // </internal>
   // </interface>
   // </dynamic>
   // </class>
@@ -40,6 +40,7 @@ import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.bytes.OutputStream;
 import org.pdfclown.documents.Document;
+import org.pdfclown.documents.contents.fonts.Font;
 import org.pdfclown.documents.interchange.metadata.Information;
 import org.pdfclown.objects.Cloner;
 import org.pdfclown.objects.PdfDataObject;
@@ -59,7 +60,7 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.2.0, 04/20/15
+  @version 0.2.0, 10/19/26
 */
 public final class File
   implements Closeable
@@ -103,7 +104,7 @@ public final class File
   {
     version = VersionEnum.PDF14.getVersion();
     trailer = prepareTrailer(new PdfDictionary());
-    indirectObjects = new IndirectObjects(this, null);
+    indirectObjects = new IndirectObjects(this, null, null);
     document = new Document(this);
   }
 
@@ -146,7 +147,7 @@ public final class File
     if(trailer.containsKey(PdfName.Encrypt)) // Encrypted file.
       throw new NotImplementedException("Encrypted files are currently not supported.");
 
-    indirectObjects = new IndirectObjects(this, info.getXrefEntries());
+    indirectObjects = new IndirectObjects(this, info.getXrefEntries(), info.getXrefOffsets());
     document = new Document(trailer.get(PdfName.Root));
     getConfiguration().setXRefMode(PdfName.XRef.equals(trailer.get(PdfName.Type)) ? XRefModeEnum.Compressed : XRefModeEnum.Plain);
   }
@@ -364,6 +365,13 @@ public final class File
     else
     {information.setModificationDate(new Date());}
 
+    // Completing the font structures (e.g. font subsetting)...
+    for(Object cachedObject : getDocument().cache.values().toArray())
+    {
+      if(cachedObject instanceof Font)
+      {((Font)cachedObject).flush();}
+    }
+
     Writer writer = Writer.get(this, stream);
     writer.write(mode);
   }
@@ -407,12 +415,16 @@ public final class File
       /*
         NOTE: If the temporary file exists (see save() method), it must overwrite the document file.
       */
-      java.io.File sourceFile = new java.io.File(getTempPath());
-      if(sourceFile.exists())
+      String tempPath = getTempPath();
+      if(tempPath != null) // File-system file.
       {
-        java.io.File targetFile = new java.io.File(path);
-        targetFile.delete();
-        sourceFile.renameTo(targetFile);
+        java.io.File sourceFile = new java.io.File(tempPath);
+        if(sourceFile.exists())
+        {
+          java.io.File targetFile = new java.io.File(path);
+          targetFile.delete();
+          sourceFile.renameTo(targetFile);
+        }
       }
     }
   }
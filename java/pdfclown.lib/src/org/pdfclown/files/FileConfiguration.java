@@ -28,6 +28,7 @@ package org.pdfclown.files;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 
+import org.pdfclown.tokens.NumberFormatter;
 import org.pdfclown.util.StringUtils;
 
 /**
@@ -42,6 +43,7 @@ public final class FileConfiguration
   // <dynamic>
   // <fields>
   private DecimalFormat realFormat;
+  private NumberFormatter realFormatter;
   private boolean streamFilterEnabled;
   private XRefModeEnum xrefMode = XRefModeEnum.Plain;
 
@@ -69,16 +71,36 @@ public final class FileConfiguration
     )
   {return file;}
 
+  /**
+    Gets the text format of real numbers.
+    <p>NOTE: Serialization doesn't use this format anymore (see {@link #getRealFormatter()}); as
+    {@link DecimalFormat} is not thread-safe, it shouldn't be shared across threads.</p>
+  */
   public DecimalFormat getRealFormat(
     )
-  {return realFormat;}
+  {
+    if(realFormat == null)
+    {
+      DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+      symbols.setDecimalSeparator('.');
+      realFormat = new DecimalFormat("0." + StringUtils.repeat("#", getRealPrecision()), symbols);
+    }
+    return realFormat;
+  }
+
+  /**
+    Gets the formatter applied to real numbers' serialization.
+  */
+  public NumberFormatter getRealFormatter(
+    )
+  {return realFormatter;}
 
   /**
     Gets the number of decimal places applied to real numbers' serialization.
   */
   public int getRealPrecision(
     )
-  {return realFormat.getMaximumFractionDigits();}
+  {return realFormatter.getPrecision();}
 
   /**
     Gets the document's cross-reference mode.
@@ -101,9 +123,8 @@ public final class FileConfiguration
     int value
     )
   {
-    DecimalFormatSymbols symbols = new DecimalFormatSymbols();
-    symbols.setDecimalSeparator('.');
-    realFormat = new DecimalFormat("0." + StringUtils.repeat("#", value <= 0 ? 5 : value), symbols);
+    realFormatter = new NumberFormatter(value);
+    realFormat = null;
   }
 
   /**
@@ -0,0 +1,101 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.files;
+
+import org.pdfclown.objects.PdfName;
+
+/**
+  File activity listener whose notifications are ignored by default.
+  <p>Subclasses override just the notifications they are interested in.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public abstract class FileListenerAdapter
+  implements IFileListener
+{
+  // <dynamic>
+  // <interface>
+  // <public>
+  // <IFileListener>
+  @Override
+  public void onObjectFetched(
+    File file,
+    int objectNumber,
+    boolean cached
+    )
+  {/* NOOP */}
+
+  @Override
+  public void onObjectParsed(
+    File file,
+    int objectNumber,
+    long duration
+    )
+  {/* NOOP */}
+
+  @Override
+  public void onSaved(
+    File file,
+    SerializationModeEnum mode,
+    long byteCount,
+    int objectCount,
+    long duration
+    )
+  {/* NOOP */}
+
+  @Override
+  public void onSavePhase(
+    File file,
+    SavePhaseEnum phase,
+    long duration
+    )
+  {/* NOOP */}
+
+  @Override
+  public void onStreamDecoded(
+    File file,
+    PdfName filter,
+    long inputLength,
+    long outputLength,
+    long duration
+    )
+  {/* NOOP */}
+
+  @Override
+  public void onXRefRead(
+    File file,
+    int sectionCount,
+    int entryCount,
+    long duration
+    )
+  {/* NOOP */}
+  // </IFileListener>
+  // </public>
+  // </interface>
+  // </dynamic>
+}
@@ -0,0 +1,190 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.files;
+
+import java.util.Arrays;
+
+import org.pdfclown.objects.PdfName;
+
+/**
+  File activity monitor.
+  <p>It dispatches the library's instrumentation events (cross-reference reading, object
+  resolution, stream decoding and serialization) to the registered {@link IFileListener
+  listeners}. Registration is global, as the first events of a file occur while it's being
+  opened; listeners can discriminate the files they are interested in through the <code>file</code>
+  parameter of each notification.</p>
+  <p>Instrumented code checks {@link #isEnabled()} before collecting any measurement, so that
+  its overhead is negligible when no listener is registered.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class FileMonitor
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final IFileListener[] NoListeners = new IFileListener[0];
+
+  private static volatile IFileListener[] listeners = NoListeners;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Registers the specified listener.
+  */
+  public static synchronized void addListener(
+    IFileListener listener
+    )
+  {
+    if(listener == null)
+      throw new NullPointerException("listener");
+
+    IFileListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+    newListeners[listeners.length] = listener;
+    listeners = newListeners;
+  }
+
+  /**
+    Gets whether any listener is registered.
+  */
+  public static boolean isEnabled(
+    )
+  {return listeners.length > 0;}
+
+  /**
+    Unregisters the specified listener.
+
+    @return Whether the listener was registered.
+  */
+  public static synchronized boolean removeListener(
+    IFileListener listener
+    )
+  {
+    IFileListener[] listeners = FileMonitor.listeners;
+    for(int index = 0; index < listeners.length; index++)
+    {
+      if(listeners[index] == listener)
+      {
+        IFileListener[] newListeners = new IFileListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, newListeners, 0, index);
+        System.arraycopy(listeners, index + 1, newListeners, index, newListeners.length - index);
+        FileMonitor.listeners = (newListeners.length > 0 ? newListeners : NoListeners);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+  */
+  public static void notifyObjectFetched(
+    File file,
+    int objectNumber,
+    boolean cached
+    )
+  {
+    for(IFileListener listener : listeners)
+    {listener.onObjectFetched(file, objectNumber, cached);}
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+  */
+  public static void notifyObjectParsed(
+    File file,
+    int objectNumber,
+    long duration
+    )
+  {
+    for(IFileListener listener : listeners)
+    {listener.onObjectParsed(file, objectNumber, duration);}
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+  */
+  public static void notifySaved(
+    File file,
+    SerializationModeEnum mode,
+    long byteCount,
+    int objectCount,
+    long duration
+    )
+  {
+    for(IFileListener listener : listeners)
+    {listener.onSaved(file, mode, byteCount, objectCount, duration);}
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+  */
+  public static void notifySavePhase(
+    File file,
+    SavePhaseEnum phase,
+    long duration
+    )
+  {
+    for(IFileListener listener : listeners)
+    {listener.onSavePhase(file, phase, duration);}
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+  */
+  public static void notifyStreamDecoded(
+    File file,
+    PdfName filter,
+    long inputLength,
+    long outputLength,
+    long duration
+    )
+  {
+    for(IFileListener listener : listeners)
+    {listener.onStreamDecoded(file, filter, inputLength, outputLength, duration);}
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+  */
+  public static void notifyXRefRead(
+    File file,
+    int sectionCount,
+    int entryCount,
+    long duration
+    )
+  {
+    for(IFileListener listener : listeners)
+    {listener.onXRefRead(file, sectionCount, entryCount, duration);}
+  }
+  // </public>
+  // </interface>
+  // </static>
+  // </class>
+}
@@ -0,0 +1,158 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.files;
+
+import org.pdfclown.objects.PdfName;
+
+/**
+  File activity listener.
+  <p>Listeners are registered through {@link FileMonitor}; as they are notified synchronously on
+  the thread doing the work, their implementation should be lightweight (typically, aggregating
+  counters or committing profiler events, such as JFR ones, whose fields mirror the method
+  parameters).</p>
+  <p>All durations are expressed in nanoseconds.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public interface IFileListener
+{
+  /**
+    Notifies that an indirect object has been requested.
+
+    @param file
+      File the object belongs to.
+    @param objectNumber
+      Object number.
+    @param cached
+      Whether the object had already been instantiated (either woken or modified) in the current
+      session; otherwise, it has just been woken.
+  */
+  void onObjectFetched(
+    File file,
+    int objectNumber,
+    boolean cached
+    );
+
+  /**
+    Notifies that the data object of an indirect object has been parsed from the source file.
+    <p>In case of objects compressed within an object stream, the duration includes the loading of
+    the object stream, if not already loaded.</p>
+
+    @param file
+      File the object belongs to.
+    @param objectNumber
+      Object number.
+    @param duration
+      Parsing time.
+  */
+  void onObjectParsed(
+    File file,
+    int objectNumber,
+    long duration
+    );
+
+  /**
+    Notifies that a file serialization has completed.
+
+    @param file
+      Serialized file.
+    @param mode
+      Serialization mode.
+    @param byteCount
+      Number of bytes written.
+    @param objectCount
+      Number of indirect objects serialized (objects compressed within object streams are
+      accounted by their containing stream).
+    @param duration
+      Serialization time.
+  */
+  void onSaved(
+    File file,
+    SerializationModeEnum mode,
+    long byteCount,
+    int objectCount,
+    long duration
+    );
+
+  /**
+    Notifies that a file serialization phase has completed.
+
+    @param file
+      Serialized file.
+    @param phase
+      Serialization phase.
+    @param duration
+      Phase time.
+  */
+  void onSavePhase(
+    File file,
+    SavePhaseEnum phase,
+    long duration
+    );
+
+  /**
+    Notifies that a filter has been applied to decode a stream body.
+
+    @param file
+      File the stream belongs to (<code>null</code> in case of detached stream).
+    @param filter
+      Filter name.
+    @param inputLength
+      Encoded body length.
+    @param outputLength
+      Decoded body length.
+    @param duration
+      Decoding time.
+  */
+  void onStreamDecoded(
+    File file,
+    PdfName filter,
+    long inputLength,
+    long outputLength,
+    long duration
+    );
+
+  /**
+    Notifies that the cross-reference information of a file has been read.
+
+    @param file
+      Read file.
+    @param sectionCount
+      Number of cross-reference sections (tables or streams) found along the update chain.
+    @param entryCount
+      Number of distinct cross-reference entries.
+    @param duration
+      Reading time.
+  */
+  void onXRefRead(
+    File file,
+    int sectionCount,
+    int entryCount,
+    long duration
+    );
+}
@@ -26,14 +26,17 @@
 package org.pdfclown.files;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 import org.pdfclown.objects.Cloner;
 import org.pdfclown.objects.PdfDataObject;
@@ -59,7 +62,7 @@ import org.pdfclown.util.NotImplementedException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/19/26
 */
 public final class IndirectObjects
   implements List<PdfIndirectObject>
@@ -76,10 +79,11 @@ public final class IndirectObjects
     Map of matching references of imported indirect objects.
     <p>This collection is used to prevent duplications among imported indirect
     objects.</p>
-    <p><code>Key</code> is the external indirect object hashcode, <code>Value</code> is the
-    matching internal indirect object.</p>
+    <p><code>Key</code> is the external file, <code>Value</code> is the map of its external
+    indirect objects' numbers to the matching internal indirect objects. External files are weakly
+    referenced, so that they can be disposed of once imported.</p>
   */
-  private final Hashtable<Integer,PdfIndirectObject> importedObjects = new Hashtable<Integer,PdfIndirectObject>();
+  private final Map<File,Map<Integer,PdfIndirectObject>> importedObjects = new WeakHashMap<File,Map<Integer,PdfIndirectObject>>();
   /**
     Collection of newly-registered indirect objects.
   */
@@ -94,6 +98,15 @@ public final class IndirectObjects
     Object counter.
   */
   private int lastObjectNumber;
+  /**
+    Offsets of the original uncompressed indirect objects, along with the boundaries of the
+    sections interleaved with them (cross-reference sections and end of file), in ascending order.
+  */
+  private long[] originalOffsets;
+  /**
+    Offsets of the original cross-reference sections.
+  */
+  private final List<Long> xrefOffsets;
   /**
     Offsets of the original indirect objects inside the associated file (to say:
     implicit collection of the original indirect objects).
@@ -106,11 +119,13 @@ public final class IndirectObjects
   // <constructors>
   IndirectObjects(
     File file,
-    SortedMap<Integer,XRefEntry> xrefEntries
+    SortedMap<Integer,XRefEntry> xrefEntries,
+    List<Long> xrefOffsets
     )
   {
     this.file = file;
     this.xrefEntries = xrefEntries;
+    this.xrefOffsets = xrefOffsets;
     if(this.xrefEntries == null) // No original indirect objects.
     {
       // Register the leading free-object!
@@ -196,15 +211,27 @@ public final class IndirectObjects
     if(cloner.getContext() != file)
       throw new IllegalArgumentException("cloner file context incompatible");
 
-    PdfIndirectObject indirectObject = importedObjects.get(object.hashCode());
+    /*
+      NOTE: Unregistered external indirect objects (such as virtual placeholders) have no meaningful
+      object number, so they cannot be tracked.
+    */
+    int objectNumber = object.getXrefEntry().getNumber();
+    Map<Integer,PdfIndirectObject> fileImportedObjects = null;
+    PdfIndirectObject indirectObject = null;
+    if(objectNumber > 0)
+    {
+      fileImportedObjects = importedObjects.get(object.getFile());
+      if(fileImportedObjects == null)
+      {importedObjects.put(object.getFile(), fileImportedObjects = new HashMap<Integer,PdfIndirectObject>());}
+      indirectObject = fileImportedObjects.get(objectNumber);
+    }
     // Hasn't the external indirect object been imported yet?
     if(indirectObject == null)
     {
+      indirectObject = add((PdfDataObject)null); // [DEV:AP] Circular reference issue solved.
       // Keep track of the imported indirect object!
-      importedObjects.put(
-        object.hashCode(),
-        indirectObject = add((PdfDataObject)null) // [DEV:AP] Circular reference issue solved.
-        );
+      if(fileImportedObjects != null)
+      {fileImportedObjects.put(objectNumber, indirectObject);}
       indirectObject.setDataObject((PdfDataObject)object.getDataObject().accept(cloner, null));
     }
     return indirectObject;
@@ -236,6 +263,64 @@ public final class IndirectObjects
     )
   {return file;}
 
+  /**
+    Gets the size of the original serialization of the specified object, as derived from the
+    offsets of the cross-reference table (no parsing is involved).
+    <p>This is a cheap estimate of the size of the object once saved, as long as it's
+    {@link PdfIndirectObject#isOriginal() original} and not {@link PdfIndirectObject#isUpdated()
+    updated}. The object is delimited by the next original object, cross-reference section (along
+    with its trailer) or end of file: as bytes not referenced by the cross-reference table (such
+    as obsolete object revisions left behind by incremental updates) are counted along with the
+    preceding object, this size is an upper bound.</p>
+
+    @param objectNumber Object number.
+    @return <code>-1</code>, if the object isn't serialized as an uncompressed indirect object in
+      the original file.
+    @since 0.2.0
+  */
+  public long getOriginalSize(
+    int objectNumber
+    )
+  {
+    if(xrefEntries == null)
+      return -1;
+
+    XRefEntry xrefEntry = xrefEntries.get(objectNumber);
+    if(xrefEntry == null
+      || xrefEntry.getUsage() != XRefEntry.UsageEnum.InUse
+      || xrefEntry.getOffset() < 0)
+      return -1;
+
+    if(originalOffsets == null)
+    {
+      long[] offsets = new long[xrefEntries.size() + xrefOffsets.size() + 1];
+      int offsetCount = 0;
+      for(XRefEntry entry : xrefEntries.values())
+      {
+        if(entry.getUsage() == XRefEntry.UsageEnum.InUse
+          && entry.getOffset() >= 0)
+        {offsets[offsetCount++] = entry.getOffset();}
+      }
+      for(Long xrefOffset : xrefOffsets)
+      {offsets[offsetCount++] = xrefOffset;}
+      offsets[offsetCount++] = file.getReader().getParser().getStream().getLength();
+      Arrays.sort(offsets, 0, offsetCount);
+
+      // Remove duplicates (e.g., cross-reference stream offset)!
+      int uniqueCount = 0;
+      for(int index = 0; index < offsetCount; index++)
+      {
+        if(uniqueCount == 0 || offsets[index] != offsets[uniqueCount - 1])
+        {offsets[uniqueCount++] = offsets[index];}
+      }
+      originalOffsets = Arrays.copyOf(offsets, uniqueCount);
+    }
+    int index = Arrays.binarySearch(originalOffsets, xrefEntry.getOffset());
+    return index >= 0 && index < originalOffsets.length - 1
+      ? originalOffsets[index + 1] - originalOffsets[index]
+      : -1;
+  }
+
   // <List>
   @Override
   public void add(
@@ -296,8 +381,13 @@ public final class IndirectObjects
           multiple incoherent instantiations of the same original indirect object.
         */
         wokenObjects.put(index, object = new PdfIndirectObject(file, null, xrefEntry));
+        if(FileMonitor.isEnabled())
+        {FileMonitor.notifyObjectFetched(file, index, false);}
+        return object;
       }
     }
+    if(FileMonitor.isEnabled())
+    {FileMonitor.notifyObjectFetched(file, index, true);}
     return object;
   }
 
@@ -26,7 +26,6 @@
 package org.pdfclown.objects;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,13 +35,14 @@ import org.pdfclown.documents.interaction.navigation.document.Destination;
 import org.pdfclown.files.File;
 import org.pdfclown.tokens.ObjectStream;
 import org.pdfclown.tokens.XRefStream;
+import org.pdfclown.util.CompactMap;
 
 /**
   Object cloner.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.2
-  @version 0.1.3, 03/07/13
+  @version 0.2.0, 10/19/26
 */
 public class Cloner
   extends Visitor
@@ -390,6 +390,8 @@ public class Cloner
           cloneFilter.afterClone(this, object, clone, index, cloneItem);
         }
       }
+      if(object.isPacked())
+      {clone.pack();}
     }
     cloneFilter.afterClone(this, object, clone);
     return clone;
@@ -404,7 +406,7 @@ public class Cloner
     Filter cloneFilter = matchFilter(object);
     PdfDictionary clone = (PdfDictionary)object.clone();
     {
-      clone.entries = new HashMap<PdfName,PdfDirectObject>();
+      clone.entries = new CompactMap<PdfName,PdfDirectObject>(object.entries.size());
       for(Map.Entry<PdfName,PdfDirectObject> entry : object.entries.entrySet())
       {
         PdfDirectObject sourceValue = entry.getValue();
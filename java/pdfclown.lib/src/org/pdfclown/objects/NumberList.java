@@ -0,0 +1,365 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.objects;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.files.File;
+import org.pdfclown.tokens.Chunk;
+import org.pdfclown.tokens.NumberFormatter;
+
+/**
+  Packed storage of {@link PdfArray} items which are all numbers.
+  <p>Values are kept in a primitive array (<code>int[]</code> as long as all the items are
+  integers, <code>double[]</code> otherwise), so that number objects are instantiated on demand
+  only.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+final class NumberList
+  extends AbstractList<PdfDirectObject>
+  implements RandomAccess
+{
+  // <class>
+  // <static>
+  // <interface>
+  /**
+    Gets whether the specified item can be stored in packed form.
+  */
+  static boolean isNumber(
+    Object item
+    )
+  {return item instanceof PdfInteger || item instanceof PdfReal;}
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Values (integer form).
+  */
+  private int[] intValues;
+  /**
+    Positions of integer items (real form).
+  */
+  private BitSet integerFlags;
+  /**
+    Values (real form).
+  */
+  private double[] realValues;
+  private int size;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param items Items to pack; they MUST be all {@link #isNumber(Object) numbers}.
+  */
+  NumberList(
+    List<PdfDirectObject> items
+    )
+  {
+    size = items.size();
+    intValues = new int[size];
+    for(int index = 0; index < size; index++)
+    {store(index, items.get(index));}
+  }
+
+  private NumberList(
+    NumberList list
+    )
+  {
+    size = list.size;
+    if(list.intValues != null)
+    {intValues = list.intValues.clone();}
+    else
+    {
+      realValues = list.realValues.clone();
+      integerFlags = (BitSet)list.integerFlags.clone();
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void add(
+    int index,
+    PdfDirectObject item
+    )
+  {
+    if(index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    else if(!isNumber(item))
+      throw new IllegalArgumentException("Packed arrays accept numbers only.");
+
+    if(intValues != null)
+    {
+      if(size == intValues.length)
+      {
+        int[] newValues = new int[grow()];
+        System.arraycopy(intValues, 0, newValues, 0, size);
+        intValues = newValues;
+      }
+      System.arraycopy(intValues, index, intValues, index + 1, size - index);
+    }
+    else
+    {
+      if(size == realValues.length)
+      {
+        double[] newValues = new double[grow()];
+        System.arraycopy(realValues, 0, newValues, 0, size);
+        realValues = newValues;
+      }
+      System.arraycopy(realValues, index, realValues, index + 1, size - index);
+      shiftFlags(index, 1);
+    }
+    size++;
+    modCount++;
+    store(index, item);
+  }
+
+  @Override
+  public PdfDirectObject get(
+    int index
+    )
+  {
+    checkIndex(index);
+    if(intValues != null)
+      return PdfInteger.get(intValues[index]);
+    else if(integerFlags.get(index))
+      return PdfInteger.get((int)realValues[index]);
+    else
+      return new PdfReal(realValues[index]);
+  }
+
+  @Override
+  public PdfDirectObject remove(
+    int index
+    )
+  {
+    PdfDirectObject oldItem = get(index);
+    int moveCount = size - index - 1;
+    if(intValues != null)
+    {System.arraycopy(intValues, index + 1, intValues, index, moveCount);}
+    else
+    {
+      System.arraycopy(realValues, index + 1, realValues, index, moveCount);
+      shiftFlags(index + 1, -1);
+    }
+    size--;
+    modCount++;
+    return oldItem;
+  }
+
+  @Override
+  public PdfDirectObject set(
+    int index,
+    PdfDirectObject item
+    )
+  {
+    if(!isNumber(item))
+      throw new IllegalArgumentException("Packed arrays accept numbers only.");
+
+    PdfDirectObject oldItem = get(index);
+    store(index, item);
+    return oldItem;
+  }
+
+  @Override
+  public int size(
+    )
+  {return size;}
+  // </public>
+
+  // <internal>
+  NumberList copy(
+    )
+  {return new NumberList(this);}
+
+  double getDoubleValue(
+    int index
+    )
+  {
+    checkIndex(index);
+    return intValues != null ? intValues[index] : realValues[index];
+  }
+
+  int getIntValue(
+    int index
+    )
+  {
+    checkIndex(index);
+    return intValues != null ? intValues[index] : (int)Math.round(realValues[index]);
+  }
+
+  double[] toDoubleArray(
+    )
+  {
+    double[] values = new double[size];
+    if(intValues != null)
+    {
+      for(int index = 0; index < size; index++)
+      {values[index] = intValues[index];}
+    }
+    else
+    {System.arraycopy(realValues, 0, values, 0, size);}
+    return values;
+  }
+
+  int[] toIntArray(
+    )
+  {
+    if(intValues != null)
+      return Arrays.copyOf(intValues, size);
+
+    int[] values = new int[size];
+    for(int index = 0; index < size; index++)
+    {values[index] = (int)Math.round(realValues[index]);}
+    return values;
+  }
+
+  /**
+    Serializes the values, as their respective number objects would.
+  */
+  void writeTo(
+    IOutputStream stream,
+    File context
+    )
+  {
+    if(intValues != null)
+    {
+      for(int index = 0; index < size; index++)
+      {NumberFormatter.writeTo(intValues[index], stream); stream.write(Chunk.Space);}
+    }
+    else
+    {
+      NumberFormatter realFormatter = context.getConfiguration().getRealFormatter();
+      for(int index = 0; index < size; index++)
+      {
+        if(integerFlags.get(index))
+        {NumberFormatter.writeTo((int)realValues[index], stream);}
+        else
+        {realFormatter.writeTo(realValues[index], stream);}
+        stream.write(Chunk.Space);
+      }
+    }
+  }
+  // </internal>
+
+  // <private>
+  private void checkIndex(
+    int index
+    )
+  {
+    if(index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  private int grow(
+    )
+  {return Math.max(size + (size >> 1), 8);}
+
+  private void setInt(
+    int index,
+    int value
+    )
+  {
+    if(intValues != null)
+    {intValues[index] = value;}
+    else
+    {
+      realValues[index] = value;
+      integerFlags.set(index);
+    }
+  }
+
+  private void setReal(
+    int index,
+    double value
+    )
+  {
+    if(intValues != null) // Switch to real form.
+    {
+      realValues = new double[intValues.length];
+      for(int valueIndex = 0; valueIndex < size; valueIndex++)
+      {realValues[valueIndex] = intValues[valueIndex];}
+      integerFlags = new BitSet(realValues.length);
+      integerFlags.set(0, size);
+      intValues = null;
+    }
+    realValues[index] = value;
+    integerFlags.clear(index);
+  }
+
+  /**
+    Shifts the integer flags from the specified position on.
+
+    @param index Position of the first flag to shift.
+    @param delta Shift amount (either <code>1</code> or <code>-1</code>).
+  */
+  private void shiftFlags(
+    int index,
+    int delta
+    )
+  {
+    if(delta > 0)
+    {
+      for(int flagIndex = size; --flagIndex >= index;)
+      {integerFlags.set(flagIndex + 1, integerFlags.get(flagIndex));}
+    }
+    else
+    {
+      for(int flagIndex = index; flagIndex < size; flagIndex++)
+      {integerFlags.set(flagIndex - 1, integerFlags.get(flagIndex));}
+      integerFlags.clear(size - 1);
+    }
+  }
+
+  /**
+    Stores the value of the specified number item.
+  */
+  private void store(
+    int index,
+    PdfDirectObject item
+    )
+  {
+    if(item instanceof PdfInteger)
+    {setInt(index, ((PdfInteger)item).getRawValue());}
+    else
+    {setReal(index, ((PdfReal)item).getRawValue());}
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
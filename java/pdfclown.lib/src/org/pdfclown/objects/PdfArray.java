@@ -42,10 +42,12 @@ import org.pdfclown.util.NotImplementedException;
 /**
   PDF array object, that is a one-dimensional collection of (possibly-heterogeneous) objects
   arranged sequentially [PDF:1.7:3.2.5].
+  <p>Arrays whose items are all numbers can be {@link #pack() packed}, so that their values are
+  stored as primitives and number objects are instantiated on demand only.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.1.2, 01/09/13
+  @version 0.2.0, 10/19/26
 */
 public final class PdfArray
   extends PdfDirectObject
@@ -61,7 +63,7 @@ public final class PdfArray
 
   // <dynamic>
   // <fields>
-  ArrayList<PdfDirectObject> items;
+  List<PdfDirectObject> items;
 
   private PdfObject parent;
   private boolean updated;
@@ -164,6 +166,7 @@ public final class PdfArray
           - it MUST be marked as virtual in order not to unnecessarily serialize it;
           - it MUST be put into this array without affecting its update status.
       */
+      unpack();
       try
       {
         item = (PdfDirectObject)include(direct
@@ -183,11 +186,53 @@ public final class PdfArray
     return item;
   }
 
+  /**
+    Gets the numeric value of the item at the specified position.
+
+    @param index Index of the item.
+    @throws ClassCastException If the item is not a number.
+    @since 0.2.0
+  */
+  public double getDoubleValue(
+    int index
+    )
+  {
+    return items instanceof NumberList
+      ? ((NumberList)items).getDoubleValue(index)
+      : ((PdfNumber<?>)resolve(index)).getDoubleValue();
+  }
+
+  /**
+    Gets the numeric value of the item at the specified position, rounded to integer.
+
+    @param index Index of the item.
+    @throws ClassCastException If the item is not a number.
+    @since 0.2.0
+  */
+  public int getIntValue(
+    int index
+    )
+  {
+    return items instanceof NumberList
+      ? ((NumberList)items).getIntValue(index)
+      : ((PdfNumber<?>)resolve(index)).getIntValue();
+  }
+
   @Override
   public PdfObject getParent(
     )
   {return parent;}
 
+  /**
+    Gets whether the items are stored in packed form.
+
+    @see #pack()
+    @since 0.2.0
+  */
+  public boolean isPacked(
+    )
+  {return items instanceof NumberList;}
+
   @Override
   public boolean isUpdateable(
     )
@@ -198,6 +243,31 @@ public final class PdfArray
     )
   {return updated;}
 
+  /**
+    Packs the items, in case they are all numbers.
+    <p>Packed values are stored as primitives, dramatically reducing the memory footprint of
+    large numeric arrays (such as font widths); the array keeps behaving the same, instantiating
+    number objects on demand. Should a non-numeric item be added later, the array transparently
+    returns to ordinary storage.</p>
+
+    @return This array.
+    @since 0.2.0
+  */
+  public PdfArray pack(
+    )
+  {
+    if(!(items instanceof NumberList))
+    {
+      for(PdfDirectObject item : items)
+      {
+        if(!NumberList.isNumber(item))
+          return this;
+      }
+      items = new NumberList(items);
+    }
+    return this;
+  }
+
   /**
     Gets the dereferenced value corresponding to the given index.
     <p>This method takes care to resolve the value returned by {@link #get(int)}.</p>
@@ -238,7 +308,7 @@ public final class PdfArray
     )
   {
     PdfArray otherArray = (PdfArray)other;
-    ArrayList<PdfDirectObject> otherItems = otherArray.items;
+    List<PdfDirectObject> otherItems = otherArray.items;
     // Update the other!
     otherArray.items = this.items;
     otherArray.update();
@@ -248,6 +318,42 @@ public final class PdfArray
     return this;
   }
 
+  /**
+    Gets the numeric values of the items.
+
+    @throws ClassCastException If any item is not a number.
+    @since 0.2.0
+  */
+  public double[] toDoubleArray(
+    )
+  {
+    if(items instanceof NumberList)
+      return ((NumberList)items).toDoubleArray();
+
+    double[] values = new double[items.size()];
+    for(int index = 0; index < values.length; index++)
+    {values[index] = ((PdfNumber<?>)resolve(index)).getDoubleValue();}
+    return values;
+  }
+
+  /**
+    Gets the numeric values of the items, rounded to integer.
+
+    @throws ClassCastException If any item is not a number.
+    @since 0.2.0
+  */
+  public int[] toIntArray(
+    )
+  {
+    if(items instanceof NumberList)
+      return ((NumberList)items).toIntArray();
+
+    int[] values = new int[items.size()];
+    for(int index = 0; index < values.length; index++)
+    {values[index] = ((PdfNumber<?>)resolve(index)).getIntValue();}
+    return values;
+  }
+
   @Override
   public String toString(
     )
@@ -274,12 +380,17 @@ public final class PdfArray
     // Begin.
     stream.write(BeginArrayChunk);
     // Items.
-    for(PdfDirectObject item : items)
+    if(items instanceof NumberList)
+    {((NumberList)items).writeTo(stream, context);}
+    else
     {
-      if(item != null && item.isVirtual())
-        continue;
+      for(PdfDirectObject item : items)
+      {
+        if(item != null && item.isVirtual())
+          continue;
 
-      PdfDirectObject.writeTo(stream, context, item); stream.write(Chunk.Space);
+        PdfDirectObject.writeTo(stream, context, item); stream.write(Chunk.Space);
+      }
     }
     // End.
     stream.write(EndArrayChunk);
@@ -292,6 +403,7 @@ public final class PdfArray
     PdfDirectObject item
     )
   {
+    ensureStorage(item);
     items.add(index, (PdfDirectObject)include(item));
     update();
   }
@@ -328,13 +440,16 @@ public final class PdfArray
   @Override
   public ListIterator<PdfDirectObject> listIterator(
     )
-  {return items.listIterator();}
+  {return listIterator(0);}
 
   @Override
   public ListIterator<PdfDirectObject> listIterator(
     int index
     )
-  {return items.listIterator(index);}
+  {
+    unpack(); // NOTE: List iterators may insert any kind of item.
+    return items.listIterator(index);
+  }
 
   @Override
   public PdfDirectObject remove(
@@ -353,6 +468,7 @@ public final class PdfArray
     PdfDirectObject item
     )
   {
+    ensureStorage(item);
     PdfDirectObject oldItem = items.set(index, item = (PdfDirectObject)include(item));
     exclude(oldItem);
     update();
@@ -364,7 +480,10 @@ public final class PdfArray
     int fromIndex,
     int toIndex
     )
-  {return items.subList(fromIndex,toIndex);}
+  {
+    unpack(); // NOTE: Sublists may insert any kind of item.
+    return items.subList(fromIndex,toIndex);
+  }
 
   // <Collection>
   @Override
@@ -372,6 +491,7 @@ public final class PdfArray
     PdfDirectObject item
     )
   {
+    ensureStorage(item);
     items.add(item = (PdfDirectObject)include(item));
     update();
     return true;
@@ -519,6 +639,30 @@ public final class PdfArray
     )
   {parent = value;}
   // </internal>
+
+  // <private>
+  /**
+    Ensures the item storage is able to accommodate the specified item.
+  */
+  private void ensureStorage(
+    PdfDirectObject item
+    )
+  {
+    if(items instanceof NumberList
+      && !NumberList.isNumber(item))
+    {unpack();}
+  }
+
+  /**
+    Reverts the items to ordinary storage.
+  */
+  private void unpack(
+    )
+  {
+    if(items instanceof NumberList)
+    {items = new ArrayList<PdfDirectObject>(items);}
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -27,7 +27,6 @@ package org.pdfclown.objects;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,14 +36,17 @@ import org.pdfclown.tokens.Chunk;
 import org.pdfclown.tokens.Encoding;
 import org.pdfclown.tokens.Keyword;
 import org.pdfclown.tokens.XRefEntry;
+import org.pdfclown.util.CompactMap;
 import org.pdfclown.util.NotImplementedException;
 
 /**
   PDF dictionary object [PDF:1.6:3.2.6].
+  <p>Entries keep their insertion order; as most dictionaries have just a few entries, they are
+  stored in {@link CompactMap compact form} until they grow large.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.1.2.1, 04/24/15
+  @version 0.2.0, 10/19/26
 */
 public final class PdfDictionary
   extends PdfDirectObject
@@ -74,7 +76,7 @@ public final class PdfDictionary
   */
   public PdfDictionary(
     )
-  {entries = new HashMap<PdfName,PdfDirectObject>();}
+  {entries = new CompactMap<PdfName,PdfDirectObject>();}
 
   /**
     Creates a new empty dictionary object with the specified initial capacity.
@@ -85,7 +87,7 @@ public final class PdfDictionary
   public PdfDictionary(
     int capacity
     )
-  {entries = new HashMap<PdfName,PdfDirectObject>(capacity);}
+  {entries = new CompactMap<PdfName,PdfDirectObject>(capacity);}
 
   /**
     Creates a new dictionary object with the specified entries.
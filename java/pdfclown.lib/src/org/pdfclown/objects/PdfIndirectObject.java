@@ -27,6 +27,7 @@ package org.pdfclown.objects;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
+import org.pdfclown.files.FileMonitor;
 import org.pdfclown.tokens.Encoding;
 import org.pdfclown.tokens.Keyword;
 import org.pdfclown.tokens.ObjectStream;
@@ -38,7 +39,7 @@ import org.pdfclown.tokens.XRefEntry.UsageEnum;
   PDF indirect object [PDF:1.6:3.2.9].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 04/23/15
+  @version 0.2.0, 10/19/26
 */
 public class PdfIndirectObject
   extends PdfObject
@@ -177,6 +178,13 @@ public class PdfIndirectObject
     )
   {return xrefEntry.getUsage() != UsageEnum.Free;}
 
+  /**
+    Gets whether the data object has been loaded.
+  */
+  public boolean isLoaded(
+    )
+  {return dataObject != null;}
+
   /**
     Gets whether this object comes intact from an existing file.
   */
@@ -189,6 +197,32 @@ public class PdfIndirectObject
     )
   {return updateable;}
 
+  /**
+    Releases the data object, so that it is parsed anew from the file on next access.
+    <p>This is useful to keep memory usage flat while processing large documents in read-only
+    mode. Objects retrieved before the release (the data object, its descendants and their
+    wrappers) are detached from this indirect object, so any change applied to them is lost.</p>
+
+    @return Whether the data object has been released (only original, unmodified objects can be
+      released).
+    @since 0.2.0
+  */
+  public boolean release(
+    )
+  {
+    if(dataObject == null
+      || !original
+      || updated
+      || virtual
+      || file == null
+      || file.getReader() == null)
+      return false;
+
+    exclude(dataObject);
+    dataObject = null;
+    return true;
+  }
+
   @Override
   public void setUpdateable(
     boolean value
@@ -284,6 +318,7 @@ public class PdfIndirectObject
   {
     if(dataObject == null)
     {
+      long startTime = (FileMonitor.isEnabled() ? System.nanoTime() : 0);
       switch (xrefEntry.getUsage())
       {
         case Free: // Free entry (no data object at all).
@@ -303,6 +338,8 @@ public class PdfIndirectObject
           break;
         }
       }
+      if(startTime != 0 && dataObject != null)
+      {FileMonitor.notifyObjectParsed(file, xrefEntry.getNumber(), System.nanoTime() - startTime);}
     }
     return dataObject;
   }
@@ -27,6 +27,7 @@ package org.pdfclown.objects;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
+import org.pdfclown.tokens.NumberFormatter;
 
 /**
   PDF integer number object [PDF:1.6:3.2.2].
@@ -98,7 +99,7 @@ public final class PdfInteger
     IOutputStream stream,
     File context
     )
-  {stream.write(Integer.toString(getRawValue()));}
+  {NumberFormatter.writeTo(getRawValue(), stream);}
   // </public>
 
   // <protected>
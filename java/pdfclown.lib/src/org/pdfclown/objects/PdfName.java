@@ -36,7 +36,7 @@ import org.pdfclown.tokens.Keyword;
   PDF name object [PDF:1.6:3.2.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/02/15
+  @version 0.2.0, 10/19/26
 */
 public final class PdfName
   extends PdfSimpleObject<String>
@@ -70,6 +70,7 @@ public final class PdfName
   public static final PdfName AllOff = new PdfName("AllOff");
   public static final PdfName AllOn = new PdfName("AllOn");
   public static final PdfName AllPages = new PdfName("AllPages");
+  public static final PdfName Alternate = new PdfName("Alternate");
   public static final PdfName AN = new PdfName("AN");
   public static final PdfName And = new PdfName("And");
   public static final PdfName Annot = new PdfName("Annot");
@@ -100,6 +101,7 @@ public final class PdfName
   public static final PdfName BitsPerComponent = new PdfName("BitsPerComponent");
   public static final PdfName BitsPerSample = new PdfName("BitsPerSample");
   public static final PdfName Bl = new PdfName("Bl");
+  public static final PdfName BlackIs1 = new PdfName("BlackIs1");
   public static final PdfName BlackPoint = new PdfName("BlackPoint");
   public static final PdfName BleedBox = new PdfName("BleedBox");
   public static final PdfName Blinds = new PdfName("Blinds");
@@ -137,11 +139,13 @@ public final class PdfName
   public static final PdfName ClosedArrow = new PdfName("ClosedArrow");
   public static final PdfName CMap = new PdfName("CMap");
   public static final PdfName CMapName = new PdfName("CMapName");
+  public static final PdfName CMYK = new PdfName("CMYK");
   public static final PdfName Color = new PdfName("Color");
   public static final PdfName ColorBurn = new PdfName("ColorBurn");
   public static final PdfName ColorDodge = new PdfName("ColorDodge");
   public static final PdfName Colors = new PdfName("Colors");
   public static final PdfName ColorSpace = new PdfName("ColorSpace");
+  public static final PdfName ColorTransform = new PdfName("ColorTransform");
   public static final PdfName Columns = new PdfName("Columns");
   public static final PdfName Comment = new PdfName("Comment");
   public static final PdfName Confidential = new PdfName("Confidential");
@@ -196,12 +200,16 @@ public final class PdfName
   public static final PdfName DV = new PdfName("DV");
   public static final PdfName DW = new PdfName("DW");
   public static final PdfName E = new PdfName("E");
+  public static final PdfName EarlyChange = new PdfName("EarlyChange");
   public static final PdfName EF = new PdfName("EF");
   public static final PdfName EmbeddedFile = new PdfName("EmbeddedFile");
   public static final PdfName EmbeddedFiles = new PdfName("EmbeddedFiles");
   public static final PdfName Encode = new PdfName("Encode");
+  public static final PdfName EncodedByteAlign = new PdfName("EncodedByteAlign");
   public static final PdfName Encoding = new PdfName("Encoding");
   public static final PdfName Encrypt = new PdfName("Encrypt");
+  public static final PdfName EndOfBlock = new PdfName("EndOfBlock");
+  public static final PdfName EndOfLine = new PdfName("EndOfLine");
   public static final PdfName Event = new PdfName("Event");
   public static final PdfName Exclusion = new PdfName("Exclusion");
   public static final PdfName Experimental = new PdfName("Experimental");
@@ -257,6 +265,7 @@ public final class PdfName
   public static final PdfName Functions = new PdfName("Functions");
   public static final PdfName FunctionType = new PdfName("FunctionType");
   public static final PdfName FWParams = new PdfName("FWParams");
+  public static final PdfName G = new PdfName("G");
   public static final PdfName Gamma = new PdfName("Gamma");
   public static final PdfName Glitter = new PdfName("Glitter");
   public static final PdfName GoTo = new PdfName("GoTo");
@@ -286,7 +295,9 @@ public final class PdfName
   public static final PdfName IdentityH = new PdfName("Identity-H");
   public static final PdfName IdentityV = new PdfName("Identity-V");
   public static final PdfName IF = new PdfName("IF");
+  public static final PdfName IM = new PdfName("IM");
   public static final PdfName Image = new PdfName("Image");
+  public static final PdfName ImageMask = new PdfName("ImageMask");
   public static final PdfName ImportData = new PdfName("ImportData");
   public static final PdfName Ind = new PdfName("Ind");
   public static final PdfName Index = new PdfName("Index");
@@ -296,6 +307,7 @@ public final class PdfName
   public static final PdfName InkList = new PdfName("InkList");
   public static final PdfName Insert = new PdfName("Insert");
   public static final PdfName Intent = new PdfName("Intent");
+  public static final PdfName Interpolate = new PdfName("Interpolate");
   public static final PdfName IRT = new PdfName("IRT");
   public static final PdfName IT = new PdfName("IT");
   public static final PdfName ItalicAngle = new PdfName("ItalicAngle");
@@ -322,6 +334,7 @@ public final class PdfName
   public static final PdfName LE = new PdfName("LE");
   public static final PdfName Leading = new PdfName("Leading");
   public static final PdfName Length = new PdfName("Length");
+  public static final PdfName Length1 = new PdfName("Length1");
   public static final PdfName LI = new PdfName("LI");
   public static final PdfName Lighten = new PdfName("Lighten");
   public static final PdfName Limits = new PdfName("Limits");
@@ -339,6 +352,7 @@ public final class PdfName
   public static final PdfName M = new PdfName("M");
   public static final PdfName Mac = new PdfName("Mac");
   public static final PdfName MacRomanEncoding = new PdfName("MacRomanEncoding");
+  public static final PdfName Mask = new PdfName("Mask");
   public static final PdfName Matrix = new PdfName("Matrix");
   public static final PdfName max = new PdfName("max");
   public static final PdfName MaxLen = new PdfName("MaxLen");
@@ -469,6 +483,7 @@ public final class PdfName
   public static final PdfName Root = new PdfName("Root");
   public static final PdfName ROpenArrow = new PdfName("ROpenArrow");
   public static final PdfName Rotate = new PdfName("Rotate");
+  public static final PdfName Rows = new PdfName("Rows");
   public static final PdfName RT = new PdfName("RT");
   public static final PdfName RunLengthDecode = new PdfName("RunLengthDecode");
   public static final PdfName S = new PdfName("S");
@@ -499,6 +514,7 @@ public final class PdfName
   public static final PdfName SinglePage = new PdfName("SinglePage");
   public static final PdfName Size = new PdfName("Size");
   public static final PdfName Slash = new PdfName("Slash");
+  public static final PdfName SMask = new PdfName("SMask");
   public static final PdfName SoftLight = new PdfName("SoftLight");
   public static final PdfName Sold = new PdfName("Sold");
   public static final PdfName Sound = new PdfName("Sound");
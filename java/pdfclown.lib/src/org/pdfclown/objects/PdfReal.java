@@ -103,7 +103,7 @@ public final class PdfReal
     IOutputStream stream,
     File context
     )
-  {stream.write(context.getConfiguration().getRealFormat().format(getRawValue()));}
+  {context.getConfiguration().getRealFormatter().writeTo(getRawValue(), stream);}
   // </public>
 
   // <protected>
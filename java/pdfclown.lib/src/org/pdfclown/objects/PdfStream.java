@@ -37,6 +37,7 @@ import org.pdfclown.bytes.filters.Filter;
 import org.pdfclown.documents.files.FileSpecification;
 import org.pdfclown.documents.files.IFileResource;
 import org.pdfclown.files.File;
+import org.pdfclown.files.FileMonitor;
 import org.pdfclown.tokens.Encoding;
 import org.pdfclown.tokens.Keyword;
 import org.pdfclown.tokens.Symbol;
@@ -45,7 +46,7 @@ import org.pdfclown.tokens.Symbol;
   PDF stream object [PDF:1.6:3.2.7].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/19/26
 */
 public class PdfStream
   extends PdfDataObject
@@ -189,8 +190,8 @@ public class PdfStream
         PdfDataObject parameters = getParameters();
         if(filter instanceof PdfName) // Single filter.
         {
-          body.decode(
-            Filter.get((PdfName)filter),
+          decode(
+            (PdfName)filter,
             (PdfDictionary)parameters
             );
         }
@@ -200,8 +201,8 @@ public class PdfStream
           Iterator<PdfDirectObject> parametersIterator = (parameters != null ? ((PdfArray)parameters).iterator() : null);
           while(filterIterator.hasNext())
           {
-            body.decode(
-              Filter.get((PdfName)resolve(filterIterator.next())),
+            decode(
+              (PdfName)resolve(filterIterator.next()),
               (PdfDictionary)(parametersIterator != null ? resolve(parametersIterator.next()) : null)
               );
           }
@@ -516,6 +517,28 @@ public class PdfStream
     )
   {parent = value;}
   // </internal>
+
+  // <private>
+  /**
+    Decodes the body through the specified filter.
+  */
+  private void decode(
+    PdfName filterName,
+    PdfDictionary parameters
+    )
+  {
+    Filter filter = Filter.get(filterName);
+    if(FileMonitor.isEnabled())
+    {
+      long inputLength = body.getLength();
+      long startTime = System.nanoTime();
+      body.decode(filter, parameters);
+      FileMonitor.notifyStreamDecoded(getFile(), filterName, inputLength, body.getLength(), System.nanoTime() - startTime);
+    }
+    else
+    {body.decode(filter, parameters);}
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -27,6 +27,11 @@ package org.pdfclown.objects;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
@@ -43,7 +48,7 @@ import org.pdfclown.util.NotImplementedException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.2
-  @version 0.2.0, 05/01/15
+  @version 0.2.0, 10/19/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class Tree<
@@ -214,7 +219,7 @@ public abstract class Tree<
   /**
     Key-value pairs collection filler.
   */
-  private interface IFiller<TCollection extends Collection<?>>
+  private interface IFiller<TCollection>
   {
     void add(
       PdfArray pairs,
@@ -223,6 +228,31 @@ public abstract class Tree<
     TCollection getCollection(
       );
   }
+
+  /**
+    Entry decorated with its key value for sorting.
+  */
+  private static final class SortEntry<TKey extends PdfSimpleObject<?>,TValue extends PdfObjectWrapper<? extends PdfDataObject>>
+    implements Comparable<SortEntry<TKey,TValue>>
+  {
+    final Map.Entry<? extends TKey,? extends TValue> entry;
+    final Comparable<Object> keyValue;
+
+    @SuppressWarnings("unchecked")
+    SortEntry(
+      Map.Entry<? extends TKey,? extends TValue> entry
+      )
+    {
+      this.entry = entry;
+      keyValue = (Comparable<Object>)entry.getKey().getValue();
+    }
+
+    @Override
+    public int compareTo(
+      SortEntry<TKey,TValue> other
+      )
+    {return keyValue.compareTo(other.keyValue);}
+  }
   // </types>
 
   // <static>
@@ -232,11 +262,27 @@ public abstract class Tree<
     Note that the tree (high) order is assumed twice as much (see {@link Children.Info#Info(int, int)}).
   */
   private static final int TreeLowOrder = 5;
+
+  /**
+    Default maximum number of children per node on bulk load.
+  */
+  public static final int DefaultNodeSize = TreeLowOrder * 2;
+  /**
+    Number of lookups (since the last mutation) beyond which the lookup index is built.
+  */
+  private static final int IndexLookupThreshold = 32;
   // </fields>
   // </static>
 
   // <dynamic>
   // <fields>
+  /**
+    Lookup index (base values by key values).
+    <p>It's lazily built on read-heavy usage (see {@link #get(Object)}) and discarded on
+    mutation.</p>
+  */
+  private Map<Object,PdfDirectObject> index;
+  private int lookupCount;
   private PdfName pairsKey;
   // </fields>
 
@@ -280,11 +326,104 @@ public abstract class Tree<
     return null;
   }
 
+  /**
+    Replaces the tree contents with the specified entries, building a balanced tree in one pass.
+    <p>This is much faster than putting the entries one by one, as no node is split nor revisited.
+    </p>
+
+    @param entries Entries to load, sorted by key (with no duplicates).
+    @param nodeSize Maximum number of children (entries of leaf nodes, kids of intermediate nodes)
+      per node. Node sizes beyond {@link #DefaultNodeSize} make the tree shallower, at the cost of
+      splits on subsequent insertions.
+    @throws IllegalArgumentException If entries aren't sorted (this tree is left untouched).
+    @since 0.2.0
+  */
+  public void load(
+    Collection<? extends Map.Entry<? extends TKey,? extends TValue>> entries,
+    int nodeSize
+    )
+  {
+    if(nodeSize < 2)
+      throw new IllegalArgumentException("nodeSize MUST be at least 2.");
+
+    // 1. Leaf nodes.
+    /*
+      NOTE: Entries are collected (and validated) before the current contents are cleared, so that
+      invalid entries leave this tree untouched.
+    */
+    int entryCount = entries.size();
+    int leafCount = Math.max((entryCount + nodeSize - 1) / nodeSize, 1);
+    List<PdfArray> leafPairs = new ArrayList<PdfArray>(leafCount);
+    {
+      Iterator<? extends Map.Entry<? extends TKey,? extends TValue>> entryIterator = entries.iterator();
+      PdfDirectObject lastKey = null;
+      for(int leafIndex = 0; leafIndex < leafCount; leafIndex++)
+      {
+        // NOTE: Entries are evenly distributed, so that nodes don't fall below their minimum size.
+        int leafEntryCount = entryCount / leafCount + (leafIndex < entryCount % leafCount ? 1 : 0);
+        PdfArray pairs = loadPairs(entryIterator, leafEntryCount, lastKey);
+        if(!pairs.isEmpty())
+        {lastKey = pairs.get(pairs.size() - 2);}
+        leafPairs.add(pairs);
+      }
+    }
+
+    clear();
+
+    PdfDictionary root = getBaseDataObject();
+    if(leafCount == 1) // Root leaf.
+    {
+      root.put(pairsKey, leafPairs.get(0));
+      return;
+    }
+
+    List<PdfDirectObject> nodes = new ArrayList<PdfDirectObject>(leafCount);
+    for(PdfArray pairs : leafPairs)
+    {
+      PdfDictionary node = new PdfDictionary(2);
+      node.put(PdfName.Limits, new PdfArray(pairs.get(0), pairs.get(pairs.size() - 2)));
+      node.put(pairsKey, pairs);
+      nodes.add(getFile().register(node)); // NOTE: Nodes MUST be indirect objects.
+    }
+
+    // 2. Intermediate nodes.
+    while(nodes.size() > nodeSize)
+    {
+      int kidCount = nodes.size();
+      int nodeCount = (kidCount + nodeSize - 1) / nodeSize;
+      List<PdfDirectObject> parentNodes = new ArrayList<PdfDirectObject>(nodeCount);
+      for(int nodeIndex = 0, kidIndex = 0; nodeIndex < nodeCount; nodeIndex++)
+      {
+        int nodeKidCount = kidCount / nodeCount + (nodeIndex < kidCount % nodeCount ? 1 : 0);
+        PdfArray kids = new PdfArray(nodes.subList(kidIndex, kidIndex += nodeKidCount));
+
+        PdfDictionary node = new PdfDictionary(2);
+        node.put(
+          PdfName.Limits,
+          new PdfArray(
+            ((PdfArray)((PdfDictionary)kids.resolve(0)).get(PdfName.Limits)).get(0),
+            ((PdfArray)((PdfDictionary)kids.resolve(nodeKidCount - 1)).get(PdfName.Limits)).get(1)
+            )
+          );
+        node.put(PdfName.Kids, kids);
+        parentNodes.add(getFile().register(node));
+      }
+      nodes = parentNodes;
+    }
+
+    // 3. Root node.
+    root.remove(pairsKey);
+    root.put(PdfName.Kids, new PdfArray(nodes));
+  }
+
   // <Map>
   @Override
   public void clear(
     )
-  {clear(getBaseDataObject());}
+  {
+    invalidateIndex();
+    clear(getBaseDataObject());
+  }
 
   @Override
   public boolean containsKey(
@@ -339,6 +478,13 @@ public abstract class Tree<
     )
   {throw new NotImplementedException();}
 
+  /**
+    {@inheritDoc}
+    <p>On read-heavy usage (many lookups with no mutation in between), lookups are served by an
+    in-memory index of the entries, which is discarded as soon as the tree is modified through
+    this object. Modifications applied otherwise (through another tree object or directly to the
+    underlying data objects) aren't tracked: avoid keeping tree objects across such changes.</p>
+  */
   @Override
   @SuppressWarnings("unchecked")
   public TValue get(
@@ -346,6 +492,15 @@ public abstract class Tree<
     )
   {
     TKey keyObject = (TKey)key;
+    if(index == null
+      && ++lookupCount > IndexLookupThreshold)
+    {buildIndex();}
+    if(index != null)
+    {
+      PdfDirectObject valueObject = index.get(keyObject.getValue());
+      return valueObject != null ? wrapValue(valueObject) : null;
+    }
+
     PdfDictionary parent = getBaseDataObject();
     while(true)
     {
@@ -445,6 +600,8 @@ public abstract class Tree<
     TValue value
     )
   {
+    invalidateIndex();
+
     // Get the root node!
     PdfDictionary root = getBaseDataObject();
 
@@ -470,13 +627,47 @@ public abstract class Tree<
     return put(key, value, root);
   }
 
+  /**
+    {@inheritDoc}
+    <p>Entries put into an empty tree are {@link #load(Collection, int) bulk-loaded}.</p>
+  */
   @Override
   public void putAll(
     Map<? extends TKey,? extends TValue> entries
     )
   {
-    for(Map.Entry<? extends TKey,? extends TValue> entry : entries.entrySet())
-    {put(entry.getKey(), entry.getValue());}
+    if(entries.size() > 1 && isEmpty())
+    {
+      /*
+        NOTE: Keys are sorted by their decoded values, which are evaluated once per entry (key
+        comparison would otherwise decode them on every invocation).
+      */
+      List<SortEntry<TKey,TValue>> sortEntries = new ArrayList<SortEntry<TKey,TValue>>(entries.size());
+      for(Map.Entry<? extends TKey,? extends TValue> entry : entries.entrySet())
+      {sortEntries.add(new SortEntry<TKey,TValue>(entry));}
+      Collections.sort(sortEntries);
+
+      // Remove duplicate keys (the last one wins, as in case of sequential insertion)!
+      /*
+        NOTE: As keys are compared by value, distinct key objects may be equivalent.
+      */
+      List<Map.Entry<? extends TKey,? extends TValue>> sortedEntries = new ArrayList<Map.Entry<? extends TKey,? extends TValue>>(sortEntries.size());
+      for(int index = 0, length = sortEntries.size(); index < length; index++)
+      {
+        SortEntry<TKey,TValue> sortEntry = sortEntries.get(index);
+        if(index + 1 < length
+          && sortEntry.compareTo(sortEntries.get(index + 1)) == 0)
+          continue;
+
+        sortedEntries.add(sortEntry.entry);
+      }
+      load(sortedEntries, DefaultNodeSize);
+    }
+    else
+    {
+      for(Map.Entry<? extends TKey,? extends TValue> entry : entries.entrySet())
+      {put(entry.getKey(), entry.getValue());}
+    }
   }
 
   @Override
@@ -485,6 +676,8 @@ public abstract class Tree<
     Object key
     )
   {
+    invalidateIndex();
+
     TKey keyObject = (TKey)key;
     PdfDictionary node = getBaseDataObject();
     Stack<PdfReference> nodeReferenceStack = new Stack<PdfReference>();
@@ -692,6 +885,33 @@ public abstract class Tree<
   // </protected>
 
   // <private>
+  /**
+    Builds the lookup index.
+  */
+  private void buildIndex(
+    )
+  {
+    IFiller<Map<Object,PdfDirectObject>> filler = new IFiller<Map<Object,PdfDirectObject>>()
+      {
+        private final Map<Object,PdfDirectObject> index = new HashMap<Object,PdfDirectObject>();
+
+        @Override
+        public void add(
+          PdfArray pairs,
+          int offset
+          )
+        {index.put(((PdfSimpleObject<?>)pairs.get(offset)).getValue(), pairs.get(offset + 1));}
+
+        @Override
+        public Map<Object,PdfDirectObject> getCollection(
+          )
+        {return index;}
+      };
+    fill(filler, getBaseDataObject());
+
+    index = filler.getCollection();
+  }
+
   /**
     Removes all the given node's children.
     <p>As this method doesn't apply balancing, it's suitable for clearing root nodes only.</p>
@@ -718,7 +938,7 @@ public abstract class Tree<
     node.remove(PdfName.Limits);
   }
 
-  private <TCollection extends Collection<?>> void fill(
+  private <TCollection> void fill(
     IFiller<TCollection> filler,
     PdfDictionary node
     )
@@ -756,6 +976,44 @@ public abstract class Tree<
     }
   }
 
+  /**
+    Discards the lookup index.
+  */
+  private void invalidateIndex(
+    )
+  {
+    index = null;
+    lookupCount = 0;
+  }
+
+  /**
+    Gets the key-value pairs of a leaf node.
+
+    @param entryIterator Source entries.
+    @param entryCount Number of entries to take from the source.
+    @param lastKey Key preceding the entries (<code>null</code> if none).
+  */
+  private PdfArray loadPairs(
+    Iterator<? extends Map.Entry<? extends TKey,? extends TValue>> entryIterator,
+    int entryCount,
+    PdfDirectObject lastKey
+    )
+  {
+    List<PdfDirectObject> pairs = new ArrayList<PdfDirectObject>(entryCount * 2);
+    for(int index = 0; index < entryCount; index++)
+    {
+      Map.Entry<? extends TKey,? extends TValue> entry = entryIterator.next();
+      TKey key = entry.getKey();
+      if(lastKey != null && key.compareTo(lastKey) <= 0)
+        throw new IllegalArgumentException("Entries MUST be sorted by key, with no duplicates (" + key + " after " + lastKey + ").");
+
+      pairs.add(key);
+      pairs.add(entry.getValue().getBaseObject());
+      lastKey = key;
+    }
+    return new PdfArray(pairs);
+  }
+
   /**
     Puts an entry under the given tree node.
 
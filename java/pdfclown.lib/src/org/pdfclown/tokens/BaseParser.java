@@ -48,12 +48,21 @@ import org.pdfclown.util.parsers.PostScriptParser;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/19/26
 */
 public class BaseParser
   extends PostScriptParser
 {
   // <class>
+  // <static>
+  // <fields>
+  /**
+    Minimum size of numeric arrays to {@link PdfArray#pack() pack}.
+  */
+  private static final int PackedArrayMinSize = 8;
+  // </fields>
+  // </static>
+
   // <dynamic>
   // <constructors>
   protected BaseParser(
@@ -141,6 +150,8 @@ public class BaseParser
           array.add((PdfDirectObject)parsePdfObject());
         }
         array.setUpdateable(true);
+        if(array.size() >= PackedArrayMinSize)
+        {array.pack();}
         return array;
       }
       case Literal:
@@ -32,6 +32,7 @@ import java.util.Map;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.files.SavePhaseEnum;
 import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
@@ -41,7 +42,7 @@ import org.pdfclown.util.NotImplementedException;
   PDF file writer implementing compressed cross-reference stream [PDF:1.6:3.4.7].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 03/21/15
+  @version 0.2.0, 10/19/26
 */
 final class CompressedWriter
   extends Writer
@@ -74,6 +75,7 @@ final class CompressedWriter
     // 1. Original content (header, body and previous trailer).
     FileParser parser = file.getReader().getParser();
     stream.write(parser.getStream());
+    endPhase(SavePhaseEnum.Header);
 
     // 2. Body update (modified indirect objects insertion).
     XRefEntry xrefStreamEntry;
@@ -132,6 +134,7 @@ final class CompressedWriter
       {
         prevFreeEntry.setOffset(0); // Links back to the first free object. NOTE: The first entry in the table (object number 0) is always free.
       }
+      endPhase(SavePhaseEnum.Body);
 
       // 2.2. XRef stream.
       updateTrailer(xrefStream.getHeader(), stream);
@@ -154,6 +157,7 @@ final class CompressedWriter
 
     // 3. Tail.
     writeTail(xrefStreamEntry.getOffset());
+    endPhase(SavePhaseEnum.XRef);
   }
 
   @Override
@@ -167,6 +171,7 @@ final class CompressedWriter
   {
     // 1. Header [PDF:1.6:3.4.1].
     writeHeader();
+    endPhase(SavePhaseEnum.Header);
 
     // 2. Body [PDF:1.6:3.4.2,3,7].
     XRefEntry xrefStreamEntry;
@@ -203,6 +208,7 @@ final class CompressedWriter
           );
       }
       prevFreeEntry.setOffset(0); // Links back to the first free object. NOTE: The first entry in the table (object number 0) is always free.
+      endPhase(SavePhaseEnum.Body);
 
       // 2.2. XRef stream.
       updateTrailer(xrefStream.getHeader(), stream);
@@ -224,6 +230,7 @@ final class CompressedWriter
 
     // 3. Tail.
     writeTail(xrefStreamEntry.getOffset());
+    endPhase(SavePhaseEnum.XRef);
   }
   // </protected>
 
@@ -262,6 +269,7 @@ final class CompressedWriter
         int offset = (int)stream.getLength();
         // Add entry content!
         indirectObject.writeTo(stream, file);
+        objectCount++;
         // Set entry content's offset!
         xrefEntry.setOffset(offset);
       }
@@ -0,0 +1,320 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tokens;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.pdfclown.bytes.IOutputStream;
+
+/**
+  Number formatter for serialization purposes.
+  <p>It writes the shortest plain representation of a number at the configured precision (no
+  exponent, no trailing zeros) directly as ASCII bytes, without intermediate strings. Integral
+  values take a dedicated fast path.</p>
+  <p>Its output is the same as {@link java.text.DecimalFormat}'s: the digits never exceed the
+  shortest representation of the number (see {@link Double#toString(double)}), and ties are
+  rounded half-even on the exact binary value (so that, for example, <code>13.205</code> becomes
+  <code>13.21</code> at 2 decimal places, as its binary value is slightly greater than its
+  decimal literal).</p>
+  <p>Instances are immutable and can be safely shared across concurrent serialization threads.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class NumberFormatter
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Number of decimal places applied when no explicit precision is requested.
+  */
+  public static final int DefaultPrecision = 5;
+  /**
+    Maximum number of decimal places supported.
+  */
+  public static final int MaxPrecision = 17;
+
+  /**
+    Magnitude (exclusive) of scaled values handled by the fast path (2^53, beyond which doubles
+    can't represent every integer).
+  */
+  private static final double FastLimit = 9007199254740992d;
+  private static final long[] Powers = new long[19]; // 10^0 to 10^18.
+  /**
+    Per-thread scratch area where digits are laid out before being written.
+  */
+  private static final ThreadLocal<byte[]> ScratchBuffer = new ThreadLocal<byte[]>()
+    {
+      @Override
+      protected byte[] initialValue(
+        )
+      {return new byte[ScratchBufferSize];}
+    };
+  /**
+    Maximum length of a fast-path representation (sign, 19 digits and decimal point).
+  */
+  private static final int ScratchBufferSize = 32;
+
+  static
+  {
+    Powers[0] = 1;
+    for(int index = 1; index < Powers.length; index++)
+    {Powers[index] = Powers[index - 1] * 10;}
+  }
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the plain representation of the specified integer.
+  */
+  public static String format(
+    long value
+    )
+  {
+    byte[] buffer = ScratchBuffer.get();
+    int length = formatInteger(value, buffer, 0);
+    return Encoding.Pdf.decode(buffer, 0, length);
+  }
+
+  /**
+    Writes the plain representation of the specified integer into the specified stream.
+  */
+  public static void writeTo(
+    long value,
+    IOutputStream stream
+    )
+  {
+    byte[] buffer = ScratchBuffer.get();
+    stream.write(buffer, 0, formatInteger(value, buffer, 0));
+  }
+  // </public>
+
+  // <private>
+  /**
+    Writes the decimal digits of the specified integer into the buffer.
+
+    @return Offset following the last written byte.
+  */
+  private static int formatInteger(
+    long value,
+    byte[] buffer,
+    int offset
+    )
+  {
+    if(value < 0)
+    {
+      if(value == Long.MIN_VALUE)
+      {
+        byte[] bytes = Encoding.Pdf.encode(Long.toString(value));
+        System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+        return offset + bytes.length;
+      }
+
+      buffer[offset++] = '-';
+      value = -value;
+    }
+    return formatDigits(value, digitCount(value), buffer, offset);
+  }
+
+  /**
+    Writes the decimal digits of the specified non-negative integer into the buffer, left-padding
+    them with zeros up to the specified count.
+
+    @return Offset following the last written byte.
+  */
+  private static int formatDigits(
+    long value,
+    int count,
+    byte[] buffer,
+    int offset
+    )
+  {
+    int end = offset + count;
+    for(int index = end - 1; index >= offset; index--)
+    {
+      buffer[index] = (byte)('0' + (int)(value % 10));
+      value /= 10;
+    }
+    return end;
+  }
+
+  /**
+    Gets the number of decimal digits of the specified non-negative integer.
+  */
+  private static int digitCount(
+    long value
+    )
+  {
+    int count = 1;
+    while(count < Powers.length && value >= Powers[count])
+    {count++;}
+    return count;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final int precision;
+  private final long scale;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param precision Maximum number of decimal places (non-positive values fall back to
+      {@link #DefaultPrecision}; values greater than {@link #MaxPrecision} are capped).
+  */
+  public NumberFormatter(
+    int precision
+    )
+  {
+    this.precision = (precision <= 0 ? DefaultPrecision : Math.min(precision, MaxPrecision));
+    this.scale = Powers[this.precision];
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the plain representation of the specified real number.
+  */
+  public String format(
+    double value
+    )
+  {
+    byte[] buffer = ScratchBuffer.get();
+    int length = format(value, buffer);
+    return length >= 0 ? Encoding.Pdf.decode(buffer, 0, length) : formatSlow(value);
+  }
+
+  /**
+    Gets the maximum number of decimal places.
+  */
+  public int getPrecision(
+    )
+  {return precision;}
+
+  /**
+    Writes the plain representation of the specified real number into the specified stream.
+  */
+  public void writeTo(
+    double value,
+    IOutputStream stream
+    )
+  {
+    byte[] buffer = ScratchBuffer.get();
+    int length = format(value, buffer);
+    if(length >= 0)
+    {stream.write(buffer, 0, length);}
+    else
+    {stream.write(formatSlow(value));}
+  }
+  // </public>
+
+  // <private>
+  /**
+    Lays out the representation of the specified value into the buffer.
+
+    @return Length of the representation; negative if the value exceeds the fast-path domain.
+  */
+  private int format(
+    double value,
+    byte[] buffer
+    )
+  {
+    // Integral value?
+    if(value == (long)value && Math.abs(value) < FastLimit)
+      return formatInteger((long)value, buffer, 0);
+
+    double scaledValue = value * scale;
+    if(!(Math.abs(scaledValue) < FastLimit)) // NOTE: Also catches NaN and infinities.
+      return -1;
+    /*
+      NOTE: The scaled value carries the rounding error of the product, so values near a tie
+      can't be reliably rounded here.
+    */
+    double roundedValue = Math.rint(scaledValue);
+    if(Math.abs(Math.abs(scaledValue - roundedValue) - .5) <= Math.ulp(scaledValue))
+      return -1;
+
+    long units = (long)roundedValue;
+    int offset = 0;
+    if(units < 0)
+    {
+      buffer[offset++] = '-';
+      units = -units;
+    }
+    else if(units == 0)
+    {
+      buffer[offset++] = '0';
+      return offset;
+    }
+
+    offset = formatDigits(units / scale, digitCount(units / scale), buffer, offset);
+    long fraction = units % scale;
+    if(fraction != 0)
+    {
+      // Trim trailing zeros!
+      int fractionDigitCount = precision;
+      while(fraction % 10 == 0)
+      {
+        fraction /= 10;
+        fractionDigitCount--;
+      }
+      buffer[offset++] = '.';
+      offset = formatDigits(fraction, fractionDigitCount, buffer, offset);
+    }
+    return offset;
+  }
+
+  private String formatSlow(
+    double value
+    )
+  {
+    if(Double.isNaN(value) || Double.isInfinite(value))
+      throw new IllegalArgumentException("Non-finite real number (" + value + ") cannot be serialized.");
+
+    BigDecimal decimal = BigDecimal.valueOf(value); // Shortest representation.
+    if(decimal.scale() > precision)
+    {
+      /*
+        NOTE: Rounding is applied to the exact binary value, as the shortest representation may
+        fall on a tie its binary value doesn't.
+      */
+      decimal = new BigDecimal(value).setScale(precision, RoundingMode.HALF_EVEN);
+    }
+    return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -33,6 +33,7 @@ import java.util.Map;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.files.SavePhaseEnum;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfInteger;
@@ -44,7 +45,7 @@ import org.pdfclown.util.NotImplementedException;
   PDF file writer implementing classic cross-reference table [PDF:1.6:3.4.3].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2, 08/23/12
+  @version 0.2.0, 10/19/26
 */
 final class PlainWriter
   extends Writer
@@ -79,6 +80,7 @@ final class PlainWriter
     // 1. Original content (head, body and previous trailer).
     FileParser parser = file.getReader().getParser();
     stream.write(parser.getStream());
+    endPhase(SavePhaseEnum.Header);
 
     // 2. Body update (modified indirect objects insertion).
     int xrefSize = file.getIndirectObjects().size();
@@ -133,6 +135,7 @@ final class PlainWriter
             );
           // Add in-use entry content!
           indirectObjectEntry.getValue().writeTo(stream, file);
+          objectCount++;
         }
         else // Free entry.
         {
@@ -157,6 +160,7 @@ final class PlainWriter
         xrefSubBuilder
         );
     }
+    endPhase(SavePhaseEnum.Body);
 
     // 3. XRef-table last section.
     long startxref = stream.getLength();
@@ -164,6 +168,7 @@ final class PlainWriter
 
     // 4. Trailer.
     writeTrailer(startxref, xrefSize, parser);
+    endPhase(SavePhaseEnum.XRef);
   }
 
   @Override
@@ -177,6 +182,7 @@ final class PlainWriter
   {
     // 1. Header [PDF:1.6:3.4.1].
     writeHeader();
+    endPhase(SavePhaseEnum.Header);
 
     // 2. Body [PDF:1.6:3.4.2].
     int xrefSize = file.getIndirectObjects().size();
@@ -211,6 +217,7 @@ final class PlainWriter
             );
           // Add in-use entry content!
           indirectObject.writeTo(stream, file);
+          objectCount++;
         }
         else // Free entry.
         {
@@ -239,6 +246,7 @@ final class PlainWriter
       // End last block!
       xrefBuilder.append(xrefInUseBlockBuilder);
     }
+    endPhase(SavePhaseEnum.Body);
 
     // 3. XRef table (unique section) [PDF:1.6:3.4.3].
     long startxref = stream.getLength();
@@ -246,6 +254,7 @@ final class PlainWriter
 
     // 4. Trailer [PDF:1.6:3.4.4].
     writeTrailer(startxref, xrefSize, null);
+    endPhase(SavePhaseEnum.XRef);
   }
   // </protected>
 
@@ -27,12 +27,15 @@ package org.pdfclown.tokens;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 import org.pdfclown.Version;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.files.File;
+import org.pdfclown.files.FileMonitor;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
@@ -43,7 +46,7 @@ import org.pdfclown.util.parsers.PostScriptParser.TokenTypeEnum;
   PDF file reader.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/19/26
 */
 public final class Reader
   implements Closeable
@@ -55,16 +58,19 @@ public final class Reader
     private final PdfDictionary trailer;
     private final Version version;
     private final SortedMap<Integer,XRefEntry> xrefEntries;
+    private final List<Long> xrefOffsets;
 
     FileInfo(
       Version version,
       PdfDictionary trailer,
-      SortedMap<Integer,XRefEntry> xrefEntries
+      SortedMap<Integer,XRefEntry> xrefEntries,
+      List<Long> xrefOffsets
       )
     {
       this.version = version;
       this.trailer = trailer;
       this.xrefEntries = xrefEntries;
+      this.xrefOffsets = xrefOffsets;
     }
 
     public PdfDictionary getTrailer(
@@ -78,6 +84,16 @@ public final class Reader
     public SortedMap<Integer,XRefEntry> getXrefEntries(
       )
     {return xrefEntries;}
+
+    /**
+      Gets the offsets of the cross-reference sections, from the latest to the earliest (as
+      chained through their trailers).
+
+      @since 0.2.0
+    */
+    public List<Long> getXrefOffsets(
+      )
+    {return xrefOffsets;}
   }
   // </classes>
 
@@ -115,15 +131,20 @@ public final class Reader
     )
   {
 //TODO:hybrid xref table/stream
+    long startTime = (FileMonitor.isEnabled() ? System.nanoTime() : 0);
+    int sectionCount = 0;
     Version version = Version.get(parser.retrieveVersion());
     PdfDictionary trailer = null;
     SortedMap<Integer,XRefEntry> xrefEntries = new TreeMap<Integer,XRefEntry>();
+    List<Long> xrefOffsets = new ArrayList<Long>();
     {
       long sectionOffset = parser.retrieveXRefOffset();
       while(sectionOffset > -1)
       {
         // Move to the start of the xref section!
         parser.seek(sectionOffset);
+        sectionCount++;
+        xrefOffsets.add(sectionOffset);
 
         PdfDictionary sectionTrailer;
         if(parser.getToken(1).equals(Keyword.XRef)) // XRef-table section.
@@ -226,7 +247,9 @@ public final class Reader
         sectionOffset = (prevXRefOffset != null ? prevXRefOffset.getValue() : -1);
       }
     }
-    return new FileInfo(version, trailer, xrefEntries);
+    if(startTime != 0)
+    {FileMonitor.notifyXRefRead(parser.getFile(), sectionCount, xrefEntries.size(), System.nanoTime() - startTime);}
+    return new FileInfo(version, trailer, xrefEntries, xrefOffsets);
   }
 
   // <Closeable>
@@ -30,17 +30,19 @@ package org.pdfclown.tokens;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.0
-  @version 0.1.0
+  @version 0.2.0, 10/19/26
 */
 public final class Symbol
 {
   public static final char CapitalR = 'R';
   public static final char CarriageReturn = '\r';
+  public static final char CloseBrace = '}';
   public static final char CloseAngleBracket = '>';
   public static final char CloseRoundBracket = ')';
   public static final char CloseSquareBracket = ']';
   public static final char LineFeed = '\n';
   public static final char OpenAngleBracket = '<';
+  public static final char OpenBrace = '{';
   public static final char OpenRoundBracket = '(';
   public static final char OpenSquareBracket = '[';
   public static final char Percent = '%';
@@ -28,6 +28,8 @@ package org.pdfclown.tokens;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.FileIdentifier;
+import org.pdfclown.files.FileMonitor;
+import org.pdfclown.files.SavePhaseEnum;
 import org.pdfclown.files.SerializationModeEnum;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfName;
@@ -36,7 +38,7 @@ import org.pdfclown.objects.PdfName;
   PDF file writer.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 03/30/15
+  @version 0.2.0, 10/19/26
 */
 public abstract class Writer
 {
@@ -80,7 +82,16 @@ public abstract class Writer
   // <dynamic>
   // <fields>
   protected final File file;
+  /**
+    Number of indirect objects serialized so far.
+  */
+  protected int objectCount;
   protected final IOutputStream stream;
+
+  /**
+    Start time of the current serialization phase (<code>0</code> if monitoring is disabled).
+  */
+  private long phaseStartTime;
   // </fields>
 
   // <constructors>
@@ -119,6 +130,13 @@ public abstract class Writer
     SerializationModeEnum mode
     )
   {
+    long startTime = 0, startLength = 0;
+    if(FileMonitor.isEnabled())
+    {
+      phaseStartTime = startTime = System.nanoTime();
+      startLength = stream.getLength();
+    }
+
     switch(mode)
     {
       case Incremental:
@@ -135,10 +153,29 @@ public abstract class Writer
         writeLinearized();
         break;
     }
+
+    if(startTime != 0)
+    {FileMonitor.notifySaved(file, mode, stream.getLength() - startLength, objectCount, System.nanoTime() - startTime);}
   }
   // </public>
 
   // <protected>
+  /**
+    Marks the end of the specified serialization phase, which is assumed to have begun at the end
+    of the previous one.
+  */
+  protected final void endPhase(
+    SavePhaseEnum phase
+    )
+  {
+    if(phaseStartTime == 0)
+      return;
+
+    long time = System.nanoTime();
+    FileMonitor.notifySavePhase(file, phase, time - phaseStartTime);
+    phaseStartTime = time;
+  }
+
   /**
     Updates the specified trailer.
     NOTE: this method has to be called just before serializing the trailer object.
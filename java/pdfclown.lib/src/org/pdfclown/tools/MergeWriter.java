@@ -0,0 +1,781 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.pdfclown.Version;
+import org.pdfclown.VersionEnum;
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.Page;
+import org.pdfclown.files.File;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.objects.PdfString;
+import org.pdfclown.objects.PdfTextString;
+import org.pdfclown.tokens.Chunk;
+import org.pdfclown.tokens.Encoding;
+import org.pdfclown.tokens.Keyword;
+import org.pdfclown.tokens.Symbol;
+
+/**
+  Streaming document merger.
+  <p>Contrary to {@link PageManager}, which imports the source pages into a document kept in
+  memory until it's saved, this writer serializes the pages of each source document directly to
+  the target stream, so that the source can be released before moving to the next one; only the
+  page-tree skeleton, the outline entries, the form field roots and (if
+  {@link #setStreamSharingEnabled(boolean) stream sharing} is enabled) the stream fingerprints are
+  kept in memory. This way, merging thousands of documents runs in (nearly) flat memory.</p>
+  <p>Each source page is written along with the objects it depends on (contents, resources,
+  annotations and so on), inheritable attributes included. Document-level features other than
+  form fields (named destinations, structure tree, document outline and so on) are NOT merged;
+  optionally, a bookmark can be added for each source document (see
+  {@link #append(Document, String)}).</p>
+  <p>Usage:</p>
+  <pre>MergeWriter writer = new MergeWriter(stream);
+for(String path : paths)
+{writer.append(path, null);}
+writer.close(); // Completes the target file (the target stream is left open).</pre>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class MergeWriter
+  implements Closeable
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final byte[] BeginIndirectObjectChunk = Encoding.Pdf.encode(Symbol.Space + Keyword.BeginIndirectObject + Symbol.LineFeed);
+  private static final byte[] BeginStreamBodyChunk = Encoding.Pdf.encode(Symbol.LineFeed + Keyword.BeginStream + Symbol.LineFeed);
+  private static final byte[] EndIndirectObjectChunk = Encoding.Pdf.encode(Symbol.LineFeed + Keyword.EndIndirectObject + Symbol.LineFeed);
+  private static final byte[] EndStreamBodyChunk = Encoding.Pdf.encode(Symbol.LineFeed + Keyword.EndStream);
+  private static final byte[] HeaderBinaryHintChunk = new byte[]{(byte)Symbol.LineFeed,(byte)Symbol.Percent,(byte)0x80,(byte)0x80,(byte)0x80,(byte)0x80,(byte)Symbol.LineFeed};
+  private static final String ReferenceChunk = " 0 " + Keyword.Reference;
+  private static final String XRefEOLChunk = "" + Symbol.CarriageReturn + Symbol.LineFeed;
+
+  /**
+    Version declared by the file header; later versions are declared by the document catalog
+    [PDF:1.7:3.4.1].
+  */
+  private static final Version HeaderVersion = VersionEnum.PDF14.getVersion();
+
+  private static final int CatalogObjectNumber = 2;
+  private static final int PagesObjectNumber = 1;
+
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Gets whether the specified object is free from references.
+  */
+  private static boolean isLeaf(
+    PdfDirectObject object
+    )
+  {
+    if(object instanceof PdfReference)
+      return false;
+    else if(object instanceof PdfDictionary)
+    {
+      for(PdfDirectObject value : ((PdfDictionary)object).values())
+      {
+        if(!isLeaf(value))
+          return false;
+      }
+    }
+    else if(object instanceof PdfArray)
+    {
+      for(PdfDirectObject item : (PdfArray)object)
+      {
+        if(!isLeaf(item))
+          return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+    Gets whether the specified stream is free from references (its length excluded, as it's
+    rewritten anyway).
+  */
+  private static boolean isLeaf(
+    PdfStream stream
+    )
+  {
+    for(Map.Entry<PdfName,PdfDirectObject> entry : stream.getHeader().entrySet())
+    {
+      if(!PdfName.Length.equals(entry.getKey())
+        && !isLeaf(entry.getValue()))
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean isPage(
+    PdfDataObject object
+    )
+  {
+    return object instanceof PdfDictionary
+      && PdfName.Page.equals(((PdfDictionary)object).get(PdfName.Type));
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final IOutputStream stream;
+
+  private List<Integer> bookmarkPageIndexes = new ArrayList<Integer>();
+  private List<String> bookmarkTitles = new ArrayList<String>();
+  private boolean closed;
+  private List<Integer> fieldObjectNumbers = new ArrayList<Integer>();
+  /**
+    Next available object number.
+  */
+  private int nextObjectNumber = CatalogObjectNumber + 1;
+  /**
+    Byte offsets of the serialized objects, indexed by object number.
+  */
+  private long[] objectOffsets = new long[1024];
+  private int pageCount;
+  /**
+    Object numbers of the serialized pages, in page-tree order.
+  */
+  private int[] pageObjectNumbers = new int[256];
+  private MessageDigest streamDigest;
+  /**
+    Object numbers of the serialized leaf streams, indexed by content fingerprint.
+  */
+  private Map<ByteBuffer,Integer> streamObjectNumbers;
+  private boolean streamSharingEnabled;
+  private Version version = HeaderVersion;
+  private final DecimalFormat xrefOffsetFormatter = new DecimalFormat("0000000000"); // NOTE: Formatters aren't thread-safe.
+  // </fields>
+
+  // <constructors>
+  /**
+    @param stream Target stream. It's caller responsibility to close it after this writer is
+      closed.
+  */
+  public MergeWriter(
+    IOutputStream stream
+    )
+  {
+    this.stream = stream;
+
+    // Header [PDF:1.6:3.4.1].
+    stream.write(Keyword.BOF);
+    stream.write(HeaderVersion.toString());
+    stream.write(HeaderBinaryHintChunk);
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Appends the pages of the specified document.
+    <p>The document is left open: it's caller responsibility to close its file, so that its
+    objects are released.</p>
+
+    @param document Source document.
+    @param bookmarkTitle Title of the bookmark to the first appended page (<code>null</code> for no
+      bookmark).
+  */
+  public void append(
+    Document document,
+    String bookmarkTitle
+    )
+  {append(document.getPages(), bookmarkTitle);}
+
+  /**
+    Appends the specified pages.
+    <p>As this method doesn't alter the source document, multiple writers can concurrently append
+    pages from the same source, provided that the objects they depend on have already been loaded
+    (see {@link PageManager#split(int[], org.pdfclown.util.IFunction, java.util.concurrent.ExecutorService)}).</p>
+
+    @param pages Pages to append (they MUST belong to the same document).
+    @param bookmarkTitle Title of the bookmark to the first appended page (<code>null</code> for no
+      bookmark).
+  */
+  public void append(
+    Collection<Page> pages,
+    String bookmarkTitle
+    )
+  {
+    if(closed)
+      throw new IllegalStateException("Writer closed.");
+    else if(pages.size() == 0) // NOTE: Pages doesn't implement isEmpty().
+      return;
+
+    Document document = pages.iterator().next().getDocument();
+    File file = document.getFile();
+    int firstPageIndex = pageCount;
+    /*
+      NOTE: Source object numbers are mapped to the target ones; objects whose number is missing
+      (such as page-tree nodes and orphan pages) are dropped (that is, their references are
+      serialized as null objects).
+    */
+    Map<Integer,Integer> objectNumbers = new HashMap<Integer,Integer>();
+    List<PdfIndirectObject> pendingObjects = new ArrayList<PdfIndirectObject>();
+    Deque<PdfDirectObject> walkingObjects = new ArrayDeque<PdfDirectObject>();
+
+    // 1. Page numbering.
+    for(Page page : pages)
+    {
+      PdfReference pageReference = (PdfReference)page.getBaseObject();
+      int pageObjectNumber = nextObjectNumber++;
+      objectNumbers.put(pageReference.getObjectNumber(), pageObjectNumber);
+      pendingObjects.add(pageReference.getIndirectObject());
+      if(pageCount == pageObjectNumbers.length)
+      {pageObjectNumbers = Arrays.copyOf(pageObjectNumbers, pageCount * 2);}
+      pageObjectNumbers[pageCount++] = pageObjectNumber;
+
+      PdfDictionary pageObject = page.getBaseDataObject();
+      for(Map.Entry<PdfName,PdfDirectObject> entry : pageObject.entrySet())
+      {
+        if(!PdfName.Parent.equals(entry.getKey()))
+        {walkingObjects.push(entry.getValue());}
+      }
+      for(PdfDirectObject inheritedValue : getInheritedAttributes(pageObject).values())
+      {walkingObjects.push(inheritedValue);}
+    }
+
+    // 2. Dependency numbering.
+    while(!walkingObjects.isEmpty())
+    {
+      PdfDirectObject object = walkingObjects.pop();
+      if(object instanceof PdfReference)
+      {
+        PdfReference reference = (PdfReference)object;
+        if(objectNumbers.containsKey(reference.getObjectNumber()))
+          continue;
+
+        PdfIndirectObject indirectObject = reference.getIndirectObject();
+        if(indirectObject == null)
+          continue;
+
+        PdfDataObject dataObject = indirectObject.getDataObject();
+        if(dataObject == null
+          || isPage(dataObject)) // Orphan page.
+          continue;
+        else if(dataObject instanceof PdfStream
+          && isLeaf((PdfStream)dataObject))
+        {
+          /*
+            NOTE: Leaf streams don't depend on any other object, so they can be serialized right
+            away.
+          */
+          objectNumbers.put(reference.getObjectNumber(), writeLeafStream((PdfStream)dataObject, file));
+          continue;
+        }
+
+        objectNumbers.put(reference.getObjectNumber(), nextObjectNumber++);
+        pendingObjects.add(indirectObject);
+        if(dataObject instanceof PdfStream)
+        {
+          for(Map.Entry<PdfName,PdfDirectObject> entry : ((PdfStream)dataObject).getHeader().entrySet())
+          {
+            if(!PdfName.Length.equals(entry.getKey())) // NOTE: Stream length is rewritten anyway.
+            {walkingObjects.push(entry.getValue());}
+          }
+          continue;
+        }
+        object = (PdfDirectObject)dataObject;
+      }
+
+      if(object instanceof PdfDictionary)
+      {
+        for(PdfDirectObject value : ((PdfDictionary)object).values())
+        {
+          if(value != null)
+          {walkingObjects.push(value);}
+        }
+      }
+      else if(object instanceof PdfArray)
+      {
+        PdfArray array = (PdfArray)object;
+        if(!array.isPacked())
+        {
+          for(PdfDirectObject item : array)
+          {
+            if(item != null)
+            {walkingObjects.push(item);}
+          }
+        }
+      }
+    }
+
+    // 3. Serialization.
+    for(PdfIndirectObject indirectObject : pendingObjects)
+    {
+      int objectNumber = objectNumbers.get(indirectObject.getReference().getObjectNumber());
+      beginObject(objectNumber);
+      PdfDataObject dataObject = indirectObject.getDataObject();
+      if(isPage(dataObject))
+      {writePage((PdfDictionary)dataObject, objectNumbers, file);}
+      else
+      {writeObject(stream, dataObject, objectNumbers, file);}
+      stream.write(EndIndirectObjectChunk);
+    }
+
+    // 4. Document-level collections.
+    if(bookmarkTitle != null)
+    {
+      bookmarkTitles.add(bookmarkTitle);
+      bookmarkPageIndexes.add(firstPageIndex);
+    }
+    if(document.getBaseDataObject().containsKey(PdfName.AcroForm))
+    {collectFields(pendingObjects, objectNumbers);}
+
+    Version documentVersion = document.getVersion();
+    if(documentVersion.compareTo(version) > 0)
+    {version = documentVersion;}
+  }
+
+  /**
+    Appends the pages of the specified file, closing it afterwards.
+
+    @param path Source file path.
+    @param bookmarkTitle Title of the bookmark to the first appended page (<code>null</code> for no
+      bookmark).
+  */
+  public void append(
+    String path,
+    String bookmarkTitle
+    ) throws IOException
+  {
+    File file = new File(path);
+    try
+    {append(file.getDocument(), bookmarkTitle);}
+    finally
+    {file.close();}
+  }
+
+  /**
+    Gets the number of pages appended so far.
+  */
+  public int getPageCount(
+    )
+  {return pageCount;}
+
+  /**
+    Gets whether content-identical streams are shared across source documents.
+    <p>Sharing applies to streams whose header has no references (such as embedded font programs,
+    images and most content streams), which are identified by their digest.</p>
+  */
+  public boolean isStreamSharingEnabled(
+    )
+  {return streamSharingEnabled;}
+
+  /**
+    @see #isStreamSharingEnabled()
+  */
+  public void setStreamSharingEnabled(
+    boolean value
+    )
+  {
+    if(value && streamObjectNumbers == null)
+    {
+      try
+      {streamDigest = MessageDigest.getInstance("SHA-1");}
+      catch(NoSuchAlgorithmException e)
+      {throw new RuntimeException("SHA-1 algorithm unavailable.", e);}
+      streamObjectNumbers = new HashMap<ByteBuffer,Integer>();
+    }
+    streamSharingEnabled = value;
+  }
+
+  // <Closeable>
+  /**
+    Completes the target file serializing its page tree, document catalog and cross-reference
+    table.
+    <p>The target stream is NOT closed.</p>
+  */
+  @Override
+  public void close(
+    )
+  {
+    if(closed)
+      return;
+
+    closed = true;
+
+    // 1. Page tree.
+    beginObject(PagesObjectNumber);
+    {
+      StringBuilder buffer = new StringBuilder("<</Type /Pages /Count ").append(pageCount).append(" /Kids [");
+      for(
+        int index = 0;
+        index < pageCount;
+        index++
+        )
+      {
+        buffer.append(pageObjectNumbers[index]).append(ReferenceChunk).append(Symbol.Space);
+        if(buffer.length() > 8192)
+        {
+          stream.write(buffer.toString());
+          buffer.setLength(0);
+        }
+      }
+      stream.write(buffer.append("]>>").toString());
+    }
+    stream.write(EndIndirectObjectChunk);
+
+    // 2. Outline.
+    int outlinesObjectNumber = 0;
+    if(!bookmarkTitles.isEmpty())
+    {
+      outlinesObjectNumber = nextObjectNumber++;
+      int bookmarkCount = bookmarkTitles.size();
+      int firstBookmarkObjectNumber = nextObjectNumber;
+      nextObjectNumber += bookmarkCount;
+
+      beginObject(outlinesObjectNumber);
+      stream.write(
+        "<</Type /Outlines /Count " + bookmarkCount
+          + " /First " + firstBookmarkObjectNumber + ReferenceChunk
+          + " /Last " + (firstBookmarkObjectNumber + bookmarkCount - 1) + ReferenceChunk + ">>"
+        );
+      stream.write(EndIndirectObjectChunk);
+      for(
+        int index = 0;
+        index < bookmarkCount;
+        index++
+        )
+      {
+        int bookmarkObjectNumber = firstBookmarkObjectNumber + index;
+        beginObject(bookmarkObjectNumber);
+        stream.write("<</Title ");
+        new PdfTextString(bookmarkTitles.get(index)).writeTo(stream, null);
+        stream.write(" /Parent " + outlinesObjectNumber + ReferenceChunk);
+        if(index > 0)
+        {stream.write(" /Prev " + (bookmarkObjectNumber - 1) + ReferenceChunk);}
+        if(index < bookmarkCount - 1)
+        {stream.write(" /Next " + (bookmarkObjectNumber + 1) + ReferenceChunk);}
+        stream.write(" /Dest [" + pageObjectNumbers[bookmarkPageIndexes.get(index)] + ReferenceChunk + " /Fit]>>");
+        stream.write(EndIndirectObjectChunk);
+      }
+    }
+
+    // 3. Document catalog.
+    beginObject(CatalogObjectNumber);
+    stream.write("<</Type /Catalog /Pages " + PagesObjectNumber + ReferenceChunk);
+    if(outlinesObjectNumber > 0)
+    {stream.write(" /Outlines " + outlinesObjectNumber + ReferenceChunk + " /PageMode /UseOutlines");}
+    if(!fieldObjectNumbers.isEmpty())
+    {
+      StringBuilder buffer = new StringBuilder(" /AcroForm <</Fields [");
+      for(Integer fieldObjectNumber : fieldObjectNumbers)
+      {buffer.append(fieldObjectNumber).append(ReferenceChunk).append(Symbol.Space);}
+      stream.write(buffer.append("]>>").toString());
+    }
+    if(version.compareTo(HeaderVersion) > 0)
+    {stream.write(" /Version /" + version);}
+    stream.write(">>");
+    stream.write(EndIndirectObjectChunk);
+
+    // 4. XRef table [PDF:1.6:3.4.3].
+    long startxref = stream.getLength();
+    {
+      StringBuilder buffer = new StringBuilder(Keyword.XRef).append(Symbol.LineFeed)
+        .append(0).append(Symbol.Space).append(nextObjectNumber).append(Symbol.LineFeed)
+        .append("0000000000 65535 ").append(Keyword.FreeXrefEntry).append(XRefEOLChunk);
+      for(
+        int objectNumber = 1;
+        objectNumber < nextObjectNumber;
+        objectNumber++
+        )
+      {
+        buffer.append(xrefOffsetFormatter.format(objectOffsets[objectNumber])).append(" 00000 ")
+          .append(Keyword.InUseXrefEntry).append(XRefEOLChunk);
+        if(buffer.length() > 8192)
+        {
+          stream.write(buffer.toString());
+          buffer.setLength(0);
+        }
+      }
+      stream.write(buffer.toString());
+    }
+
+    // 5. Trailer [PDF:1.6:3.4.4].
+    stream.write(Keyword.Trailer + Symbol.LineFeed + "<</Size " + nextObjectNumber + " /Root " + CatalogObjectNumber + ReferenceChunk + " /ID [");
+    {
+      PdfString identifier = new PdfString(createIdentifier(), PdfString.SerializationModeEnum.Hex);
+      identifier.writeTo(stream, null); stream.write(Chunk.Space); identifier.writeTo(stream, null);
+    }
+    stream.write("]>>" + Symbol.LineFeed + Keyword.StartXRef + Symbol.LineFeed + startxref + Symbol.LineFeed + Keyword.EOF + XRefEOLChunk);
+
+    // Releasing the skeleton...
+    objectOffsets = null;
+    pageObjectNumbers = null;
+    streamObjectNumbers = null;
+  }
+  // </Closeable>
+  // </public>
+
+  // <private>
+  private void beginObject(
+    int objectNumber
+    )
+  {
+    if(objectNumber >= objectOffsets.length)
+    {objectOffsets = Arrays.copyOf(objectOffsets, Math.max(objectOffsets.length * 2, objectNumber + 1));}
+    objectOffsets[objectNumber] = stream.getLength();
+    stream.write(Integer.toString(objectNumber)); stream.write(" 0"); stream.write(BeginIndirectObjectChunk);
+  }
+
+  /**
+    Collects the root fields the widget annotations among the specified objects belong to.
+  */
+  private void collectFields(
+    List<PdfIndirectObject> objects,
+    Map<Integer,Integer> objectNumbers
+    )
+  {
+    Set<Integer> rootFieldObjectNumbers = new HashSet<Integer>();
+    for(PdfIndirectObject object : objects)
+    {
+      PdfDataObject dataObject = object.getDataObject();
+      if(!(dataObject instanceof PdfDictionary))
+        continue;
+
+      PdfDictionary dictionary = (PdfDictionary)dataObject;
+      if(!PdfName.Widget.equals(dictionary.get(PdfName.Subtype)))
+        continue;
+
+      // Ascend to the root field!
+      PdfReference fieldReference = object.getReference();
+      while(true)
+      {
+        PdfDirectObject parentObject = ((PdfDictionary)fieldReference.getDataObject()).get(PdfName.Parent);
+        if(!(parentObject instanceof PdfReference))
+          break;
+
+        fieldReference = (PdfReference)parentObject;
+      }
+      PdfDictionary fieldObject = (PdfDictionary)fieldReference.getDataObject();
+      if(!fieldObject.containsKey(PdfName.FT)
+        && !fieldObject.containsKey(PdfName.T)) // Plain widget (not bound to any field).
+        continue;
+
+      Integer fieldObjectNumber = objectNumbers.get(fieldReference.getObjectNumber());
+      if(fieldObjectNumber != null
+        && rootFieldObjectNumbers.add(fieldObjectNumber))
+      {fieldObjectNumbers.add(fieldObjectNumber);}
+    }
+  }
+
+  private byte[] createIdentifier(
+    )
+  {
+    MessageDigest md5;
+    try
+    {md5 = MessageDigest.getInstance("MD5");}
+    catch(NoSuchAlgorithmException e)
+    {throw new RuntimeException("MD5 algorithm unavailable.", e);}
+
+    md5.update(Long.toString(System.currentTimeMillis()).getBytes());
+    md5.update(Long.toString(stream.getLength()).getBytes());
+    md5.update(Integer.toString(pageCount).getBytes());
+    return md5.digest();
+  }
+
+  /**
+    Gets the inherited attributes the specified page lacks.
+  */
+  private Map<PdfName,PdfDirectObject> getInheritedAttributes(
+    PdfDictionary pageObject
+    )
+  {
+    Map<PdfName,PdfDirectObject> inheritedAttributes = new HashMap<PdfName,PdfDirectObject>();
+    if(pageObject.containsKey(PdfName.Parent))
+    {
+      for(PdfName key : Page.InheritableAttributeKeys)
+      {
+        if(!pageObject.containsKey(key))
+        {
+          PdfDirectObject value = Page.getInheritableAttribute(pageObject, key);
+          if(value != null)
+          {inheritedAttributes.put(key, value);}
+        }
+      }
+    }
+    return inheritedAttributes;
+  }
+
+  private void writeEntries(
+    IOutputStream stream,
+    Iterable<Map.Entry<PdfName,PdfDirectObject>> entries,
+    PdfName excludedKey,
+    Map<Integer,Integer> objectNumbers,
+    File context
+    )
+  {
+    for(Map.Entry<PdfName,PdfDirectObject> entry : entries)
+    {
+      if(entry.getKey().equals(excludedKey))
+        continue;
+
+      entry.getKey().writeTo(stream, context); stream.write(Chunk.Space);
+      writeObject(stream, entry.getValue(), objectNumbers, context); stream.write(Chunk.Space);
+    }
+  }
+
+  /**
+    Serializes the specified leaf stream, unless a content-identical one has already been
+    serialized.
+
+    @return Object number of the serialized stream.
+  */
+  private int writeLeafStream(
+    PdfStream dataObject,
+    File context
+    )
+  {
+    if(!streamSharingEnabled)
+    {
+      int objectNumber = nextObjectNumber++;
+      beginObject(objectNumber);
+      writeObject(stream, dataObject, null, context);
+      stream.write(EndIndirectObjectChunk);
+      return objectNumber;
+    }
+
+    Buffer buffer = new Buffer();
+    writeObject(buffer, dataObject, null, context);
+    byte[] data = buffer.toByteArray();
+    ByteBuffer fingerprint = ByteBuffer.wrap(streamDigest.digest(data));
+    Integer objectNumber = streamObjectNumbers.get(fingerprint);
+    if(objectNumber == null)
+    {
+      streamObjectNumbers.put(fingerprint, objectNumber = nextObjectNumber++);
+      beginObject(objectNumber);
+      stream.write(data);
+      stream.write(EndIndirectObjectChunk);
+    }
+    return objectNumber;
+  }
+
+  private void writeObject(
+    IOutputStream stream,
+    PdfDataObject object,
+    Map<Integer,Integer> objectNumbers,
+    File context
+    )
+  {
+    if(object == null)
+    {stream.write(Keyword.Null);}
+    else if(object instanceof PdfReference)
+    {
+      Integer objectNumber = (objectNumbers != null ? objectNumbers.get(((PdfReference)object).getObjectNumber()) : null);
+      if(objectNumber == null)
+      {stream.write(Keyword.Null);}
+      else
+      {stream.write(objectNumber + ReferenceChunk);}
+    }
+    else if(object instanceof PdfDictionary)
+    {
+      stream.write(Keyword.BeginDictionary);
+      writeEntries(stream, ((PdfDictionary)object).entrySet(), null, objectNumbers, context);
+      stream.write(Keyword.EndDictionary);
+    }
+    else if(object instanceof PdfArray)
+    {
+      PdfArray array = (PdfArray)object;
+      if(array.isPacked())
+      {array.writeTo(stream, context);}
+      else
+      {
+        stream.write(Keyword.BeginArray);
+        for(PdfDirectObject item : array)
+        {writeObject(stream, item, objectNumbers, context); stream.write(Chunk.Space);}
+        stream.write(Keyword.EndArray);
+      }
+    }
+    else if(object instanceof PdfStream)
+    {
+      /*
+        NOTE: Stream bodies are copied as-is (that is, still encoded).
+      */
+      PdfStream streamObject = (PdfStream)object;
+      byte[] bodyData = streamObject.getBody(false).toByteArray();
+      stream.write(Keyword.BeginDictionary);
+      writeEntries(stream, streamObject.getHeader().entrySet(), PdfName.Length, objectNumbers, context);
+      PdfName.Length.writeTo(stream, context); stream.write(Chunk.Space);
+      stream.write(Integer.toString(bodyData.length));
+      stream.write(Keyword.EndDictionary);
+      stream.write(BeginStreamBodyChunk);
+      stream.write(bodyData);
+      stream.write(EndStreamBodyChunk);
+    }
+    else
+    {object.writeTo(stream, context);}
+  }
+
+  private void writePage(
+    PdfDictionary pageObject,
+    Map<Integer,Integer> objectNumbers,
+    File context
+    )
+  {
+    stream.write(Keyword.BeginDictionary);
+    writeEntries(stream, pageObject.entrySet(), PdfName.Parent, objectNumbers, context);
+    writeEntries(stream, getInheritedAttributes(pageObject).entrySet(), null, objectNumbers, context);
+    PdfName.Parent.writeTo(stream, context); stream.write(Chunk.Space);
+    stream.write(PagesObjectNumber + ReferenceChunk);
+    stream.write(Keyword.EndDictionary);
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,474 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tools;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.Page;
+import org.pdfclown.files.File;
+import org.pdfclown.objects.Cloner;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfObject;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.PdfStream;
+
+/**
+  Tool for bulk page import.
+  <p>It imports (that is, clones into its document) pages coming from any number of alien
+  documents:</p>
+  <ul>
+    <li>each alien indirect object is cloned once per source file, so resources shared across the
+    imported pages of the same document are imported once;</li>
+    <li>stream bodies are copied as-is, still encoded;</li>
+    <li>the page subgraphs of distinct source files, being independent, can be loaded concurrently
+    (see {@link #importPages(Collection, ExecutorService)});</li>
+    <li>optionally, content-identical streams coming from distinct source files can be shared (see
+    {@link #setStreamSharingEnabled(boolean)}).</li>
+  </ul>
+  <p>Imported pages are NOT added to the document's page tree (see {@link PageManager} for
+  that).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class PageImporter
+{
+  // <class>
+  // <classes>
+  /**
+    Cloner sharing content-identical streams.
+  */
+  private final class SharingCloner
+    extends Cloner
+  {
+    SharingCloner(
+      Cloner baseCloner
+      )
+    {
+      super(baseCloner.getContext());
+      getFilters().clear();
+      getFilters().addAll(baseCloner.getFilters());
+    }
+
+    @Override
+    public PdfObject visit(
+      PdfIndirectObject object,
+      Object data
+      )
+    {
+      /*
+        NOTE: Like the import memo of the target file (see IndirectObjects.addExternal(..)), clones
+        are tracked by source object number, so that source files aren't retained.
+      */
+      int objectNumber = object.getXrefEntry().getNumber();
+      Map<Integer,PdfIndirectObject> fileStreamClones = null;
+      PdfIndirectObject clone = null;
+      if(objectNumber > 0)
+      {
+        fileStreamClones = sharedStreamClones.get(object.getFile());
+        if(fileStreamClones == null)
+        {sharedStreamClones.put(object.getFile(), fileStreamClones = new HashMap<Integer,PdfIndirectObject>());}
+        else if((clone = fileStreamClones.get(objectNumber)) != null)
+          return clone;
+      }
+
+      PdfDataObject dataObject = object.getDataObject();
+      if(!(dataObject instanceof PdfStream)
+        || !isLeaf(((PdfStream)dataObject).getHeader()))
+        return super.visit(object, data);
+
+      PdfStream stream = (PdfStream)dataObject;
+      byte[] bodyData = stream.getBody(false).toByteArray();
+      int hashCode = stream.getHeader().hashCode() * 31 + Arrays.hashCode(bodyData);
+      List<PdfIndirectObject> candidates = sharedStreams.get(hashCode);
+      if(candidates == null)
+      {sharedStreams.put(hashCode, candidates = new ArrayList<PdfIndirectObject>(1));}
+      else
+      {
+        for(PdfIndirectObject candidate : candidates)
+        {
+          PdfStream candidateStream = (PdfStream)candidate.getDataObject();
+          if(candidateStream.getHeader().equals(stream.getHeader())
+            && Arrays.equals(candidateStream.getBody(false).toByteArray(), bodyData))
+          {
+            clone = candidate;
+            break;
+          }
+        }
+      }
+      if(clone == null)
+      {candidates.add(clone = (PdfIndirectObject)super.visit(object, data));}
+      if(fileStreamClones != null)
+      {fileStreamClones.put(objectNumber, clone);}
+      return clone;
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <interface>
+  // <internal>
+  /**
+    Loads the objects reachable from the specified pages, as they are going to be cloned.
+    <p>The traversal follows the rules of the page cloning: it doesn't ascend the page tree (except
+    for inherited attributes) nor does it enter other pages. Once loaded, the objects can be
+    concurrently read, as long as the source document isn't modified.</p>
+  */
+  static void load(
+    Collection<Page> pages
+    )
+  {load(pages, null);}
+
+  /**
+    Loads the objects reachable from the specified pages, as they are going to be cloned.
+
+    @param pages Pages to load.
+    @param parsedObjects Collects the objects which weren't loaded yet (<code>null</code> to
+      ignore).
+    @return Indirect objects reachable from the pages.
+    @see #load(Collection)
+  */
+  static Set<PdfIndirectObject> load(
+    Collection<Page> pages,
+    Set<PdfIndirectObject> parsedObjects
+    )
+  {
+    Set<PdfIndirectObject> visitedObjects = Collections.newSetFromMap(new IdentityHashMap<PdfIndirectObject,Boolean>());
+    Deque<PdfDirectObject> pendingObjects = new ArrayDeque<PdfDirectObject>();
+    for(Page page : pages)
+    {
+      PdfDictionary pageObject = page.getBaseDataObject();
+      for(PdfName key : Page.InheritableAttributeKeys)
+      {
+        if(!pageObject.containsKey(key)
+          && pageObject.containsKey(PdfName.Parent))
+        {
+          PdfDirectObject value = Page.getInheritableAttribute(pageObject, key);
+          if(value != null)
+          {pendingObjects.push(value);}
+        }
+      }
+      pendingObjects.push(page.getBaseObject());
+      boolean root = true;
+      while(!pendingObjects.isEmpty())
+      {
+        PdfDirectObject object = pendingObjects.pop();
+        PdfDataObject dataObject;
+        if(object instanceof PdfReference)
+        {
+          PdfIndirectObject indirectObject = ((PdfReference)object).getIndirectObject();
+          if(indirectObject == null
+            || !visitedObjects.add(indirectObject))
+            continue;
+
+          if(parsedObjects != null
+            && !indirectObject.isLoaded())
+          {parsedObjects.add(indirectObject);}
+          dataObject = indirectObject.getDataObject();
+          if(isPage(dataObject) && !root)
+            continue;
+        }
+        else
+        {dataObject = object;}
+        root = false;
+
+        if(dataObject instanceof PdfStream)
+        {
+          PdfStream stream = (PdfStream)dataObject;
+          stream.getBody(false); // NOTE: Forces the body resolution (external data), which would otherwise be lazily done.
+          dataObject = stream.getHeader();
+        }
+        if(dataObject instanceof PdfDictionary)
+        {
+          boolean pageDictionary = isPage(dataObject);
+          for(Map.Entry<PdfName,PdfDirectObject> entry : ((PdfDictionary)dataObject).entrySet())
+          {
+            if(entry.getValue() != null
+              && !(pageDictionary && PdfName.Parent.equals(entry.getKey())))
+            {pendingObjects.push(entry.getValue());}
+          }
+        }
+        else if(dataObject instanceof PdfArray)
+        {
+          PdfArray array = (PdfArray)dataObject;
+          if(!array.isPacked())
+          {
+            for(PdfDirectObject item : array)
+            {
+              if(item != null)
+              {pendingObjects.push(item);}
+            }
+          }
+        }
+      }
+    }
+    return visitedObjects;
+  }
+  // </internal>
+
+  // <private>
+  /**
+    Gets whether the specified object is free from references.
+  */
+  private static boolean isLeaf(
+    PdfDirectObject object
+    )
+  {
+    if(object instanceof PdfReference)
+      return false;
+    else if(object instanceof PdfDictionary)
+    {
+      for(PdfDirectObject value : ((PdfDictionary)object).values())
+      {
+        if(!isLeaf(value))
+          return false;
+      }
+    }
+    else if(object instanceof PdfArray)
+    {
+      for(PdfDirectObject item : (PdfArray)object)
+      {
+        if(!isLeaf(item))
+          return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isPage(
+    PdfDataObject object
+    )
+  {
+    return object instanceof PdfDictionary
+      && PdfName.Page.equals(((PdfDictionary)object).get(PdfName.Type));
+  }
+
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final Document document;
+  private boolean streamSharingEnabled;
+
+  /**
+    Clones of the source indirect objects visited by the sharing cloner.
+    <p><code>Key</code> is the source file (weakly referenced), <code>Value</code> is the map of its
+    indirect objects' numbers to the matching clones.</p>
+  */
+  private Map<File,Map<Integer,PdfIndirectObject>> sharedStreamClones;
+  private Map<Integer,List<PdfIndirectObject>> sharedStreams;
+  private SharingCloner sharingCloner;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param document Target document.
+  */
+  public PageImporter(
+    Document document
+    )
+  {this.document = document;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the target document.
+  */
+  public Document getDocument(
+    )
+  {return document;}
+
+  /**
+    Imports the specified pages.
+
+    @param pages Pages to import; those already belonging to the document are returned as-is.
+    @return Imported pages, in the same order.
+  */
+  public List<Page> importPages(
+    Collection<Page> pages
+    )
+  {return importPages(pages, null);}
+
+  /**
+    Imports the specified pages, loading their source objects concurrently.
+    <p>Pages are grouped by source file, and each group is loaded by a distinct task submitted to
+    the executor; as document objects aren't thread-safe, the source documents MUST NOT be
+    accessed by other threads until this method returns. Cloning into the target document happens
+    on the calling thread, as the target document cannot be concurrently modified.</p>
+
+    @param pages Pages to import; those already belonging to the document are returned as-is.
+    @param executor Executor of the loading tasks (<code>null</code> to load on the calling thread,
+      while cloning).
+    @return Imported pages, in the same order.
+  */
+  public List<Page> importPages(
+    Collection<Page> pages,
+    ExecutorService executor
+    )
+  {
+    File file = document.getFile();
+
+    // 1. Loading.
+    if(executor != null)
+    {
+      Map<File,List<Page>> sourcePagesMap = new LinkedHashMap<File,List<Page>>();
+      for(Page page : pages)
+      {
+        File sourceFile = page.getFile();
+        if(sourceFile == file)
+          continue;
+
+        List<Page> sourcePages = sourcePagesMap.get(sourceFile);
+        if(sourcePages == null)
+        {sourcePagesMap.put(sourceFile, sourcePages = new ArrayList<Page>());}
+        sourcePages.add(page);
+      }
+      if(sourcePagesMap.size() > 1)
+      {load(sourcePagesMap.values(), executor);}
+    }
+
+    // 2. Cloning.
+    Cloner cloner = file.getCloner();
+    if(streamSharingEnabled)
+    {
+      if(sharingCloner == null)
+      {sharingCloner = new SharingCloner(cloner);}
+      cloner = sharingCloner;
+    }
+    List<Page> importedPages = new ArrayList<Page>(pages.size());
+    for(Page page : pages)
+    {importedPages.add(page.getFile() == file ? page : (Page)page.clone(cloner));}
+    return importedPages;
+  }
+
+  /**
+    Gets whether content-identical streams coming from distinct source files are shared.
+    <p>Sharing applies to streams whose header has no references (such as embedded font programs,
+    images and content streams); it dramatically reduces the size of documents merged from
+    similar sources (for example, invoices embedding the same fonts and logos). Beware that shared
+    streams are the same object: modifying one of them affects all the pages it's shared by.</p>
+  */
+  public boolean isStreamSharingEnabled(
+    )
+  {return streamSharingEnabled;}
+
+  /**
+    @see #isStreamSharingEnabled()
+  */
+  public void setStreamSharingEnabled(
+    boolean value
+    )
+  {
+    if(value && sharedStreams == null)
+    {
+      sharedStreamClones = new WeakHashMap<File,Map<Integer,PdfIndirectObject>>();
+      sharedStreams = new HashMap<Integer,List<PdfIndirectObject>>();
+    }
+    streamSharingEnabled = value;
+  }
+  // </public>
+
+  // <private>
+  private void load(
+    Collection<List<Page>> pageGroups,
+    ExecutorService executor
+    )
+  {
+    List<Future<?>> loadTasks = new ArrayList<Future<?>>(pageGroups.size());
+    try
+    {
+      for(final List<Page> pageGroup : pageGroups)
+      {
+        loadTasks.add(
+          executor.submit(
+            new Callable<Void>()
+            {
+              @Override
+              public Void call(
+                ) throws Exception
+              {
+                load(pageGroup);
+                return null;
+              }
+            }
+            )
+          );
+      }
+      for(Future<?> loadTask : loadTasks)
+      {loadTask.get();}
+    }
+    catch(InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    catch(ExecutionException e)
+    {
+      Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException)
+        throw (RuntimeException)cause;
+      else if(cause instanceof Error)
+        throw (Error)cause;
+      else
+        throw new RuntimeException(cause);
+    }
+    finally
+    {
+      for(Future<?> loadTask : loadTasks)
+      {loadTask.cancel(true);}
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -26,14 +26,30 @@
 package org.pdfclown.tools;
 
 import java.awt.geom.Rectangle2D;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-
-import org.pdfclown.bytes.Buffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.bytes.OutputStream;
 import org.pdfclown.documents.Document;
 import org.pdfclown.documents.Page;
 import org.pdfclown.documents.Pages;
@@ -46,17 +62,22 @@ import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfObject;
 import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfStream;
+import org.pdfclown.tokens.Keyword;
+import org.pdfclown.tokens.Symbol;
+import org.pdfclown.util.IFunction;
+import org.pdfclown.util.io.IOUtils;
 
 /**
   Tool for page management.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.6
-  @version 0.2.0, 03/01/15
+  @version 0.2.0, 10/19/26
 */
 public final class PageManager
 {
@@ -70,7 +91,68 @@ public final class PageManager
   */
 
   // <class>
+  // <classes>
+  /**
+    Output stream which merely counts the bytes written into it.
+  */
+  private static final class CountingStream
+    implements IOutputStream
+  {
+    private long length;
+
+    @Override
+    public void clear(
+      )
+    {length = 0;}
+
+    @Override
+    public void close(
+      )
+    {/* NOOP */}
+
+    @Override
+    public long getLength(
+      )
+    {return length;}
+
+    @Override
+    public void write(
+      byte[] data
+      )
+    {length += data.length;}
+
+    @Override
+    public void write(
+      byte[] data,
+      int offset,
+      int length
+      )
+    {this.length += length;}
+
+    @Override
+    public void write(
+      String data
+      )
+    {length += data.length();}
+
+    @Override
+    public void write(
+      IInputStream data
+      )
+    {length += data.getLength();}
+  }
+  // </classes>
+
   // <static>
+  // <fields>
+  /**
+    Length of the body chunk whose compression ratio is sampled to estimate the encoded length of
+    the whole body.
+  */
+  private static final int EncodingSampleLength = 16384;
+  private static final int EndStreamChunkLength = (Symbol.LineFeed + Keyword.EndStream + Symbol.LineFeed + Keyword.EndIndirectObject + Symbol.LineFeed).length();
+  // </fields>
+
   // <interface>
   // <public>
   /**
@@ -98,7 +180,7 @@ public final class PageManager
     Page page,
     Set<PdfReference> visitedReferences
     )
-  {return getSize(page.getBaseObject(), visitedReferences, true);}
+  {return getSize(page, visitedReferences, new IdentityHashMap<PdfIndirectObject,Long>());}
   
   /**
     Gets whether the specified page is blank.
@@ -127,6 +209,124 @@ public final class PageManager
   // </public>
 
   // <private>
+  /**
+    Serializes the specified pages as a standalone file.
+
+    @param pages Pages to serialize.
+    @param target Target stream (closed after serialization).
+  */
+  private static void writePart(
+    List<Page> pages,
+    java.io.OutputStream target
+    )
+  {
+    OutputStream stream = new OutputStream(new BufferedOutputStream(target));
+    try
+    {
+      MergeWriter writer = new MergeWriter(stream);
+      writer.append(pages, null);
+      writer.close();
+      stream.close();
+    }
+    catch(IOException e)
+    {throw new RuntimeException("Part serialization failed.", e);}
+    finally
+    {IOUtils.closeQuietly(stream);}
+  }
+
+  /**
+    Gets the estimated length of the specified body once Flate-encoded.
+    <p>In order to avoid the encoding of the whole body, the compression ratio is sampled on its
+    leading chunk.</p>
+  */
+  private static long getEncodedLength(
+    IBuffer body
+    )
+  {
+    long length = body.getLength();
+    int sampleLength = (int)Math.min(length, EncodingSampleLength);
+    if(sampleLength == 0)
+      return 0;
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    long encodedSampleLength = 0;
+    try
+    {
+      deflater.setInput(body.getByteArray(0, sampleLength));
+      deflater.finish();
+      byte[] encodedChunk = new byte[4096];
+      while(!deflater.finished())
+      {encodedSampleLength += deflater.deflate(encodedChunk);}
+    }
+    finally
+    {deflater.end();}
+    return (length * encodedSampleLength + sampleLength - 1) / sampleLength;
+  }
+
+  /**
+    Gets the data size of the specified indirect object expressed in bytes.
+    <p>Original objects which haven't been updated are evaluated through the offsets of their
+    file's cross-reference table; the others are evaluated counting their serialization (the length of stream bodies to be
+    encoded is estimated by sampling).</p>
+
+    @param object Indirect object whose size has to be calculated.
+    @param sizes Cache of the data sizes of the evaluated indirect objects.
+  */
+  private static long getSize(
+    PdfIndirectObject object,
+    Map<PdfIndirectObject,Long> sizes
+    )
+  {
+    Long size = sizes.get(object);
+    if(size == null)
+    {
+      long dataSize = (object.isOriginal() && !object.isUpdated()
+        ? object.getFile().getIndirectObjects().getOriginalSize(object.getReference().getObjectNumber())
+        : -1);
+      if(dataSize < 0)
+      {
+        CountingStream stream = new CountingStream();
+        PdfDataObject dataObject = object.getDataObject();
+        if(dataObject instanceof PdfStream)
+        {
+          PdfStream streamObject = (PdfStream)dataObject;
+          stream.write(object.getReference().getId());
+          stream.write(Symbol.Space + Keyword.BeginIndirectObject + Symbol.LineFeed);
+          streamObject.getHeader().writeTo(stream, object.getFile());
+          stream.write(Symbol.LineFeed + Keyword.BeginStream + Symbol.LineFeed);
+          IBuffer body = streamObject.getBody(false);
+          long bodyLength = body.getLength();
+          if(streamObject.getFilter() == null
+            && object.getFile().getConfiguration().isStreamFilterEnabled()
+            && !PdfName.Metadata.equals(streamObject.getHeader().get(PdfName.Type))) // Body to be encoded on serialization (see PdfStream.writeTo(..)).
+          {bodyLength = getEncodedLength(body);}
+          dataSize = stream.getLength() + bodyLength + EndStreamChunkLength;
+        }
+        else
+        {
+          object.writeTo(stream, object.getFile());
+          dataSize = stream.getLength();
+        }
+      }
+      sizes.put(object, size = dataSize);
+    }
+    return size;
+  }
+
+  /**
+    Gets the data size of the specified page expressed in bytes.
+
+    @param page Page whose data size has to be calculated.
+    @param visitedReferences References to data objects excluded from calculation.
+    @param sizes Cache of the data sizes of the evaluated indirect objects.
+  */
+  private static long getSize(
+    Page page,
+    Set<PdfReference> visitedReferences,
+    Map<PdfIndirectObject,Long> sizes
+    )
+  {return getSize(page.getBaseObject(), visitedReferences, sizes, true);}
+
   /**
     Gets the data size of the specified object expressed in bytes.
 
@@ -134,11 +334,13 @@ public final class PageManager
     @param visitedReferences References to data objects excluded from calculation.
       This set is useful, for example, to avoid recalculating the data size of shared resources.
       During the operation, this set is populated with references to visited data objects.
+    @param sizes Cache of the data sizes of the evaluated indirect objects.
     @param isRoot Whether this data object represents the page root.
   */
   private static long getSize(
     PdfDirectObject object,
     Set<PdfReference> visitedReferences,
+    Map<PdfIndirectObject,Long> sizes,
     boolean isRoot
     )
   {
@@ -161,9 +363,7 @@ public final class PageManager
         visitedReferences.add(reference);
 
         // Calculate the data size of the current object!
-        IOutputStream buffer = new Buffer();
-        reference.getIndirectObject().writeTo(buffer, reference.getFile());
-        dataSize += buffer.getLength();
+        dataSize += getSize(reference.getIndirectObject(), sizes);
       }
 
       // 2. Evaluating the current object's children...
@@ -180,7 +380,7 @@ public final class PageManager
       {
         // Calculate the data size of the current object's children!
         for(PdfDirectObject value : values)
-        {dataSize += getSize(value, visitedReferences, false);}
+        {dataSize += getSize(value, visitedReferences, sizes, false);}
       }
     }
     return dataSize;
@@ -223,6 +423,53 @@ public final class PageManager
     }
     return true;
   }
+
+  /**
+    Releases the specified objects which are no longer used by pending parts.
+
+    @param objects Objects used by the completed part.
+    @param objectUsages Count of the pending parts depending on each object.
+    @param releasableObjects Objects which can be released.
+  */
+  private static void release(
+    Set<PdfIndirectObject> objects,
+    Map<PdfIndirectObject,Integer> objectUsages,
+    Set<PdfIndirectObject> releasableObjects
+    )
+  {
+    for(PdfIndirectObject object : objects)
+    {
+      int usage = objectUsages.get(object) - 1;
+      if(usage > 0)
+      {objectUsages.put(object, usage);}
+      else
+      {
+        objectUsages.remove(object);
+        if(releasableObjects.remove(object))
+        {object.release();}
+      }
+    }
+  }
+
+  /**
+    Registers the specified objects as used by a pending part.
+
+    @param objects Objects used by the part.
+    @param objectUsages Count of the pending parts depending on each object.
+    @return <code>objects</code>.
+  */
+  private static Set<PdfIndirectObject> retain(
+    Set<PdfIndirectObject> objects,
+    Map<PdfIndirectObject,Integer> objectUsages
+    )
+  {
+    for(PdfIndirectObject object : objects)
+    {
+      Integer usage = objectUsages.get(object);
+      objectUsages.put(object, usage != null ? usage + 1 : 1);
+    }
+    return objects;
+  }
   // </private>
   // </interface>
   // </static>
@@ -273,13 +520,12 @@ public final class PageManager
 
     @param pages Pages to be added.
   */
-  @SuppressWarnings("unchecked")
   public void add(
     Collection<Page> pages
     )
   {
     // Add the source pages to the document (deep level)!
-    Collection<Page> importedPages = (Collection<Page>)document.include(pages); // NOTE: Alien pages MUST be contextualized (i.e. imported).
+    Collection<Page> importedPages = new PageImporter(document).importPages(pages); // NOTE: Alien pages MUST be contextualized (i.e. imported).
 
     // Add the imported pages to the pages collection (shallow level)!
     this.pages.addAll(importedPages);
@@ -291,14 +537,13 @@ public final class PageManager
     @param index Position at which the pages have to be inserted.
     @param pages Pages to be inserted.
   */
-  @SuppressWarnings("unchecked")
   public void add(
     int index,
     Collection<Page> pages
     )
   {
     // Add the source pages to the document (deep level)!
-    Collection<Page> importedPages = (Collection<Page>)document.include(pages); // NOTE: Alien pages MUST be contextualized (i.e. imported).
+    Collection<Page> importedPages = new PageImporter(document).importPages(pages); // NOTE: Alien pages MUST be contextualized (i.e. imported).
 
     // Add the imported pages to the pages collection (shallow level)!
     if(index >= this.pages.size())
@@ -475,9 +720,10 @@ public final class PageManager
       int startPageIndex = 0;
       long incrementalDataSize = 0;
       Set<PdfReference> visitedReferences = new HashSet<PdfReference>();
+      Map<PdfIndirectObject,Long> sizes = new IdentityHashMap<PdfIndirectObject,Long>();
       for(Page page : pages)
       {
-        long pageDifferentialDataSize = getSize(page, visitedReferences);
+        long pageDifferentialDataSize = getSize(page, visitedReferences, sizes);
         incrementalDataSize += pageDifferentialDataSize;
         if(incrementalDataSize > maxDataSize) // Data size limit reached.
         {
@@ -487,7 +733,7 @@ public final class PageManager
           documents.add(extract(startPageIndex, endPageIndex));
 
           startPageIndex = endPageIndex;
-          incrementalDataSize = getSize(page, visitedReferences = new HashSet<PdfReference>());
+          incrementalDataSize = getSize(page, visitedReferences = new HashSet<PdfReference>(), sizes);
         }
       }
       // Split the last document page range!
@@ -495,7 +741,207 @@ public final class PageManager
     }
     return documents;
   }
+  /**
+    Bursts the document into single-page files, serializing each of them as soon as it's built.
+
+    @param targetFactory Target stream of each file, by page index (streams are closed after
+      serialization).
+    @param executor Executor of the serialization tasks (<code>null</code> to serialize on the
+      calling thread).
+    @see #split(int[], IFunction, ExecutorService)
+  */
+  public void split(
+    IFunction<Integer,java.io.OutputStream> targetFactory,
+    ExecutorService executor
+    )
+  {split(getBurstIndexes(), targetFactory, executor);}
+
+  /**
+    Bursts the document into single-page files, serializing each of them as soon as it's built.
+
+    @param targetPathTemplate Target file path template, formatted with the page index (for
+      example, <code>"page%04d.pdf"</code>).
+    @param executor Executor of the serialization tasks (<code>null</code> to serialize on the
+      calling thread).
+    @see #split(int[], IFunction, ExecutorService)
+  */
+  public void split(
+    String targetPathTemplate,
+    ExecutorService executor
+    )
+  {split(getBurstIndexes(), targetPathTemplate, executor);}
+
+  /**
+    Splits the document into multiple files delimited by the specified page indexes, serializing
+    each of them as soon as it's built.
+
+    @param indexes Split page indexes.
+    @param targetPathTemplate Target file path template, formatted with the part index (for
+      example, <code>"part%04d.pdf"</code>).
+    @param executor Executor of the serialization tasks (<code>null</code> to serialize on the
+      calling thread).
+    @see #split(int[], IFunction, ExecutorService)
+  */
+  public void split(
+    int[] indexes,
+    final String targetPathTemplate,
+    ExecutorService executor
+    )
+  {
+    split(
+      indexes,
+      new IFunction<Integer,java.io.OutputStream>()
+      {
+        @Override
+        public java.io.OutputStream apply(
+          Integer partIndex
+          )
+        {
+          String targetPath = String.format(targetPathTemplate, partIndex);
+          try
+          {return new FileOutputStream(targetPath);}
+          catch(FileNotFoundException e)
+          {throw new RuntimeException(targetPath + " file creation failed.", e);}
+        }
+      },
+      executor
+      );
+  }
+
+  /**
+    Splits the document into multiple files delimited by the specified page indexes, serializing
+    each of them as soon as it's built.
+    <p>Contrary to {@link #split(int...)}, parts aren't built as documents in memory: the pages of
+    each part are serialized straight from this document to the target stream (see
+    {@link MergeWriter}); the objects loaded for each part are then
+    {@link PdfIndirectObject#release() released} as soon as no other pending part depends on them
+    (objects already loaded before this call are left untouched), so memory is bounded by the
+    parts being serialized at once rather than by the whole document.</p>
+    <p>Each part is serialized by a task submitted to the executor, reading from this document; as
+    document objects aren't thread-safe, the objects the pages of each part depend on are loaded
+    on the calling thread just before its task is submitted, and the number of pending tasks is
+    bounded by the available processors: the document MUST NOT be accessed by other threads until
+    this method returns.</p>
+
+    @param indexes Split page indexes.
+    @param targetFactory Target stream of each part, by part index (streams are closed after
+      serialization). It's invoked by the serialization tasks, so it MUST be thread-safe.
+    @param executor Executor of the serialization tasks (<code>null</code> to serialize on the
+      calling thread).
+  */
+  public void split(
+    int[] indexes,
+    final IFunction<Integer,java.io.OutputStream> targetFactory,
+    ExecutorService executor
+    )
+  {
+    List<List<Page>> parts = new ArrayList<List<Page>>(indexes.length + 1);
+    {
+      List<Page> pages = new ArrayList<Page>(this.pages.size());
+      for(Page page : this.pages)
+      {pages.add(page);}
+
+      int startIndex = 0;
+      for(int index : indexes)
+      {
+        parts.add(pages.subList(startIndex, index));
+        startIndex = index;
+      }
+      parts.add(pages.subList(startIndex, pages.size()));
+    }
+    // Objects loaded by this split (candidates for release).
+    Set<PdfIndirectObject> parsedObjects = Collections.newSetFromMap(new IdentityHashMap<PdfIndirectObject,Boolean>());
+    // Count of the pending parts depending on each object.
+    Map<PdfIndirectObject,Integer> objectUsages = new IdentityHashMap<PdfIndirectObject,Integer>();
+
+    if(executor == null)
+    {
+      for(int partIndex = 0, partCount = parts.size(); partIndex < partCount; partIndex++)
+      {
+        List<Page> part = parts.get(partIndex);
+        Set<PdfIndirectObject> partObjects = retain(PageImporter.load(part, parsedObjects), objectUsages);
+        writePart(part, targetFactory.apply(partIndex));
+        release(partObjects, objectUsages, parsedObjects);
+      }
+      return;
+    }
+
+    int maxPendingPartCount = Runtime.getRuntime().availableProcessors() + 1;
+    Deque<Future<?>> partTasks = new ArrayDeque<Future<?>>(maxPendingPartCount);
+    Deque<Set<PdfIndirectObject>> partTaskObjects = new ArrayDeque<Set<PdfIndirectObject>>(maxPendingPartCount);
+    try
+    {
+      for(int partIndex = 0, partCount = parts.size(); partIndex < partCount; partIndex++)
+      {
+        // Wait for the oldest pending part to free a slot!
+        if(partTasks.size() >= maxPendingPartCount)
+        {
+          partTasks.peek().get();
+          partTasks.poll();
+          release(partTaskObjects.poll(), objectUsages, parsedObjects);
+        }
+
+        final List<Page> part = parts.get(partIndex);
+        final int partIndexValue = partIndex;
+        partTaskObjects.add(retain(PageImporter.load(part, parsedObjects), objectUsages));
+        partTasks.add(
+          executor.submit(
+            new Callable<Void>()
+            {
+              @Override
+              public Void call(
+                ) throws Exception
+              {
+                writePart(part, targetFactory.apply(partIndexValue));
+                return null;
+              }
+            }
+            )
+          );
+      }
+      while(!partTasks.isEmpty())
+      {
+        partTasks.peek().get();
+        partTasks.poll();
+        release(partTaskObjects.poll(), objectUsages, parsedObjects);
+      }
+    }
+    catch(InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    catch(ExecutionException e)
+    {
+      Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException)
+        throw (RuntimeException)cause;
+      else if(cause instanceof Error)
+        throw (Error)cause;
+      else
+        throw new RuntimeException(cause);
+    }
+    finally
+    {
+      for(Future<?> partTask : partTasks)
+      {partTask.cancel(true);}
+    }
+  }
   // </public>
+
+  // <private>
+  /**
+    Gets the split indexes corresponding to single-page parts.
+  */
+  private int[] getBurstIndexes(
+    )
+  {
+    int[] indexes = new int[Math.max(pages.size() - 1, 0)];
+    for(int index = 0; index < indexes.length; index++)
+    {indexes[index] = index + 1;}
+    return indexes;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
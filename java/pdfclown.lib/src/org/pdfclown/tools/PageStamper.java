@@ -25,28 +25,269 @@
 
 package org.pdfclown.tools;
 
+import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.documents.Document;
 import org.pdfclown.documents.Page;
 import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.Contents;
+import org.pdfclown.documents.contents.Resources;
 import org.pdfclown.documents.contents.composition.PrimitiveComposer;
+import org.pdfclown.documents.contents.objects.Operation;
+import org.pdfclown.documents.contents.objects.PaintXObject;
 import org.pdfclown.documents.contents.objects.RestoreGraphicsState;
 import org.pdfclown.documents.contents.objects.SaveGraphicsState;
+import org.pdfclown.documents.contents.xObjects.FormXObject;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfObject;
+import org.pdfclown.objects.PdfReference;
 import org.pdfclown.objects.PdfStream;
 
 /**
   Tool for content insertion into existing pages.
+  <p>Besides page-by-page stamping, it supports bulk stamping (see {@link #stamp(Iterable,
+  FormXObject, FormXObject, IStampComposer) stamp(...)}), which shares the same content streams
+  across all the target pages.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2, 12/28/12
+  @version 0.2.0, 10/19/26
 */
 public final class PageStamper
 {
   // <class>
+  // <classes>
+  /**
+    Page-specific stamp composer.
+  */
+  public interface IStampComposer
+  {
+    /**
+      Composes the contents to stamp on the specified page only (for example, its page number).
+
+      @param page Page to stamp.
+      @param composer Composer of the page-specific contents, placed in front of any other content.
+    */
+    void compose(
+      Page page,
+      PrimitiveComposer composer
+      );
+  }
+  // </classes>
+
+  // <static>
+  // <interface>
+  // <public>
+  /**
+    Stamps the specified pages with the same contents.
+    <p>Contrary to page-by-page stamping (which creates a new background and foreground content
+    stream for each page), the stamp contents are represented once by the specified form external
+    objects, which are invoked by a couple of content streams shared by all the pages. Existing
+    page contents are left untouched: only the <code>Contents</code> array and the external object
+    resources of each page are updated.</p>
+
+    @param pages Pages to stamp.
+    @param background Contents to place behind the existing page contents (may be
+      <code>null</code>).
+    @param foreground Contents to place in front of the existing page contents (may be
+      <code>null</code>).
+    @param composer Page-specific contents composer (may be <code>null</code>); its contents are
+      placed in a tiny content stream of each page.
+  */
+  public static void stamp(
+    Iterable<Page> pages,
+    FormXObject background,
+    FormXObject foreground,
+    IStampComposer composer
+    )
+  {
+    PdfName backgroundName = (background != null ? getStampName(background) : null);
+    PdfName foregroundName = (foreground != null ? getStampName(foreground) : null);
+    // Shared content streams.
+    PdfReference headStream = null, tailStream = null;
+    PageStamper stamper = null;
+    for(Page page : pages)
+    {
+      // Bind the stamp contents to the page!
+      if(!bindStamp(page, backgroundName, background)
+        || !bindStamp(page, foregroundName, foreground))
+      {
+        /*
+          NOTE: In case of resource name clash, the page is stamped on its own.
+        */
+        if(stamper == null)
+        {stamper = new PageStamper();}
+        stamper.setPage(page);
+        if(background != null)
+        {stamper.getBackground().showXObject(background);}
+        if(foreground != null)
+        {stamper.getForeground().showXObject(foreground);}
+        if(composer != null)
+        {composer.compose(page, stamper.getForeground());}
+        stamper.flush();
+        continue;
+      }
+
+      if(headStream == null)
+      {
+        Document document = page.getDocument();
+        headStream = createStream(
+          document,
+          SaveGraphicsState.Value,
+          backgroundName != null ? new PaintXObject(backgroundName) : null,
+          backgroundName != null ? RestoreGraphicsState.Value : null,
+          backgroundName != null ? SaveGraphicsState.Value : null
+          );
+        tailStream = createStream(
+          document,
+          RestoreGraphicsState.Value,
+          foregroundName != null ? SaveGraphicsState.Value : null,
+          foregroundName != null ? new PaintXObject(foregroundName) : null,
+          foregroundName != null ? RestoreGraphicsState.Value : null
+          );
+      }
+
+      PdfArray streams = getStreams(page);
+      streams.add(0, headStream);
+      streams.add(tailStream);
+
+      // Page-specific contents.
+      if(composer != null)
+      {
+        PrimitiveComposer pageComposer = new PrimitiveComposer(
+          new ContentScanner(
+            Contents.wrap(
+              page.getFile().register(new PdfStream()),
+              page
+              )
+            )
+          );
+        pageComposer.beginLocalState();
+        composer.compose(page, pageComposer);
+        pageComposer.end();
+        pageComposer.flush();
+        streams.add(pageComposer.getScanner().getContents().getBaseObject());
+      }
+    }
+  }
+  // </public>
+
+  // <private>
+  /**
+    Binds the specified stamp to the external object resources of the specified page.
+
+    @return Whether the stamp was bound (<code>false</code> in case of name clash).
+  */
+  private static boolean bindStamp(
+    Page page,
+    PdfName name,
+    FormXObject stamp
+    )
+  {
+    if(stamp == null)
+      return true;
+
+    Resources resources = page.getResources();
+    if(resources == null)
+    {page.getBaseDataObject().put(PdfName.Resources, (resources = new Resources(page.getDocument())).getBaseObject());}
+    PdfDictionary xObjects = resources.getBaseDataObject().resolve(PdfName.XObject, PdfDictionary.class);
+    PdfDirectObject xObject = xObjects.get(name);
+    if(xObject == null)
+    {xObjects.put(name, stamp.getBaseObject());}
+    else if(!xObject.equals(stamp.getBaseObject()))
+      return false;
+
+    return true;
+  }
+
+  /**
+    Creates a content stream containing the specified operations.
+  */
+  private static PdfReference createStream(
+    Document context,
+    Operation... operations
+    )
+  {
+    PdfStream stream = new PdfStream();
+    IBuffer body = stream.getBody();
+    for(Operation operation : operations)
+    {
+      if(operation != null)
+      {operation.writeTo(body, context);}
+    }
+    return context.getFile().register(stream);
+  }
+
+  /**
+    Gets the resource name of the specified stamp.
+    <p>As it's shared by all the stamped pages, it's derived from the object number of the stamp,
+    in order to avoid clashes with existing resource names.</p>
+  */
+  private static PdfName getStampName(
+    FormXObject stamp
+    )
+  {
+    PdfDirectObject baseObject = stamp.getBaseObject();
+    if(!(baseObject instanceof PdfReference))
+      throw new IllegalArgumentException("Stamp MUST be an indirect object.");
+
+    return new PdfName("Stamp" + ((PdfReference)baseObject).getObjectNumber());
+  }
+
+  /**
+    Gets the content stream array of the specified page, converting its content stream into an
+    array, if necessary.
+    <p>Existing content streams are not retained in memory: the ones loaded just to check their
+    type are released right after.</p>
+  */
+  private static PdfArray getStreams(
+    Page page
+    )
+  {
+    /*
+      NOTE: This specialized stamper is optimized for content insertion without modifying
+      existing content representations, leveraging the peculiar feature of page structures
+      to express their content streams as arrays of data streams.
+    */
+    PdfDictionary pageObject = page.getBaseDataObject();
+    PdfDirectObject contentsObject = pageObject.get(PdfName.Contents);
+    if(contentsObject == null)
+    {
+      PdfArray streams = new PdfArray();
+      pageObject.put(PdfName.Contents, streams);
+      return streams;
+    }
+
+    PdfIndirectObject contentsIndirectObject = (contentsObject instanceof PdfReference
+      ? ((PdfReference)contentsObject).getIndirectObject()
+      : null);
+    boolean contentsLoaded = (contentsIndirectObject == null || contentsIndirectObject.isLoaded());
+    PdfDataObject contentsDataObject = PdfObject.resolve(contentsObject);
+    // Single data stream?
+    if(contentsDataObject instanceof PdfStream)
+    {
+      if(!contentsLoaded)
+      {contentsIndirectObject.release();}
+
+      /*
+        NOTE: Content stream MUST be expressed as an array of data streams in order to host
+        background- and foreground-stamped contents.
+      */
+      PdfArray streams = new PdfArray();
+      streams.add(contentsObject);
+      pageObject.put(PdfName.Contents, streams);
+      return streams;
+    }
+    else
+      return (PdfArray)contentsDataObject;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
   // <dynamic>
   // <fields>
   private Page page;
@@ -72,29 +313,7 @@ public final class PageStamper
     )
   {
     // Ensuring that there's room for the new content chunks inside the page's content stream...
-    /*
-      NOTE: This specialized stamper is optimized for content insertion without modifying
-      existing content representations, leveraging the peculiar feature of page structures
-      to express their content streams as arrays of data streams.
-    */
-    PdfArray streams;
-    {
-      PdfDirectObject contentsObject = page.getBaseDataObject().get(PdfName.Contents);
-      PdfDataObject contentsDataObject = PdfObject.resolve(contentsObject);
-      // Single data stream?
-      if(contentsDataObject instanceof PdfStream)
-      {
-        /*
-          NOTE: Content stream MUST be expressed as an array of data streams in order to host
-          background- and foreground-stamped contents.
-        */
-        streams = new PdfArray();
-        streams.add(contentsObject);
-        page.getBaseDataObject().put(PdfName.Contents,streams);
-      }
-      else
-      {streams = (PdfArray)contentsDataObject;}
-    }
+    PdfArray streams = getStreams(page);
 
     // Background.
     // Serialize the content!
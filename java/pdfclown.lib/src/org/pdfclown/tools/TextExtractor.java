@@ -26,32 +26,58 @@
 package org.pdfclown.tools;
 
 import java.awt.geom.Rectangle2D;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.pdfclown.documents.Document;
+import org.pdfclown.documents.Page;
 import org.pdfclown.documents.contents.ContentScanner;
 import org.pdfclown.documents.contents.Contents;
 import org.pdfclown.documents.contents.IContentContext;
 import org.pdfclown.documents.contents.ITextString;
+import org.pdfclown.documents.contents.Resources;
 import org.pdfclown.documents.contents.TextChar;
 import org.pdfclown.documents.contents.TextStyle;
+import org.pdfclown.documents.contents.fonts.Font;
 import org.pdfclown.documents.contents.objects.ContainerObject;
 import org.pdfclown.documents.contents.objects.ContentObject;
 import org.pdfclown.documents.contents.objects.Text;
 import org.pdfclown.documents.contents.objects.XObject;
+import org.pdfclown.files.File;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.util.IFunction;
 import org.pdfclown.util.math.Interval;
+import org.pdfclown.util.math.geom.RectangleIndex;
 
 /**
   Tool for extracting text from {@link IContentContext content contexts}.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 05/27/15
+  @version 0.2.0, 10/19/26
 */
 public final class TextExtractor
 {
@@ -91,9 +117,394 @@ public final class TextExtractor
       );
   }
 
+  /**
+    Page text processor.
+  */
+  public interface IPageTextProcessor
+  {
+    /**
+      Notifies the text extracted from a page.
+
+      @param pageText Page text.
+    */
+    void process(
+      PageText pageText
+      );
+  }
+
+  /**
+    Text extracted from a page.
+  */
+  public static final class PageText
+  {
+    // <class>
+    // <dynamic>
+    // <fields>
+    private final int pageIndex;
+    private final Map<Rectangle2D,List<ITextString>> textStrings;
+    // </fields>
+
+    // <constructors>
+    private PageText(
+      int pageIndex,
+      Map<Rectangle2D,List<ITextString>> textStrings
+      )
+    {
+      this.pageIndex = pageIndex;
+      this.textStrings = textStrings;
+    }
+    // </constructors>
+
+    // <interface>
+    // <public>
+    /**
+      Gets the index of the source page.
+    */
+    public int getPageIndex(
+      )
+    {return pageIndex;}
+
+    /**
+      Gets the extracted text strings, grouped by area (see {@link
+      TextExtractor#extract(IContentContext)}).
+    */
+    public Map<Rectangle2D,List<ITextString>> getTextStrings(
+      )
+    {return textStrings;}
+
+    @Override
+    public String toString(
+      )
+    {return TextExtractor.toString(textStrings);}
+    // </public>
+    // </interface>
+    // </dynamic>
+    // </class>
+  }
+
+  /**
+    Concurrent page text iterator.
+    <p>Pages are extracted in parallel by tasks submitted to an executor, each one working on a
+    file instance of its own (as file instances are not thread-safe), and are emitted in page
+    order. Pages are extracted ahead of consumption only up to the maximum pending page count, so
+    that memory usage doesn't depend on the document size; the contents of each page are released
+    as soon as the page has been extracted.</p>
+    <p>It MUST be closed after use, to release its file instances.</p>
+  */
+  public final class PageTextIterator
+    implements Iterator<PageText>, Closeable
+  {
+    // <class>
+    // <dynamic>
+    // <fields>
+    private final ExecutorService executor;
+    private final IFunction<Object,File> fileFactory;
+    private final int maxPendingPageCount;
+    private final int workerCount;
+
+    /**
+      Opened file instances.
+    */
+    private final List<File> files = new ArrayList<File>();
+    /**
+      File instances available to extraction tasks.
+    */
+    private final BlockingQueue<File> idleFiles = new LinkedBlockingQueue<File>();
+    private final int pageCount;
+    /**
+      Submitted extraction tasks, in page order.
+    */
+    private final Queue<Future<PageText>> pendingPages = new ArrayDeque<Future<PageText>>();
+
+    private boolean closed;
+    /**
+      Index of the next page to submit.
+    */
+    private int nextPageIndex;
+    // </fields>
+
+    // <constructors>
+    private PageTextIterator(
+      IFunction<Object,File> fileFactory,
+      ExecutorService executor,
+      int workerCount,
+      int maxPendingPageCount
+      )
+    {
+      if(workerCount < 1)
+        throw new IllegalArgumentException("workerCount MUST be positive.");
+      if(maxPendingPageCount < 1)
+        throw new IllegalArgumentException("maxPendingPageCount MUST be positive.");
+
+      this.fileFactory = fileFactory;
+      this.executor = executor;
+      this.workerCount = workerCount;
+      this.maxPendingPageCount = maxPendingPageCount;
+
+      File file = fileFactory.apply(null);
+      files.add(file);
+      idleFiles.add(file);
+      pageCount = file.getDocument().getPages().size();
+    }
+    // </constructors>
+
+    // <interface>
+    // <public>
+    // <Closeable>
+    @Override
+    public void close(
+      ) throws IOException
+    {
+      if(closed)
+        return;
+
+      closed = true;
+      // Stop the pending extractions!
+      for(Future<PageText> pendingPage : pendingPages)
+      {pendingPage.cancel(false);}
+      for(Future<PageText> pendingPage : pendingPages)
+      {
+        if(pendingPage.isCancelled())
+          continue;
+
+        // Wait for the running extraction to complete!
+        try
+        {pendingPage.get();}
+        catch(Exception e)
+        {/* NOOP */}
+      }
+      pendingPages.clear();
+
+      synchronized(files)
+      {
+        for(File file : files)
+        {file.close();}
+        files.clear();
+      }
+    }
+    // </Closeable>
+
+    // <Iterator>
+    @Override
+    public boolean hasNext(
+      )
+    {return !closed && (!pendingPages.isEmpty() || nextPageIndex < pageCount);}
+
+    @Override
+    public PageText next(
+      )
+    {
+      if(!hasNext())
+        throw new NoSuchElementException();
+
+      submit();
+      PageText pageText;
+      try
+      {pageText = pendingPages.remove().get();}
+      catch(InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      catch(ExecutionException e)
+      {
+        Throwable cause = e.getCause();
+        if(cause instanceof RuntimeException)
+          throw (RuntimeException)cause;
+        else if(cause instanceof Error)
+          throw (Error)cause;
+        else
+          throw new RuntimeException(cause);
+      }
+      submit();
+      return pageText;
+    }
+
+    @Override
+    public void remove(
+      )
+    {throw new UnsupportedOperationException();}
+    // </Iterator>
+    // </public>
+
+    // <private>
+    /**
+      Gets a file instance for exclusive use by the current extraction task.
+    */
+    private File acquireFile(
+      ) throws InterruptedException
+    {
+      File file = idleFiles.poll();
+      if(file != null)
+        return file;
+
+      synchronized(files)
+      {
+        if(files.size() < workerCount)
+        {
+          files.add(file = fileFactory.apply(null));
+          return file;
+        }
+      }
+      return idleFiles.take();
+    }
+
+    private PageText extractPage(
+      int pageIndex
+      ) throws InterruptedException
+    {
+      File file = acquireFile();
+      try
+      {
+        Page page = file.getDocument().getPages().get(pageIndex);
+        PageText pageText = new PageText(pageIndex, extract(page));
+        releaseContents(page);
+        return pageText;
+      }
+      finally
+      {idleFiles.add(file);}
+    }
+
+    /**
+      Submits the extraction of the next pages, up to the maximum pending page count.
+    */
+    private void submit(
+      )
+    {
+      while(pendingPages.size() < maxPendingPageCount
+        && nextPageIndex < pageCount)
+      {
+        final int pageIndex = nextPageIndex++;
+        pendingPages.add(
+          executor.submit(
+            new Callable<PageText>()
+            {
+              @Override
+              public PageText call(
+                ) throws Exception
+              {return extractPage(pageIndex);}
+            }
+            )
+          );
+      }
+    }
+    // </private>
+    // </interface>
+    // </dynamic>
+    // </class>
+  }
+
+  /**
+    Text line.
+    <p>This is used to group raw text strings laying on the same line.</p>
+  */
+  private static class TextLine
+  {
+    // <class>
+    // <dynamic>
+    // <fields>
+    /**
+      Baseline of the text string which opened this line, against which line membership is
+      evaluated.
+    */
+    private final double baseline;
+    /**
+      Bottom of the vertical extent of this line's text strings.
+    */
+    private double bottom;
+    /**
+      Typical height of this line's text strings (that is, their average height weighted by their
+      width, so that sparse taller glyphs, such as symbols, don't affect it).
+    */
+    private double height;
+    /**
+      Sum of the heights of this line's text strings, each weighted by its width.
+    */
+    private double heightSum;
+    /**
+      Position of this line (top-down).
+    */
+    private final int index;
+    /**
+      Left of the horizontal extent of this line's text strings.
+    */
+    private double left;
+    /**
+      Right of the horizontal extent of this line's text strings.
+    */
+    private double right;
+    private final List<ContentScanner.TextStringWrapper> textStrings = new ArrayList<ContentScanner.TextStringWrapper>();
+    /**
+      Top of the vertical extent of this line's text strings.
+    */
+    private double top;
+    /**
+      Sum of the widths of this line's text strings having a non-degenerate height.
+    */
+    private double widthSum;
+    // </fields>
+
+    // <constructors>
+    public TextLine(
+      int index,
+      double baseline
+      )
+    {
+      this.index = index;
+      this.baseline = baseline;
+      this.top = this.left = Double.POSITIVE_INFINITY;
+      this.bottom = this.right = Double.NEGATIVE_INFINITY;
+    }
+    // </constructors>
+
+    // <interface>
+    // <public>
+    public void add(
+      ContentScanner.TextStringWrapper textString
+      )
+    {
+      Rectangle2D box = textString.getBox();
+      if(box.getHeight() > 0)
+      {
+        if(box.getWidth() > 0)
+        {
+          heightSum += box.getHeight() * box.getWidth();
+          widthSum += box.getWidth();
+          height = heightSum / widthSum;
+        }
+        else if(widthSum == 0) // Degenerate width (such as that of rotated text).
+        {height = Math.max(height, box.getHeight());}
+      }
+      top = Math.min(top, box.getY());
+      bottom = Math.max(bottom, box.getMaxY());
+      left = Math.min(left, box.getX());
+      right = Math.max(right, box.getMaxX());
+      textStrings.add(textString);
+    }
+
+    /**
+      Moves the text strings of the specified line into this one.
+      <p>The vertical extent of this line is left untouched, so that merging doesn't cascade.</p>
+    */
+    public void merge(
+      TextLine line
+      )
+    {
+      left = Math.min(left, line.left);
+      right = Math.max(right, line.right);
+      textStrings.addAll(line.textStrings);
+      line.textStrings.clear();
+    }
+    // </public>
+    // </interface>
+    // </dynamic>
+    // </class>
+  }
+
   /**
     Text string.
     <p>This is typically used to assemble contiguous raw text strings.</p>
+    <p>Its box is extended incrementally as characters are appended.</p>
   */
   private static class TextString
     implements ITextString
@@ -102,6 +513,12 @@ public final class TextExtractor
     // <dynamic>
     // <fields>
     private final List<TextChar> textChars = new ArrayList<TextChar>();
+
+    private Rectangle2D box;
+    /**
+      Number of leading characters whose boxes are comprised in {@link #box}.
+    */
+    private int boxCharCount;
     // </fields>
 
     // <interface>
@@ -110,13 +527,20 @@ public final class TextExtractor
     public Rectangle2D getBox(
       )
     {
-      Rectangle2D box = null;
-      for(TextChar textChar : textChars)
+      // Characters removed?
+      if(boxCharCount > textChars.size())
+      {
+        box = null;
+        boxCharCount = 0;
+      }
+      // Extend the box with the characters appended since the latest evaluation!
+      for(int count = textChars.size(); boxCharCount < count; boxCharCount++)
       {
+        Rectangle2D textCharBox = textChars.get(boxCharCount).getBox();
         if(box == null)
-        {box = (Rectangle2D)textChar.getBox().clone();}
+        {box = (Rectangle2D)textCharBox.clone();}
         else
-        {box.add(textChar.getBox());}
+        {box.add(textCharBox);}
       }
       return box;
     }
@@ -135,12 +559,22 @@ public final class TextExtractor
     public List<TextChar> getTextChars(
       )
     {return textChars;}
-    
+
     @Override
     public String toString(
       )
     {return getText();}
     // </public>
+
+    // <private>
+    private void removeLastChar(
+      )
+    {
+      textChars.remove(textChars.size() - 1);
+      box = null;
+      boxCharCount = 0;
+    }
+    // </private>
     // </interface>
     // </dynamic>
     // </class>
@@ -153,30 +587,22 @@ public final class TextExtractor
     implements Comparator<ITextString>
   {
     // <class>
-    // <static>
+    // <dynamic>
+    // <fields>
+    private final boolean horizontal;
+    // </fields>
+
+    // <constructors>
     /**
-      Gets whether the specified boxes lay on the same text line.
+      @param horizontal Whether the horizontal position takes precedence over the vertical one
+        (left-to-right, then top-down); otherwise, top-down, then left-to-right.
     */
-    public static boolean isOnTheSameLine(
-      Rectangle2D box1,
-      Rectangle2D box2
+    public TextStringPositionComparator(
+      boolean horizontal
       )
-    {
-      /*
-        NOTE: In order to consider the two boxes being on the same line,
-        we apply a simple rule of thumb: at least 25% of a box's height MUST
-        lay on the horizontal projection of the other one.
-      */
-      double minHeight = Math.min(box1.getHeight(), box2.getHeight());
-      double yThreshold = minHeight * .75;
-      return ((box1.getY() > box2.getY() - yThreshold
-          && box1.getY() < box2.getMaxY() + yThreshold - minHeight)
-        || (box2.getY() > box1.getY() - yThreshold
-          && box2.getY() < box1.getMaxY() + yThreshold - minHeight));
-    }
-    // </static>
+    {this.horizontal = horizontal;}
+    // </constructors>
 
-    // <dynamic>
     // <Comparator>
     @Override
     public int compare(
@@ -184,19 +610,21 @@ public final class TextExtractor
       ITextString textString2
       )
     {
+      /*
+        NOTE: Line equivalence is not transitive, so it cannot take part in the comparison: lines
+        are grouped separately (see groupLines(List)).
+      */
       Rectangle2D box1 = textString1.getBox();
       Rectangle2D box2 = textString2.getBox();
-      if(isOnTheSameLine(box1,box2))
-      {
-        /*
-          [FIX:55:0.1.3] In order not to violate the transitive condition, equivalence on x-axis
-          MUST fall back on y-axis comparison.
-        */
-        int xCompare = Double.compare(box1.getX(), box2.getX());
-        if(xCompare != 0)
-          return xCompare;
-      }
-      return Double.compare(box1.getY(), box2.getY());
+      int compare = (horizontal
+        ? Double.compare(box1.getX(), box2.getX())
+        : Double.compare(box1.getY(), box2.getY()));
+      if(compare != 0)
+        return compare;
+
+      return (horizontal
+        ? Double.compare(box1.getY(), box2.getY())
+        : Double.compare(box1.getX(), box2.getX()));
     }
     // </Comparator>
     // </dynamic>
@@ -205,6 +633,24 @@ public final class TextExtractor
   // </classes>
 
   // <static>
+  // <fields>
+  /**
+    Maximum baseline distance of text strings laying on the same line, relative to the height of
+    the shortest one (degenerate heights, such as those of fonts lacking metrics, are ignored).
+  */
+  private static final double BaselineTolerance = .2;
+  /**
+    Minimum height of a superscript or subscript line, relative to its base line (see
+    {@link #groupLines(List)}).
+  */
+  private static final double ScriptMinHeightRatio = .4;
+  /**
+    Maximum height (exclusive) of a superscript or subscript line, relative to its base line (see
+    {@link #groupLines(List)}).
+  */
+  private static final double ScriptMaxHeightRatio = .75;
+  // </fields>
+
   // <interface>
   // <public>
   /**
@@ -244,6 +690,108 @@ public final class TextExtractor
     return textBuilder.toString();
   }
   // </public>
+
+  // <private>
+  /**
+    Gets the baseline position of the specified text string.
+  */
+  private static double getBaseline(
+    ContentScanner.TextStringWrapper textString
+    )
+  {
+    Rectangle2D box = textString.getBox();
+    Font font = textString.getStyle().getFont();
+    /*
+      NOTE: Text boxes span from the ascender to the descender line of their font (see
+      ShowText.scan(ContentScanner.GraphicsState, ShowText.IScanner)).
+    */
+    double lineHeight = (font != null ? font.getLineHeight() : 0);
+    return lineHeight > 0
+      ? box.getY() + box.getHeight() * font.getAscent() / lineHeight
+      : box.getMaxY();
+  }
+
+  /**
+    Gets the maximum baseline distance of text strings of the specified heights laying on the same
+    line.
+  */
+  private static double getBaselineTolerance(
+    double height1,
+    double height2
+    )
+  {
+    return (height1 <= 0 ? height2
+      : height2 <= 0 ? height1
+      : Math.min(height1, height2)) * BaselineTolerance;
+  }
+
+  /**
+    Gets whether the specified line can be merged into the target one.
+  */
+  private static boolean isMergeable(
+    TextLine line,
+    TextLine targetLine
+    )
+  {
+    // Vertical extent mostly covered by the target?
+    if(Math.min(line.bottom, targetLine.bottom) - Math.max(line.top, targetLine.top)
+      < (line.bottom - line.top) * .5)
+      return false;
+
+    double heightRatio = line.height / targetLine.height;
+    if(heightRatio < ScriptMinHeightRatio || heightRatio > 1)
+      return false;
+
+    double horizontalGap = Math.max(line.left, targetLine.left) - Math.min(line.right, targetLine.right);
+    if(heightRatio < ScriptMaxHeightRatio) // Script.
+      return horizontalGap <= targetLine.height; // NOTE: Scripts stick to their base line.
+    else // Comparable line (such as one of an adjacent column).
+      return horizontalGap >= 0; // NOTE: Overlapping lines would interleave their characters.
+  }
+
+  /**
+    Releases the (unmodified) contents of the specified page, along with its external objects.
+
+    @see PdfIndirectObject#release()
+  */
+  private static void releaseContents(
+    Page page
+    )
+  {
+    releaseContents(page.getBaseDataObject().get(PdfName.Contents));
+    Resources resources = page.getResources();
+    if(resources != null)
+    {
+      PdfDictionary xObjects = (PdfDictionary)resources.getBaseDataObject().resolve(PdfName.XObject);
+      if(xObjects != null)
+      {
+        for(PdfDirectObject xObject : xObjects.values())
+        {releaseContents(xObject);}
+      }
+    }
+  }
+
+  private static void releaseContents(
+    PdfDirectObject contentsObject
+    )
+  {
+    if(contentsObject instanceof PdfReference)
+    {
+      PdfIndirectObject indirectObject = ((PdfReference)contentsObject).getIndirectObject();
+      if(indirectObject == null || !indirectObject.isLoaded())
+        return;
+
+      if(indirectObject.getDataObject() instanceof PdfArray) // Multiple content streams.
+      {releaseContents((PdfDirectObject)indirectObject.getDataObject());}
+      indirectObject.release();
+    }
+    else if(contentsObject instanceof PdfArray) // Multiple content streams.
+    {
+      for(PdfDirectObject item : (PdfArray)contentsObject)
+      {releaseContents(item);}
+    }
+  }
+  // </private>
   // </interface>
   // </static>
 
@@ -320,6 +868,161 @@ public final class TextExtractor
     return extractedTextStrings;
   }
 
+  /**
+    Extracts text strings from the pages of the specified document, one page at a time.
+    <p>Each page is extracted lazily on iteration.</p>
+
+    @param document Source document.
+  */
+  public Iterator<PageText> extract(
+    Document document
+    )
+  {return extract(document, false);}
+
+  /**
+    Extracts text strings from the pages of the specified document, one page at a time.
+    <p>Each page is extracted lazily on iteration.</p>
+
+    @param document Source document.
+    @param contentsReleased Whether the contents of each page (along with its external objects) are
+      released as soon as it has been extracted, keeping memory usage flat on large documents. As
+      released objects are detached from the document (see {@link PdfIndirectObject#release()}),
+      this option is meant for documents which are read only for the sake of extraction.
+  */
+  public Iterator<PageText> extract(
+    Document document,
+    final boolean contentsReleased
+    )
+  {
+    final Iterator<Page> pagesIterator = document.getPages().iterator();
+    return new Iterator<PageText>()
+    {
+      private int pageIndex = 0;
+
+      @Override
+      public boolean hasNext(
+        )
+      {return pagesIterator.hasNext();}
+
+      @Override
+      public PageText next(
+        )
+      {
+        Page page = pagesIterator.next();
+        PageText pageText = new PageText(pageIndex++, extract(page));
+        if(contentsReleased)
+        {releaseContents(page);}
+        return pageText;
+      }
+
+      @Override
+      public void remove(
+        )
+      {throw new UnsupportedOperationException();}
+    };
+  }
+
+  /**
+    Extracts text strings from the pages of the specified file, concurrently.
+
+    @param filePath Source file path.
+    @param executor Executor of the page extraction tasks.
+    @param workerCount Maximum number of pages extracted at the same time (that is, the number of
+      file instances opened on the source file).
+    @param maxPendingPageCount Maximum number of pages extracted ahead of consumption.
+    @return Page text iterator (it MUST be closed after use).
+  */
+  public PageTextIterator extract(
+    final String filePath,
+    ExecutorService executor,
+    int workerCount,
+    int maxPendingPageCount
+    ) throws FileNotFoundException
+  {
+    // Check the file availability!
+    if(!new java.io.File(filePath).isFile())
+      throw new FileNotFoundException(filePath);
+
+    return new PageTextIterator(
+      new IFunction<Object,File>()
+      {
+        @Override
+        public File apply(
+          Object argument
+          )
+        {
+          try
+          {return new File(filePath);}
+          catch(FileNotFoundException e)
+          {throw new RuntimeException(e);}
+        }
+      },
+      executor,
+      workerCount,
+      maxPendingPageCount
+      );
+  }
+
+  /**
+    Extracts text strings from the pages of the specified file, concurrently.
+
+    @param fileData Source file data.
+    @param executor Executor of the page extraction tasks.
+    @param workerCount Maximum number of pages extracted at the same time (that is, the number of
+      file instances opened on the source data).
+    @param maxPendingPageCount Maximum number of pages extracted ahead of consumption.
+    @return Page text iterator (it MUST be closed after use).
+  */
+  public PageTextIterator extract(
+    final byte[] fileData,
+    ExecutorService executor,
+    int workerCount,
+    int maxPendingPageCount
+    )
+  {
+    return new PageTextIterator(
+      new IFunction<Object,File>()
+      {
+        @Override
+        public File apply(
+          Object argument
+          )
+        {return new File(fileData);}
+      },
+      executor,
+      workerCount,
+      maxPendingPageCount
+      );
+  }
+
+  /**
+    Extracts text strings from the pages of the specified file, concurrently, notifying them in
+    page order to the specified processor.
+
+    @param filePath Source file path.
+    @param executor Executor of the page extraction tasks.
+    @param workerCount Maximum number of pages extracted at the same time.
+    @param maxPendingPageCount Maximum number of pages extracted ahead of processing.
+    @param processor Page text processor (invoked on the current thread).
+  */
+  public void extract(
+    String filePath,
+    ExecutorService executor,
+    int workerCount,
+    int maxPendingPageCount,
+    IPageTextProcessor processor
+    ) throws IOException
+  {
+    PageTextIterator pageTexts = extract(filePath, executor, workerCount, maxPendingPageCount);
+    try
+    {
+      while(pageTexts.hasNext())
+      {processor.process(pageTexts.next());}
+    }
+    finally
+    {pageTexts.close();}
+  }
+
   /**
     Extracts text strings from the specified contents.
 
@@ -495,6 +1198,17 @@ public final class TextExtractor
     )
   {
     Map<Rectangle2D,List<ITextString>> filteredAreasTextStrings = new HashMap<Rectangle2D,List<ITextString>>();
+    /*
+      NOTE: Text strings are spatially indexed, so that each area is matched only against the text
+      strings laying around it.
+    */
+    RectangleIndex textStringsIndex;
+    {
+      List<Rectangle2D> textStringBoxes = new ArrayList<Rectangle2D>(textStrings.size());
+      for(ITextString textString : textStrings)
+      {textStringBoxes.add(textString.getBox());}
+      textStringsIndex = new RectangleIndex(textStringBoxes);
+    }
     for(Rectangle2D area : areas)
     {
       List<ITextString> filteredAreaTextStrings = new ArrayList<ITextString>();
@@ -507,8 +1221,9 @@ public final class TextExtractor
           area.getHeight() + areaTolerance * 2
           )
         : area);
-      for(ITextString textString : textStrings)
+      for(int textStringIndex : textStringsIndex.find(toleratedArea))
       {
+        ITextString textString = textStrings.get(textStringIndex);
         Rectangle2D textStringBox = textString.getBox();
         if(toleratedArea.intersects(textStringBox))
         {
@@ -658,6 +1373,143 @@ public final class TextExtractor
     }
   }
 
+  /**
+    Groups the specified text strings by line.
+    <p>Text strings are swept top-down by baseline: each one joins the open line whose baseline is
+    within tolerance (see {@link #BaselineTolerance}), otherwise it opens a new line (likewise if
+    it's within the tolerance of multiple open lines); lines are closed as soon as the sweep passes
+    their tolerance.</p>
+    <p>Then, each line is merged into the line covering most of its vertical extent, provided that
+    either the former is a superscript or subscript (that is, markedly shorter and shifted off the
+    baseline) next to the latter, or they are comparable and horizontally disjoint (such as lines of
+    adjacent columns); this way, characters of comparable overlapping lines cannot interleave. A
+    line covered this way by multiple lines is ambiguous, so it is kept apart.</p>
+
+    @param textStrings Text strings to group.
+    @return Lines, top-down, each one sorted left-to-right.
+  */
+  private List<TextLine> groupLines(
+    List<ContentScanner.TextStringWrapper> textStrings
+    )
+  {
+    int textStringCount = textStrings.size();
+    final double[] baselines = new double[textStringCount];
+    List<Integer> sortedIndexes = new ArrayList<Integer>(textStringCount);
+    double maxHeight = 0;
+    for(int index = 0; index < textStringCount; index++)
+    {
+      ContentScanner.TextStringWrapper textString = textStrings.get(index);
+      baselines[index] = getBaseline(textString);
+      maxHeight = Math.max(maxHeight, textString.getBox().getHeight());
+      sortedIndexes.add(index);
+    }
+    Collections.sort(
+      sortedIndexes,
+      new Comparator<Integer>()
+      {
+        @Override
+        public int compare(
+          Integer index1,
+          Integer index2
+          )
+        {return Double.compare(baselines[index1], baselines[index2]);}
+      }
+      );
+
+    // 1. Baseline grouping.
+    List<TextLine> lines = new ArrayList<TextLine>();
+    List<TextLine> openLines = new LinkedList<TextLine>();
+    for(int index : sortedIndexes)
+    {
+      ContentScanner.TextStringWrapper textString = textStrings.get(index);
+      double baseline = baselines[index];
+      double height = textString.getBox().getHeight();
+      TextLine line = null;
+      boolean ambiguous = false;
+      for(Iterator<TextLine> openLinesIterator = openLines.iterator(); openLinesIterator.hasNext();)
+      {
+        TextLine openLine = openLinesIterator.next();
+        double baselineDelta = baseline - openLine.baseline; // NOTE: Never negative (sorted sweep).
+        /*
+          NOTE: As text strings are swept top-down, once a text string's baseline exceeds the
+          widest tolerance of a line, none of the following ones can lay on it anymore.
+        */
+        if(baselineDelta > (openLine.height > 0 ? openLine.height : maxHeight) * BaselineTolerance)
+        {openLinesIterator.remove();}
+        else if(baselineDelta <= getBaselineTolerance(openLine.height, height))
+        {
+          if(line == null)
+          {line = openLine;}
+          else
+          {ambiguous = true;}
+        }
+      }
+      if(line == null || ambiguous)
+      {
+        lines.add(line = new TextLine(lines.size(), baseline));
+        openLines.add(line);
+      }
+      line.add(textString);
+    }
+
+    // 2. Line merging.
+    /*
+      NOTE: Lines are visited from the shortest, so that scripts of scripts follow their base line.
+    */
+    List<TextLine> heightSortedLines = new ArrayList<TextLine>(lines);
+    Collections.sort(
+      heightSortedLines,
+      new Comparator<TextLine>()
+      {
+        @Override
+        public int compare(
+          TextLine line1,
+          TextLine line2
+          )
+        {return Double.compare(line1.height, line2.height);}
+      }
+      );
+    for(TextLine line : heightSortedLines)
+    {
+      TextLine targetLine = null;
+      boolean ambiguous = false;
+      for(int step = -1; step <= 1; step += 2)
+      {
+        for(
+          int index = line.index + step;
+          index >= 0 && index < lines.size()
+            && Math.abs(lines.get(index).baseline - line.baseline) <= maxHeight * 2;
+          index += step
+          )
+        {
+          TextLine otherLine = lines.get(index);
+          if(!otherLine.textStrings.isEmpty() // Not merged.
+            && isMergeable(line, otherLine))
+          {
+            if(targetLine == null)
+            {targetLine = otherLine;}
+            else
+            {ambiguous = true;}
+          }
+        }
+      }
+      if(targetLine != null && !ambiguous)
+      {targetLine.merge(line);}
+    }
+
+    List<TextLine> mergedLines = new ArrayList<TextLine>(lines.size());
+    TextStringPositionComparator horizontalComparator = new TextStringPositionComparator(true);
+    for(TextLine line : lines)
+    {
+      if(line.textStrings.isEmpty()) // Merged line.
+        continue;
+
+      Collections.sort(line.textStrings, horizontalComparator);
+      mergedLines.add(line);
+    }
+    return mergedLines;
+  }
+
   /**
     Sorts the extracted text strings.
     <h3>Remarks</h3>
@@ -671,31 +1523,24 @@ public final class TextExtractor
     List<ITextString> textStrings
     )
   {
-    // Sorting the source text strings...
-    {
-      TextStringPositionComparator positionComparator = new TextStringPositionComparator();
-      Collections.sort(rawTextStrings, positionComparator);
-    }
-
     // Aggregating and integrating the source text strings into the target ones...
     TextString textString = null;
     TextStyle textStyle = null;
     TextChar previousTextChar = null;
     boolean dehyphenating = false;
-    for(ContentScanner.TextStringWrapper rawTextString : rawTextStrings)
+    /*
+      NOTE: Contents on the same line are grouped together within the same text string.
+    */
+    for(TextLine line : groupLines(rawTextStrings))
     {
-      /*
-        NOTE: Contents on the same line are grouped together within the same text string.
-      */
       // Add a new text string in case of new line!
       if(textString != null
-        && !textString.textChars.isEmpty()
-        && !TextStringPositionComparator.isOnTheSameLine(textString.getBox(), rawTextString.getBox()))
+        && !textString.textChars.isEmpty())
       {
         if(dehyphenated
           && previousTextChar.getValue() == '-') // Hyphened word.
         {
-          textString.textChars.remove(previousTextChar);
+          textString.removeLastChar();
           dehyphenating = true;
         }
         else // Full word.
@@ -719,51 +1564,55 @@ public final class TextExtractor
         }
         previousTextChar = null;
       }
-      if(textString == null)
-      {textStrings.add(textString = new TextString());}
 
-      textStyle = rawTextString.getStyle();
-      double spaceWidth = textStyle.getWidth(' ') * .5;
-      for(TextChar textChar : rawTextString.getTextChars())
+      for(ContentScanner.TextStringWrapper rawTextString : line.textStrings)
       {
-        if(previousTextChar != null)
+        if(textString == null)
+        {textStrings.add(textString = new TextString());}
+
+        textStyle = rawTextString.getStyle();
+        double spaceWidth = textStyle.getWidth(' ') * .5;
+        for(TextChar textChar : rawTextString.getTextChars())
         {
-          /*
-            NOTE: PDF files may have text contents omitting space characters,
-            so they must be inferred and synthesized, marking them as virtual
-            in order to allow the user to distinguish between original contents
-            and augmented ones.
-          */
-          if(!textChar.contains(' ') 
-            && !previousTextChar.contains(' '))
+          if(previousTextChar != null)
           {
-            double charSpace = textChar.getBox().getX() - previousTextChar.getBox().getMaxX();
-            if(charSpace > spaceWidth)
+            /*
+              NOTE: PDF files may have text contents omitting space characters,
+              so they must be inferred and synthesized, marking them as virtual
+              in order to allow the user to distinguish between original contents
+              and augmented ones.
+            */
+            if(!textChar.contains(' ')
+              && !previousTextChar.contains(' '))
             {
-              // Add synthesized space character!
-              textString.textChars.add(
-                previousTextChar = new TextChar(
-                  ' ',
-                  new Rectangle2D.Double(
-                    previousTextChar.getBox().getMaxX(),
-                    textChar.getBox().getY(),
-                    charSpace,
-                    textChar.getBox().getHeight()
-                    ),
-                  textStyle,
-                  true
-                  )
-                );
+              double charSpace = textChar.getBox().getX() - previousTextChar.getBox().getMaxX();
+              if(charSpace > spaceWidth)
+              {
+                // Add synthesized space character!
+                textString.textChars.add(
+                  previousTextChar = new TextChar(
+                    ' ',
+                    new Rectangle2D.Double(
+                      previousTextChar.getBox().getMaxX(),
+                      textChar.getBox().getY(),
+                      charSpace,
+                      textChar.getBox().getHeight()
+                      ),
+                    textStyle,
+                    true
+                    )
+                  );
+              }
+            }
+            else if(dehyphenating
+              && previousTextChar.contains(' '))
+            {
+              textStrings.add(textString = new TextString());
+              dehyphenating = false;
             }
           }
-          else if(dehyphenating
-            && previousTextChar.contains(' '))
-          {
-            textStrings.add(textString = new TextString());
-            dehyphenating = false;
-          }
+          textString.textChars.add(previousTextChar = textChar);
         }
-        textString.textChars.add(previousTextChar = textChar);
       }
     }
   }
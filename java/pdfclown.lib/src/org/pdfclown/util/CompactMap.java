@@ -0,0 +1,404 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+  Insertion-ordered map optimized for small sizes.
+  <p>Up to {@link #MaxCompactSize} entries, keys and values are stored interleaved within a single
+  array and looked up by linear scan, sparing the table and the per-entry node objects of a hash
+  map; beyond that size, entries are moved to a {@link LinkedHashMap}. Either way, iteration
+  follows insertion order.</p>
+  <p><code>null</code> keys are not supported.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class CompactMap<K,V>
+  extends AbstractMap<K,V>
+{
+  // <class>
+  // <classes>
+  private final class CompactEntry
+    implements Map.Entry<K,V>
+  {
+    private final int index;
+
+    CompactEntry(
+      int index
+      )
+    {this.index = index;}
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      if(!(object instanceof Map.Entry))
+        return false;
+
+      Map.Entry<?,?> entry = (Map.Entry<?,?>)object;
+      Object value = getValue();
+      return getKey().equals(entry.getKey())
+        && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K getKey(
+      )
+    {return (K)data[index << 1];}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getValue(
+      )
+    {return (V)data[(index << 1) + 1];}
+
+    @Override
+    public int hashCode(
+      )
+    {
+      Object value = getValue();
+      return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public V setValue(
+      V value
+      )
+    {
+      V oldValue = getValue();
+      data[(index << 1) + 1] = value;
+      return oldValue;
+    }
+
+    @Override
+    public String toString(
+      )
+    {return getKey() + "=" + getValue();}
+  }
+
+  private final class CompactEntryIterator
+    implements Iterator<Map.Entry<K,V>>
+  {
+    private int expectedModCount = modCount;
+    private int index;
+    private boolean removable;
+
+    @Override
+    public boolean hasNext(
+      )
+    {
+      /*
+        NOTE: Structural changes must be checked here too, as expansion empties the compact form,
+        which would otherwise silently end the iteration.
+      */
+      checkModCount();
+      return index < size;
+    }
+
+    @Override
+    public Map.Entry<K,V> next(
+      )
+    {
+      checkModCount();
+      if(index >= size)
+        throw new NoSuchElementException();
+
+      removable = true;
+      return new CompactEntry(index++);
+    }
+
+    @Override
+    public void remove(
+      )
+    {
+      if(!removable)
+        throw new IllegalStateException();
+
+      checkModCount();
+      removeAt(--index);
+      expectedModCount = modCount;
+      removable = false;
+    }
+
+    private void checkModCount(
+      )
+    {
+      if(modCount != expectedModCount)
+        throw new ConcurrentModificationException();
+    }
+  }
+
+  private final class EntrySet
+    extends AbstractSet<Map.Entry<K,V>>
+  {
+    @Override
+    public void clear(
+      )
+    {CompactMap.this.clear();}
+
+    @Override
+    public Iterator<Map.Entry<K,V>> iterator(
+      )
+    {return map != null ? map.entrySet().iterator() : new CompactEntryIterator();}
+
+    @Override
+    public int size(
+      )
+    {return CompactMap.this.size();}
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Maximum number of entries stored in compact form.
+  */
+  public static final int MaxCompactSize = 12;
+
+  private static final Object[] EmptyData = new Object[0];
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Interleaved keys and values (compact form).
+  */
+  private Object[] data;
+  /**
+    Hash map (expanded form).
+  */
+  private LinkedHashMap<K,V> map;
+  private int modCount;
+  private int size;
+
+  private Set<Map.Entry<K,V>> entrySet;
+  // </fields>
+
+  // <constructors>
+  public CompactMap(
+    )
+  {data = EmptyData;}
+
+  /**
+    @param capacity Expected entry count.
+  */
+  public CompactMap(
+    int capacity
+    )
+  {
+    if(capacity > MaxCompactSize)
+    {map = new LinkedHashMap<K,V>((int)(capacity / .75f) + 1);}
+    else
+    {data = (capacity > 0 ? new Object[capacity << 1] : EmptyData);}
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void clear(
+    )
+  {
+    if(map != null)
+    {
+      map = null;
+      data = EmptyData;
+    }
+    else
+    {
+      for(int index = size << 1; --index >= 0;)
+      {data[index] = null;}
+    }
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public boolean containsKey(
+    Object key
+    )
+  {return map != null ? map.containsKey(key) : indexOf(key) >= 0;}
+
+  @Override
+  public Set<Map.Entry<K,V>> entrySet(
+    )
+  {
+    if(entrySet == null)
+    {entrySet = new EntrySet();}
+
+    return entrySet;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(
+    Object key
+    )
+  {
+    if(map != null)
+      return map.get(key);
+
+    int index = indexOf(key);
+    return index >= 0 ? (V)data[(index << 1) + 1] : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(
+    K key,
+    V value
+    )
+  {
+    if(map != null)
+      return map.put(key, value);
+
+    if(key == null)
+      throw new NullPointerException("key");
+
+    int index = indexOf(key);
+    if(index >= 0) // Existing entry.
+    {
+      int valueIndex = (index << 1) + 1;
+      V oldValue = (V)data[valueIndex];
+      data[valueIndex] = value;
+      return oldValue;
+    }
+
+    if(size == MaxCompactSize) // Compact form exhausted.
+    {
+      expand();
+      return map.put(key, value);
+    }
+
+    int dataIndex = size << 1;
+    if(dataIndex == data.length)
+    {
+      Object[] newData = new Object[Math.min(Math.max(size << 1, 4), MaxCompactSize) << 1];
+      System.arraycopy(data, 0, newData, 0, dataIndex);
+      data = newData;
+    }
+    data[dataIndex] = key;
+    data[dataIndex + 1] = value;
+    size++;
+    modCount++;
+    return null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V remove(
+    Object key
+    )
+  {
+    if(map != null)
+      return map.remove(key);
+
+    int index = indexOf(key);
+    if(index < 0)
+      return null;
+
+    V oldValue = (V)data[(index << 1) + 1];
+    removeAt(index);
+    return oldValue;
+  }
+
+  @Override
+  public int size(
+    )
+  {return map != null ? map.size() : size;}
+  // </public>
+
+  // <private>
+  /**
+    Moves the entries to the expanded form.
+  */
+  @SuppressWarnings("unchecked")
+  private void expand(
+    )
+  {
+    map = new LinkedHashMap<K,V>(MaxCompactSize << 2);
+    for(int index = 0, length = size << 1; index < length; index += 2)
+    {map.put((K)data[index], (V)data[index + 1]);}
+    data = null;
+    size = 0;
+    modCount++;
+  }
+
+  /**
+    Gets the position of the specified key in compact form.
+
+    @return <code>-1</code>, if missing.
+  */
+  private int indexOf(
+    Object key
+    )
+  {
+    Object[] data = this.data;
+    // Identity pass (keys are frequently shared constants).
+    for(int index = 0, length = size << 1; index < length; index += 2)
+    {
+      if(data[index] == key)
+        return index >> 1;
+    }
+    if(key != null)
+    {
+      for(int index = 0, length = size << 1; index < length; index += 2)
+      {
+        if(key.equals(data[index]))
+          return index >> 1;
+      }
+    }
+    return -1;
+  }
+
+  private void removeAt(
+    int index
+    )
+  {
+    int dataIndex = index << 1, length = size << 1;
+    System.arraycopy(data, dataIndex + 2, data, dataIndex, length - dataIndex - 2);
+    data[length - 2] = data[length - 1] = null;
+    size--;
+    modCount++;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,196 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.util;
+
+import java.util.Map;
+
+/**
+  Int-to-int hash map.
+  <p>It's an open-addressing (linear probing) map specialized for primitive keys and values, so
+  that lookups neither box nor allocate.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class IntMap
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final float LoadFactor = .5f;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Creates a new map containing the specified entries.
+    <p><code>null</code> keys and values are ignored.</p>
+  */
+  public static IntMap get(
+    Map<Integer,Integer> map
+    )
+  {
+    IntMap intMap = new IntMap(map.size());
+    for(Map.Entry<Integer,Integer> entry : map.entrySet())
+    {
+      Integer key = entry.getKey(), value = entry.getValue();
+      if(key != null && value != null)
+      {intMap.put(key, value);}
+    }
+    return intMap;
+  }
+  // </public>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private int[] keys;
+  private int mask;
+  private boolean[] occupied;
+  private int size;
+  private int[] values;
+  // </fields>
+
+  // <constructors>
+  public IntMap(
+    )
+  {this(8);}
+
+  /**
+    @param capacity Expected entry count.
+  */
+  public IntMap(
+    int capacity
+    )
+  {allocate(Integer.highestOneBit(Math.max(4, (int)(capacity / LoadFactor)) - 1) << 1);}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets whether the specified key is mapped.
+  */
+  public boolean containsKey(
+    int key
+    )
+  {return occupied[indexOf(key)];}
+
+  /**
+    Gets the value mapped to the specified key.
+
+    @param key Key.
+    @param defaultValue Value to return in case the key is unmapped.
+  */
+  public int get(
+    int key,
+    int defaultValue
+    )
+  {
+    int index = indexOf(key);
+    return occupied[index] ? values[index] : defaultValue;
+  }
+
+  /**
+    Maps the specified value to the specified key.
+  */
+  public void put(
+    int key,
+    int value
+    )
+  {
+    int index = indexOf(key);
+    if(!occupied[index])
+    {
+      if(size + 1 > keys.length * LoadFactor)
+      {
+        grow();
+        index = indexOf(key);
+      }
+      occupied[index] = true;
+      keys[index] = key;
+      size++;
+    }
+    values[index] = value;
+  }
+
+  /**
+    Gets the number of entries.
+  */
+  public int size(
+    )
+  {return size;}
+  // </public>
+
+  // <private>
+  private void allocate(
+    int capacity
+    )
+  {
+    keys = new int[capacity];
+    values = new int[capacity];
+    occupied = new boolean[capacity];
+    mask = capacity - 1;
+  }
+
+  private void grow(
+    )
+  {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    boolean[] oldOccupied = occupied;
+    allocate(keys.length << 1);
+    for(int index = 0; index < oldKeys.length; index++)
+    {
+      if(oldOccupied[index])
+      {
+        int newIndex = indexOf(oldKeys[index]);
+        occupied[newIndex] = true;
+        keys[newIndex] = oldKeys[index];
+        values[newIndex] = oldValues[index];
+      }
+    }
+  }
+
+  /**
+    Gets the slot index of the specified key (either occupied by it or free).
+  */
+  private int indexOf(
+    int key
+    )
+  {
+    int hash = key * 0x9E3779B9;
+    int index = (hash ^ hash >>> 16) & mask;
+    while(occupied[index] && keys[index] != key)
+    {index = (index + 1) & mask;}
+    return index;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -0,0 +1,239 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.util.math.geom;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+  Static spatial index of rectangles.
+  <p>It is a read-only R-tree bulk-loaded through Sort-Tile-Recursive packing: building costs
+  <code>O(n log n)</code>, whilst each query costs about <code>O(log n + k)</code>, where
+  <code>k</code> is the number of matches.</p>
+  <p>Rectangles are identified by their position in the source list.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/19/26
+*/
+public final class RectangleIndex
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Maximum number of children per node.
+  */
+  private static final int NodeCapacity = 16;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Source indexes of the rectangles, in leaf order.
+  */
+  private final int[] indexes;
+  /**
+    Bounds (minX, minY, maxX, maxY) of the nodes, level by level (level 0 corresponds to the
+    rectangles themselves, in leaf order; the last level is the root).
+  */
+  private final double[][] levels;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param rectangles Rectangles to index (<code>null</code> items are ignored).
+  */
+  public RectangleIndex(
+    List<? extends Rectangle2D> rectangles
+    )
+  {
+    final Rectangle2D[] boxes = rectangles.toArray(new Rectangle2D[rectangles.size()]);
+    Integer[] sortedIndexes;
+    {
+      int count = 0;
+      for(Rectangle2D box : boxes)
+      {
+        if(box != null)
+        {count++;}
+      }
+      sortedIndexes = new Integer[count];
+      for(int index = 0, sortedIndex = 0; index < boxes.length; index++)
+      {
+        if(boxes[index] != null)
+        {sortedIndexes[sortedIndex++] = index;}
+      }
+    }
+
+    // Sort-Tile-Recursive packing.
+    /*
+      NOTE: Rectangles are sorted by horizontal center, then partitioned into vertical slices,
+      each of which is sorted by vertical center; consecutive runs of the resulting sequence are
+      packed into the leaves.
+    */
+    Arrays.sort(
+      sortedIndexes,
+      new Comparator<Integer>()
+      {
+        @Override
+        public int compare(
+          Integer index1,
+          Integer index2
+          )
+        {return Double.compare(boxes[index1].getCenterX(), boxes[index2].getCenterX());}
+      }
+      );
+    int leafCount = (sortedIndexes.length + NodeCapacity - 1) / NodeCapacity;
+    int sliceLength = (int)Math.ceil(Math.sqrt(leafCount)) * NodeCapacity;
+    Comparator<Integer> yComparator = new Comparator<Integer>()
+      {
+        @Override
+        public int compare(
+          Integer index1,
+          Integer index2
+          )
+        {return Double.compare(boxes[index1].getCenterY(), boxes[index2].getCenterY());}
+      };
+    for(int sliceStart = 0; sliceStart < sortedIndexes.length; sliceStart += sliceLength)
+    {Arrays.sort(sortedIndexes, sliceStart, Math.min(sliceStart + sliceLength, sortedIndexes.length), yComparator);}
+
+    indexes = new int[sortedIndexes.length];
+    double[] level = new double[sortedIndexes.length * 4];
+    for(int index = 0; index < sortedIndexes.length; index++)
+    {
+      Rectangle2D box = boxes[indexes[index] = sortedIndexes[index]];
+      level[index * 4] = box.getMinX();
+      level[index * 4 + 1] = box.getMinY();
+      level[index * 4 + 2] = box.getMaxX();
+      level[index * 4 + 3] = box.getMaxY();
+    }
+
+    // Upper levels.
+    int levelCount = 1;
+    for(int count = sortedIndexes.length; count > 1; count = (count + NodeCapacity - 1) / NodeCapacity)
+    {levelCount++;}
+    levels = new double[levelCount][];
+    levels[0] = level;
+    for(int levelIndex = 1; levelIndex < levelCount; levelIndex++)
+    {
+      double[] childLevel = levels[levelIndex - 1];
+      int childCount = childLevel.length / 4;
+      level = levels[levelIndex] = new double[(childCount + NodeCapacity - 1) / NodeCapacity * 4];
+      for(int nodeIndex = 0, nodeCount = level.length / 4; nodeIndex < nodeCount; nodeIndex++)
+      {
+        int childIndex = nodeIndex * NodeCapacity;
+        int childEnd = Math.min(childIndex + NodeCapacity, childCount);
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY,
+          maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for(; childIndex < childEnd; childIndex++)
+        {
+          minX = Math.min(minX, childLevel[childIndex * 4]);
+          minY = Math.min(minY, childLevel[childIndex * 4 + 1]);
+          maxX = Math.max(maxX, childLevel[childIndex * 4 + 2]);
+          maxY = Math.max(maxY, childLevel[childIndex * 4 + 3]);
+        }
+        level[nodeIndex * 4] = minX;
+        level[nodeIndex * 4 + 1] = minY;
+        level[nodeIndex * 4 + 2] = maxX;
+        level[nodeIndex * 4 + 3] = maxY;
+      }
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the source indexes of the rectangles touching the specified area (boundaries included).
+
+    @return Source indexes, in ascending order.
+  */
+  public int[] find(
+    Rectangle2D area
+    )
+  {
+    int[] matches = new int[8];
+    int matchCount = 0;
+    if(indexes.length > 0)
+    {
+      double minX = area.getMinX(), minY = area.getMinY(), maxX = area.getMaxX(), maxY = area.getMaxY();
+      // Depth-first traversal (node stack holds pairs of level and node indexes).
+      int[] stack = new int[levels.length * NodeCapacity * 2];
+      int stackLength = 0;
+      stack[stackLength++] = levels.length - 1;
+      stack[stackLength++] = 0;
+      while(stackLength > 0)
+      {
+        int nodeIndex = stack[--stackLength];
+        int levelIndex = stack[--stackLength];
+        double[] level = levels[levelIndex];
+        if(level[nodeIndex * 4] > maxX
+          || level[nodeIndex * 4 + 1] > maxY
+          || level[nodeIndex * 4 + 2] < minX
+          || level[nodeIndex * 4 + 3] < minY)
+          continue;
+
+        if(levelIndex == 0)
+        {
+          if(matchCount == matches.length)
+          {matches = Arrays.copyOf(matches, matchCount << 1);}
+          matches[matchCount++] = indexes[nodeIndex];
+        }
+        else
+        {
+          int childCount = levels[levelIndex - 1].length / 4;
+          for(
+            int childIndex = nodeIndex * NodeCapacity,
+              childEnd = Math.min(childIndex + NodeCapacity, childCount);
+            childIndex < childEnd;
+            childIndex++
+            )
+          {
+            stack[stackLength++] = levelIndex - 1;
+            stack[stackLength++] = childIndex;
+          }
+        }
+      }
+    }
+    matches = Arrays.copyOf(matches, matchCount);
+    Arrays.sort(matches);
+    return matches;
+  }
+
+  /**
+    Gets the number of indexed rectangles.
+  */
+  public int size(
+    )
+  {return indexes.length;}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
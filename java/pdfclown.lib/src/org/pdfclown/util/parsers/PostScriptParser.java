@@ -39,7 +39,7 @@ import org.pdfclown.tokens.Symbol;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/19/26
 */
 public class PostScriptParser
   implements Closeable
@@ -60,6 +60,14 @@ public class PostScriptParser
     ArrayEnd,
     DictionaryBegin,
     DictionaryEnd,
+    /**
+      @since 0.2.0
+    */
+    ProcedureBegin,
+    /**
+      @since 0.2.0
+    */
+    ProcedureEnd,
     Null
   }
   // </classes>
@@ -94,6 +102,8 @@ public class PostScriptParser
       || c == Symbol.CloseAngleBracket
       || c == Symbol.OpenSquareBracket
       || c == Symbol.CloseSquareBracket
+      || c == Symbol.OpenBrace
+      || c == Symbol.CloseBrace
       || c == Symbol.Slash
       || c == Symbol.Percent;
   }
@@ -299,6 +309,12 @@ public class PostScriptParser
       case Symbol.CloseSquareBracket: // Array (end).
         tokenType = TokenTypeEnum.ArrayEnd;
         break;
+      case Symbol.OpenBrace: // Procedure (begin).
+        tokenType = TokenTypeEnum.ProcedureBegin;
+        break;
+      case Symbol.CloseBrace: // Procedure (end).
+        tokenType = TokenTypeEnum.ProcedureEnd;
+        break;
       case Symbol.OpenAngleBracket: // Dictionary (begin) | Hexadecimal string.
       {
         try
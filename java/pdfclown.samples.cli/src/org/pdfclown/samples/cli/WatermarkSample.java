@@ -4,7 +4,6 @@ import java.awt.geom.Dimension2D;
 import java.awt.geom.Point2D;
 
 import org.pdfclown.documents.Document;
-import org.pdfclown.documents.Page;
 import org.pdfclown.documents.contents.ExtGState;
 import org.pdfclown.documents.contents.colorSpaces.DeviceRGBColor;
 import org.pdfclown.documents.contents.composition.PrimitiveComposer;
@@ -58,25 +57,16 @@ public class WatermarkSample
     FormXObject watermark
     )
   {
-    // 1. Instantiate the stamper!
-    /* NOTE: The PageStamper is optimized for dealing with pages. */
-    PageStamper stamper = new PageStamper();
-
-    // 2. Inserting the watermark into each page of the document...
-    for(Page page : watermark.getDocument().getPages())
-    {
-      // 2.1. Associate the page to the stamper!
-      stamper.setPage(page);
-
-      // 2.2. Stamping the watermark on the foreground...
-      // Get the content composer!
-      PrimitiveComposer composer = stamper.getForeground();
-      // Show the watermark into the page!
-      composer.showXObject(watermark);
-
-      // 2.3. End the stamping!
-      stamper.flush();
-    }
+    /*
+      NOTE: As the watermark is the same on each page, bulk stamping lets all the pages share the
+      same content streams.
+    */
+    PageStamper.stamp(
+      watermark.getDocument().getPages(),
+      null,
+      watermark,
+      null
+      );
   }
 
   private FormXObject createWatermark(